@@ -0,0 +1,49 @@
+package com.eteration.simplebanking.benchmark;
+
+import com.eteration.simplebanking.dto.AccountDTO;
+import com.eteration.simplebanking.dto.AccountSummaryDTO;
+import com.eteration.simplebanking.mapper.AccountMapper;
+import com.eteration.simplebanking.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AccountMapper.toDTO maliyetini farklı işlem geçmişi boyutlarında ölçer;
+ * özet modunun (son 10 işlem) maliyeti karşılaştırma için ayrıca ölçülür.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountMapperBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int historySize;
+
+    private Account account;
+    private List<Transaction> lastTransactions;
+
+    @Setup
+    public void setup() throws InsufficientBalanceException {
+        account = new Account("Benchmark", "000-0000");
+        for (int i = 0; i < historySize; i++) {
+            account.post(new DepositTransaction(Money.of(10.0)));
+        }
+        List<Transaction> history = account.getTransactions();
+        lastTransactions = history.subList(Math.max(0, history.size() - 10), history.size());
+    }
+
+    @Benchmark
+    public AccountDTO toDTO() {
+        return AccountMapper.toDTO(account);
+    }
+
+    @Benchmark
+    public AccountSummaryDTO toSummaryDTO() {
+        return AccountMapper.toSummaryDTO(account, lastTransactions);
+    }
+}
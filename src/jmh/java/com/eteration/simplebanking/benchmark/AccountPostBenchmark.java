@@ -0,0 +1,53 @@
+package com.eteration.simplebanking.benchmark;
+
+import com.eteration.simplebanking.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Account.post maliyetini üç işlem tipi için ölçer (işlem nesnesinin oluşturulması dahil).
+ * Hesabın bellekteki işlem listesi sınırsız büyümesin diye belirli aralıklarla temizlenir.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AccountPostBenchmark {
+
+    private static final int MAX_RETAINED = 1024;
+
+    private final Money amount = Money.of(96.50);
+    private Account account;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        account = new Account("Benchmark", "000-0000");
+        account.setBalance(Money.ofMinor(Long.MAX_VALUE / 4));
+    }
+
+    @Benchmark
+    public Account postDeposit() throws InsufficientBalanceException {
+        return post(new DepositTransaction(amount));
+    }
+
+    @Benchmark
+    public Account postWithdrawal() throws InsufficientBalanceException {
+        return post(new WithdrawalTransaction(amount));
+    }
+
+    @Benchmark
+    public Account postPhoneBillPayment() throws InsufficientBalanceException {
+        return post(new PhoneBillPaymentTransaction("Vodafone", "5423345566", amount));
+    }
+
+    private Account post(Transaction transaction) throws InsufficientBalanceException {
+        if (account.getTransactions().size() == MAX_RETAINED) {
+            account.getTransactions().clear();
+        }
+        account.post(transaction);
+        return account;
+    }
+}
@@ -0,0 +1,58 @@
+package com.eteration.simplebanking.benchmark;
+
+import com.eteration.simplebanking.model.TimeOrderedApprovalCodeGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Onay kodu üretiminin maliyetini tek thread'de ve eşzamanlı çağrılarda ölçer.
+ * currentPath* işlem başına iki UUID.randomUUID() çağrısı yapan eski yazma yolunu,
+ * timeOrdered* yerine geçen zaman sıralı üreticiyi ölçer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApprovalCodeBenchmark {
+
+    private final TimeOrderedApprovalCodeGenerator timeOrdered = new TimeOrderedApprovalCodeGenerator(1);
+
+    @Benchmark
+    public String randomUuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String randomUuidContended() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String currentPath() {
+        UUID.randomUUID().toString();
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String currentPathContended() {
+        UUID.randomUUID().toString();
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public UUID timeOrdered() {
+        return timeOrdered.next();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UUID timeOrderedContended() {
+        return timeOrdered.next();
+    }
+}
@@ -0,0 +1,102 @@
+package com.eteration.simplebanking.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tek satırlı bakiye ile şeritli bakiyenin 1, 16 ve 64 eşzamanlı yatırmadaki throughput'unu karşılaştırır.
+ * Her satır bir kilitle temsil edilir; yatırma satırın kilidini commit süresince tutar (sabit süreli bekleme).
+ * Tek satırlı modelde tüm yatırmalar aynı kilidi, şeritli modelde thread'e göre seçilen dilimin kilidini alır.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BalanceStripingBenchmark {
+
+    private static final long ROW_LOCK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final int SLOTS = 8;
+
+    private final Row account = new Row();
+    private final Row[] slots = new Row[SLOTS];
+
+    @Setup(Level.Trial)
+    public void setup() {
+        for (int i = 0; i < SLOTS; i++) {
+            slots[i] = new Row();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long singleRow_1() {
+        return account.credit(1L);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long singleRow_16() {
+        return account.credit(1L);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public long singleRow_64() {
+        return account.credit(1L);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long striped_1() {
+        return slotForCurrentThread().credit(1L);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long striped_16() {
+        return slotForCurrentThread().credit(1L);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public long striped_64() {
+        return slotForCurrentThread().credit(1L);
+    }
+
+    /**
+     * Okuma maliyeti: şeritli modelde bakiye dilimlerin toplamıdır
+     */
+    @Benchmark
+    public long stripedRead() {
+        long total = account.balance.get();
+        for (Row slot : slots) {
+            total += slot.balance.get();
+        }
+        return total;
+    }
+
+    private Row slotForCurrentThread() {
+        return slots[(int) Math.floorMod(Thread.currentThread().getId(), (long) SLOTS)];
+    }
+
+    private static final class Row {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final AtomicLong balance = new AtomicLong();
+
+        long credit(long amount) {
+            lock.lock();
+            try {
+                LockSupport.parkNanos(ROW_LOCK_NANOS);
+                return balance.addAndGet(amount);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.eteration.simplebanking.benchmark;
+
+import com.eteration.simplebanking.concurrency.GroupCommitter;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Tekil commit ile grup commit'in 1, 16 ve 256 eşzamanlı istemcideki throughput'unu karşılaştırır.
+ * Veritabanı commit'i (WAL fsync) tek bir log cihazında sırayla çalışan sabit süreli bir bekleme
+ * ile simüle edilir; böylece ölçüm JDBC sürücüsünden bağımsız olarak commit paylaşımının etkisini gösterir.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GroupCommitBenchmark {
+
+    private static final long COMMIT_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private final Object logDevice = new Object();
+    private GroupCommitter<Integer, Integer> committer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        committer = new GroupCommitter<>(this::commitGroup, Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(300)),
+            256, 65536, "group-commit-benchmark");
+        committer.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        committer.stop(5000);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int singleCommit_1() {
+        return commitOne(1);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public int singleCommit_16() {
+        return commitOne(1);
+    }
+
+    @Benchmark
+    @Threads(256)
+    public int singleCommit_256() {
+        return commitOne(1);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int groupCommit_1() {
+        return committer.submit(1).join();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public int groupCommit_16() {
+        return committer.submit(1).join();
+    }
+
+    @Benchmark
+    @Threads(256)
+    public int groupCommit_256() {
+        return committer.submit(1).join();
+    }
+
+    private int commitOne(int item) {
+        synchronized (logDevice) {
+            LockSupport.parkNanos(COMMIT_NANOS);
+        }
+        return item;
+    }
+
+    private List<Integer> commitGroup(List<Integer> items) {
+        synchronized (logDevice) {
+            LockSupport.parkNanos(COMMIT_NANOS);
+        }
+        return new ArrayList<>(items);
+    }
+}
@@ -0,0 +1,62 @@
+package com.eteration.simplebanking.benchmark;
+
+import com.eteration.simplebanking.dto.LogMessage;
+import com.eteration.simplebanking.logging.LocalLogStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Tüketicinin bir parçayı yerel log deposuna yazma hızını ölçer; her çağrı batchSize mesaj yazar,
+ * saniyedeki mesaj sayısı ops/s × batchSize'dır. Birden fazla thread ile çalıştırmak concurrency ayarını taklit eder.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocalLogStoreBenchmark {
+
+    @Param({"100", "500"})
+    private int batchSize;
+
+    private Path directory;
+    private LocalLogStore store;
+    private List<LogMessage> batch;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("log-store-benchmark");
+        store = new LocalLogStore(directory, Duration.ofHours(1), Duration.ofDays(1));
+        batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            String level = i % 10 == 0 ? "ERROR" : "INFO";
+            batch.add(new LogMessage(level, "Credit successful: account=669-7788, amount=" + i,
+                "AccountService", "credit", null));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public void appendBatch() throws IOException {
+        store.append(batch);
+    }
+}
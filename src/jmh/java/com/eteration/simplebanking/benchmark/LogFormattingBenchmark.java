@@ -0,0 +1,57 @@
+package com.eteration.simplebanking.benchmark;
+
+import com.eteration.simplebanking.logging.AsyncLogDispatcher;
+import com.eteration.simplebanking.logging.LogFormatter;
+import com.eteration.simplebanking.logging.LogOverflowPolicy;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.helpers.NOPLogger;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LogService mesaj biçimlendirmesinin maliyetini, çağıran thread'in artık ödediği
+ * tampona ekleme maliyetiyle karşılaştırır.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LogFormattingBenchmark {
+
+    private final RuntimeException exception = new RuntimeException("Insufficient balance for withdrawal!");
+    private AsyncLogDispatcher dispatcher;
+
+    @Setup
+    public void setup() {
+        dispatcher = new AsyncLogDispatcher(NOPLogger.NOP_LOGGER, 65536, 1024,
+            LogOverflowPolicy.DROP_NEWEST, batch -> { });
+        dispatcher.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatcher.stop(5000);
+    }
+
+    @Benchmark
+    public String formatInfo() {
+        return LogFormatter.format(LogFormatter.LEVEL_INFO,
+            "Credit successful: account=669-7788, amount=1000.0",
+            "AccountService", "credit", "http-nio-8080-exec-1", null);
+    }
+
+    @Benchmark
+    public String formatErrorWithStackTrace() {
+        return LogFormatter.format(LogFormatter.LEVEL_ERROR,
+            "Insufficient balance for debit: 669-7788",
+            "AccountService", "debit", "http-nio-8080-exec-1", exception);
+    }
+
+    @Benchmark
+    public void submitInfo() {
+        dispatcher.submit(LogFormatter.LEVEL_INFO, "Credit successful: account=669-7788, amount=1000.0",
+            "AccountService", "credit", null);
+    }
+}
@@ -0,0 +1,85 @@
+package com.eteration.simplebanking.benchmark;
+
+import com.eteration.simplebanking.model.Account;
+import com.eteration.simplebanking.model.InsufficientBalanceException;
+import com.eteration.simplebanking.model.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Eski double + Math.round yolunu ölçeklenmiş long (Money) yolu ile karşılaştırır.
+ * Her çağrı OPERATIONS adet yatırma/çekme işlemini sırayla uygular.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyBenchmark {
+
+    private static final int OPERATIONS = 1024;
+
+    private double[] doubleAmounts;
+    private Money[] moneyAmounts;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        doubleAmounts = new double[OPERATIONS];
+        moneyAmounts = new Money[OPERATIONS];
+        for (int i = 0; i < OPERATIONS; i++) {
+            double amount = random.nextInt(100_000) / 100.0;
+            doubleAmounts[i] = amount;
+            moneyAmounts[i] = Money.of(amount);
+        }
+    }
+
+    /**
+     * Önceki Account.credit/debit gövdesinin birebir kopyası
+     */
+    @Benchmark
+    public double doubleWithRounding() {
+        double balance = 1_000_000.0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            double roundedAmount = Math.round(doubleAmounts[i] * 10000.0) / 10000.0;
+            if ((i & 1) == 0) {
+                balance = Math.round((balance + roundedAmount) * 10000.0) / 10000.0;
+            } else if (balance >= roundedAmount) {
+                balance = Math.round((balance - roundedAmount) * 10000.0) / 10000.0;
+            }
+        }
+        return balance;
+    }
+
+    @Benchmark
+    public Money moneyValueType() {
+        Money balance = Money.of(1_000_000.0);
+        for (int i = 0; i < OPERATIONS; i++) {
+            Money amount = moneyAmounts[i];
+            if ((i & 1) == 0) {
+                balance = balance.plus(amount);
+            } else if (!balance.isLessThan(amount)) {
+                balance = balance.minus(amount);
+            }
+        }
+        return balance;
+    }
+
+    @Benchmark
+    public Money accountCreditDebit() throws InsufficientBalanceException {
+        Account account = new Account("Benchmark", "000-0000");
+        account.setBalance(Money.of(1_000_000.0));
+        for (int i = 0; i < OPERATIONS; i++) {
+            Money amount = moneyAmounts[i];
+            if ((i & 1) == 0) {
+                account.credit(amount);
+            } else if (!account.getBalance().isLessThan(amount)) {
+                account.debit(amount);
+            }
+        }
+        return account.getBalance();
+    }
+}
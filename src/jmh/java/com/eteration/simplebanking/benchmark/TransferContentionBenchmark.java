@@ -0,0 +1,134 @@
+package com.eteration.simplebanking.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * İki sıcak hesap çifti arasında karşılıklı yöndeki havalelerin throughput'unu ölçer.
+ * Her hesap satırı bir kilitle temsil edilir; havale iki satırın kilidini commit süresince tutar.
+ * id sırası: kilitler her zaman küçük id'den büyüğe alınır (TransferService), kilitlenme oluşmaz.
+ * istek sırası: kilitler gönderen-alıcı sırasıyla alınır; karşılıklı havaleler kilitlenir ve ancak
+ * kilit zaman aşımı ile (veritabanındaki lock.timeout / deadlock tespiti gibi) geri alınıp RetryExecutor gibi
+ * rastgele bir beklemeden sonra yeniden denenir. timeouts sayacı bu geri almaları raporlar.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransferContentionBenchmark {
+
+    private static final long ROW_LOCK_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+    private static final long LOCK_TIMEOUT_MICROS = 200;
+
+    private final Row[] rows = {new Row(0), new Row(1), new Row(2), new Row(3)};
+    private final AtomicInteger threadIndex = new AtomicInteger();
+
+    /**
+     * Thread'ler sırayla iki çifte ve iki yöne dağıtılır: 0->1, 2->3, 1->0, 3->2, ...
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Client {
+        Row from;
+        Row to;
+        public long timeouts;
+
+        @Setup(Level.Trial)
+        public void setup(TransferContentionBenchmark benchmark) {
+            int index = benchmark.threadIndex.getAndIncrement();
+            int pair = index % 2;
+            boolean forward = (index / 2) % 2 == 0;
+            from = benchmark.rows[pair * 2 + (forward ? 0 : 1)];
+            to = benchmark.rows[pair * 2 + (forward ? 1 : 0)];
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long idOrdered_1(Client client) {
+        return idOrdered(client);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long idOrdered_16(Client client) {
+        return idOrdered(client);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public long idOrdered_64(Client client) {
+        return idOrdered(client);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long requestOrder_16(Client client) throws InterruptedException {
+        return requestOrder(client);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public long requestOrder_64(Client client) throws InterruptedException {
+        return requestOrder(client);
+    }
+
+    private static long idOrdered(Client client) {
+        Row first = client.from.id < client.to.id ? client.from : client.to;
+        Row second = first == client.from ? client.to : client.from;
+        first.lock.lock();
+        try {
+            second.lock.lock();
+            try {
+                return move(client.from, client.to);
+            } finally {
+                second.lock.unlock();
+            }
+        } finally {
+            first.lock.unlock();
+        }
+    }
+
+    private static long requestOrder(Client client) throws InterruptedException {
+        while (true) {
+            client.from.lock.lock();
+            try {
+                if (client.to.lock.tryLock(LOCK_TIMEOUT_MICROS, TimeUnit.MICROSECONDS)) {
+                    try {
+                        return move(client.from, client.to);
+                    } finally {
+                        client.to.lock.unlock();
+                    }
+                }
+            } finally {
+                client.from.lock.unlock();
+            }
+            client.timeouts++;
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(TimeUnit.MICROSECONDS.toNanos(LOCK_TIMEOUT_MICROS)));
+        }
+    }
+
+    private static long move(Row from, Row to) {
+        LockSupport.parkNanos(ROW_LOCK_NANOS);
+        from.balance--;
+        to.balance++;
+        return to.balance;
+    }
+
+    private static final class Row {
+        private final int id;
+        private final ReentrantLock lock = new ReentrantLock();
+        private long balance;
+
+        private Row(int id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.eteration.simplebanking.cache;
+
+import com.eteration.simplebanking.model.Account;
+import com.eteration.simplebanking.model.Money;
+
+import java.util.Date;
+
+/**
+ * Hesabın önbellekte tutulan değişmez görüntüsü. İşlem geçmişi bilerek dışarıda bırakılır;
+ * böylece bir kaydın boyutu hesabın işlem sayısından bağımsızdır.
+ */
+public final class AccountSnapshot {
+    private final Long id;
+    private final String accountNumber;
+    private final String owner;
+    private final Money balance;
+    private final Date createDate;
+
+    public AccountSnapshot(Long id, String accountNumber, String owner, Money balance, Date createDate) {
+        this.id = id;
+        this.accountNumber = accountNumber;
+        this.owner = owner;
+        this.balance = balance;
+        this.createDate = createDate != null ? new Date(createDate.getTime()) : null;
+    }
+
+    /**
+     * @param account Hesap
+     * @param balance Gösterilecek bakiye (şeritli hesapta dilimlerle birlikte toplam)
+     * @return AccountSnapshot
+     */
+    public static AccountSnapshot of(Account account, Money balance) {
+        return new AccountSnapshot(account.getId(), account.getAccountNumber(), account.getOwner(), balance,
+            account.getCreateDate());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public Money getBalance() {
+        return balance;
+    }
+
+    public Date getCreateDate() {
+        return createDate != null ? new Date(createDate.getTime()) : null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.eteration.simplebanking.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Hesap numarasına göre hesap anlık görüntülerini (bakiye ve hesap bilgileri) tutan süreç içi önbellek.
+ * İşlem geçmişi önbelleğe alınmaz; max-size bu yüzden belleği de sınırlar. Geçmiş her istekte
+ * sayfalı sorgularla okunur.
+ */
+@Component
+public class AccountSnapshotCache {
+    private final BoundedCache<String, AccountSnapshot> cache;
+
+    public AccountSnapshotCache(@Value("${app.cache.account.max-size:10000}") int maxSize,
+                                @Value("${app.cache.account.ttl:30s}") Duration ttl) {
+        this.cache = new BoundedCache<>(maxSize, ttl);
+    }
+
+    /**
+     * Hesabın anlık görüntüsünü önbellekten döner; yoksa loader ile yükler
+     * @param accountNumber Hesap numarası
+     * @param loader Önbellekte yoksa çağrılır, hesap yoksa null dönmelidir
+     * @return AccountSnapshot veya null
+     */
+    public AccountSnapshot get(String accountNumber, Function<String, AccountSnapshot> loader) {
+        return cache.get(accountNumber, loader);
+    }
+
+    /**
+     * Hesabın kaydını hemen ve (aktif bir veritabanı işlemi varsa) işlem tamamlandıktan sonra tekrar siler.
+     * İkinci silme, commit'ten önce eski bakiyeyi okuyan bir isteğin önbelleği kirletmesini engeller.
+     * @param accountNumber Hesap numarası
+     */
+    public void invalidate(String accountNumber) {
+        cache.invalidate(accountNumber);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(accountNumber);
+                }
+            });
+        }
+    }
+
+    public CacheStats getStats() {
+        return cache.getStats();
+    }
+}
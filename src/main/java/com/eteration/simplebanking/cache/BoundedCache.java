@@ -0,0 +1,175 @@
+package com.eteration.simplebanking.cache;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Boyut ve süre sınırlı, thread-safe read-through önbellek.
+ * Boyut aşıldığında en eski kayıtlar (FIFO) çıkarılır. Okumalar global kilit almaz.
+ * <p>
+ * Yükleme sırasında aynı anahtar geçersiz kılınırsa yüklenen değer önbelleğe yazılmaz;
+ * böylece eski bir okuma, yazma yolunun geçersiz kıldığı kaydı geri getiremez.
+ */
+public class BoundedCache<K, V> {
+    private static final int STRIPES = 64;
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final ConcurrentHashMap<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry<K, V>> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public BoundedCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    /**
+     * @param maxSize En fazla kayıt sayısı
+     * @param ttl Kaydın yazıldıktan sonra geçerli kalacağı süre
+     * @param ticker Nanosaniye saat kaynağı (testlerde değiştirilebilir)
+     */
+    public BoundedCache(int maxSize, Duration ttl, LongSupplier ticker) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.ticker = ticker;
+    }
+
+    /**
+     * Önbellekteki değeri döner; yoksa loader ile yükler ve önbelleğe yazar.
+     * Loader null dönerse hiçbir şey önbelleğe yazılmaz.
+     * @param key Anahtar
+     * @param loader Kayıt bulunamadığında çağrılır
+     * @return Değer veya null
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        int stripe = stripe(key);
+        long generation = generations.get(stripe);
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            putIfNotInvalidated(key, loaded, stripe, generation);
+        }
+        return loaded;
+    }
+
+    /**
+     * @return Geçerli değer veya null; sonuç isabet/ıska istatistiğine yansır
+     */
+    public V getIfPresent(K key) {
+        Entry<K, V> entry = entries.get(key);
+        if (entry != null) {
+            if (ticker.getAsLong() - entry.writtenAt < ttlNanos) {
+                hits.increment();
+                return entry.value;
+            }
+            if (entries.remove(key, entry)) {
+                expirations.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(K key, V value) {
+        int stripe = stripe(key);
+        putIfNotInvalidated(key, value, stripe, generations.get(stripe));
+    }
+
+    /**
+     * Kaydı siler ve o anda sürmekte olan yüklemelerin sonucunu önbelleğe yazmasını engeller
+     */
+    public void invalidate(K key) {
+        generations.incrementAndGet(stripe(key));
+        if (entries.remove(key) != null) {
+            invalidations.increment();
+        }
+    }
+
+    /**
+     * Kaydı yalnızca değeri hâlâ verilen nesne ise siler; arada yazılmış yeni bir değere dokunmaz
+     * @param key Anahtar
+     * @param value Silinecek değer (referans eşitliğiyle karşılaştırılır)
+     */
+    public void remove(K key, V value) {
+        entries.computeIfPresent(key, (k, current) -> current.value == value ? null : current);
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public CacheStats getStats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(),
+            invalidations.sum(), entries.size());
+    }
+
+    private void putIfNotInvalidated(K key, V value, int stripe, long generation) {
+        Entry<K, V> entry = new Entry<>(key, value, ticker.getAsLong());
+        // compute aynı anahtarın invalidate içindeki remove çağrısıyla sıralanır
+        Entry<K, V> installed = entries.compute(key,
+            (k, current) -> generations.get(stripe) == generation ? entry : current);
+        if (installed == entry) {
+            insertionOrder.add(entry);
+            queued.incrementAndGet();
+            evictIfNeeded();
+        }
+    }
+
+    private void evictIfNeeded() {
+        while (entries.size() > maxSize || queued.get() > 2 * maxSize) {
+            Entry<K, V> oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            queued.decrementAndGet();
+            if (entries.remove(oldest.key, oldest)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private static int stripe(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+
+    private static final class Entry<K, V> {
+        private final K key;
+        private final V value;
+        private final long writtenAt;
+
+        private Entry(K key, V value, long writtenAt) {
+            this.key = key;
+            this.value = value;
+            this.writtenAt = writtenAt;
+        }
+    }
+}
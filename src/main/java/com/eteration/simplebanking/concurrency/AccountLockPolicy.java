@@ -0,0 +1,43 @@
+package com.eteration.simplebanking.concurrency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Hesap bazında kilit modunu belirler. Varsayılan mod app.concurrency.lock-mode ile seçilir;
+ * app.concurrency.hot-accounts listesindeki yoğun hesaplar her zaman pessimistic kilitlenir,
+ * çünkü bu hesaplarda optimistic yeniden denemeler çakışmayı çözmek yerine çoğaltır.
+ */
+@Component
+public class AccountLockPolicy {
+    private final LockMode defaultMode;
+    private final Set<String> hotAccounts;
+
+    public AccountLockPolicy(@Value("${app.concurrency.lock-mode:OPTIMISTIC}") LockMode defaultMode,
+                             @Value("${app.concurrency.hot-accounts:}") String[] hotAccounts) {
+        this.defaultMode = defaultMode;
+        this.hotAccounts = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(hotAccounts)));
+    }
+
+    /**
+     * Hesap için kullanılacak kilit modunu döner
+     * @param accountNumber Hesap numarası
+     * @return LockMode
+     */
+    public LockMode modeFor(String accountNumber) {
+        return hotAccounts.contains(accountNumber) ? LockMode.PESSIMISTIC : defaultMode;
+    }
+
+    public LockMode getDefaultMode() {
+        return defaultMode;
+    }
+
+    public Set<String> getHotAccounts() {
+        return hotAccounts;
+    }
+}
@@ -0,0 +1,40 @@
+package com.eteration.simplebanking.concurrency;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Kuyruktaki bir isteğin sonucu. İşleyen thread isteği uygulamadan önce claim ile sahiplenir;
+ * çağıran ise beklemekten vazgeçtiğinde cancel ile isteği geri çeker. İkisinden yalnızca biri başarılı olur:
+ * iptal edilen istek hiç uygulanmaz, sahiplenilen istek iptal edilemez ve sonucu mutlaka tamamlanır.
+ * Böylece zaman aşımına uğrayan çağıran, isteğin uygulanıp uygulanmadığını kesin olarak bilir.
+ * @param <R> Sonuç tipi
+ */
+public class ClaimableFuture<R> extends CompletableFuture<R> {
+    private static final int QUEUED = 0;
+    private static final int CLAIMED = 1;
+    private static final int CANCELLED = 2;
+
+    private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+    /**
+     * İsteği uygulamak üzere sahiplenir
+     * @return İstek iptal edilmişse false; bu durumda uygulanmamalıdır
+     */
+    public boolean claim() {
+        return state.compareAndSet(QUEUED, CLAIMED);
+    }
+
+    /**
+     * İsteği yalnızca henüz sahiplenilmemişse iptal eder
+     * @param mayInterruptIfRunning Kullanılmaz
+     * @return İstek iptal edildiyse true; sahiplenilmişse false ve sonuç daha sonra tamamlanır
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        if (state.compareAndSet(QUEUED, CANCELLED)) {
+            return super.cancel(mayInterruptIfRunning);
+        }
+        return state.get() == CANCELLED;
+    }
+}
@@ -0,0 +1,187 @@
+package com.eteration.simplebanking.concurrency;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Eşzamanlı istekleri toplayıp tek bir commit ile işleyen grup commit motoru.
+ *
+ * Tek bir arka plan thread'i kuyruktaki ilk isteği aldıktan sonra en fazla maxWait kadar
+ * veya maxBatch isteğe ulaşana kadar bekler, toplanan istekleri flush fonksiyonuna tek seferde verir
+ * ve her çağıranın future'ını kendi sonucuyla tamamlar. Flush fonksiyonu bir istisna (veya Error) fırlatırsa
+ * gruptaki tüm future'lar bu istisna ile tamamlanır ve thread çalışmaya devam eder.
+ *
+ * submit'in döndüğü future flush'tan önce sahiplenilir (ClaimableFuture); beklemekten vazgeçen çağıran
+ * future'ı iptal edebilirse istek gruba hiç alınmaz, iptal edemezse istek flush'tadır ve sonucu gelecektir.
+ * @param <I> İstek tipi
+ * @param <R> Sonuç tipi
+ */
+public class GroupCommitter<I, R> {
+    private final Function<List<I>, List<R>> flush;
+    private final long maxWaitNanos;
+    private final int maxBatch;
+    private final BlockingQueue<Pending<I, R>> queue;
+    private final String threadName;
+
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong items = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    /**
+     * @param flush Grubu tek işlemde uygulayan ve isteklerle aynı sırada sonuç dönen fonksiyon
+     * @param maxWait İlk istekten sonra grubun toplanacağı en uzun süre
+     * @param maxBatch Bir gruptaki en fazla istek sayısı
+     * @param queueCapacity Bekleyen en fazla istek sayısı; dolu kuyrukta submit hata döner
+     * @param threadName Arka plan thread'inin adı
+     */
+    public GroupCommitter(Function<List<I>, List<R>> flush, Duration maxWait, int maxBatch,
+                          int queueCapacity, String threadName) {
+        if (maxBatch < 1) {
+            throw new IllegalArgumentException("maxBatch must be at least 1");
+        }
+        this.flush = flush;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.maxBatch = maxBatch;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.threadName = threadName;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, threadName);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Thread'i durdurur; kuyrukta kalan istekler verilen süre içinde işlenir
+     * @param timeoutMillis Bekleme süresi
+     */
+    public synchronized void stop(long timeoutMillis) {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            worker.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * İsteği bir sonraki gruba ekler. Hiçbir zaman bloklamaz.
+     * @param item İstek
+     * @return Grup commit edildiğinde isteğin sonucuyla tamamlanan future
+     */
+    public CompletableFuture<R> submit(I item) {
+        ClaimableFuture<R> future = new ClaimableFuture<>();
+        if (!running) {
+            future.completeExceptionally(new IllegalStateException("Group committer is not running"));
+        } else if (!queue.offer(new Pending<>(item, future))) {
+            future.completeExceptionally(new IllegalStateException("Group commit queue is full"));
+        }
+        return future;
+    }
+
+    private void run() {
+        List<Pending<I, R>> batch = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                Pending<I, R> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch, System.nanoTime() + maxWaitNanos);
+            } catch (InterruptedException e) {
+                running = false;
+            }
+            commit(batch);
+        }
+        // Kapanışta kuyrukta kalan istekler de gruplar halinde işlenir
+        while (queue.drainTo(batch, maxBatch) > 0) {
+            commit(batch);
+        }
+    }
+
+    private void collect(List<Pending<I, R>> batch, long deadline) throws InterruptedException {
+        while (batch.size() < maxBatch) {
+            queue.drainTo(batch, maxBatch - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatch || remaining <= 0) {
+                return;
+            }
+            Pending<I, R> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * Grubu tek bir flush çağrısıyla uygular. Yalnızca arka plan thread'inden (veya testlerden) çağrılır.
+     * @param batch Toplanan istekler; çağrı sonunda boşaltılır
+     */
+    void commit(List<Pending<I, R>> batch) {
+        // Zaman aşımında çağıranın iptal ettiği istekler gruptan çıkarılır; kalanlar artık iptal edilemez
+        batch.removeIf(pending -> !pending.future.claim());
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<I> requests = new ArrayList<>(batch.size());
+        for (Pending<I, R> pending : batch) {
+            requests.add(pending.item);
+        }
+        // Sayaçlar çağıranlar tamamlanmadan artırılır; sonucu alan thread güncel sayıları görür
+        commits.incrementAndGet();
+        items.addAndGet(batch.size());
+        try {
+            List<R> results = flush.apply(requests);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(results.get(i));
+            }
+        } catch (Throwable e) {
+            // Error da yakalanır: aksi halde sahiplenilmiş future'lar hiç tamamlanmaz ve thread ölürdü
+            for (Pending<I, R> pending : batch) {
+                pending.future.completeExceptionally(e);
+            }
+        }
+        batch.clear();
+    }
+
+    public long getCommitCount() {
+        return commits.get();
+    }
+
+    public long getItemCount() {
+        return items.get();
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    private static final class Pending<I, R> {
+        private final I item;
+        private final ClaimableFuture<R> future;
+
+        private Pending(I item, ClaimableFuture<R> future) {
+            this.item = item;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.eteration.simplebanking.concurrency;
+
+/**
+ * Hesap güncellemelerinde kullanılacak eşzamanlılık kontrolü.
+ * OPTIMISTIC: @Version ile çakışma commit sırasında tespit edilir ve işlem yeniden denenir.
+ * PESSIMISTIC: hesap satırı SELECT ... FOR UPDATE ile kilitlenir; çakışma oluşmaz, istekler sıraya girer.
+ */
+public enum LockMode {
+    OPTIMISTIC,
+    PESSIMISTIC
+}
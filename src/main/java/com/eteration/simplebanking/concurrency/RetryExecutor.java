@@ -0,0 +1,140 @@
+package com.eteration.simplebanking.concurrency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Eşzamanlılık çakışmasıyla (optimistic lock, kilit zaman aşımı) biten işlemleri
+ * jitter'lı üstel bekleme ile yeniden dener.
+ *
+ * Yeniden denemeler bir bütçeyle sınırlıdır: her ilk deneme bütçeye budget-ratio kadar jeton ekler,
+ * her yeniden deneme bir jeton harcar. Böylece sürekli çakışma altında yeniden denemeler
+ * trafiği en fazla budget-ratio oranında artırır; bütçe bitince çakışma çağırana iletilir.
+ * Eylem her denemede kendi veritabanı işlemini açmalıdır, yani çağıran bir işlem içinde olmamalıdır.
+ */
+@Component
+public class RetryExecutor {
+    private static final long TOKEN = 1000L;
+
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final long depositPerCall;
+    private final long maxTokens;
+    private final AtomicLong tokens;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong conflicts = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong budgetExhausted = new AtomicLong();
+
+    public RetryExecutor(@Value("${app.concurrency.retry.max-attempts:5}") int maxAttempts,
+                         @Value("${app.concurrency.retry.initial-backoff:5ms}") Duration initialBackoff,
+                         @Value("${app.concurrency.retry.max-backoff:200ms}") Duration maxBackoff,
+                         @Value("${app.concurrency.retry.budget-ratio:0.2}") double budgetRatio,
+                         @Value("${app.concurrency.retry.budget-reserve:100}") int budgetReserve) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.depositPerCall = Math.round(budgetRatio * TOKEN);
+        this.maxTokens = (long) budgetReserve * TOKEN;
+        this.tokens = new AtomicLong(maxTokens);
+    }
+
+    /**
+     * Eylemi çalıştırır; ConcurrencyFailureException alınırsa deneme ve bütçe hakkı
+     * kaldığı sürece bekleyip yeniden dener
+     * @param action Her çağrıda yeni bir veritabanı işlemi açan eylem
+     * @return Eylemin sonucu
+     * @throws ConcurrencyFailureException Denemeler veya bütçe tükendiğinde son çakışma
+     */
+    public <T> T execute(Supplier<T> action) {
+        calls.incrementAndGet();
+        deposit();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (ConcurrencyFailureException e) {
+                conflicts.incrementAndGet();
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                if (!withdraw()) {
+                    budgetExhausted.incrementAndGet();
+                    throw e;
+                }
+                retries.incrementAndGet();
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void deposit() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current >= maxTokens) {
+                return;
+            }
+        } while (!tokens.compareAndSet(current, Math.min(maxTokens, current + depositPerCall)));
+    }
+
+    private boolean withdraw() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    /**
+     * "Full jitter": [0, min(max, initial * 2^(attempt-1))] aralığında rastgele bekler,
+     * böylece aynı anda çakışan istekler aynı anda yeniden denemez
+     * @param attempt Başarısız olan denemenin sırası
+     */
+    private void backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(attempt - 1, 20));
+        if (ceiling <= 0) {
+            return;
+        }
+        long sleepNanos = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            Thread.sleep(sleepNanos / 1_000_000L, (int) (sleepNanos % 1_000_000L));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrencyFailureException("Interrupted while waiting to retry", e);
+        }
+    }
+
+    public long getCallCount() {
+        return calls.get();
+    }
+
+    public long getConflictCount() {
+        return conflicts.get();
+    }
+
+    public long getRetryCount() {
+        return retries.get();
+    }
+
+    public long getBudgetExhaustedCount() {
+        return budgetExhausted.get();
+    }
+
+    public long getAvailableRetries() {
+        return tokens.get() / TOKEN;
+    }
+}
@@ -0,0 +1,42 @@
+package com.eteration.simplebanking.config;
+
+import com.eteration.simplebanking.model.ApprovalCodeGenerator;
+import com.eteration.simplebanking.model.ApprovalCodes;
+import com.eteration.simplebanking.model.RandomApprovalCodeGenerator;
+import com.eteration.simplebanking.model.TimeOrderedApprovalCodeGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+@Configuration
+public class ApprovalCodeConfig {
+
+    /**
+     * Onay kodu üreticisini oluşturur ve Transaction'ların kullanması için ApprovalCodes'a kurar.
+     * node-id verilmezse host adından türetilir; aynı host adına sahip birden fazla örnek
+     * çalıştırılıyorsa her birine farklı bir app.approval-code.node-id verilmelidir.
+     * @param type time-ordered (varsayılan) veya random
+     * @param nodeId 0..16383 arası düğüm kimliği, -1 ise host adından türetilir
+     * @return ApprovalCodeGenerator
+     */
+    @Bean
+    public ApprovalCodeGenerator approvalCodeGenerator(@Value("${app.approval-code.generator:time-ordered}") String type,
+                                                       @Value("${app.approval-code.node-id:-1}") int nodeId) {
+        ApprovalCodeGenerator generator = "random".equalsIgnoreCase(type)
+            ? new RandomApprovalCodeGenerator()
+            : new TimeOrderedApprovalCodeGenerator(nodeId >= 0 ? nodeId : hostNodeId());
+        ApprovalCodes.setGenerator(generator);
+        return generator;
+    }
+
+    private static int hostNodeId() {
+        try {
+            return InetAddress.getLocalHost().getHostName().hashCode() & TimeOrderedApprovalCodeGenerator.MAX_NODE_ID;
+        } catch (UnknownHostException e) {
+            return 0;
+        }
+    }
+}
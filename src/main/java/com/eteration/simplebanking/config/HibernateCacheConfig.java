@@ -0,0 +1,67 @@
+package com.eteration.simplebanking.config;
+
+import com.eteration.simplebanking.model.Account;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+
+@Configuration
+public class HibernateCacheConfig {
+
+    /**
+     * Hibernate ikinci seviye önbelleği için yerel (süreç içi) JCache yöneticisini oluşturur.
+     * Her bölge burada boyut sınırıyla tanımlanır. Hesap satırları diğer örneklerin yazmalarını görmediğinden
+     * ttl ile sınırlanır; bayat bir satırla yapılan yazma @Version kontrolünde reddedilip yeniden denenir.
+     * Hesap numarası değişmediğinden numaradan id'ye çözümlemeler süresiz tutulur.
+     * @param accountMaxSize Hesap bölgesindeki en fazla kayıt sayısı
+     * @param accountTtl Hesap satırının önbellekte kalma süresi
+     * @param naturalIdMaxSize Hesap numarası bölgesindeki en fazla kayıt sayısı
+     * @return CacheManager
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${app.cache.hibernate.account.max-size:10000}") long accountMaxSize,
+                                              @Value("${app.cache.hibernate.account.ttl:30s}") Duration accountTtl,
+                                              @Value("${app.cache.hibernate.account-natural-id.max-size:100000}") long naturalIdMaxSize) {
+        org.ehcache.config.Configuration configuration = ConfigurationBuilder.newConfigurationBuilder()
+            .withCache(Account.CACHE_REGION, CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(accountMaxSize))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(accountTtl)))
+            .withCache(Account.NATURAL_ID_CACHE_REGION, CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(naturalIdMaxSize)))
+            .build();
+        // Ayrı sağlayıcı örneği: yönetici global Caching kaydına girmez, her uygulama bağlamı kendi bölgelerini alır
+        EhcacheCachingProvider provider = new EhcacheCachingProvider();
+        return provider.getCacheManager(provider.getDefaultURI(), configuration);
+    }
+
+    /**
+     * İkinci seviye önbelleği hibernateCacheManager ile açar. Tanımlı olmayan bir bölge istenirse
+     * oturum fabrikası açılmaz (missing_cache_strategy=fail), böylece sınırsız bir bölge kendiliğinden oluşmaz.
+     * @param enabled false ise ikinci seviye önbellek kapatılır
+     * @param hibernateCacheManager Bölgelerin tanımlı olduğu yönetici
+     * @return HibernatePropertiesCustomizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateSecondLevelCache(@Value("${app.cache.hibernate.enabled:true}") boolean enabled,
+                                                                   CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            if (enabled) {
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+                properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+                properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            }
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package com.eteration.simplebanking.config;
+
+import com.eteration.simplebanking.logging.LocalLogStore;
+import com.eteration.simplebanking.logging.LogConsumer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * banking_logs_queue tüketicisini ve yerel log deposunu kurar (app.logging.consumer.enabled=true).
+ * Kapalıyken hiçbir bean tanımlanmaz ve kuyruk dinlenmez.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.logging.consumer.enabled", havingValue = "true")
+public class LogConsumerConfig {
+
+    /**
+     * @param directory Segment dosyalarının dizini
+     * @param segmentDuration Bir segmentin kapsadığı zaman aralığı
+     * @param retention Bu süreden eski segmentler silinir
+     * @return LocalLogStore
+     * @throws IOException Dizin oluşturulamaz veya mevcut indeksler okunamazsa
+     */
+    @Bean(destroyMethod = "close")
+    public LocalLogStore localLogStore(@Value("${app.logging.store.directory:./data/log-store}") String directory,
+                                       @Value("${app.logging.store.segment-duration:1h}") Duration segmentDuration,
+                                       @Value("${app.logging.store.retention:7d}") Duration retention) throws IOException {
+        return new LocalLogStore(Paths.get(directory), segmentDuration, retention);
+    }
+
+    /**
+     * Parça tüketimi: konteyner batch-size kadar mesajı (veya receive-timeout dolunca eldekini) tek çağrıyla
+     * teslim eder ve dinleyici döndükten sonra parçayı tek basicAck ile onaylar. prefetch, broker'ın onay
+     * beklemeden gönderebileceği mesaj sayısıdır; parça boyutundan küçük olamaz.
+     * @param connectionFactory RabbitMQ bağlantı fabrikası
+     * @param batchSize Bir parçadaki en fazla mesaj
+     * @param prefetch Tüketici başına onaylanmamış en fazla mesaj
+     * @param concurrency Tüketici sayısı
+     * @param receiveTimeout Parça dolmazsa eldekinin teslim edilmesinden önce beklenen süre
+     * @return SimpleRabbitListenerContainerFactory
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory logBatchContainerFactory(ConnectionFactory connectionFactory,
+                                                                        @Value("${app.logging.consumer.batch-size:500}") int batchSize,
+                                                                        @Value("${app.logging.consumer.prefetch:2000}") int prefetch,
+                                                                        @Value("${app.logging.consumer.concurrency:1}") int concurrency,
+                                                                        @Value("${app.logging.consumer.receive-timeout:100ms}") Duration receiveTimeout) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setPrefetchCount(Math.max(prefetch, batchSize));
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(concurrency);
+        factory.setReceiveTimeout(receiveTimeout.toMillis());
+        factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
+        // Disk hatasında parça kuyruğa geri döner
+        factory.setDefaultRequeueRejected(true);
+        return factory;
+    }
+
+    @Bean
+    public LogConsumer logConsumer(LocalLogStore localLogStore) {
+        return new LogConsumer(localLogStore);
+    }
+
+    /**
+     * Tüketici ve depo sayaçlarını yayınlar: banking.log.store.messages{result=stored|malformed},
+     * banking.log.store.segments ve banking.log.store.size
+     */
+    @Bean
+    public MeterBinder logStoreMetrics(LocalLogStore localLogStore, LogConsumer logConsumer) {
+        return registry -> {
+            FunctionCounter.builder("banking.log.store.messages", logConsumer, LogConsumer::getConsumedCount)
+                .tag("result", "stored").register(registry);
+            FunctionCounter.builder("banking.log.store.messages", logConsumer, LogConsumer::getMalformedCount)
+                .tag("result", "malformed").register(registry);
+            Gauge.builder("banking.log.store.segments", localLogStore, LocalLogStore::getSegmentCount)
+                .register(registry);
+            Gauge.builder("banking.log.store.size", localLogStore, LocalLogStore::getSizeBytes)
+                .baseUnit("bytes").register(registry);
+        };
+    }
+}
@@ -1,5 +1,7 @@
 package com.eteration.simplebanking.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -13,7 +15,9 @@ public class RabbitMQConfig {
 
     public static final String EXCHANGE_NAME = "banking_logs_exchange";
     public static final String QUEUE_NAME = "banking_logs_queue";
-    public static final String ROUTING_KEY = "banking.logs";
+    // RabbitLogPublisher "<level>.<className>" routing key'leriyle gönderir (ör. info.AccountService, error.TransferService)
+    public static final String ROUTING_KEY = "*.*";
+    public static final String EVENTS_EXCHANGE_NAME = "banking_events_exchange";
 
     @Bean
     public TopicExchange logsExchange() {
@@ -26,16 +30,25 @@ public class RabbitMQConfig {
     }
 
     @Bean
-    public Binding binding(Queue queue, TopicExchange exchange) {
+    public Binding binding() {
         return BindingBuilder
-                .bind(queue)
-                .to(exchange)
+                .bind(logsQueue())
+                .to(logsExchange())
                 .with(ROUTING_KEY);
     }
 
+    // Outbox olayları; routing key olay türüdür (AccountCredited, AccountDebited, BillPaid)
+    @Bean
+    public TopicExchange eventsExchange() {
+        return new TopicExchange(EVENTS_EXCHANGE_NAME);
+    }
+
+    // LogMessage.timestamp (LocalDateTime) için java.time modülü gerekir; tarihler ISO-8601 metni olarak yazılır
     @Bean
     public MessageConverter messageConverter() {
-        return new Jackson2JsonMessageConverter();
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return new Jackson2JsonMessageConverter(mapper);
     }
 
     @Bean
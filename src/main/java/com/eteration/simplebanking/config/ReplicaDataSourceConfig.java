@@ -0,0 +1,117 @@
+package com.eteration.simplebanking.config;
+
+import com.eteration.simplebanking.datasource.ReadYourWritesFilter;
+import com.eteration.simplebanking.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Okuma replikaları tanımlıysa (app.datasource.replica.enabled=true) Spring Boot'un tek veri kaynağı yerine
+ * birincil + replika havuzlarından oluşan yönlendirmeli veri kaynağını kurar. Kapalıyken hiçbir bean tanımlanmaz.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    /**
+     * Birincil havuzu spring.datasource.*, replika havuzlarını app.datasource.replica.urls ile oluşturur.
+     * Tüm havuzlara spring.datasource.hikari.* ayarları uygulanır; replika bağlantıları salt okunur açılır.
+     * @param urls Replikaların JDBC adresleri (virgülle ayrılmış)
+     * @param username Replika kullanıcı adı
+     * @param password Replika şifresi
+     * @param poolSize Replika başına en fazla bağlantı sayısı
+     * @param lagQuery Replika gecikmesini saniye cinsinden dönen sorgu
+     * @param maxLag Bu süreden fazla geride kalan replika okuma almaz
+     * @param healthCheckInterval Gecikme kontrolleri arasındaki süre
+     * @return ReplicaRoutingDataSource
+     */
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties, Environment environment,
+                                                             @Value("${app.datasource.replica.urls}") String[] urls,
+                                                             @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                                             @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password,
+                                                             @Value("${app.datasource.replica.pool-size:10}") int poolSize,
+                                                             @Value("${app.datasource.replica.lag-query}") String lagQuery,
+                                                             @Value("${app.datasource.replica.max-lag:5s}") Duration maxLag,
+                                                             @Value("${app.datasource.replica.health-check-interval:2s}") Duration healthCheckInterval) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(HIKARI_PREFIX, Bindable.ofInstance(primary));
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.trim().isEmpty()) {
+                continue;
+            }
+            HikariDataSource replica = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(url.trim()).username(username).password(password).build();
+            binder.bind(HIKARI_PREFIX, Bindable.ofInstance(replica));
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas, lagQuery, maxLag);
+        routing.start(healthCheckInterval);
+        return routing;
+    }
+
+    /**
+     * JPA ve JdbcTemplate'in kullandığı veri kaynağı. Hedef, işlemin readOnly bayrağı bilindiğinde
+     * (ilk SQL ifadesinde) seçilir.
+     * @param replicaRoutingDataSource Yönlendirmeli veri kaynağı
+     * @return DataSource
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * Replika sayısını ve okuma alan (sağlıklı) replika sayısını banking.datasource.replicas olarak yayınlar
+     * @param replicaRoutingDataSource Yönlendirmeli veri kaynağı
+     * @return MeterBinder
+     */
+    @Bean
+    public MeterBinder replicaRoutingMetrics(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return registry -> {
+            Gauge.builder("banking.datasource.replicas", replicaRoutingDataSource, ReplicaRoutingDataSource::getReplicaCount)
+                .tag("state", "configured").register(registry);
+            Gauge.builder("banking.datasource.replicas", replicaRoutingDataSource, ReplicaRoutingDataSource::getHealthyReplicaCount)
+                .tag("state", "healthy").register(registry);
+        };
+    }
+
+    /**
+     * Yazma yapan istemcinin sonraki okumalarını kısa bir süre birincile sabitler (app.datasource.read-your-writes.enabled)
+     * @param window Yazmadan sonra okumaların birincilde kalacağı süre
+     * @param maxClients Aynı anda izlenen en fazla istemci sayısı
+     * @return ReadYourWritesFilter
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.datasource.read-your-writes.enabled", havingValue = "true", matchIfMissing = true)
+    public ReadYourWritesFilter readYourWritesFilter(@Value("${app.datasource.read-your-writes.window:5s}") Duration window,
+                                                     @Value("${app.datasource.read-your-writes.max-clients:100000}") int maxClients) {
+        return new ReadYourWritesFilter(window, maxClients);
+    }
+}
@@ -1,21 +1,66 @@
 package com.eteration.simplebanking.controller;
 
 import com.eteration.simplebanking.dto.*;
+import com.eteration.simplebanking.idempotency.IdempotentResult;
 import com.eteration.simplebanking.model.InsufficientBalanceException;
 import com.eteration.simplebanking.services.AccountService;
+import com.eteration.simplebanking.services.BatchPostingService;
+import com.eteration.simplebanking.services.IdempotencyService;
+import com.eteration.simplebanking.services.PendingPostingService;
+import com.eteration.simplebanking.services.StatementExportService;
+import com.eteration.simplebanking.services.TransferService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/account/v1")
 public class AccountController {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String PENDING_PATH = "/account/v1/pending/";
+
+    // Aynı istekle tekrarlandığında aynı sonucu veren hatalar (400); Idempotency-Key ile yalnızca bunlar saklanır.
+    // Diğer hatalar geçicidir (zaman aşımı, veritabanı hatası) ve 503 döner
+    static final Set<String> DETERMINISTIC_ERRORS = Set.of(
+        "Account not found",
+        "Amount must be greater than zero",
+        "Payee is required for bill payment",
+        "Source and target account numbers are required",
+        "Source and target accounts must be different",
+        "Transfers are not available in ledger or journal mode",
+        "Async bill payments are not available in ledger or journal mode"
+    );
 
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private BatchPostingService batchPostingService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private StatementExportService statementExportService;
+
+    @Autowired
+    private PendingPostingService pendingPostingService;
+
     /**
-     * Verilen hesap numarasına ait hesap bilgilerini getirir
+     * Verilen hesap numarasına ait hesap bilgilerini tüm işlem geçmişiyle getirir. Geçmiş önbelleğe
+     * alınmaz; sık sorgular için özet modu veya sayfalı geçmiş kullanılmalıdır.
      * @param accountNumber Hesap numarası
      * @return ResponseEntity<AccountDTO> Hesap bilgileri veya 404 hatası
      */
@@ -28,55 +73,316 @@ public class AccountController {
         return ResponseEntity.ok(response.getObject());
     }
 
+    /**
+     * Hesabın yalnızca bakiyesini ve son N işlemini döner (özet modu)
+     * @param accountNumber Hesap numarası
+     * @param last Döndürülecek son işlem sayısı
+     * @return ResponseEntity<AccountSummaryDTO> Hesap özeti veya 404 hatası
+     */
+    @GetMapping(value = "/{accountNumber}", params = "summary=true")
+    public ResponseEntity<AccountSummaryDTO> getAccountSummary(@PathVariable String accountNumber,
+                                                               @RequestParam(defaultValue = "10") int last) {
+        ApiResponse<AccountSummaryDTO> response = accountService.findAccountSummary(accountNumber, last);
+        if (!response.getSuccess()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(response.getObject());
+    }
+
+    /**
+     * Hesabın işlem geçmişini imleç (cursor) tabanlı sayfalama ile getirir
+     * @param accountNumber Hesap numarası
+     * @param cursor Önceki sayfanın nextCursor değeri, ilk sayfa için boş
+     * @param size Sayfa boyutu
+     * @return ResponseEntity<TransactionPageDTO> İşlem sayfası, 404 veya geçersiz imleç için 400
+     */
+    @GetMapping("/{accountNumber}/transactions")
+    public ResponseEntity<TransactionPageDTO> getTransactions(@PathVariable String accountNumber,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "20") int size) {
+        ApiResponse<TransactionPageDTO> response = accountService.findTransactions(accountNumber, cursor, size);
+        if (!response.getSuccess()) {
+            if ("Account not found".equals(response.getMessage())) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(response.getObject());
+    }
+
+    /**
+     * Hesap ekstresini CSV veya NDJSON olarak akış halinde indirir; satırlar veritabanı imlecinden
+     * okundukça yazılır, yanıt boyutu bellekte tutulmaz
+     * @param accountNumber Hesap numarası
+     * @param format csv veya ndjson
+     * @param from Başlangıç zamanı (dahil, ISO-8601), boşsa sınırsız
+     * @param to Bitiş zamanı (hariç, ISO-8601), boşsa sınırsız
+     * @param gzip true ise gövde gzip ile sıkıştırılır (Content-Encoding: gzip)
+     * @return ResponseEntity<StreamingResponseBody> Ekstre akışı, 404 veya geçersiz istek için 400
+     */
+    @GetMapping("/{accountNumber}/statement")
+    public ResponseEntity<StreamingResponseBody> exportStatement(@PathVariable String accountNumber,
+                                                                 @RequestParam(defaultValue = "csv") String format,
+                                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+                                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to,
+                                                                 @RequestParam(defaultValue = "false") boolean gzip) {
+        ApiResponse<StatementExportService.Export> response = statementExportService.prepareStatement(accountNumber, format, from, to);
+        if (!response.getSuccess()) {
+            if ("Account not found".equals(response.getMessage())) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.badRequest().build();
+        }
+        StatementExportService.Export export = response.getObject();
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(export.getFormat().getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + export.getFileName() + "\"");
+        if (!gzip) {
+            return builder.body(export::writeTo);
+        }
+        return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(out -> {
+            GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+            export.writeTo(compressed);
+            compressed.finish();
+        });
+    }
+
+    /**
+     * İşlemi onay kodu ile getirir
+     * @param approvalCode UUID biçiminde onay kodu
+     * @return ResponseEntity<TransactionDetailDTO> İşlem detayı, 404 veya geçersiz kod için 400
+     */
+    @GetMapping("/transactions/{approvalCode}")
+    public ResponseEntity<TransactionDetailDTO> getTransaction(@PathVariable String approvalCode) {
+        ApiResponse<TransactionDetailDTO> response = accountService.findTransaction(approvalCode);
+        if (!response.getSuccess()) {
+            if ("Invalid approval code".equals(response.getMessage())) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(response.getObject());
+    }
+
+    /**
+     * Asenkron kabul edilmiş fatura ödemesinin durumunu getirir (PENDING, POSTED veya FAILED)
+     * @param approvalCode Kabul yanıtındaki onay kodu
+     * @return ResponseEntity<PendingTransactionDTO> Kaydın durumu, 404 veya geçersiz kod için 400
+     */
+    @GetMapping("/pending/{approvalCode}")
+    public ResponseEntity<PendingTransactionDTO> getPendingTransaction(@PathVariable String approvalCode) {
+        ApiResponse<PendingTransactionDTO> response = pendingPostingService.findStatus(approvalCode);
+        if (!response.getSuccess()) {
+            if ("Invalid approval code".equals(response.getMessage())) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(response.getObject());
+    }
+
     /**
      * Hesaba para yatırma işlemini gerçekleştirir
      * @param accountNumber Hesap numarası
      * @param request Para yatırma miktarını içeren TransactionDTO
+     * @param idempotencyKey Tekrarlanan isteğin yeniden çalıştırılmamasını sağlayan isteğe bağlı anahtar
      * @return ResponseEntity<TransactionStatus> İşlem durumu ve onay kodu
+     * @throws InsufficientBalanceException Anahtarın ilk isteği yetersiz bakiye ile sonuçlandıysa
      */
     @PostMapping("/credit/{accountNumber}")
-    public ResponseEntity<TransactionStatus> credit(@PathVariable String accountNumber, @RequestBody TransactionDTO request) {
-        ApiResponse<String> response = accountService.credit(accountNumber, request.getAmount());
-        if (!response.getSuccess()) {
-            return ResponseEntity.badRequest().body(new TransactionStatus("ERROR", null));
-        }
-        return ResponseEntity.ok(new TransactionStatus("OK", response.getObject()));
+    public ResponseEntity<TransactionStatus> credit(@PathVariable String accountNumber, @RequestBody TransactionDTO request,
+                                                    @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey)
+            throws InsufficientBalanceException {
+        return post(idempotencyKey, fingerprint("credit", accountNumber, request),
+            () -> accountService.credit(accountNumber, request.getAmount()));
     }
 
     /**
      * Hesaptan para çekme işlemini gerçekleştirir
      * @param accountNumber Hesap numarası
      * @param request Para çekme miktarını içeren TransactionDTO
+     * @param idempotencyKey Tekrarlanan isteğin yeniden çalıştırılmamasını sağlayan isteğe bağlı anahtar
      * @return ResponseEntity<TransactionStatus> İşlem durumu ve onay kodu
      * @throws InsufficientBalanceException Yetersiz bakiye durumunda
      */
     @PostMapping("/debit/{accountNumber}")
-    public ResponseEntity<TransactionStatus> debit(@PathVariable String accountNumber, @RequestBody TransactionDTO request) throws InsufficientBalanceException {
-        ApiResponse<String> response = accountService.debit(accountNumber, request.getAmount());
-        if (!response.getSuccess()) {
-            return ResponseEntity.badRequest().body(new TransactionStatus("ERROR", null));
-        }
-        return ResponseEntity.ok(new TransactionStatus("OK", response.getObject()));
+    public ResponseEntity<TransactionStatus> debit(@PathVariable String accountNumber, @RequestBody TransactionDTO request,
+                                                   @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey)
+            throws InsufficientBalanceException {
+        return post(idempotencyKey, fingerprint("debit", accountNumber, request),
+            () -> accountService.debit(accountNumber, request.getAmount()));
     }
 
     /**
      * Telefon faturası ödeme işlemini gerçekleştirir
      * @param accountNumber Hesap numarası
      * @param request Fatura detaylarını içeren TransactionDTO
+     * @param idempotencyKey Tekrarlanan isteğin yeniden çalıştırılmamasını sağlayan isteğe bağlı anahtar
      * @return ResponseEntity<TransactionStatus> İşlem durumu ve onay kodu
      * @throws InsufficientBalanceException Yetersiz bakiye durumunda
      */
     @PostMapping("/bill-payment/{accountNumber}")
-    public ResponseEntity<TransactionStatus> payPhoneBill(@PathVariable String accountNumber, @RequestBody TransactionDTO request) throws InsufficientBalanceException {
-        ApiResponse<String> response = accountService.payPhoneBill(
-            accountNumber,
-            request.getType(),
-            request.getApprovalCode(),
-            request.getAmount()
-        );
+    public ResponseEntity<TransactionStatus> payPhoneBill(@PathVariable String accountNumber, @RequestBody TransactionDTO request,
+                                                          @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey)
+            throws InsufficientBalanceException {
+        return post(idempotencyKey, fingerprint("bill-payment", accountNumber, request),
+            () -> accountService.payPhoneBill(
+                accountNumber,
+                request.getType(),
+                request.getApprovalCode(),
+                request.getAmount()
+            ));
+    }
+
+    /**
+     * Telefon faturası ödemesini asenkron kabul eder: istek bekleyen kayıt olarak yazılır ve 202 ile onay kodu döner,
+     * hesaba uygulama arka planda yapılır. Durum Location başlığındaki adresten sorgulanır.
+     * Asenkron mod kapalıysa (app.pending.enabled=false) ödeme senkron uygulanır ve 200 döner.
+     * @param accountNumber Hesap numarası
+     * @param request Fatura detaylarını içeren TransactionDTO
+     * @param idempotencyKey Tekrarlanan isteğin yeniden çalıştırılmamasını sağlayan isteğe bağlı anahtar
+     * @return ResponseEntity<TransactionStatus> PENDING durumu ve onay kodu
+     * @throws InsufficientBalanceException Senkron yolda yetersiz bakiye durumunda
+     */
+    @PostMapping(value = "/bill-payment/{accountNumber}", params = "async=true")
+    public ResponseEntity<TransactionStatus> acceptPhoneBill(@PathVariable String accountNumber, @RequestBody TransactionDTO request,
+                                                             @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey)
+            throws InsufficientBalanceException {
+        if (!pendingPostingService.isEnabled()) {
+            return payPhoneBill(accountNumber, request, idempotencyKey);
+        }
+        return post(idempotencyKey, fingerprint("bill-payment-async", accountNumber, request), HttpStatus.ACCEPTED, "PENDING",
+            () -> pendingPostingService.acceptPhoneBill(
+                accountNumber,
+                request.getType(),
+                request.getApprovalCode(),
+                request.getAmount()
+            ));
+    }
+
+    /**
+     * Karışık para yatırma, çekme ve fatura ödeme işlemlerini toplu olarak uygular.
+     * Kalem bazındaki hatalar diğer kalemleri etkilemez; her kalemin sonucu ayrı döner.
+     * @param request İşlem kalemlerini içeren BatchPostingRequest
+     * @return ResponseEntity<BatchPostingResultDTO> Kalem bazında sonuçlar veya geçersiz istek için 400
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchPostingResultDTO> postBatch(@RequestBody BatchPostingRequest request) {
+        ApiResponse<BatchPostingResultDTO> response = batchPostingService.post(request.getItems());
+        if (!response.getSuccess()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(response.getObject());
+    }
+
+    /**
+     * İki hesap arasında havale yapar; iki hesap tek işlemde id sırasıyla kilitlenir
+     * @param request Gönderen, alıcı ve tutarı içeren TransferRequest
+     * @param idempotencyKey Tekrarlanan isteğin yeniden çalıştırılmamasını sağlayan isteğe bağlı anahtar
+     * @return ResponseEntity<TransactionStatus> İşlem durumu ve giden bacağın onay kodu
+     * @throws InsufficientBalanceException Gönderen hesabın bakiyesi yetersizse
+     */
+    @PostMapping("/transfer")
+    public ResponseEntity<TransactionStatus> transfer(@RequestBody TransferRequest request,
+                                                      @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey)
+            throws InsufficientBalanceException {
+        String fingerprint = String.join("|", "transfer", String.valueOf(request.getFromAccountNumber()),
+            String.valueOf(request.getToAccountNumber()), String.valueOf(request.getAmount()));
+        return post(idempotencyKey, fingerprint,
+            () -> transferService.transfer(request.getFromAccountNumber(), request.getToAccountNumber(), request.getAmount()));
+    }
+
+    /**
+     * Birden fazla hesaptan tek bir hesaba havaleleri parçalar halinde uygular (süpürme).
+     * Kalem bazındaki hatalar diğer kalemleri etkilemez; her kalemin sonucu ayrı döner.
+     * @param request Alıcı hesap ve gönderen kalemlerini içeren SweepRequest
+     * @return ResponseEntity<BatchPostingResultDTO> Kalem bazında sonuçlar veya geçersiz istek için 400
+     */
+    @PostMapping("/transfer/sweep")
+    public ResponseEntity<BatchPostingResultDTO> sweep(@RequestBody SweepRequest request) {
+        ApiResponse<BatchPostingResultDTO> response = transferService.sweep(request.getToAccountNumber(), request.getItems());
         if (!response.getSuccess()) {
-            return ResponseEntity.badRequest().body(new TransactionStatus("ERROR", null));
+            return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.ok(new TransactionStatus("OK", response.getObject()));
+        return ResponseEntity.ok(response.getObject());
+    }
+
+    /**
+     * Yazma isteğini çalıştırır. Idempotency anahtarı verilmişse istek anahtar başına bir kez çalışır
+     * ve tekrarlarda ilk isteğin TransactionStatus'ü döner.
+     * @param idempotencyKey İsteğe bağlı anahtar
+     * @param fingerprint İsteğin parmak izi
+     * @param posting İsteği çalıştıran servis çağrısı
+     * @return ResponseEntity<TransactionStatus> İşlem durumu ve onay kodu
+     * @throws InsufficientBalanceException Yetersiz bakiye durumunda
+     */
+    private ResponseEntity<TransactionStatus> post(String idempotencyKey, String fingerprint, Posting posting)
+            throws InsufficientBalanceException {
+        return post(idempotencyKey, fingerprint, HttpStatus.OK, "OK", posting);
+    }
+
+    /**
+     * Yazma isteğini çalıştırır; başarılı yanıt verilen durum koduyla döner. 202 yanıtlarında
+     * Location başlığı kaydın durum adresini gösterir. Belirli hatalar 400, geçici hatalar 503 döner;
+     * anahtarın farklı bir istekle yeniden kullanılması 422, başka örnekte süren istek 409 döner.
+     * @param idempotencyKey İsteğe bağlı anahtar
+     * @param fingerprint İsteğin parmak izi
+     * @param successStatus Başarılı yanıtın HTTP durumu
+     * @param successLabel Başarılı yanıttaki TransactionStatus durumu
+     * @param posting İsteği çalıştıran servis çağrısı
+     * @return ResponseEntity<TransactionStatus> İşlem durumu ve onay kodu
+     * @throws InsufficientBalanceException Yetersiz bakiye durumunda
+     */
+    private ResponseEntity<TransactionStatus> post(String idempotencyKey, String fingerprint, HttpStatus successStatus,
+                                                   String successLabel, Posting posting)
+            throws InsufficientBalanceException {
+        IdempotentResult result;
+        if (idempotencyKey == null) {
+            ApiResponse<String> response = posting.post();
+            if (!response.getSuccess()) {
+                return error(DETERMINISTIC_ERRORS.contains(response.getMessage())
+                    ? HttpStatus.BAD_REQUEST : HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            result = new IdempotentResult(successStatus.value(), successLabel, response.getObject(), null);
+        } else {
+            try {
+                result = idempotencyService.execute(idempotencyKey, fingerprint, () -> {
+                    ApiResponse<String> response = posting.post();
+                    if (response.getSuccess()) {
+                        return new IdempotentResult(successStatus.value(), successLabel, response.getObject(), null);
+                    }
+                    if (!DETERMINISTIC_ERRORS.contains(response.getMessage())) {
+                        // Geçici hata (zaman aşımı, veritabanı hatası): sonuç saklanmaz, anahtar bırakılır
+                        throw new IllegalStateException(response.getMessage());
+                    }
+                    return new IdempotentResult(400, "ERROR", null, null);
+                });
+            } catch (IllegalArgumentException e) {
+                // Geçersiz anahtar
+                return error(HttpStatus.BAD_REQUEST);
+            } catch (IllegalStateException e) {
+                // Geçici hata; anahtar bırakıldı, istemci aynı anahtarla yeniden deneyebilir
+                return error(HttpStatus.SERVICE_UNAVAILABLE);
+            }
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(result.getHttpStatus());
+        if (result.getHttpStatus() == HttpStatus.ACCEPTED.value() && result.getApprovalCode() != null) {
+            builder.header(HttpHeaders.LOCATION, PENDING_PATH + result.getApprovalCode());
+        }
+        return builder.body(new TransactionStatus(result.getStatus(), result.getApprovalCode()));
+    }
+
+    private static ResponseEntity<TransactionStatus> error(HttpStatus status) {
+        return ResponseEntity.status(status).body(new TransactionStatus("ERROR", null));
+    }
+
+    private static String fingerprint(String operation, String accountNumber, TransactionDTO request) {
+        return String.join("|", operation, accountNumber, String.valueOf(request.getAmount()),
+            String.valueOf(request.getType()), String.valueOf(request.getApprovalCode()));
+    }
+
+    @FunctionalInterface
+    private interface Posting {
+        ApiResponse<String> post() throws InsufficientBalanceException;
     }
 }
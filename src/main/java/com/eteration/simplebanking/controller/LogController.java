@@ -0,0 +1,50 @@
+package com.eteration.simplebanking.controller;
+
+import com.eteration.simplebanking.dto.LogMessage;
+import com.eteration.simplebanking.logging.LocalLogStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+
+@RestController
+@RequestMapping("/logs/v1")
+public class LogController {
+
+    // Yalnızca log tüketicisi açıkken (app.logging.consumer.enabled=true) tanımlıdır
+    @Autowired(required = false)
+    private LocalLogStore logStore;
+
+    /**
+     * Yerel log deposundaki mesajları en yeniden eskiye sorgular
+     * @param level Seviye (ör. ERROR), boşsa hepsi
+     * @param className Sınıf adı (ör. AccountService), boşsa hepsi
+     * @param from Başlangıç zamanı (dahil, ISO-8601), boşsa sınırsız
+     * @param to Bitiş zamanı (hariç, ISO-8601), boşsa sınırsız
+     * @param limit En fazla mesaj sayısı (en çok 1000)
+     * @return ResponseEntity<List<LogMessage>> Mesajlar; depo kapalıysa 503
+     */
+    @GetMapping
+    public ResponseEntity<List<LogMessage>> queryLogs(@RequestParam(required = false) String level,
+                                                      @RequestParam(required = false) String className,
+                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to,
+                                                      @RequestParam(defaultValue = "100") int limit) {
+        if (logStore == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        try {
+            return ResponseEntity.ok(logStore.query(level != null ? level.toUpperCase() : null, className, from, to, limit));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
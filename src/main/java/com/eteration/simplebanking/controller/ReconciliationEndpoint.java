@@ -0,0 +1,43 @@
+package com.eteration.simplebanking.controller;
+
+import com.eteration.simplebanking.dto.ApiResponse;
+import com.eteration.simplebanking.dto.ReconciliationReportDTO;
+import com.eteration.simplebanking.services.ReconciliationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gün sonu mutabakatını isteğe bağlı başlatan yönetim uç noktası (POST /actuator/reconciliation).
+ *
+ * Her çalıştırma tüm hesapları ve işlemleri tarar ve sunucuya bir rapor dosyası yazar; bu yüzden bankacılık
+ * API'sinde değil actuator altında durur ve varsayılan olarak kapalıdır. Açmak için
+ * management.endpoint.reconciliation.enabled=true verilir ve uç nokta management.endpoints.web.exposure.include
+ * listesine eklenir; erişim yönetim portu (management.server.port) ile kısıtlanmalıdır.
+ */
+@Component
+@WebEndpoint(id = "reconciliation", enableByDefault = false)
+public class ReconciliationEndpoint {
+
+    @Autowired
+    private ReconciliationService reconciliationService;
+
+    /**
+     * Mutabakatı hemen çalıştırır; farklı çıkan hesaplar CSV raporuna yazılır
+     * @return Özet ve rapor yolu, başka bir çalıştırma sürüyorsa 409, rapor yazılamazsa 500
+     */
+    @WriteOperation
+    public WebEndpointResponse<ReconciliationReportDTO> reconcile() {
+        ApiResponse<ReconciliationReportDTO> response = reconciliationService.reconcile();
+        if (!response.getSuccess()) {
+            if ("Reconciliation already running".equals(response.getMessage())) {
+                return new WebEndpointResponse<>(HttpStatus.CONFLICT.value());
+            }
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR);
+        }
+        return new WebEndpointResponse<>(response.getObject());
+    }
+}
@@ -0,0 +1,46 @@
+package com.eteration.simplebanking.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Geçerli thread'in okumalarını replika yerine birincil veritabanına sabitler.
+ * ReadYourWritesFilter, yakın zamanda yazma yapmış bir istemcinin isteği boyunca bayrağı açar;
+ * ReplicaRoutingDataSource salt okunur işlemlerde bayrağa bakar.
+ */
+public final class ReadYourWrites {
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static void pinToPrimary() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        PINNED.remove();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    /**
+     * İşlemi birincile sabitlenmiş olarak çalıştırır ve thread'in önceki durumunu geri yükler.
+     * Süreç içinde paylaşılan önbelleklere yazılacak okumalar için kullanılır; gecikmeli bir replikadan
+     * okunan değer, yazma yolunun geçersiz kılmasından sonra önbelleğe girip tüm istemcilere eski veriyi sunabilir.
+     * @param action Birincilde çalışacak işlem
+     * @return İşlemin sonucu
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        boolean pinned = isPinnedToPrimary();
+        pinToPrimary();
+        try {
+            return action.get();
+        } finally {
+            if (!pinned) {
+                clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.eteration.simplebanking.datasource;
+
+import com.eteration.simplebanking.cache.BoundedCache;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Başarılı bir yazma isteğinden (GET/HEAD/OPTIONS dışı, 2xx yanıt) sonra aynı istemcinin okumalarını
+ * window süresince birincil veritabanına sabitler; istemci replika gecikmesi yüzünden kendi yazmasını kaçırmaz.
+ * <p>
+ * Yazma, zincir çalışmadan önce kaydedilir: yanıt zincir dönmeden istemciye gönderilmiş olabilir ve istemcinin
+ * hemen ardından gelen okuması da sabitlenmelidir. Yazma başarısız biterse, istemcinin önceden kaydı yoksa
+ * ve arada aynı istemcinin başka bir yazması üzerine yazmadıysa kayıt geri alınır.
+ * <p>
+ * İstemci X-Client-Id başlığı, yoksa uzak adres ile tanınır. Son yazma zamanları süreç içinde, boyut ve
+ * süre sınırlı bir önbellekte tutulur; birden fazla örnek varsa istemci aynı örneğe yönlendirilmelidir.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    private final BoundedCache<String, Object> recentWriters;
+
+    /**
+     * @param window Yazmadan sonra okumaların birincilde kalacağı süre
+     * @param maxClients Aynı anda izlenen en fazla istemci sayısı
+     */
+    public ReadYourWritesFilter(Duration window, int maxClients) {
+        this(window, maxClients, System::nanoTime);
+    }
+
+    ReadYourWritesFilter(Duration window, int maxClients, LongSupplier ticker) {
+        this.recentWriters = new BoundedCache<>(maxClients, window, ticker);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        String client = clientKey(request);
+        boolean write = isWrite(request.getMethod());
+        boolean recentWriter = recentWriters.getIfPresent(client) != null;
+        Object token = null;
+        if (write) {
+            token = new Object();
+            recentWriters.put(client, token);
+        } else if (recentWriter) {
+            ReadYourWrites.pinToPrimary();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.clear();
+        }
+        // Asenkron yanıtlarda durum kodu bu noktada kesinleşmemiş olabilir; bu durumda kayıt korunur.
+        // İstemci zaten sabitliyse önceki yazmasının penceresi bozulmasın diye kayıt bırakılır.
+        if (write && !recentWriter && !request.isAsyncStarted() && response.getStatus() >= 300) {
+            recentWriters.remove(client, token);
+        }
+    }
+
+    private static boolean isWrite(String method) {
+        return !"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method);
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        String clientId = request.getHeader(CLIENT_ID_HEADER);
+        return clientId != null && !clientId.isEmpty() ? clientId : request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,189 @@
+package com.eteration.simplebanking.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Salt okunur işlemleri (@Transactional(readOnly = true), readOnly TransactionTemplate) sağlıklı replikalara
+ * sırayla (round-robin) dağıtır; yazma işlemleri, işlem dışı erişimler ve birincile sabitlenmiş
+ * (ReadYourWrites) thread'ler birincil veritabanına gider.
+ * <p>
+ * Hedef bağlantı alınırken seçildiğinden LazyConnectionDataSourceProxy arkasında kullanılmalıdır; böylece
+ * fiziksel bağlantı işlemin readOnly bayrağı ayarlandıktan sonra, ilk SQL ifadesinde açılır.
+ * <p>
+ * Replikalar checkHealth ile düzenli olarak yoklanır: gecikme sorgusu hata veren veya maxLag'den fazla
+ * geride kalan replika, yakalayana kadar dağıtımdan çıkarılır. Sağlıklı replika kalmazsa okumalar birincile düşer.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private ScheduledExecutorService healthChecker;
+
+    /**
+     * @param primary Yazmaların ve işlem dışı erişimlerin gittiği veritabanı
+     * @param replicaDataSources Okuma replikaları; sağlıklı kabul edilerek başlar
+     * @param lagQuery Replikanın gecikmesini saniye cinsinden tek değer olarak dönen sorgu
+     * @param maxLag Bu süreden fazla geride kalan replika dağıtımdan çıkarılır
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources, String lagQuery, Duration maxLag) {
+        if (replicaDataSources.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        List<Replica> replicaList = new ArrayList<>(replicaDataSources.size());
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            Replica replica = new Replica("replica-" + i, replicaDataSources.get(i));
+            replicaList.add(replica);
+            targets.put(replica.key, replica.dataSource);
+        }
+        this.replicas = Collections.unmodifiableList(replicaList);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || ReadYourWrites.isPinnedToPrimary()) {
+            return PRIMARY;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.key;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Sağlık kontrolünü hemen ve ardından sabit aralıklarla çalışacak şekilde zamanlar
+     * @param interval Kontroller arasındaki süre
+     */
+    public synchronized void start(Duration interval) {
+        if (healthChecker != null) {
+            return;
+        }
+        healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sağlık kontrolünü durdurur ve kapatılabilen replika havuzlarını kapatır; birincil havuz kapatılmaz
+     */
+    public synchronized void close() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+            healthChecker = null;
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) replica.dataSource).close();
+                } catch (Exception e) {
+                    logger.warn("Replica {} not closed", replica.key, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Her replikada gecikme sorgusunu çalıştırır ve replikayı sağlıklı/sağlıksız işaretler.
+     * Hata fırlatmaz; ulaşılamayan replika sağlıksız sayılır.
+     */
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try {
+                Duration lag = measureLag(replica.dataSource);
+                replica.lagMillis = lag.toMillis();
+                healthy = lag.compareTo(maxLag) <= 0;
+            } catch (SQLException | RuntimeException e) {
+                replica.lagMillis = -1;
+                healthy = false;
+                if (replica.healthy) {
+                    logger.warn("Replica {} health check failed", replica.key, e);
+                }
+            }
+            if (healthy != replica.healthy) {
+                replica.healthy = healthy;
+                logger.info("Replica {} is {} (lag: {} ms, max lag: {} ms)", replica.key,
+                    healthy ? "back in rotation" : "out of rotation", replica.lagMillis, maxLag.toMillis());
+            }
+        }
+    }
+
+    /**
+     * @return Şu anda okuma alan replika sayısı
+     */
+    public int getHealthyReplicaCount() {
+        int healthy = 0;
+        for (Replica replica : replicas) {
+            if (replica.healthy) {
+                healthy++;
+            }
+        }
+        return healthy;
+    }
+
+    public int getReplicaCount() {
+        return replicas.size();
+    }
+
+    private Duration measureLag(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(lagQuery)) {
+            if (!result.next()) {
+                throw new SQLException("Lag query returned no rows");
+            }
+            return Duration.ofMillis(Math.round(result.getDouble(1) * 1000));
+        }
+    }
+
+    private static final class Replica {
+        private final String key;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+        private volatile long lagMillis;
+
+        private Replica(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package com.eteration.simplebanking.dto;
 
+import com.eteration.simplebanking.model.Money;
+
 import java.util.Date;
 import java.util.List;
 
 public class AccountDTO {
     private String accountNumber;
     private String owner;
-    private double balance;
+    private Money balance;
     private Date createDate;
     private List<TransactionDTO> transactions;
 
@@ -29,11 +31,11 @@ public class AccountDTO {
         this.owner = owner;
     }
 
-    public double getBalance() {
+    public Money getBalance() {
         return balance;
     }
 
-    public void setBalance(double balance) {
+    public void setBalance(Money balance) {
         this.balance = balance;
     }
 
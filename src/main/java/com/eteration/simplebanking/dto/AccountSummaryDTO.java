@@ -0,0 +1,38 @@
+package com.eteration.simplebanking.dto;
+
+import com.eteration.simplebanking.model.Money;
+
+import java.util.List;
+
+public class AccountSummaryDTO {
+    private String accountNumber;
+    private Money balance;
+    private List<TransactionDTO> lastTransactions;
+
+    public AccountSummaryDTO() {
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    public Money getBalance() {
+        return balance;
+    }
+
+    public void setBalance(Money balance) {
+        this.balance = balance;
+    }
+
+    public List<TransactionDTO> getLastTransactions() {
+        return lastTransactions;
+    }
+
+    public void setLastTransactions(List<TransactionDTO> lastTransactions) {
+        this.lastTransactions = lastTransactions;
+    }
+}
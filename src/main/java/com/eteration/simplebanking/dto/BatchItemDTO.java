@@ -0,0 +1,75 @@
+package com.eteration.simplebanking.dto;
+
+import com.eteration.simplebanking.model.Money;
+
+public class BatchItemDTO {
+    private String reference;
+    private BatchOperationType type;
+    private String accountNumber;
+    private Money amount;
+    private String payee;
+    private String phoneNumber;
+
+    public BatchItemDTO() {
+    }
+
+    public BatchItemDTO(BatchOperationType type, String accountNumber, Money amount) {
+        this.type = type;
+        this.accountNumber = accountNumber;
+        this.amount = amount;
+    }
+
+    public BatchItemDTO(BatchOperationType type, String accountNumber, Money amount, String payee, String phoneNumber) {
+        this(type, accountNumber, amount);
+        this.payee = payee;
+        this.phoneNumber = phoneNumber;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+
+    public BatchOperationType getType() {
+        return type;
+    }
+
+    public void setType(BatchOperationType type) {
+        this.type = type;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    public Money getAmount() {
+        return amount;
+    }
+
+    public void setAmount(Money amount) {
+        this.amount = amount;
+    }
+
+    public String getPayee() {
+        return payee;
+    }
+
+    public void setPayee(String payee) {
+        this.payee = payee;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+}
@@ -0,0 +1,87 @@
+package com.eteration.simplebanking.dto;
+
+public class BatchItemResultDTO {
+    public static final String STATUS_OK = "OK";
+    public static final String STATUS_ERROR = "ERROR";
+
+    public static final String ERROR_INVALID = "INVALID";
+    public static final String ERROR_ACCOUNT_NOT_FOUND = "ACCOUNT_NOT_FOUND";
+    public static final String ERROR_INSUFFICIENT_BALANCE = "INSUFFICIENT_BALANCE";
+    public static final String ERROR_FAILED = "FAILED";
+
+    private int index;
+    private String reference;
+    private String status;
+    private String approvalCode;
+    private String errorCode;
+    private String message;
+
+    public BatchItemResultDTO() {
+    }
+
+    public BatchItemResultDTO(int index, String reference, String status, String approvalCode,
+                              String errorCode, String message) {
+        this.index = index;
+        this.reference = reference;
+        this.status = status;
+        this.approvalCode = approvalCode;
+        this.errorCode = errorCode;
+        this.message = message;
+    }
+
+    public static BatchItemResultDTO ok(int index, String reference, String approvalCode) {
+        return new BatchItemResultDTO(index, reference, STATUS_OK, approvalCode, null, null);
+    }
+
+    public static BatchItemResultDTO error(int index, String reference, String errorCode, String message) {
+        return new BatchItemResultDTO(index, reference, STATUS_ERROR, null, errorCode, message);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getApprovalCode() {
+        return approvalCode;
+    }
+
+    public void setApprovalCode(String approvalCode) {
+        this.approvalCode = approvalCode;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    public void setErrorCode(String errorCode) {
+        this.errorCode = errorCode;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,7 @@
+package com.eteration.simplebanking.dto;
+
+public enum BatchOperationType {
+    CREDIT,
+    DEBIT,
+    BILL_PAYMENT
+}
@@ -0,0 +1,22 @@
+package com.eteration.simplebanking.dto;
+
+import java.util.List;
+
+public class BatchPostingRequest {
+    private List<BatchItemDTO> items;
+
+    public BatchPostingRequest() {
+    }
+
+    public BatchPostingRequest(List<BatchItemDTO> items) {
+        this.items = items;
+    }
+
+    public List<BatchItemDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<BatchItemDTO> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,54 @@
+package com.eteration.simplebanking.dto;
+
+import java.util.List;
+
+public class BatchPostingResultDTO {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResultDTO> results;
+
+    public BatchPostingResultDTO() {
+    }
+
+    public BatchPostingResultDTO(List<BatchItemResultDTO> results) {
+        this.results = results;
+        this.total = results.size();
+        this.succeeded = (int) results.stream()
+            .filter(result -> BatchItemResultDTO.STATUS_OK.equals(result.getStatus()))
+            .count();
+        this.failed = total - succeeded;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BatchItemResultDTO> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchItemResultDTO> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,83 @@
+package com.eteration.simplebanking.dto;
+
+import java.util.Date;
+
+public class ReconciliationReportDTO {
+    private Date startedAt;
+    private long durationMillis;
+    private int chunks;
+    private int failedChunks;
+    private long accountsChecked;
+    private long discrepancies;
+    private String reportFile;
+
+    public ReconciliationReportDTO() {
+    }
+
+    public ReconciliationReportDTO(Date startedAt, long durationMillis, int chunks, int failedChunks,
+                                   long accountsChecked, long discrepancies, String reportFile) {
+        this.startedAt = startedAt;
+        this.durationMillis = durationMillis;
+        this.chunks = chunks;
+        this.failedChunks = failedChunks;
+        this.accountsChecked = accountsChecked;
+        this.discrepancies = discrepancies;
+        this.reportFile = reportFile;
+    }
+
+    public Date getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Date startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public void setChunks(int chunks) {
+        this.chunks = chunks;
+    }
+
+    public int getFailedChunks() {
+        return failedChunks;
+    }
+
+    public void setFailedChunks(int failedChunks) {
+        this.failedChunks = failedChunks;
+    }
+
+    public long getAccountsChecked() {
+        return accountsChecked;
+    }
+
+    public void setAccountsChecked(long accountsChecked) {
+        this.accountsChecked = accountsChecked;
+    }
+
+    public long getDiscrepancies() {
+        return discrepancies;
+    }
+
+    public void setDiscrepancies(long discrepancies) {
+        this.discrepancies = discrepancies;
+    }
+
+    public String getReportFile() {
+        return reportFile;
+    }
+
+    public void setReportFile(String reportFile) {
+        this.reportFile = reportFile;
+    }
+}
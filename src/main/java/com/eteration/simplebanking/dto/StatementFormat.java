@@ -0,0 +1,44 @@
+package com.eteration.simplebanking.dto;
+
+import java.util.Locale;
+
+/**
+ * Hesap ekstresi dışa aktarım biçimleri
+ */
+public enum StatementFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    StatementFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    /**
+     * Biçim adını büyük/küçük harf duyarsız çözer
+     * @param format csv veya ndjson
+     * @return StatementFormat
+     * @throws IllegalArgumentException Biçim desteklenmiyorsa
+     */
+    public static StatementFormat parse(String format) {
+        if (format == null) {
+            throw new IllegalArgumentException("Unsupported format");
+        }
+        try {
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported format", e);
+        }
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
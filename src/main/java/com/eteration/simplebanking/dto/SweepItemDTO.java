@@ -0,0 +1,41 @@
+package com.eteration.simplebanking.dto;
+
+import com.eteration.simplebanking.model.Money;
+
+public class SweepItemDTO {
+    private String reference;
+    private String fromAccountNumber;
+    private Money amount;
+
+    public SweepItemDTO() {
+    }
+
+    public SweepItemDTO(String fromAccountNumber, Money amount) {
+        this.fromAccountNumber = fromAccountNumber;
+        this.amount = amount;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+
+    public String getFromAccountNumber() {
+        return fromAccountNumber;
+    }
+
+    public void setFromAccountNumber(String fromAccountNumber) {
+        this.fromAccountNumber = fromAccountNumber;
+    }
+
+    public Money getAmount() {
+        return amount;
+    }
+
+    public void setAmount(Money amount) {
+        this.amount = amount;
+    }
+}
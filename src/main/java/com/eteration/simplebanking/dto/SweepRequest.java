@@ -0,0 +1,32 @@
+package com.eteration.simplebanking.dto;
+
+import java.util.List;
+
+public class SweepRequest {
+    private String toAccountNumber;
+    private List<SweepItemDTO> items;
+
+    public SweepRequest() {
+    }
+
+    public SweepRequest(String toAccountNumber, List<SweepItemDTO> items) {
+        this.toAccountNumber = toAccountNumber;
+        this.items = items;
+    }
+
+    public String getToAccountNumber() {
+        return toAccountNumber;
+    }
+
+    public void setToAccountNumber(String toAccountNumber) {
+        this.toAccountNumber = toAccountNumber;
+    }
+
+    public List<SweepItemDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<SweepItemDTO> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,57 @@
+package com.eteration.simplebanking.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * İşlem geçmişi sayfalamasında kullanılan (date, id) imleci.
+ * İstemciye opak bir base64 metni olarak verilir.
+ */
+public class TransactionCursor {
+    private final Date date;
+    private final Long id;
+
+    public TransactionCursor(Date date, Long id) {
+        this.date = date;
+        this.id = id;
+    }
+
+    /**
+     * İmleci istemciye verilecek opak metne dönüştürür
+     * @return Base64 (URL-safe) imleç
+     */
+    public String encode() {
+        String raw = date.getTime() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * İstemciden gelen opak imleci çözer
+     * @param cursor Base64 (URL-safe) imleç
+     * @return TransactionCursor Çözülmüş imleç
+     * @throws IllegalArgumentException İmleç geçersizse
+     */
+    public static TransactionCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            long millis = Long.parseLong(raw.substring(0, separator));
+            long id = Long.parseLong(raw.substring(separator + 1));
+            return new TransactionCursor(new Date(millis), id);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public Date getDate() {
+        return date;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
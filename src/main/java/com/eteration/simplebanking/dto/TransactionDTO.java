@@ -1,10 +1,12 @@
 package com.eteration.simplebanking.dto;
 
+import com.eteration.simplebanking.model.Money;
+
 import java.util.Date;
 
 public class TransactionDTO {
     private Date date;
-    private double amount;
+    private Money amount;
     private String type;
     private String approvalCode;
 
@@ -19,11 +21,11 @@ public class TransactionDTO {
         this.date = date;
     }
 
-    public double getAmount() {
+    public Money getAmount() {
         return amount;
     }
 
-    public void setAmount(double amount) {
+    public void setAmount(Money amount) {
         this.amount = amount;
     }
 
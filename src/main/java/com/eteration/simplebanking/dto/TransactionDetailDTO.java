@@ -0,0 +1,59 @@
+package com.eteration.simplebanking.dto;
+
+import com.eteration.simplebanking.model.Money;
+
+import java.util.Date;
+
+/**
+ * Onay kodu ile sorgulanan tek bir işlemin, ait olduğu hesap numarasıyla birlikte detayı
+ */
+public class TransactionDetailDTO {
+    private String accountNumber;
+    private Date date;
+    private Money amount;
+    private String type;
+    private String approvalCode;
+
+    public TransactionDetailDTO() {
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    public Date getDate() {
+        return date;
+    }
+
+    public void setDate(Date date) {
+        this.date = date;
+    }
+
+    public Money getAmount() {
+        return amount;
+    }
+
+    public void setAmount(Money amount) {
+        this.amount = amount;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getApprovalCode() {
+        return approvalCode;
+    }
+
+    public void setApprovalCode(String approvalCode) {
+        this.approvalCode = approvalCode;
+    }
+}
@@ -0,0 +1,164 @@
+package com.eteration.simplebanking.idempotency;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Idempotency anahtarlarının boyut ve süre sınırlı, bellekteki deposu.
+ *
+ * Bir anahtarı ilk talep eden çağıran sahibi olur ve isteği çalıştırır; aynı anda gelen tekrarlar
+ * sahibin sonucunu bekler. Arama ve talep ConcurrentHashMap üzerinde O(1)'dir ve global kilit almaz.
+ * Boyut aşıldığında en eski kayıtlar (FIFO) çıkarılır; süresi dolan kayıtlar yeniden talep edilebilir.
+ */
+public class IdempotencyStore {
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final LongAdder replays = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public IdempotencyStore(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    /**
+     * @param maxSize En fazla kayıt sayısı
+     * @param ttl Kaydın talep edildikten sonra geçerli kalacağı süre
+     * @param ticker Nanosaniye saat kaynağı (testlerde değiştirilebilir)
+     */
+    public IdempotencyStore(int maxSize, Duration ttl, LongSupplier ticker) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.ticker = ticker;
+    }
+
+    /**
+     * Anahtarı talep eder. Geçerli bir kayıt varsa o döner; yoksa yeni bir kayıt oluşturulur ve
+     * çağıran sahibi olur.
+     * @param key Idempotency anahtarı
+     * @param fingerprint İsteğin parmak izi; anahtarın farklı bir istekle kullanımını ayırt eder
+     * @return Anahtarın kaydı ve çağıranın sahip olup olmadığı
+     */
+    public Claim claim(String key, String fingerprint) {
+        long now = ticker.getAsLong();
+        Entry created = new Entry(key, fingerprint, now);
+        Entry installed = entries.compute(key,
+            (k, current) -> current == null || now - current.claimedAt >= ttlNanos ? created : current);
+        if (installed != created) {
+            replays.increment();
+            return new Claim(installed, false);
+        }
+        insertionOrder.add(created);
+        queued.incrementAndGet();
+        evictIfNeeded();
+        return new Claim(created, true);
+    }
+
+    /**
+     * Sahibin sonucunu kaydeder ve bekleyen tekrarları uyandırır
+     */
+    public void complete(Entry entry, IdempotentResult result) {
+        entry.result.complete(result);
+    }
+
+    /**
+     * Kaydı siler; bekleyen tekrarlar hatayla uyanır ve anahtar yeniden talep edilebilir
+     * @param entry Silinecek kayıt
+     * @param cause Bekleyenlere iletilecek hata
+     */
+    public void release(Entry entry, Throwable cause) {
+        entries.remove(entry.key, entry);
+        entry.result.completeExceptionally(cause);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getReplayCount() {
+        return replays.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private void evictIfNeeded() {
+        while (entries.size() > maxSize || queued.get() > 2 * maxSize) {
+            Entry oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            queued.decrementAndGet();
+            if (entries.remove(oldest.key, oldest)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * claim sonucu: anahtarın kaydı ve çağıranın isteği çalıştırıp çalıştırmayacağı
+     */
+    public static final class Claim {
+        private final Entry entry;
+        private final boolean owner;
+
+        private Claim(Entry entry, boolean owner) {
+            this.entry = entry;
+            this.owner = owner;
+        }
+
+        public Entry getEntry() {
+            return entry;
+        }
+
+        public boolean isOwner() {
+            return owner;
+        }
+    }
+
+    /**
+     * Bir anahtarın talebi; sonucu sahibi tamamlar
+     */
+    public static final class Entry {
+        private final String key;
+        private final String fingerprint;
+        private final long claimedAt;
+        private final CompletableFuture<IdempotentResult> result = new CompletableFuture<>();
+
+        private Entry(String key, String fingerprint, long claimedAt) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.claimedAt = claimedAt;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public CompletableFuture<IdempotentResult> getResult() {
+            return result;
+        }
+    }
+}
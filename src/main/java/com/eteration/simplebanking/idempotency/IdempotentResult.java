@@ -0,0 +1,60 @@
+package com.eteration.simplebanking.idempotency;
+
+/**
+ * Idempotency-Key ile yapılan bir isteğin tekrarlarda aynen döndürülecek sonucu.
+ * errorMessage doluysa istek yetersiz bakiye hatasıyla sonuçlanmıştır ve tekrarda aynı hata fırlatılır.
+ */
+public final class IdempotentResult {
+    public static final String STATUS_IN_PROGRESS = "IN_PROGRESS";
+    public static final String STATUS_KEY_REUSED = "KEY_REUSED";
+
+    private final int httpStatus;
+    private final String status;
+    private final String approvalCode;
+    private final String errorMessage;
+
+    public IdempotentResult(int httpStatus, String status, String approvalCode, String errorMessage) {
+        this.httpStatus = httpStatus;
+        this.status = status;
+        this.approvalCode = approvalCode;
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * Aynı anahtarla başka bir örnekte hâlâ süren istek; sonuç saklanmaz, istemci daha sonra tekrar dener
+     */
+    public static IdempotentResult inProgress() {
+        return new IdempotentResult(409, STATUS_IN_PROGRESS, null, null);
+    }
+
+    /**
+     * Anahtarın farklı bir istek gövdesiyle yeniden kullanılması
+     */
+    public static IdempotentResult keyReused() {
+        return new IdempotentResult(422, STATUS_KEY_REUSED, null, null);
+    }
+
+    public int getHttpStatus() {
+        return httpStatus;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getApprovalCode() {
+        return approvalCode;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * @return Sonuç anahtarın kendi isteğine ait değilse (süren istek veya yeniden kullanılan anahtar) true;
+     *         bu sonuçlar bellekteki depoya yazılmaz
+     */
+    public boolean isTransient() {
+        return STATUS_IN_PROGRESS.equals(status) || STATUS_KEY_REUSED.equals(status);
+    }
+}
@@ -0,0 +1,121 @@
+package com.eteration.simplebanking.journal;
+
+import com.eteration.simplebanking.dto.BatchOperationType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Journal'a yazılan, onaylanmış tek bir işlem kaydı. Tutar minor unit olarak tutulur.
+ */
+public final class JournalEntry {
+    private final long sequence;
+    private final long timestamp;
+    private final BatchOperationType type;
+    private final String accountNumber;
+    private final long amountMinor;
+    private final String approvalCode;
+    private final String payee;
+    private final String phoneNumber;
+
+    public JournalEntry(long sequence, long timestamp, BatchOperationType type, String accountNumber,
+                        long amountMinor, String approvalCode, String payee, String phoneNumber) {
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.type = type;
+        this.accountNumber = accountNumber;
+        this.amountMinor = amountMinor;
+        this.approvalCode = approvalCode;
+        this.payee = payee;
+        this.phoneNumber = phoneNumber;
+    }
+
+    JournalEntry withSequence(long sequence) {
+        return new JournalEntry(sequence, timestamp, type, accountNumber, amountMinor, approvalCode, payee, phoneNumber);
+    }
+
+    byte[] encode() {
+        byte[] account = bytes(accountNumber);
+        byte[] code = bytes(approvalCode);
+        byte[] payeeBytes = bytes(payee);
+        byte[] phone = bytes(phoneNumber);
+        ByteBuffer buffer = ByteBuffer.allocate(8 + 8 + 1 + 8
+            + length(account) + length(code) + length(payeeBytes) + length(phone));
+        buffer.putLong(sequence).putLong(timestamp).put((byte) type.ordinal()).putLong(amountMinor);
+        put(buffer, account);
+        put(buffer, code);
+        put(buffer, payeeBytes);
+        put(buffer, phone);
+        return buffer.array();
+    }
+
+    static JournalEntry decode(ByteBuffer buffer) {
+        long sequence = buffer.getLong();
+        long timestamp = buffer.getLong();
+        BatchOperationType type = BatchOperationType.values()[buffer.get()];
+        long amountMinor = buffer.getLong();
+        String accountNumber = get(buffer);
+        String approvalCode = get(buffer);
+        String payee = get(buffer);
+        String phoneNumber = get(buffer);
+        return new JournalEntry(sequence, timestamp, type, accountNumber, amountMinor, approvalCode, payee, phoneNumber);
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] value) {
+        return 2 + (value == null ? 0 : value.length);
+    }
+
+    private static void put(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putShort((short) -1);
+        } else {
+            buffer.putShort((short) value.length).put(value);
+        }
+    }
+
+    private static String get(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public BatchOperationType getType() {
+        return type;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public long getAmountMinor() {
+        return amountMinor;
+    }
+
+    public String getApprovalCode() {
+        return approvalCode;
+    }
+
+    public String getPayee() {
+        return payee;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+}
@@ -0,0 +1,134 @@
+package com.eteration.simplebanking.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Sabit boyutlu, belleğe eşlenmiş (memory-mapped) journal dosyası.
+ *
+ * Kayıt düzeni: [int uzunluk][int CRC32C][veri]. Uzunluk 0 olan ilk kayıt dosyanın sonunu gösterir.
+ * Çökme sırasında yarım kalan kayıt CRC uyuşmazlığı ile tespit edilir ve okuma orada durur;
+ * bu kayıt fsync'ten önce yazıldığı için hiçbir çağırana onaylanmamıştır.
+ * Yeniden başlatmada mevcut segmentlere yazılmaz, her açılışta yeni bir segment oluşturulur.
+ */
+final class JournalSegment implements Closeable {
+    private static final int HEADER_SIZE = 8;
+
+    private final Path path;
+    private final long firstSequence;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    private JournalSegment(Path path, long firstSequence, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.firstSequence = firstSequence;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static JournalSegment create(Path directory, long firstSequence, int size) throws IOException {
+        Path path = directory.resolve(fileName(firstSequence));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new JournalSegment(path, firstSequence, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+    }
+
+    static JournalSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        return new JournalSegment(path, parseFirstSequence(path), channel,
+            channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+
+    static String fileName(long firstSequence) {
+        return String.format("%020d.journal", firstSequence);
+    }
+
+    static boolean isSegmentFile(Path path) {
+        return path.getFileName().toString().endsWith(".journal");
+    }
+
+    static long parseFirstSequence(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - ".journal".length()));
+    }
+
+    /**
+     * Kaydı segmentin sonuna yazar. Diske kalıcılık için force() çağrılmalıdır.
+     * @param payload Kayıt verisi
+     * @return Segmentte yer yoksa false
+     */
+    boolean append(byte[] payload) {
+        // Sonlandırıcı sıfır uzunluk için 4 bayt boş bırakılır
+        if (buffer.remaining() < HEADER_SIZE + payload.length + 4) {
+            return false;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        int start = buffer.position();
+        buffer.position(start + HEADER_SIZE);
+        buffer.put(payload);
+        buffer.putInt(start + 4, (int) crc.getValue());
+        // Uzunluk en son yazılır; okuyucu yarım kalan bir kaydı uzunluk 0 veya CRC uyuşmazlığı olarak görür
+        buffer.putInt(start, payload.length);
+        return true;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Segmentteki geçerli kayıtları sırayla okur; ilk boş veya bozuk kayıtta durur
+     * @return Kayıtlar
+     */
+    List<JournalEntry> readAll() {
+        List<JournalEntry> entries = new ArrayList<>();
+        ByteBuffer view = buffer.duplicate();
+        view.position(0);
+        CRC32C crc = new CRC32C();
+        while (view.remaining() >= HEADER_SIZE) {
+            int length = view.getInt();
+            int checksum = view.getInt();
+            if (length <= 0 || length > view.remaining()) {
+                break;
+            }
+            ByteBuffer payload = view.slice();
+            payload.limit(length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            entries.add(JournalEntry.decode(payload));
+            view.position(view.position() + length);
+        }
+        return entries;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    long getFirstSequence() {
+        return firstSequence;
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,246 @@
+package com.eteration.simplebanking.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Onaylanan işlemlerin yerel, segmentlere bölünmüş, belleğe eşlenmiş yazma öncesi günlüğü (write-ahead journal).
+ *
+ * Kayıtlar tek bir kilit altında sıra numarası alarak aktif segmente eklenir. Arka plandaki fsync thread'i
+ * son fsync'ten bu yana eklenen tüm kayıtları tek bir force() ile diske yazar (group fsync) ve
+ * awaitDurable ile bekleyen çağıranları uyandırır; yazılacak kayıt yokken süresiz park eder ve append ile uyandırılır.
+ * Veritabanına uygulanan son sıra numarası
+ * checkpoint dosyasına yazılır; tamamı checkpoint'in gerisinde kalan segmentler silinir.
+ * Açılışta checkpoint'ten sonraki kayıtlar okunur ve getRecoveredEntries ile yeniden oynatılmak üzere sunulur.
+ */
+public class TransactionJournal implements Closeable {
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final List<JournalSegment> segments = new ArrayList<>();
+    private final List<JournalEntry> recovered;
+    private final Object syncMonitor = new Object();
+
+    private JournalSegment active;
+    private long nextSequence;
+    private volatile long checkpoint;
+    private volatile long appendedSequence;
+    private volatile long syncedSequence;
+    private volatile boolean running;
+    private volatile boolean flusherIdle;
+    private final Thread flusher;
+
+    /**
+     * Journal'ı açar, checkpoint'ten sonraki kayıtları okur ve yeni bir aktif segment oluşturur
+     * @param directory Segmentlerin tutulduğu dizin
+     * @param segmentSize Segment boyutu (bayt)
+     * @throws IOException Dizin veya segmentler okunamazsa
+     */
+    public TransactionJournal(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        this.checkpoint = readCheckpoint();
+
+        List<JournalEntry> pending = new ArrayList<>();
+        long lastSequence = checkpoint;
+        for (Path path : listSegmentFiles()) {
+            JournalSegment segment = JournalSegment.open(path);
+            List<JournalEntry> entries = segment.readAll();
+            if (entries.isEmpty()) {
+                // Hiç kayıt yazılmadan kapanmış segment
+                segment.delete();
+                continue;
+            }
+            segments.add(segment);
+            for (JournalEntry entry : entries) {
+                lastSequence = Math.max(lastSequence, entry.getSequence());
+                if (entry.getSequence() > checkpoint) {
+                    pending.add(entry);
+                }
+            }
+        }
+        this.recovered = Collections.unmodifiableList(pending);
+        this.nextSequence = lastSequence + 1;
+        this.appendedSequence = lastSequence;
+        this.syncedSequence = lastSequence;
+        this.active = JournalSegment.create(directory, nextSequence, segmentSize);
+        segments.add(active);
+
+        this.running = true;
+        this.flusher = new Thread(this::runFlusher, "journal-fsync");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Kaydı sıra numarası vererek journal'a ekler. Kayıt ancak awaitDurable döndükten sonra kalıcıdır.
+     * @param draft Sıra numarası olmayan kayıt
+     * @return Sıra numarası atanmış kayıt
+     * @throws IOException Yeni segment oluşturulamazsa
+     */
+    public synchronized JournalEntry append(JournalEntry draft) throws IOException {
+        JournalEntry entry = draft.withSequence(nextSequence);
+        byte[] payload = entry.encode();
+        if (!active.append(payload)) {
+            // Dolu segment kapatılmadan önce diske yazılır; fsync thread'i yalnızca aktif segmenti izler
+            active.force();
+            active = JournalSegment.create(directory, nextSequence, segmentSize);
+            segments.add(active);
+            if (!active.append(payload)) {
+                throw new IOException("Journal entry larger than segment size");
+            }
+        }
+        nextSequence++;
+        appendedSequence = entry.getSequence();
+        if (flusherIdle) {
+            LockSupport.unpark(flusher);
+        }
+        return entry;
+    }
+
+    /**
+     * Verilen sıra numarasına kadar tüm kayıtlar diske yazılana kadar bekler
+     * @param sequence Sıra numarası
+     * @param timeoutMillis En fazla bekleme süresi
+     * @throws IOException Süre dolarsa veya bekleme kesilirse
+     */
+    public void awaitDurable(long sequence, long timeoutMillis) throws IOException {
+        if (syncedSequence >= sequence) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (syncMonitor) {
+            while (syncedSequence < sequence) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0 || !running) {
+                    throw new IOException("Journal fsync timed out for sequence " + sequence);
+                }
+                try {
+                    syncMonitor.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while waiting for journal fsync", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Verilen sıra numarasına kadar olan kayıtların veritabanına uygulandığını kaydeder
+     * ve artık gerekmeyen segmentleri siler
+     * @param sequence Uygulanan son sıra numarası
+     * @throws IOException Checkpoint dosyası yazılamazsa
+     */
+    public synchronized void checkpoint(long sequence) throws IOException {
+        if (sequence <= checkpoint) {
+            return;
+        }
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.write(temp, Long.toString(sequence).getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        checkpoint = sequence;
+
+        // Bir segmentin son kaydı, sonraki segmentin ilk sıra numarasından bir öncesidir
+        while (segments.size() > 1 && segments.get(0) != active
+                && segments.get(1).getFirstSequence() - 1 <= sequence) {
+            segments.remove(0).delete();
+        }
+    }
+
+    public List<JournalEntry> getRecoveredEntries() {
+        return recovered;
+    }
+
+    public long getSyncedSequence() {
+        return syncedSequence;
+    }
+
+    public long getAppendedSequence() {
+        return appendedSequence;
+    }
+
+    public long getCheckpoint() {
+        return checkpoint;
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    private void runFlusher() {
+        while (running) {
+            long target = appendedSequence;
+            if (target <= syncedSequence) {
+                // flusherIdle yazıldıktan sonra sıra yeniden okunur; arada eklenen kaydı append uyandırır
+                flusherIdle = true;
+                if (appendedSequence <= syncedSequence && running) {
+                    LockSupport.park(this);
+                }
+                flusherIdle = false;
+                continue;
+            }
+            JournalSegment segment;
+            synchronized (this) {
+                segment = active;
+            }
+            segment.force();
+            synchronized (syncMonitor) {
+                syncedSequence = target;
+                syncMonitor.notifyAll();
+            }
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path path = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(path)) {
+            return 0L;
+        }
+        return Long.parseLong(new String(Files.readAllBytes(path), StandardCharsets.UTF_8).trim());
+    }
+
+    private List<Path> listSegmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(JournalSegment::isSegmentFile)
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * fsync thread'ini durdurur ve aktif segmenti diske yazar
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            active.force();
+            synchronized (syncMonitor) {
+                syncedSequence = appendedSequence;
+                syncMonitor.notifyAll();
+            }
+            for (JournalSegment segment : segments) {
+                segment.close();
+            }
+        }
+    }
+}
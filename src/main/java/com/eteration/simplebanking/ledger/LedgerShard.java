@@ -0,0 +1,151 @@
+package com.eteration.simplebanking.ledger;
+
+import com.eteration.simplebanking.concurrency.ClaimableFuture;
+import com.eteration.simplebanking.dto.BatchItemDTO;
+import com.eteration.simplebanking.dto.BatchItemResultDTO;
+import com.eteration.simplebanking.dto.BatchOperationType;
+import com.eteration.simplebanking.journal.JournalEntry;
+import com.eteration.simplebanking.model.ApprovalCodes;
+import com.eteration.simplebanking.model.Money;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Kendisine düşen hesapların bakiyelerine sahip olan tek thread'li defter parçası.
+ * Bakiyelere yalnızca shard thread'i eriştiği için kilit gerekmez; istekler kilitsiz bir kuyrukla gelir.
+ * Kuyruk boşken thread süresiz park eder; submit boşta bekleyen thread'i uyandırır.
+ */
+final class LedgerShard {
+    private final Queue<Command> queue = new ConcurrentLinkedQueue<>();
+    private final Map<String, Money> balances = new HashMap<>();
+    private final Function<String, Money> balanceLoader;
+    private final Consumer<JournalEntry> sink;
+    private final Thread thread;
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong posted = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile boolean idle;
+
+    LedgerShard(int index, Function<String, Money> balanceLoader, Consumer<JournalEntry> sink) {
+        this.balanceLoader = balanceLoader;
+        this.sink = sink;
+        this.thread = new Thread(this::run, "ledger-shard-" + index);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        running = true;
+        thread.start();
+    }
+
+    void stop(long timeoutMillis) {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    CompletableFuture<BatchItemResultDTO> submit(BatchItemDTO item) {
+        Command command = new Command(item);
+        queued.incrementAndGet();
+        queue.offer(command);
+        if (idle) {
+            LockSupport.unpark(thread);
+        }
+        return command.result;
+    }
+
+    long getQueuedCount() {
+        return queued.get();
+    }
+
+    long getPostedCount() {
+        return posted.get();
+    }
+
+    private void run() {
+        while (true) {
+            Command command = queue.poll();
+            if (command == null) {
+                if (!running) {
+                    return;
+                }
+                // idle yazıldıktan sonra kuyruk yeniden okunur; arada eklenen işlemi submit uyandırır
+                idle = true;
+                if (queue.isEmpty() && running) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+                continue;
+            }
+            queued.decrementAndGet();
+            // Zaman aşımında çağıranın geri çektiği işlem bakiyeye uygulanmaz
+            if (!command.result.claim()) {
+                continue;
+            }
+            try {
+                command.result.complete(apply(command.item));
+            } catch (Throwable e) {
+                command.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * İşlemi bellekteki bakiyeye uygular ve kalıcı hale getirilmek üzere sink'e verir
+     * @param item İşlem kalemi
+     * @return Kalemin sonucu
+     */
+    private BatchItemResultDTO apply(BatchItemDTO item) {
+        String accountNumber = item.getAccountNumber();
+        Money balance = balances.get(accountNumber);
+        if (balance == null) {
+            // İlk erişimde bakiye shard thread'inde yüklenir; bulunamayan hesaplar önbelleğe alınmaz
+            balance = balanceLoader.apply(accountNumber);
+            if (balance == null) {
+                return BatchItemResultDTO.error(0, item.getReference(), BatchItemResultDTO.ERROR_ACCOUNT_NOT_FOUND,
+                    "Account not found");
+            }
+        }
+        Money updated;
+        try {
+            if (item.getType() == BatchOperationType.CREDIT) {
+                updated = balance.plus(item.getAmount());
+            } else if (balance.isLessThan(item.getAmount())) {
+                return BatchItemResultDTO.error(0, item.getReference(), BatchItemResultDTO.ERROR_INSUFFICIENT_BALANCE,
+                    "Insufficient balance");
+            } else {
+                updated = balance.minus(item.getAmount());
+            }
+        } catch (ArithmeticException e) {
+            return BatchItemResultDTO.error(0, item.getReference(), BatchItemResultDTO.ERROR_INVALID, e.getMessage());
+        }
+        String approvalCode = ApprovalCodes.next().toString();
+        balances.put(accountNumber, updated);
+        posted.incrementAndGet();
+        sink.accept(new JournalEntry(0L, System.currentTimeMillis(), item.getType(), accountNumber,
+            item.getAmount().getMinorUnits(), approvalCode, item.getPayee(), item.getPhoneNumber()));
+        return BatchItemResultDTO.ok(0, item.getReference(), approvalCode);
+    }
+
+    private static final class Command {
+        private final BatchItemDTO item;
+        private final ClaimableFuture<BatchItemResultDTO> result = new ClaimableFuture<>();
+
+        private Command(BatchItemDTO item) {
+            this.item = item;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.eteration.simplebanking.ledger;
+
+import com.eteration.simplebanking.dto.BatchItemDTO;
+import com.eteration.simplebanking.dto.BatchItemResultDTO;
+import com.eteration.simplebanking.journal.JournalEntry;
+import com.eteration.simplebanking.model.Money;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Hesapları hesap numarasının hash'ine göre N tek thread'li shard'a bölen bellek içi defter motoru.
+ *
+ * Her hesap tek bir shard'a aittir; bakiyesi yalnızca o shard'ın thread'i tarafından okunur ve
+ * değiştirilir. Bu nedenle aynı hesaba gelen işlemler kilitsiz ve geliş sırasıyla uygulanır.
+ * Uygulanan her işlem sink'e verilir; sink shard thread'inde çağrıldığı için hızlı olmalı
+ * ve kalıcılığı başka bir thread'e devretmelidir.
+ */
+public class ShardedLedger {
+    private final LedgerShard[] shards;
+
+    /**
+     * @param shardCount Shard sayısı
+     * @param balanceLoader Hesabın ilk erişimdeki bakiyesini döner; hesap yoksa null
+     * @param sink Uygulanan işlemlerin kaydı, hesap başına uygulama sırasıyla çağrılır
+     */
+    public ShardedLedger(int shardCount, Function<String, Money> balanceLoader, Consumer<JournalEntry> sink) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("shardCount must be at least 1");
+        }
+        this.shards = new LedgerShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new LedgerShard(i, balanceLoader, sink);
+        }
+    }
+
+    public void start() {
+        for (LedgerShard shard : shards) {
+            shard.start();
+        }
+    }
+
+    /**
+     * Shard thread'lerini durdurur; kuyruklarda kalan istekler durmadan önce işlenir
+     * @param timeoutMillis Shard başına bekleme süresi
+     */
+    public void stop(long timeoutMillis) {
+        for (LedgerShard shard : shards) {
+            shard.stop(timeoutMillis);
+        }
+    }
+
+    /**
+     * İşlemi hesabın shard'ının kuyruğuna ekler
+     * @param item İşlem kalemi
+     * @return Shard işlemi uyguladığında tamamlanan sonuç
+     */
+    public CompletableFuture<BatchItemResultDTO> submit(BatchItemDTO item) {
+        return shards[shardOf(item.getAccountNumber())].submit(item);
+    }
+
+    /**
+     * @param accountNumber Hesap numarası
+     * @return Hesabın ait olduğu shard'ın sırası
+     */
+    public int shardOf(String accountNumber) {
+        return Math.floorMod(accountNumber.hashCode(), shards.length);
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    public long getQueuedCount() {
+        long total = 0;
+        for (LedgerShard shard : shards) {
+            total += shard.getQueuedCount();
+        }
+        return total;
+    }
+
+    public long getPostedCount() {
+        long total = 0;
+        for (LedgerShard shard : shards) {
+            total += shard.getPostedCount();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,160 @@
+package com.eteration.simplebanking.logging;
+
+import com.eteration.simplebanking.dto.LogMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Log olaylarını halka tampona alır ve tek bir arka plan thread'i ile toplu olarak işler.
+ * Biçimlendirme, konsol/dosya logu ve yayıncıya gönderim çağıran thread'in dışında yapılır.
+ * Tampon boşken thread süresiz park eder; olay ekleyen çağıran, thread boşta ise onu uyandırır.
+ */
+public class AsyncLogDispatcher {
+    private final Logger logger;
+    private final LogRingBuffer buffer;
+    private final LogPublisher publisher;
+    private final LogOverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final List<LogMessage> batch;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile boolean idle;
+    private volatile Thread worker;
+
+    /**
+     * @param logger Konsol/dosya logunun yazılacağı logger
+     * @param bufferSize Halka tampon kapasitesi
+     * @param batchSize Bir seferde işlenecek en fazla olay sayısı
+     * @param overflowPolicy Tampon dolduğunda uygulanacak davranış
+     * @param publisher Mesajların gönderileceği yayıncı, yalnızca yerel log için null
+     */
+    public AsyncLogDispatcher(Logger logger, int bufferSize, int batchSize,
+                              LogOverflowPolicy overflowPolicy, LogPublisher publisher) {
+        this.logger = logger;
+        this.buffer = new LogRingBuffer(bufferSize);
+        this.batchSize = batchSize;
+        this.batch = new ArrayList<>(batchSize);
+        this.overflowPolicy = overflowPolicy;
+        this.publisher = publisher;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "log-publisher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Yayıncı thread'ini durdurur; tamponda kalan olaylar verilen süre içinde boşaltılır
+     * @param timeoutMillis Bekleme süresi
+     */
+    public synchronized void stop(long timeoutMillis) {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Olayı tampona ekler. Hiçbir zaman bloklamaz.
+     */
+    public void submit(String level, String message, String className, String methodName, Throwable exception) {
+        String threadName = Thread.currentThread().getName();
+        long timestamp = System.currentTimeMillis();
+        if (buffer.offer(level, message, className, methodName, threadName, timestamp, exception)) {
+            if (idle) {
+                LockSupport.unpark(worker);
+            }
+            return;
+        }
+        dropped.incrementAndGet();
+        if (overflowPolicy == LogOverflowPolicy.LOG_LOCALLY) {
+            writeLocally(level, LogFormatter.format(level, message, className, methodName, threadName, exception));
+        }
+    }
+
+    /**
+     * Tamponda bekleyen olayları bir kez işler. Yalnızca yayıncı thread'inden (veya testlerden) çağrılır.
+     * @return İşlenen olay sayısı
+     */
+    int drainOnce() {
+        batch.clear();
+        int drained = buffer.drain(this::handle, batchSize);
+        if (!batch.isEmpty()) {
+            try {
+                publisher.publish(batch);
+                published.addAndGet(batch.size());
+            } catch (Exception e) {
+                failed.addAndGet(batch.size());
+                logger.warn("Failed to send {} logs to publisher: {}", batch.size(), e.getMessage());
+            }
+        }
+        return drained;
+    }
+
+    private void run() {
+        while (running) {
+            if (drainOnce() == 0) {
+                // idle yazıldıktan sonra tampon yeniden okunur; arada eklenen olayı ekleyen thread uyandırır
+                idle = true;
+                if (buffer.size() == 0 && running) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+            }
+        }
+        while (drainOnce() > 0) {
+            // Kapanışta kalan olaylar boşaltılır
+        }
+    }
+
+    private void handle(LogEvent event) {
+        writeLocally(event.getLevel(), LogFormatter.format(event));
+        if (publisher != null) {
+            batch.add(LogFormatter.toLogMessage(event));
+        }
+    }
+
+    private void writeLocally(String level, String line) {
+        if (LogFormatter.LEVEL_ERROR.equals(level)) {
+            logger.error(line);
+        } else {
+            logger.info(line);
+        }
+    }
+
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    public long getQueuedCount() {
+        return buffer.size();
+    }
+}
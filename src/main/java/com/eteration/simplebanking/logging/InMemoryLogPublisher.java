@@ -0,0 +1,37 @@
+package com.eteration.simplebanking.logging;
+
+import com.eteration.simplebanking.dto.LogMessage;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * RabbitMQ kapalıyken kullanılan yerel karşılık. Son gönderilen mesajları sınırlı sayıda bellekte tutar.
+ */
+public class InMemoryLogPublisher implements LogPublisher {
+    private final int retention;
+    private final Deque<LogMessage> messages = new ArrayDeque<>();
+
+    public InMemoryLogPublisher(int retention) {
+        this.retention = retention;
+    }
+
+    @Override
+    public synchronized void publish(List<LogMessage> batch) {
+        for (LogMessage message : batch) {
+            if (messages.size() == retention) {
+                messages.removeFirst();
+            }
+            messages.addLast(message);
+        }
+    }
+
+    /**
+     * @return En eskiden en yeniye son gönderilen mesajlar
+     */
+    public synchronized List<LogMessage> getRecentMessages() {
+        return new ArrayList<>(messages);
+    }
+}
@@ -0,0 +1,243 @@
+package com.eteration.simplebanking.logging;
+
+import com.eteration.simplebanking.dto.LogMessage;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Log mesajlarını yerel diskte zaman dilimli, sıkıştırılmış segmentlerde tutar.
+ *
+ * Her append çağrısı tek bir gzip bloğu olarak aktif segmentin sonuna yazılır; sıkıştırma kilit dışında
+ * yapılır. Segmentler segment-duration aralıklarıyla açılır, retention süresini aşanlar segment
+ * değişiminde silinir. Her blok için seviye, sınıf adı ve zaman aralığı indekslenir; sorgu yalnızca
+ * eşleşebilecek blokları açar ve sonuçları en yeniden eskiye döner.
+ */
+public class LocalLogStore implements Closeable {
+    public static final int MAX_QUERY_LIMIT = 1000;
+
+    private final Path directory;
+    private final long segmentMillis;
+    private final long retentionMillis;
+    private final LongSupplier clock;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+    private final TreeMap<Long, LogStoreSegment> segments = new TreeMap<>();
+    private final AtomicLong stored = new AtomicLong();
+    private LogStoreSegment active;
+
+    public LocalLogStore(Path directory, Duration segmentDuration, Duration retention) throws IOException {
+        this(directory, segmentDuration, retention, System::currentTimeMillis);
+    }
+
+    LocalLogStore(Path directory, Duration segmentDuration, Duration retention, LongSupplier clock) throws IOException {
+        this.directory = directory;
+        this.segmentMillis = segmentDuration.toMillis();
+        this.retentionMillis = retention.toMillis();
+        this.clock = clock;
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.writer = mapper.writerFor(LogMessage.class);
+        this.reader = mapper.readerFor(LogMessage.class);
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) files.filter(LogStoreSegment::isIndexFile)::iterator) {
+                LogStoreSegment segment = LogStoreSegment.open(path);
+                segments.put(segment.getStart(), segment);
+            }
+        }
+    }
+
+    /**
+     * Mesajları tek bir sıkıştırılmış blok olarak aktif segmente yazar
+     * @param batch Mesajlar, geliş sırasıyla
+     * @throws IOException Disk yazması başarısızsa; blok indekslenmez
+     */
+    public void append(List<LogMessage> batch) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long now = clock.getAsLong();
+        long minTime = Long.MAX_VALUE;
+        long maxTime = Long.MIN_VALUE;
+        Set<String> levels = new HashSet<>();
+        Set<String> classNames = new HashSet<>();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(batch.size() * 64);
+        try (GZIPOutputStream gzip = new FastGZIPOutputStream(bytes)) {
+            for (LogMessage message : batch) {
+                long time = timeOf(message, now);
+                minTime = Math.min(minTime, time);
+                maxTime = Math.max(maxTime, time);
+                if (message.getLevel() != null) {
+                    levels.add(message.getLevel());
+                }
+                if (message.getClassName() != null) {
+                    classNames.add(message.getClassName());
+                }
+                gzip.write(writer.writeValueAsBytes(message));
+                gzip.write('\n');
+            }
+        }
+        synchronized (this) {
+            segmentFor(now).append(bytes.toByteArray(), batch.size(), minTime, maxTime, levels, classNames);
+        }
+        stored.addAndGet(batch.size());
+    }
+
+    /**
+     * Verilen ölçütlere uyan mesajları en yeniden eskiye döner
+     * @param level Seviye (ör. ERROR), null ise hepsi
+     * @param className Sınıf adı, null ise hepsi
+     * @param from Başlangıç zamanı (dahil), null ise sınırsız
+     * @param to Bitiş zamanı (hariç), null ise sınırsız
+     * @param limit En fazla mesaj sayısı, MAX_QUERY_LIMIT ile sınırlanır
+     * @return Eşleşen mesajlar
+     * @throws IOException Segment okunamazsa
+     */
+    public List<LogMessage> query(String level, String className, Date from, Date to, int limit) throws IOException {
+        long fromMillis = from != null ? from.getTime() : Long.MIN_VALUE;
+        long toMillis = to != null ? to.getTime() : Long.MAX_VALUE;
+        int max = Math.max(1, Math.min(limit, MAX_QUERY_LIMIT));
+
+        List<Map.Entry<LogStoreSegment, List<LogStoreBlock>>> snapshot = new ArrayList<>();
+        synchronized (this) {
+            for (LogStoreSegment segment : segments.descendingMap().values()) {
+                snapshot.add(Map.entry(segment, segment.snapshotBlocks()));
+            }
+        }
+
+        List<LogMessage> result = new ArrayList<>();
+        for (Map.Entry<LogStoreSegment, List<LogStoreBlock>> entry : snapshot) {
+            List<LogStoreBlock> blocks = entry.getValue();
+            for (int b = blocks.size() - 1; b >= 0 && result.size() < max; b--) {
+                LogStoreBlock block = blocks.get(b);
+                if (!block.mayContain(level, className, fromMillis, toMillis)) {
+                    continue;
+                }
+                List<LogMessage> messages = readBlock(entry.getKey(), block);
+                for (int i = messages.size() - 1; i >= 0 && result.size() < max; i--) {
+                    LogMessage message = messages.get(i);
+                    long time = timeOf(message, 0);
+                    if ((level == null || level.equals(message.getLevel()))
+                        && (className == null || className.equals(message.getClassName()))
+                        && time >= fromMillis && time < toMillis) {
+                        result.add(message);
+                    }
+                }
+            }
+            if (result.size() >= max) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private List<LogMessage> readBlock(LogStoreSegment segment, LogStoreBlock block) throws IOException {
+        List<LogMessage> messages = new ArrayList<>(block.getCount());
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(segment.read(block)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                messages.add(reader.readValue(line));
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * Zamanın düştüğü segmenti döner; aralık değiştiyse önceki segmentin yazma dosyalarını kapatır
+     * ve saklama süresi dolan segmentleri siler
+     */
+    private LogStoreSegment segmentFor(long now) throws IOException {
+        long start = now - Math.floorMod(now, segmentMillis);
+        if (active != null && active.getStart() == start) {
+            return active;
+        }
+        if (active != null) {
+            active.close();
+        }
+        active = segments.computeIfAbsent(start, s -> LogStoreSegment.create(directory, s));
+        purgeBefore(now - retentionMillis);
+        return active;
+    }
+
+    private void purgeBefore(long cutoff) throws IOException {
+        while (!segments.isEmpty() && segments.firstKey() + segmentMillis <= cutoff) {
+            segments.pollFirstEntry().getValue().delete();
+        }
+    }
+
+    private static long timeOf(LogMessage message, long fallback) {
+        LocalDateTime timestamp = message.getTimestamp();
+        return timestamp != null ? timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : fallback;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (LogStoreSegment segment : segments.values()) {
+            segment.close();
+        }
+        active = null;
+    }
+
+    public long getStoredCount() {
+        return stored.get();
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * @return Segment veri dosyalarının toplam (sıkıştırılmış) boyutu
+     */
+    public synchronized long getSizeBytes() {
+        long size = 0;
+        for (LogStoreSegment segment : segments.values()) {
+            try {
+                size += segment.sizeBytes();
+            } catch (IOException e) {
+                // Silinmekte olan dosya; boyut atlanır
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Hız için en düşük sıkıştırma seviyesini kullanır; log satırları bu seviyede de iyi sıkışır
+     */
+    private static final class FastGZIPOutputStream extends GZIPOutputStream {
+        FastGZIPOutputStream(ByteArrayOutputStream out) throws IOException {
+            super(out, 8192);
+            def.setLevel(Deflater.BEST_SPEED);
+        }
+    }
+}
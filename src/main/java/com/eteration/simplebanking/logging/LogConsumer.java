@@ -0,0 +1,65 @@
+package com.eteration.simplebanking.logging;
+
+import com.eteration.simplebanking.config.RabbitMQConfig;
+import com.eteration.simplebanking.dto.LogMessage;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * banking_logs_queue kuyruğunu parçalar halinde tüketir ve mesajları LocalLogStore'a yazar.
+ *
+ * Konteyner (LogConsumerConfig) mesajları batch-size kadar biriktirip tek çağrıyla teslim eder;
+ * parça diske yazıldıktan sonra tek bir basicAck (multiple) ile onaylanır. Yazma başarısızsa parça
+ * onaylanmaz ve kuyruğa geri döner. Çözülemeyen mesajlar sayılıp atlanır; parçanın geri kalanını engellemez.
+ * Bu sınıf LogService'i kullanmaz: tüketicinin kendi hatalarını kuyruğa yeniden yazması döngü oluşturur.
+ */
+public class LogConsumer {
+    private static final Logger logger = LoggerFactory.getLogger(LogConsumer.class);
+
+    private final LocalLogStore store;
+    private final ObjectReader reader = new ObjectMapper().findAndRegisterModules()
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES).readerFor(LogMessage.class);
+    private final AtomicLong consumed = new AtomicLong();
+    private final AtomicLong malformed = new AtomicLong();
+
+    public LogConsumer(LocalLogStore store) {
+        this.store = store;
+    }
+
+    /**
+     * @param messages Konteynerin biriktirdiği mesajlar, kuyruk sırasıyla
+     * @throws IOException Parça diske yazılamazsa; mesajlar yeniden teslim edilir
+     */
+    @RabbitListener(queues = RabbitMQConfig.QUEUE_NAME, containerFactory = "logBatchContainerFactory")
+    public void consume(List<Message> messages) throws IOException {
+        List<LogMessage> batch = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            try {
+                batch.add(reader.readValue(message.getBody()));
+            } catch (IOException e) {
+                malformed.incrementAndGet();
+                logger.warn("Malformed log message skipped: {}", e.getMessage());
+            }
+        }
+        store.append(batch);
+        consumed.addAndGet(batch.size());
+    }
+
+    public long getConsumedCount() {
+        return consumed.get();
+    }
+
+    public long getMalformedCount() {
+        return malformed.get();
+    }
+}
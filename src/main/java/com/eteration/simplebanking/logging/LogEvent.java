@@ -0,0 +1,72 @@
+package com.eteration.simplebanking.logging;
+
+/**
+ * Halka tampondaki önceden ayrılmış, yeniden kullanılan log olayı yuvası.
+ * Alanlar üretici tarafından yazılır, sequence alanına yapılan volatile yazma ile yayınlanır.
+ */
+class LogEvent {
+    private volatile long sequence = -1L;
+
+    private String level;
+    private String message;
+    private String className;
+    private String methodName;
+    private String threadName;
+    private long timestamp;
+    private Throwable exception;
+
+    void set(String level, String message, String className, String methodName,
+             String threadName, long timestamp, Throwable exception) {
+        this.level = level;
+        this.message = message;
+        this.className = className;
+        this.methodName = methodName;
+        this.threadName = threadName;
+        this.timestamp = timestamp;
+        this.exception = exception;
+    }
+
+    void publish(long sequence) {
+        this.sequence = sequence;
+    }
+
+    boolean isPublished(long sequence) {
+        return this.sequence == sequence;
+    }
+
+    void clear() {
+        this.message = null;
+        this.className = null;
+        this.methodName = null;
+        this.threadName = null;
+        this.exception = null;
+    }
+
+    String getLevel() {
+        return level;
+    }
+
+    String getMessage() {
+        return message;
+    }
+
+    String getClassName() {
+        return className;
+    }
+
+    String getMethodName() {
+        return methodName;
+    }
+
+    String getThreadName() {
+        return threadName;
+    }
+
+    long getTimestamp() {
+        return timestamp;
+    }
+
+    Throwable getException() {
+        return exception;
+    }
+}
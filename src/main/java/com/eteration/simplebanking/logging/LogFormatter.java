@@ -0,0 +1,63 @@
+package com.eteration.simplebanking.logging;
+
+import com.eteration.simplebanking.dto.LogMessage;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Log satırlarını ve RabbitMQ mesajlarını oluşturur. Arka plan yayıncı thread'inde çalışır.
+ */
+public final class LogFormatter {
+    public static final String LEVEL_INFO = "INFO";
+    public static final String LEVEL_ERROR = "ERROR";
+
+    private LogFormatter() {
+    }
+
+    /**
+     * Konsol/dosya logu için satırı oluşturur
+     * @return Biçimlendirilmiş log satırı
+     */
+    public static String format(String level, String message, String className, String methodName,
+                                String threadName, Throwable exception) {
+        if (!LEVEL_ERROR.equals(level)) {
+            return String.format("[%s] [%s] Info in %s.%s: %s",
+                threadName,
+                className,
+                className,
+                methodName,
+                message);
+        }
+        StringWriter sw = new StringWriter();
+        if (exception != null) {
+            exception.printStackTrace(new PrintWriter(sw));
+        }
+
+        return String.format("[%s] [%s] Error in %s.%s: %s. Exception: %s",
+            threadName,
+            className,
+            methodName,
+            message,
+            exception != null ? exception.getMessage() : null,
+            sw.toString());
+    }
+
+    static String format(LogEvent event) {
+        return format(event.getLevel(), event.getMessage(), event.getClassName(), event.getMethodName(),
+            event.getThreadName(), event.getException());
+    }
+
+    static LogMessage toLogMessage(LogEvent event) {
+        LogMessage mqMessage = new LogMessage();
+        mqMessage.setLevel(event.getLevel());
+        mqMessage.setMessage(event.getMessage());
+        mqMessage.setClassName(event.getClassName());
+        mqMessage.setMethodName(event.getMethodName());
+        mqMessage.setTimestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(event.getTimestamp()), ZoneId.systemDefault()));
+        return mqMessage;
+    }
+}
@@ -0,0 +1,11 @@
+package com.eteration.simplebanking.logging;
+
+/**
+ * Log tamponu dolduğunda uygulanacak davranış. Her iki durumda da çağıran thread bloklanmaz.
+ */
+public enum LogOverflowPolicy {
+    /** Yeni olay atılır ve dropped sayacı artırılır */
+    DROP_NEWEST,
+    /** Yeni olay yalnızca çağıran thread'de yerel logger'a yazılır, broker'a gönderilmez; dropped sayacı artırılır */
+    LOG_LOCALLY
+}
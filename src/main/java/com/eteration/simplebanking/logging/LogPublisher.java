@@ -0,0 +1,18 @@
+package com.eteration.simplebanking.logging;
+
+import com.eteration.simplebanking.dto.LogMessage;
+
+import java.util.List;
+
+/**
+ * Log mesajlarını toplu olarak dışarıya (RabbitMQ veya yerel bir karşılık) gönderir.
+ * Yalnızca arka plan yayıncı thread'inden çağrılır.
+ */
+public interface LogPublisher {
+
+    /**
+     * @param batch Gönderilecek mesajlar, çağrıdan sonra yeniden kullanılır
+     * @throws Exception Gönderim başarısızsa
+     */
+    void publish(List<LogMessage> batch) throws Exception;
+}
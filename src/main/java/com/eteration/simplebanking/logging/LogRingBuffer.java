@@ -0,0 +1,88 @@
+package com.eteration.simplebanking.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Çok üreticili, tek tüketicili, sınırlı halka tampon.
+ * Yuvalar başlangıçta bir kez ayrılır; offer hiçbir zaman bloklamaz, tampon doluysa false döner.
+ */
+public class LogRingBuffer {
+    private final LogEvent[] slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param requestedCapacity İstenen kapasite, bir üst ikinin kuvvetine yuvarlanır
+     */
+    public LogRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 1 || requestedCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid ring buffer capacity: " + requestedCapacity);
+        }
+        int capacity = 1;
+        while (capacity < requestedCapacity) {
+            capacity <<= 1;
+        }
+        this.slots = new LogEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new LogEvent();
+        }
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Olayı tampona ekler. Birden fazla thread'den eşzamanlı çağrılabilir.
+     * @return Tampon doluysa false
+     */
+    public boolean offer(String level, String message, String className, String methodName,
+                         String threadName, long timestamp, Throwable exception) {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head.get() >= slots.length) {
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+
+        LogEvent event = slots[(int) sequence & mask];
+        event.set(level, message, className, methodName, threadName, timestamp, exception);
+        event.publish(sequence);
+        return true;
+    }
+
+    /**
+     * Yayınlanmış olayları sırayla tüketir. Yalnızca tek bir tüketici thread'i çağırmalıdır.
+     * Handler olay nesnesini saklamamalıdır; yuva dönüşte yeniden kullanılır.
+     * @param handler Her olay için çağrılır
+     * @param limit Bu çağrıda en fazla tüketilecek olay sayısı
+     * @return Tüketilen olay sayısı
+     */
+    int drain(Consumer<LogEvent> handler, int limit) {
+        long sequence = head.get();
+        int drained = 0;
+        while (drained < limit) {
+            LogEvent event = slots[(int) sequence & mask];
+            if (!event.isPublished(sequence)) {
+                break;
+            }
+            try {
+                handler.accept(event);
+            } finally {
+                event.clear();
+                sequence++;
+                drained++;
+                head.lazySet(sequence);
+            }
+        }
+        return drained;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    public long size() {
+        return Math.max(0L, tail.get() - head.get());
+    }
+}
@@ -0,0 +1,92 @@
+package com.eteration.simplebanking.logging;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Segment dosyasındaki bir sıkıştırılmış bloğun (bir tüketici parçası) indeks kaydı.
+ * Bloktaki seviyeler, sınıf adları ve zaman aralığı tutulur; sorgu eşleşmeyen blokları açmadan atlar.
+ */
+final class LogStoreBlock {
+    private final long offset;
+    private final int length;
+    private final int count;
+    private final long minTime;
+    private final long maxTime;
+    private final Set<String> levels;
+    private final Set<String> classNames;
+
+    LogStoreBlock(long offset, int length, int count, long minTime, long maxTime, Set<String> levels, Set<String> classNames) {
+        this.offset = offset;
+        this.length = length;
+        this.count = count;
+        this.minTime = minTime;
+        this.maxTime = maxTime;
+        this.levels = Collections.unmodifiableSet(levels);
+        this.classNames = Collections.unmodifiableSet(classNames);
+    }
+
+    /**
+     * @param level Seviye, null ise hepsi
+     * @param className Sınıf adı, null ise hepsi
+     * @param from Başlangıç (dahil, epoch ms)
+     * @param to Bitiş (hariç, epoch ms)
+     * @return Blokta eşleşen bir mesaj olabilirse true
+     */
+    boolean mayContain(String level, String className, long from, long to) {
+        return maxTime >= from && minTime < to
+            && (level == null || levels.contains(level))
+            && (className == null || classNames.contains(className));
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        out.writeLong(offset);
+        out.writeInt(length);
+        out.writeInt(count);
+        out.writeLong(minTime);
+        out.writeLong(maxTime);
+        writeSet(out, levels);
+        writeSet(out, classNames);
+    }
+
+    static LogStoreBlock read(DataInputStream in) throws IOException {
+        long offset = in.readLong();
+        int length = in.readInt();
+        int count = in.readInt();
+        long minTime = in.readLong();
+        long maxTime = in.readLong();
+        return new LogStoreBlock(offset, length, count, minTime, maxTime, readSet(in), readSet(in));
+    }
+
+    private static void writeSet(DataOutputStream out, Set<String> values) throws IOException {
+        out.writeShort(values.size());
+        for (String value : values) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static Set<String> readSet(DataInputStream in) throws IOException {
+        int size = in.readUnsignedShort();
+        Set<String> values = new HashSet<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            values.add(in.readUTF());
+        }
+        return values;
+    }
+
+    long getOffset() {
+        return offset;
+    }
+
+    int getLength() {
+        return length;
+    }
+
+    int getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,150 @@
+package com.eteration.simplebanking.logging;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bir zaman aralığının log segmenti: "<başlangıç>.log.gz" veri dosyası ve "<başlangıç>.idx" indeks dosyası.
+ *
+ * Veri dosyası ardışık gzip üyelerinden oluşur (her blok bir üye, içinde satır başına bir JSON mesaj);
+ * dosya zcat ile doğrudan okunabilir. Blok önce veri dosyasına, ardından indeks kaydı indeks dosyasına
+ * yazılır; çökmede indekslenmemiş yarım blok sorgularda görülmez. Yalnızca LocalLogStore kilidi altında yazılır.
+ */
+final class LogStoreSegment implements Closeable {
+    static final String DATA_SUFFIX = ".log.gz";
+    static final String INDEX_SUFFIX = ".idx";
+
+    private final long start;
+    private final Path dataPath;
+    private final Path indexPath;
+    private final List<LogStoreBlock> blocks;
+    private FileChannel data;
+    private DataOutputStream index;
+
+    private LogStoreSegment(long start, Path directory, List<LogStoreBlock> blocks) {
+        this.start = start;
+        this.dataPath = directory.resolve(fileName(start, DATA_SUFFIX));
+        this.indexPath = directory.resolve(fileName(start, INDEX_SUFFIX));
+        this.blocks = blocks;
+    }
+
+    static LogStoreSegment create(Path directory, long start) {
+        return new LogStoreSegment(start, directory, new ArrayList<>());
+    }
+
+    /**
+     * Diskteki segmentin indeksini okur; yarım kalan son indeks kaydı yok sayılır
+     */
+    static LogStoreSegment open(Path indexPath) throws IOException {
+        List<LogStoreBlock> blocks = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath)))) {
+            while (true) {
+                blocks.add(LogStoreBlock.read(in));
+            }
+        } catch (EOFException e) {
+            // İndeksin sonu
+        }
+        return new LogStoreSegment(parseStart(indexPath), indexPath.getParent(), blocks);
+    }
+
+    static String fileName(long start, String suffix) {
+        return String.format("%020d%s", start, suffix);
+    }
+
+    static boolean isIndexFile(Path path) {
+        return path.getFileName().toString().endsWith(INDEX_SUFFIX);
+    }
+
+    static long parseStart(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.indexOf('.')));
+    }
+
+    /**
+     * Sıkıştırılmış bloğu veri dosyasının sonuna ekler ve indeksler
+     * @return Bloğun indeks kaydı
+     */
+    LogStoreBlock append(byte[] compressed, int count, long minTime, long maxTime,
+                         Set<String> levels, Set<String> classNames) throws IOException {
+        if (data == null) {
+            data = FileChannel.open(dataPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            index = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)));
+        }
+        // İndekslenmemiş yarım blok varsa yeni blok onun arkasına yazılır
+        long offset = data.size();
+        ByteBuffer buffer = ByteBuffer.wrap(compressed);
+        while (buffer.hasRemaining()) {
+            data.write(buffer);
+        }
+        LogStoreBlock block = new LogStoreBlock(offset, compressed.length, count, minTime, maxTime, levels, classNames);
+        block.write(index);
+        index.flush();
+        blocks.add(block);
+        return block;
+    }
+
+    /**
+     * @return Bloğun sıkıştırılmış içeriği
+     */
+    InputStream read(LogStoreBlock block) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(block.getLength());
+        try (FileChannel channel = FileChannel.open(dataPath, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, block.getOffset() + buffer.position()) < 0) {
+                    throw new EOFException("Truncated log block in " + dataPath);
+                }
+            }
+        }
+        return new ByteArrayInputStream(buffer.array());
+    }
+
+    /**
+     * Yazma dosyalarını kapatır; segment sorgulanmaya devam edebilir
+     */
+    @Override
+    public void close() throws IOException {
+        if (data != null) {
+            index.close();
+            data.close();
+            data = null;
+            index = null;
+        }
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(dataPath);
+        Files.deleteIfExists(indexPath);
+    }
+
+    long sizeBytes() throws IOException {
+        return Files.exists(dataPath) ? Files.size(dataPath) : 0;
+    }
+
+    long getStart() {
+        return start;
+    }
+
+    /**
+     * @return Blok listesinin kopyası; yalnızca LocalLogStore kilidi altında çağrılır
+     */
+    List<LogStoreBlock> snapshotBlocks() {
+        return new ArrayList<>(blocks);
+    }
+}
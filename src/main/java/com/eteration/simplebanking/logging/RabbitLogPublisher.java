@@ -0,0 +1,33 @@
+package com.eteration.simplebanking.logging;
+
+import com.eteration.simplebanking.config.RabbitMQConfig;
+import com.eteration.simplebanking.dto.LogMessage;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.List;
+
+/**
+ * Log mesajlarını tek bir kanal üzerinden toplu olarak RabbitMQ'ya gönderir.
+ * Routing key "<level>.<className>" biçimindedir.
+ */
+public class RabbitLogPublisher implements LogPublisher {
+    private final RabbitTemplate rabbitTemplate;
+
+    public RabbitLogPublisher(RabbitTemplate rabbitTemplate) {
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    @Override
+    public void publish(List<LogMessage> batch) {
+        rabbitTemplate.invoke(operations -> {
+            for (LogMessage message : batch) {
+                operations.convertAndSend(
+                    RabbitMQConfig.EXCHANGE_NAME,
+                    message.getLevel().toLowerCase() + "." + message.getClassName(),
+                    message
+                );
+            }
+            return null;
+        });
+    }
+}
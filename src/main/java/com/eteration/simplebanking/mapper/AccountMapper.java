@@ -1,10 +1,20 @@
 package com.eteration.simplebanking.mapper;
 
+import com.eteration.simplebanking.cache.AccountSnapshot;
 import com.eteration.simplebanking.dto.AccountDTO;
+import com.eteration.simplebanking.dto.AccountSummaryDTO;
+import com.eteration.simplebanking.dto.DomainEventDTO;
+import com.eteration.simplebanking.dto.PendingTransactionDTO;
 import com.eteration.simplebanking.dto.TransactionDTO;
+import com.eteration.simplebanking.dto.TransactionDetailDTO;
 import com.eteration.simplebanking.model.Account;
+import com.eteration.simplebanking.model.OutboxEvent;
+import com.eteration.simplebanking.model.PendingTransaction;
+import com.eteration.simplebanking.model.PhoneBillPaymentTransaction;
 import com.eteration.simplebanking.model.Transaction;
+import com.eteration.simplebanking.model.TransferTransaction;
 
+import java.util.List;
 import java.util.stream.Collectors;
 
 public class AccountMapper {
@@ -34,6 +44,121 @@ public class AccountMapper {
         return dto;
     }
 
+    /**
+     * Önbellekteki hesap görüntüsünden ve ayrıca okunan işlem geçmişinden AccountDTO oluşturur
+     * @param snapshot Hesap görüntüsü
+     * @param transactions Hesabın işlemleri
+     * @return AccountDTO Dönüştürülmüş DTO nesnesi
+     */
+    public static AccountDTO toDTO(AccountSnapshot snapshot, List<TransactionDTO> transactions) {
+        AccountDTO dto = new AccountDTO();
+        dto.setAccountNumber(snapshot.getAccountNumber());
+        dto.setOwner(snapshot.getOwner());
+        dto.setBalance(snapshot.getBalance());
+        dto.setCreateDate(snapshot.getCreateDate());
+        dto.setTransactions(transactions);
+        return dto;
+    }
+
+    /**
+     * Önbellekteki hesap görüntüsünden yalnızca bakiyeyi ve verilen son işlemleri içeren özet DTO'yu oluşturur
+     * @param snapshot Hesap görüntüsü
+     * @param lastTransactions Özete eklenecek son işlemler
+     * @return AccountSummaryDTO Özet DTO nesnesi
+     */
+    public static AccountSummaryDTO toSummaryDTO(AccountSnapshot snapshot, List<Transaction> lastTransactions) {
+        AccountSummaryDTO dto = new AccountSummaryDTO();
+        dto.setAccountNumber(snapshot.getAccountNumber());
+        dto.setBalance(snapshot.getBalance());
+        dto.setLastTransactions(toTransactionDTOs(lastTransactions));
+        return dto;
+    }
+
+    /**
+     * Hesabın yalnızca bakiyesini ve verilen son işlemlerini içeren özet DTO'yu oluşturur
+     * @param account Dönüştürülecek Account nesnesi
+     * @param lastTransactions Özete eklenecek son işlemler
+     * @return AccountSummaryDTO Özet DTO nesnesi
+     */
+    public static AccountSummaryDTO toSummaryDTO(Account account, List<Transaction> lastTransactions) {
+        if (account == null) {
+            return null;
+        }
+
+        AccountSummaryDTO dto = new AccountSummaryDTO();
+        dto.setAccountNumber(account.getAccountNumber());
+        dto.setBalance(account.getBalance());
+        dto.setLastTransactions(toTransactionDTOs(lastTransactions));
+        return dto;
+    }
+
+    /**
+     * İşlem listesini TransactionDTO listesine dönüştürür
+     * @param transactions Dönüştürülecek işlemler
+     * @return List<TransactionDTO> Dönüştürülmüş DTO listesi
+     */
+    public static List<TransactionDTO> toTransactionDTOs(List<Transaction> transactions) {
+        return transactions.stream()
+            .map(AccountMapper::toTransactionDTO)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * İşlemi hesap numarasıyla birlikte TransactionDetailDTO'ya dönüştürür
+     * @param transaction Hesabı yüklenmiş işlem
+     * @return TransactionDetailDTO Dönüştürülmüş DTO nesnesi
+     */
+    public static TransactionDetailDTO toTransactionDetailDTO(Transaction transaction) {
+        TransactionDetailDTO dto = new TransactionDetailDTO();
+        dto.setAccountNumber(transaction.getAccount().getAccountNumber());
+        dto.setDate(transaction.getDate());
+        dto.setAmount(transaction.getAmount());
+        dto.setType(transaction.getClass().getSimpleName());
+        dto.setApprovalCode(transaction.getApprovalCode());
+        return dto;
+    }
+
+    /**
+     * Asenkron kabul edilmiş fatura ödemesini PendingTransactionDTO'ya dönüştürür
+     * @param pending Bekleyen veya işlenmiş kayıt
+     * @return PendingTransactionDTO Dönüştürülmüş DTO nesnesi
+     */
+    public static PendingTransactionDTO toPendingTransactionDTO(PendingTransaction pending) {
+        PendingTransactionDTO dto = new PendingTransactionDTO();
+        dto.setApprovalCode(pending.getApprovalCode());
+        dto.setAccountNumber(pending.getAccountNumber());
+        dto.setAmount(pending.getAmount());
+        dto.setPayee(pending.getPayee());
+        dto.setPhoneNumber(pending.getPhoneNumber());
+        dto.setStatus(pending.getStatus());
+        dto.setErrorCode(pending.getErrorCode());
+        dto.setErrorMessage(pending.getErrorMessage());
+        dto.setCreateDate(pending.getCreateDate());
+        dto.setProcessedDate(pending.getProcessedDate());
+        return dto;
+    }
+
+    /**
+     * Hesaba uygulanmış işlemi alan olayının gövdesine dönüştürür
+     * @param transaction Hesabı atanmış işlem
+     * @return DomainEventDTO Dönüştürülmüş DTO nesnesi
+     */
+    public static DomainEventDTO toDomainEventDTO(Transaction transaction) {
+        DomainEventDTO dto = new DomainEventDTO();
+        dto.setEventType(OutboxEvent.typeOf(transaction));
+        dto.setAccountNumber(transaction.getAccount().getAccountNumber());
+        dto.setApprovalCode(transaction.getApprovalCode());
+        dto.setAmount(transaction.getAmount());
+        dto.setOccurredAt(transaction.getDate());
+        if (transaction instanceof PhoneBillPaymentTransaction) {
+            dto.setPayee(((PhoneBillPaymentTransaction) transaction).getPayee());
+            dto.setPhoneNumber(((PhoneBillPaymentTransaction) transaction).getPhoneNumber());
+        } else if (transaction instanceof TransferTransaction) {
+            dto.setCounterpartyAccountNumber(((TransferTransaction) transaction).getCounterpartyAccountNumber());
+        }
+        return dto;
+    }
+
     private static TransactionDTO toTransactionDTO(Transaction transaction) {
         TransactionDTO dto = new TransactionDTO();
         dto.setDate(transaction.getDate());
@@ -0,0 +1,127 @@
+package com.eteration.simplebanking.metrics;
+
+import com.eteration.simplebanking.cache.AccountSnapshotCache;
+import com.eteration.simplebanking.concurrency.RetryExecutor;
+import com.eteration.simplebanking.services.BalanceStripingService;
+import com.eteration.simplebanking.services.IdempotencyService;
+import com.eteration.simplebanking.services.JournaledPostingService;
+import com.eteration.simplebanking.services.LedgerPostingService;
+import com.eteration.simplebanking.services.LogService;
+import com.eteration.simplebanking.services.OutboxService;
+import com.eteration.simplebanking.services.ReconciliationService;
+import com.eteration.simplebanking.services.PendingPostingService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Asenkron log hattının, hesap önbelleğinin, yeniden deneme yürütücüsünün, journal uygulayıcısının,
+ * defter motorunun, şeritli bakiyelerin, idempotency deposunun, asenkron kabul edilen ödemelerin,
+ * outbox aktarıcısının ve gün sonu mutabakatının sayaçlarını Micrometer'a bağlar.
+ * Hikari havuz metrikleri (hikaricp.*) Spring Boot Actuator tarafından otomatik kaydedilir.
+ */
+@Component
+public class BankingInfrastructureMetrics implements MeterBinder {
+    private final LogService logService;
+    private final AccountSnapshotCache accountCache;
+    private final RetryExecutor retryExecutor;
+    private final JournaledPostingService journal;
+    private final LedgerPostingService ledger;
+    private final BalanceStripingService striping;
+    private final IdempotencyService idempotency;
+    private final PendingPostingService pending;
+    private final OutboxService outbox;
+    private final ReconciliationService reconciliation;
+
+    public BankingInfrastructureMetrics(LogService logService, AccountSnapshotCache accountCache,
+                                        RetryExecutor retryExecutor, JournaledPostingService journal,
+                                        LedgerPostingService ledger, BalanceStripingService striping,
+                                        IdempotencyService idempotency, PendingPostingService pending,
+                                        OutboxService outbox, ReconciliationService reconciliation) {
+        this.logService = logService;
+        this.accountCache = accountCache;
+        this.retryExecutor = retryExecutor;
+        this.journal = journal;
+        this.ledger = ledger;
+        this.striping = striping;
+        this.idempotency = idempotency;
+        this.pending = pending;
+        this.outbox = outbox;
+        this.reconciliation = reconciliation;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("banking.log.events", logService, LogService::getPublishedCount)
+            .tag("result", "published").register(registry);
+        FunctionCounter.builder("banking.log.events", logService, LogService::getDroppedCount)
+            .tag("result", "dropped").register(registry);
+        FunctionCounter.builder("banking.log.events", logService, LogService::getFailedCount)
+            .tag("result", "failed").register(registry);
+        Gauge.builder("banking.log.queue.size", logService, LogService::getQueuedCount)
+            .register(registry);
+
+        FunctionCounter.builder("banking.cache.account.requests", accountCache, c -> c.getStats().getHitCount())
+            .tag("result", "hit").register(registry);
+        FunctionCounter.builder("banking.cache.account.requests", accountCache, c -> c.getStats().getMissCount())
+            .tag("result", "miss").register(registry);
+        FunctionCounter.builder("banking.cache.account.evictions", accountCache, c -> c.getStats().getEvictionCount())
+            .tag("cause", "size").register(registry);
+        FunctionCounter.builder("banking.cache.account.evictions", accountCache, c -> c.getStats().getExpirationCount())
+            .tag("cause", "expired").register(registry);
+        FunctionCounter.builder("banking.cache.account.evictions", accountCache, c -> c.getStats().getInvalidationCount())
+            .tag("cause", "invalidated").register(registry);
+        Gauge.builder("banking.cache.account.size", accountCache, c -> c.getStats().getSize())
+            .register(registry);
+
+        FunctionCounter.builder("banking.concurrency.conflicts", retryExecutor, RetryExecutor::getConflictCount)
+            .register(registry);
+        FunctionCounter.builder("banking.concurrency.retries", retryExecutor, RetryExecutor::getRetryCount)
+            .register(registry);
+        FunctionCounter.builder("banking.concurrency.retry.budget.exhausted", retryExecutor, RetryExecutor::getBudgetExhaustedCount)
+            .register(registry);
+
+        Gauge.builder("banking.journal.pending", journal, JournaledPostingService::getPendingCount)
+            .register(registry);
+        FunctionCounter.builder("banking.journal.entries", journal, JournaledPostingService::getAppliedCount)
+            .tag("result", "applied").register(registry);
+        FunctionCounter.builder("banking.journal.entries", journal, JournaledPostingService::getDeadLetterCount)
+            .tag("result", "dead_letter").register(registry);
+
+        Gauge.builder("banking.ledger.queue.size", ledger, LedgerPostingService::getQueuedCount)
+            .register(registry);
+        Gauge.builder("banking.ledger.unpersisted", ledger, LedgerPostingService::getUnpersistedCount)
+            .register(registry);
+        FunctionCounter.builder("banking.ledger.postings", ledger, LedgerPostingService::getPostedCount)
+            .register(registry);
+
+        FunctionCounter.builder("banking.striping.consolidations", striping, BalanceStripingService::getConsolidationCount)
+            .register(registry);
+
+        FunctionCounter.builder("banking.idempotency.replays", idempotency, IdempotencyService::getReplayCount)
+            .register(registry);
+        Gauge.builder("banking.idempotency.keys", idempotency, IdempotencyService::getStoreSize)
+            .register(registry);
+
+        FunctionCounter.builder("banking.pending.transactions", pending, PendingPostingService::getPostedCount)
+            .tag("result", "posted").register(registry);
+        FunctionCounter.builder("banking.pending.transactions", pending, PendingPostingService::getFailedCount)
+            .tag("result", "failed").register(registry);
+        Gauge.builder("banking.pending.backlog", pending, PendingPostingService::getBacklog)
+            .register(registry);
+
+        FunctionCounter.builder("banking.outbox.events", outbox, OutboxService::getPublishedCount)
+            .tag("result", "published").register(registry);
+        FunctionCounter.builder("banking.outbox.batches", outbox, OutboxService::getFailedBatchCount)
+            .tag("result", "failed").register(registry);
+        Gauge.builder("banking.outbox.lag", outbox, OutboxService::getLagSeconds)
+            .baseUnit("seconds").register(registry);
+
+        FunctionCounter.builder("banking.reconciliation.accounts", reconciliation, ReconciliationService::getCheckedAccountCount)
+            .register(registry);
+        Gauge.builder("banking.reconciliation.discrepancies", reconciliation, ReconciliationService::getLastDiscrepancyCount)
+            .register(registry);
+    }
+}
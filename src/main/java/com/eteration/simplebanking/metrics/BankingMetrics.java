@@ -0,0 +1,93 @@
+package com.eteration.simplebanking.metrics;
+
+import com.eteration.simplebanking.model.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bankacılık işlemlerinin gecikme histogramlarını ve taşınan tutar sayaçlarını kaydeder.
+ * <ul>
+ *     <li>banking.operation: işlem başına toplam süre (operation, outcome etiketleri)</li>
+ *     <li>banking.operation.step: işlem içindeki adımların süresi (operation, step etiketleri)</li>
+ *     <li>banking.amount.moved: işlem tipine göre taşınan toplam tutar (type etiketi)</li>
+ * </ul>
+ */
+@Component
+public class BankingMetrics {
+    public static final String OPERATION_TIMER = "banking.operation";
+    public static final String STEP_TIMER = "banking.operation.step";
+    public static final String AMOUNT_COUNTER = "banking.amount.moved";
+
+    public static final String STEP_LOOKUP = "lookup";
+    public static final String STEP_POST = "post";
+    public static final String STEP_SAVE_ACCOUNT = "save.account";
+    public static final String STEP_SAVE_TRANSACTION = "save.transaction";
+    public static final String STEP_LOG = "log";
+
+    /**
+     * İşlem sonucu; outcome etiketinin değeridir
+     */
+    public enum Outcome {
+        OK,
+        INSUFFICIENT_BALANCE,
+        NOT_FOUND,
+        ERROR
+    }
+
+    private final MeterRegistry registry;
+
+    public BankingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    /**
+     * İşlemin toplam süresini sonucuyla birlikte kaydeder
+     * @param sample start() ile başlatılan ölçüm
+     * @param operation İşlem adı (credit, debit, ...)
+     * @param outcome İşlem sonucu
+     */
+    public void recordOperation(Timer.Sample sample, String operation, Outcome outcome) {
+        sample.stop(Timer.builder(OPERATION_TIMER)
+            .description("Latency of banking operations")
+            .tag("operation", operation)
+            .tag("outcome", outcome.name())
+            .publishPercentileHistogram()
+            .register(registry));
+    }
+
+    /**
+     * Adımın süresini kaydeder ve bir sonraki adım için yeni bir ölçüm başlatır
+     * @param sample Adımın başında başlatılan ölçüm
+     * @param operation İşlem adı
+     * @param step Adım adı
+     * @return Sonraki adımın ölçümü
+     */
+    public Timer.Sample recordStep(Timer.Sample sample, String operation, String step) {
+        sample.stop(Timer.builder(STEP_TIMER)
+            .description("Latency of individual steps of banking operations")
+            .tag("operation", operation)
+            .tag("step", step)
+            .publishPercentileHistogram()
+            .register(registry));
+        return start();
+    }
+
+    /**
+     * Başarılı bir işlemde taşınan tutarı işlem tipine göre sayaca ekler
+     * @param transactionType İşlem sınıfının adı
+     * @param amount Tutar
+     */
+    public void recordAmount(String transactionType, Money amount) {
+        Counter.builder(AMOUNT_COUNTER)
+            .description("Total amount moved by successful transactions")
+            .tag("type", transactionType)
+            .register(registry)
+            .increment(amount.toDouble());
+    }
+}
@@ -1,20 +1,38 @@
 package com.eteration.simplebanking.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
+// Hesap numarasından id'ye çözümleme ve hesap satırı ikinci seviye önbellekte tutulur (HibernateCacheConfig);
+// tüm yazmalar Hibernate üzerinden yapıldığından READ_WRITE bölge commit sonrasında güncellenir
 @Entity
+@Table(indexes = @Index(name = "uk_account_account_number", columnList = "accountNumber", unique = true))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Account.CACHE_REGION)
+@NaturalIdCache(region = Account.NATURAL_ID_CACHE_REGION)
 public class Account {
+    public static final String CACHE_REGION = "account";
+    public static final String NATURAL_ID_CACHE_REGION = "account-natural-id";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     private String owner;
+
+    // Değişmez doğal anahtar; yalnızca yapıcıda atanır, setter'ı yoktur
+    @NaturalId
     private String accountNumber;
-    
-    private double balance;
+
+    // Bakiye Money.SCALE ondalık basamaklı minor unit olarak tutulur
+    @Column(columnDefinition = "BIGINT")
+    private long balance;
 
     @OneToMany(mappedBy = "account")
     private List<Transaction> transactions = new ArrayList<>();
@@ -24,9 +42,18 @@ public class Account {
 
     private String lastTransactionApprovalCode;
 
+    // Hesabın outbox olaylarına verilen son sıra numarası; satır kilidi altında arttığı için hesap başına
+    // commit sırasını verir (V16)
+    @Column(nullable = false)
+    private long eventSequence;
+
+    // Optimistic lock: eşzamanlı bakiye güncellemelerinden yalnızca biri commit edilebilir
+    @Version
+    private long version;
+
     protected Account() {
         this.createDate = new Date();
-        this.balance = 0.0;
+        this.balance = 0L;
     }
 
     public Account(String owner, String accountNumber) {
@@ -41,9 +68,20 @@ public class Account {
      * @throws InsufficientBalanceException Yetersiz bakiye durumunda
      */
     public void post(Transaction transaction) throws InsufficientBalanceException {
+        apply(transaction);
+        transactions.add(transaction);
+    }
+
+    /**
+     * İşlemi hesaba uygular ancak transactions koleksiyonuna eklemez.
+     * Servis katmanındaki yazma yolu bu metodu kullanır; böylece lazy yüklenen
+     * işlem geçmişi her yazmada persistence context'e çekilmez.
+     * @param transaction Uygulanacak işlem
+     * @throws InsufficientBalanceException Yetersiz bakiye durumunda
+     */
+    public void apply(Transaction transaction) throws InsufficientBalanceException {
         transaction.setAccount(this);
         transaction.execute(this);
-        transactions.add(transaction);
         this.lastTransactionApprovalCode = transaction.getApprovalCode();
     }
 
@@ -51,10 +89,8 @@ public class Account {
      * Hesaba para yatırma işlemini gerçekleştirir
      * @param amount Yatırılacak miktar
      */
-    public void credit(double amount) {
-        // Round to 4 decimal places
-        double roundedAmount = Math.round(amount * 10000.0) / 10000.0;
-        this.balance = Math.round((this.balance + roundedAmount) * 10000.0) / 10000.0;
+    public void credit(Money amount) {
+        this.balance = Math.addExact(this.balance, amount.getMinorUnits());
     }
 
     /**
@@ -62,16 +98,18 @@ public class Account {
      * @param amount Çekilecek miktar
      * @throws InsufficientBalanceException Yetersiz bakiye durumunda
      */
-    public void debit(double amount) throws InsufficientBalanceException {
-        // Round to 4 decimal places
-        double roundedAmount = Math.round(amount * 10000.0) / 10000.0;
-        if (this.balance < roundedAmount) {
+    public void debit(Money amount) throws InsufficientBalanceException {
+        if (this.balance < amount.getMinorUnits()) {
             throw new InsufficientBalanceException("Insufficient balance for withdrawal!");
         }
-        this.balance = Math.round((this.balance - roundedAmount) * 10000.0) / 10000.0;
+        this.balance -= amount.getMinorUnits();
     }
 
     // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
     public String getOwner() {
         return owner;
     }
@@ -84,16 +122,12 @@ public class Account {
         return accountNumber;
     }
 
-    public void setAccountNumber(String accountNumber) {
-        this.accountNumber = accountNumber;
+    public Money getBalance() {
+        return Money.ofMinor(balance);
     }
 
-    public double getBalance() {
-        return balance;
-    }
-
-    public void setBalance(double balance) {
-        this.balance = Math.round(balance * 10000.0) / 10000.0;
+    public void setBalance(Money balance) {
+        this.balance = balance.getMinorUnits();
     }
 
     public List<Transaction> getTransactions() {
@@ -119,4 +153,21 @@ public class Account {
     public void setLastTransactionApprovalCode(String lastTransactionApprovalCode) {
         this.lastTransactionApprovalCode = lastTransactionApprovalCode;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Hesabın bir sonraki olay sıra numarasını ayırır. Hesabın satırını değiştirdiği için yalnızca satırı
+     * zaten güncelleyen işlemlerde çağrılmalıdır.
+     * @return Yeni sıra numarası
+     */
+    public long nextEventSequence() {
+        return ++eventSequence;
+    }
+
+    public long getEventSequence() {
+        return eventSequence;
+    }
 }
@@ -0,0 +1,16 @@
+package com.eteration.simplebanking.model;
+
+import java.util.UUID;
+
+/**
+ * İşlem onay kodu üreticisi. Uygulamalar thread-safe olmalıdır.
+ */
+public interface ApprovalCodeGenerator {
+
+    /**
+     * Yeni ve benzersiz bir onay kodu üretir. Kod approval_code uuid kolonunda doğrudan saklanır;
+     * metne yalnızca dışarıya verilirken çevrilir.
+     * @return Onay kodu
+     */
+    UUID next();
+}
@@ -0,0 +1,30 @@
+package com.eteration.simplebanking.model;
+
+import java.util.UUID;
+
+/**
+ * Transaction nesnelerinin onay kodunu aldığı üreticiyi tutar.
+ * Entity'ler Spring tarafından oluşturulmadığı için üretici buraya statik olarak kurulur;
+ * uygulama başlarken ApprovalCodeConfig yapılandırılan üreticiyi yerleştirir.
+ */
+public final class ApprovalCodes {
+    private static volatile ApprovalCodeGenerator generator = new TimeOrderedApprovalCodeGenerator(0);
+
+    private ApprovalCodes() {
+    }
+
+    public static UUID next() {
+        return generator.next();
+    }
+
+    public static ApprovalCodeGenerator getGenerator() {
+        return generator;
+    }
+
+    public static void setGenerator(ApprovalCodeGenerator generator) {
+        if (generator == null) {
+            throw new IllegalArgumentException("generator must not be null");
+        }
+        ApprovalCodes.generator = generator;
+    }
+}
@@ -0,0 +1,56 @@
+package com.eteration.simplebanking.model;
+
+import javax.persistence.*;
+
+/**
+ * Şeritli (striped) bakiye modundaki hesabın alt bakiye dilimi.
+ * Yatırmalar hesabın satırı yerine dilimlerden birine eklenir; hesabın toplam bakiyesi
+ * Account.balance ile dilimlerin toplamıdır.
+ */
+@Entity
+@Table(name = "account_balance_slot",
+    uniqueConstraints = @UniqueConstraint(name = "uk_account_balance_slot", columnNames = {"account_id", "slot"}))
+public class BalanceSlot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(nullable = false)
+    private int slot;
+
+    // Bakiye Money.SCALE ondalık basamaklı minor unit olarak tutulur
+    @Column(columnDefinition = "BIGINT", nullable = false)
+    private long balance;
+
+    protected BalanceSlot() {
+    }
+
+    public BalanceSlot(Long accountId, int slot) {
+        this.accountId = accountId;
+        this.slot = slot;
+        this.balance = 0L;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public Money getBalance() {
+        return Money.ofMinor(balance);
+    }
+
+    public void setBalance(Money balance) {
+        this.balance = balance.getMinorUnits();
+    }
+}
@@ -5,10 +5,14 @@ import javax.persistence.Entity;
 @Entity
 public class DepositTransaction extends Transaction {
 
-    public DepositTransaction(double amount) {
+    public DepositTransaction(Money amount) {
         super(amount);
     }
 
+    public DepositTransaction(double amount) {
+        this(Money.of(amount));
+    }
+
     public DepositTransaction() {
         super();
     }
@@ -0,0 +1,93 @@
+package com.eteration.simplebanking.model;
+
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.util.Date;
+
+/**
+ * Idempotency anahtarının veritabanındaki kaydı. Anahtar birincil anahtar olduğu için
+ * aynı anahtarı ikinci kez ekleme girişimi benzersizlik hatasıyla sonuçlanır; bu sayede
+ * bellekteki depoyu paylaşmayan örnekler de aynı isteği iki kez çalıştırmaz.
+ */
+@Entity
+@Table(name = "idempotency_key")
+public class IdempotencyRecord implements Persistable<String> {
+    @Id
+    @Column(name = "idempotency_key", length = 128)
+    private String key;
+
+    @Column(nullable = false)
+    private String fingerprint;
+
+    private boolean completed;
+
+    private int httpStatus;
+
+    private String status;
+
+    private String approvalCode;
+
+    private String errorMessage;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createDate;
+
+    // save() merge yerine persist çağırsın diye yeni kayıt işaretlenir
+    @Transient
+    private boolean isNew;
+
+    protected IdempotencyRecord() {
+    }
+
+    public IdempotencyRecord(String key, String fingerprint) {
+        this.key = key;
+        this.fingerprint = fingerprint;
+        this.createDate = new Date();
+        this.isNew = true;
+    }
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public int getHttpStatus() {
+        return httpStatus;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getApprovalCode() {
+        return approvalCode;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public Date getCreateDate() {
+        return createDate;
+    }
+}
@@ -0,0 +1,130 @@
+package com.eteration.simplebanking.model;
+
+import com.eteration.simplebanking.dto.BatchOperationType;
+import com.eteration.simplebanking.journal.JournalEntry;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Çağırana onay kodu verilmiş ancak veritabanına uygulanamayan journal veya defter kaydı (hesap yok,
+ * yetersiz bakiye). Kayıt, diğer kayıtlarla aynı veritabanı işleminde yazılır; checkpoint ancak bundan
+ * sonra ilerler. Böylece onaylanan hiçbir işlem sessizce kaybolmaz ve elle düzeltilmek üzere saklanır.
+ */
+@Entity
+@Table(name = "journal_dead_letter")
+public class JournalDeadLetter implements Persistable<UUID> {
+
+    @Id
+    @Column(name = "approval_code", columnDefinition = "uuid")
+    private UUID approvalCode;
+
+    @Column(nullable = false)
+    private long sequence;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private BatchOperationType type;
+
+    @Column(nullable = false)
+    private String accountNumber;
+
+    // Tutar Money.SCALE ondalık basamaklı minor unit olarak tutulur
+    @Column(columnDefinition = "BIGINT", nullable = false)
+    private long amount;
+
+    private String payee;
+
+    private String phoneNumber;
+
+    // Kaydın onaylandığı zaman
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(nullable = false)
+    private Date entryDate;
+
+    @Column(nullable = false)
+    private String reason;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(nullable = false)
+    private Date createDate;
+
+    // save() merge yerine persist çağırsın diye yeni kayıt işaretlenir
+    @Transient
+    private boolean isNew;
+
+    protected JournalDeadLetter() {
+    }
+
+    public JournalDeadLetter(JournalEntry entry, String reason) {
+        this.approvalCode = UUID.fromString(entry.getApprovalCode());
+        this.sequence = entry.getSequence();
+        this.type = entry.getType();
+        this.accountNumber = entry.getAccountNumber();
+        this.amount = entry.getAmountMinor();
+        this.payee = entry.getPayee();
+        this.phoneNumber = entry.getPhoneNumber();
+        this.entryDate = new Date(entry.getTimestamp());
+        this.reason = reason != null && reason.length() > 255 ? reason.substring(0, 255) : reason;
+        this.createDate = new Date();
+        this.isNew = true;
+    }
+
+    @Override
+    public UUID getId() {
+        return approvalCode;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public String getApprovalCode() {
+        return approvalCode.toString();
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public BatchOperationType getType() {
+        return type;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public Money getAmount() {
+        return Money.ofMinor(amount);
+    }
+
+    public String getPayee() {
+        return payee;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public Date getEntryDate() {
+        return entryDate;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public Date getCreateDate() {
+        return createDate;
+    }
+}
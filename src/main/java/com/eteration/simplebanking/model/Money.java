@@ -0,0 +1,125 @@
+package com.eteration.simplebanking.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Para tutarlarını 4 ondalık basamak hassasiyetinde, ölçeklenmiş long (minor unit)
+ * olarak tutan değişmez değer tipi. 1.2345 TL, 12345 minor unit olarak saklanır.
+ * JSON'da ondalık sayı olarak okunur ve yazılır.
+ */
+public final class Money implements Comparable<Money>, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final int SCALE = 4;
+    public static final long FACTOR = 10_000L;
+    public static final Money ZERO = new Money(0L);
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    /**
+     * Minor unit değerinden Money oluşturur
+     * @param minorUnits 10^-4 birim cinsinden tutar
+     * @return Money
+     */
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0L ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * double tutarı en yakın minor unit'e yuvarlayarak Money oluşturur
+     * @param amount Tutar
+     * @return Money
+     */
+    public static Money of(double amount) {
+        return ofMinor(Math.round(amount * FACTOR));
+    }
+
+    /**
+     * Ondalık tutarı 4 basamağa yuvarlayarak (HALF_UP) Money oluşturur
+     * @param amount Tutar
+     * @return Money
+     * @throws ArithmeticException Tutar long aralığına sığmıyorsa
+     */
+    @JsonCreator
+    public static Money of(BigDecimal amount) {
+        return ofMinor(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Metin olarak verilen tutarı ayrıştırır
+     * @param amount Tutar, örn. "96.50"
+     * @return Money
+     */
+    public static Money parse(String amount) {
+        return of(new BigDecimal(amount));
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money negate() {
+        return ofMinor(Math.negateExact(minorUnits));
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0L;
+    }
+
+    public boolean isLessThan(Money other) {
+        return minorUnits < other.minorUnits;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        BigDecimal value = BigDecimal.valueOf(minorUnits, SCALE).stripTrailingZeros();
+        return value.scale() < 1 ? value.setScale(1) : value;
+    }
+
+    public double toDouble() {
+        return (double) minorUnits / FACTOR;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Money)) {
+            return false;
+        }
+        return minorUnits == ((Money) o).minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
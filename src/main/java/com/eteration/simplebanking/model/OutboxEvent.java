@@ -0,0 +1,124 @@
+package com.eteration.simplebanking.model;
+
+import javax.persistence.*;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Hesap hareketinden doğan alan olayı (AccountCredited, AccountDebited, BillPaid). Olay, hareketin
+ * transaction satırıyla aynı veritabanı işleminde yazılır; işlem geri alınırsa olay da yazılmamış olur.
+ * Aktarıcı yayınlanmamış olayları okuyup RabbitMQ'ya gönderir ve publishedDate'i doldurur.
+ * Sıra yalnızca hesap bazında garanti edilir: accountSequence, hesabın satır kilidi altında verilen
+ * boşluksuz sıra numarasıdır ve aynı hesabın olayları bu sırayla yayınlanır.
+ */
+@Entity
+@Table(name = "outbox_event")
+public class OutboxEvent {
+    public static final String TYPE_ACCOUNT_CREDITED = "AccountCredited";
+    public static final String TYPE_ACCOUNT_DEBITED = "AccountDebited";
+    public static final String TYPE_BILL_PAID = "BillPaid";
+
+    // Pooled sequence: bir parçada yazılan olaylar JDBC batch olarak eklenebilir
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 32)
+    private String eventType;
+
+    @Column(nullable = false)
+    private String accountNumber;
+
+    @Column(name = "approval_code", columnDefinition = "uuid", nullable = false)
+    private UUID approvalCode;
+
+    // Yayınlanacak mesaj gövdesi (JSON)
+    @Column(nullable = false, length = 2000)
+    private String payload;
+
+    // Hesap bazında sıra; V16 öncesi olaylarda ve şeritli hesapların yatırmalarında null (sırasız)
+    private Long accountSequence;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(nullable = false)
+    private Date createDate;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date publishedDate;
+
+    protected OutboxEvent() {
+    }
+
+    public OutboxEvent(String eventType, String accountNumber, String approvalCode, String payload) {
+        this(eventType, accountNumber, approvalCode, payload, null);
+    }
+
+    public OutboxEvent(String eventType, String accountNumber, String approvalCode, String payload, Long accountSequence) {
+        this.accountSequence = accountSequence;
+        this.eventType = eventType;
+        this.accountNumber = accountNumber;
+        this.approvalCode = UUID.fromString(approvalCode);
+        this.payload = payload;
+        this.createDate = new Date();
+    }
+
+    /**
+     * Hareketin türüne karşılık gelen olay türünü döner; havale bacakları yönüne göre
+     * AccountCredited veya AccountDebited olur
+     * @param transaction Hesaba uygulanmış hareket
+     * @return Olay türü
+     */
+    public static String typeOf(Transaction transaction) {
+        if (transaction instanceof PhoneBillPaymentTransaction) {
+            return TYPE_BILL_PAID;
+        }
+        if (transaction instanceof DepositTransaction) {
+            return TYPE_ACCOUNT_CREDITED;
+        }
+        if (transaction instanceof TransferTransaction) {
+            return ((TransferTransaction) transaction).isIncoming() ? TYPE_ACCOUNT_CREDITED : TYPE_ACCOUNT_DEBITED;
+        }
+        return TYPE_ACCOUNT_DEBITED;
+    }
+
+    /**
+     * Olayı yayınlanmış olarak işaretler
+     * @param publishedDate Broker onayının alındığı zaman
+     */
+    public void markPublished(Date publishedDate) {
+        this.publishedDate = publishedDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public String getApprovalCode() {
+        return approvalCode.toString();
+    }
+
+    public Long getAccountSequence() {
+        return accountSequence;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Date getCreateDate() {
+        return createDate;
+    }
+
+    public Date getPublishedDate() {
+        return publishedDate;
+    }
+}
@@ -0,0 +1,146 @@
+package com.eteration.simplebanking.model;
+
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Asenkron kabul edilmiş, henüz hesaba uygulanmamış fatura ödemesi. Onay kodu kabul anında verilir ve
+ * birincil anahtardır; işlem uygulandığında transaction tablosuna aynı onay koduyla yazılır.
+ * Durum PENDING iken satır işçiler tarafından FOR UPDATE SKIP LOCKED ile talep edilir, uygulandığı
+ * işlemde POSTED veya FAILED olur.
+ */
+@Entity
+@Table(name = "pending_transaction")
+public class PendingTransaction implements Persistable<UUID> {
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_POSTED = "POSTED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @Id
+    @Column(name = "approval_code", columnDefinition = "uuid")
+    private UUID approvalCode;
+
+    @Column(nullable = false)
+    private String accountNumber;
+
+    // Tutar Money.SCALE ondalık basamaklı minor unit olarak tutulur
+    @Column(columnDefinition = "BIGINT", nullable = false)
+    private long amount;
+
+    private String payee;
+
+    private String phoneNumber;
+
+    @Column(nullable = false, length = 16)
+    private String status;
+
+    private String errorCode;
+
+    private String errorMessage;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(nullable = false)
+    private Date createDate;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date processedDate;
+
+    // save() merge yerine persist çağırsın diye yeni kayıt işaretlenir
+    @Transient
+    private boolean isNew;
+
+    protected PendingTransaction() {
+    }
+
+    public PendingTransaction(String accountNumber, String payee, String phoneNumber, Money amount) {
+        this.approvalCode = ApprovalCodes.next();
+        this.accountNumber = accountNumber;
+        this.payee = payee;
+        this.phoneNumber = phoneNumber;
+        this.amount = amount.getMinorUnits();
+        this.status = STATUS_PENDING;
+        this.createDate = new Date();
+        this.isNew = true;
+    }
+
+    @Override
+    public UUID getId() {
+        return approvalCode;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    /**
+     * Kaydı uygulanmış olarak işaretler
+     * @param processedDate Uygulanma zamanı
+     */
+    public void markPosted(Date processedDate) {
+        this.status = STATUS_POSTED;
+        this.processedDate = processedDate;
+    }
+
+    /**
+     * Kaydı uygulanamadı olarak işaretler; kayıt bir daha denenmez
+     * @param errorCode BatchItemResultDTO hata kodu
+     * @param errorMessage Hata mesajı
+     * @param processedDate İşlenme zamanı
+     */
+    public void markFailed(String errorCode, String errorMessage, Date processedDate) {
+        this.status = STATUS_FAILED;
+        this.errorCode = errorCode;
+        this.errorMessage = errorMessage;
+        this.processedDate = processedDate;
+    }
+
+    public String getApprovalCode() {
+        return approvalCode.toString();
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public Money getAmount() {
+        return Money.ofMinor(amount);
+    }
+
+    public String getPayee() {
+        return payee;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public Date getCreateDate() {
+        return createDate;
+    }
+
+    public Date getProcessedDate() {
+        return processedDate;
+    }
+}
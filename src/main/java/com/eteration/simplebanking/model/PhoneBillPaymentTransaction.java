@@ -12,12 +12,16 @@ public class PhoneBillPaymentTransaction extends Transaction {
         super();
     }
 
-    public PhoneBillPaymentTransaction(String payee, String phoneNumber, double amount) {
+    public PhoneBillPaymentTransaction(String payee, String phoneNumber, Money amount) {
         super(amount);
         this.payee = payee;
         this.phoneNumber = phoneNumber;
     }
 
+    public PhoneBillPaymentTransaction(String payee, String phoneNumber, double amount) {
+        this(payee, phoneNumber, Money.of(amount));
+    }
+
     @Override
     public void execute(Account account) throws InsufficientBalanceException {
         account.debit(getAmount()); // Telefon faturası tutarı hesaptan çekilir
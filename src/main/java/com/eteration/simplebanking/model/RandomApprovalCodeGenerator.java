@@ -0,0 +1,15 @@
+package com.eteration.simplebanking.model;
+
+import java.util.UUID;
+
+/**
+ * SecureRandom tabanlı rastgele UUID (v4) üretici. Eski davranışı korumak için tutulur;
+ * her çağrı paylaşılan SecureRandom üzerinde senkronize olur.
+ */
+public class RandomApprovalCodeGenerator implements ApprovalCodeGenerator {
+
+    @Override
+    public UUID next() {
+        return UUID.randomUUID();
+    }
+}
@@ -0,0 +1,91 @@
+package com.eteration.simplebanking.model;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Zamana göre sıralı, düğüm bilgisi içeren onay kodu üretici (UUIDv7 düzeninde, Snowflake benzeri).
+ *
+ * Bit düzeni:
+ * - 48 bit Unix zamanı (ms), 4 bit sürüm (7), 12 bit aynı milisaniye içindeki sıra numarası
+ * - 2 bit varyant, 14 bit düğüm kimliği, 48 bit ThreadLocalRandom
+ *
+ * Zaman ve sıra numarası tek bir AtomicLong içinde CAS ile ilerletilir; kilit kullanılmaz.
+ * Aynı milisaniyede 4096'dan fazla kod istenirse sıra numarası zaman alanına taşar, böylece
+ * kodlar saat geri gitse bile düğüm içinde kesin artan sırada kalır. Düğüm kimliği farklı
+ * sunucuların aynı milisaniyede ürettiği kodları ayırır. Kodlar UUID biçiminde olduğundan
+ * mevcut approval_code sütunu ve istemciler değişmeden kullanılabilir; artan sıra sayesinde
+ * approval_code indeksine eklemeler B-tree'nin sağ ucunda toplanır.
+ * Rastgele kısım kriptografik değildir; onay kodu bir yetkilendirme sırrı olarak kullanılmamalıdır.
+ */
+public class TimeOrderedApprovalCodeGenerator implements ApprovalCodeGenerator {
+    public static final int MAX_NODE_ID = (1 << 14) - 1;
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC4122 = 0x8000000000000000L;
+    private static final long RANDOM_MASK = (1L << 48) - 1;
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+    private final AtomicLong lastTimeAndSequence = new AtomicLong();
+
+    public TimeOrderedApprovalCodeGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    TimeOrderedApprovalCodeGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("nodeId must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeBits = (long) nodeId << 48;
+        this.clock = clock;
+    }
+
+    /**
+     * Yeni bir zaman sıralı UUID üretir
+     * @return UUID
+     */
+    @Override
+    public UUID next() {
+        long timeAndSequence = nextTimeAndSequence();
+        long mostSigBits = ((timeAndSequence >>> SEQUENCE_BITS) << 16)
+            | VERSION_7
+            | (timeAndSequence & ((1L << SEQUENCE_BITS) - 1));
+        long leastSigBits = VARIANT_RFC4122
+            | nodeBits
+            | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private long nextTimeAndSequence() {
+        long now = clock.getAsLong() << SEQUENCE_BITS;
+        while (true) {
+            long last = lastTimeAndSequence.get();
+            long next = Math.max(now, last + 1);
+            if (lastTimeAndSequence.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Koddaki düğüm kimliğini döner
+     * @param approvalCode Bu üretici ile oluşturulmuş onay kodu
+     * @return Düğüm kimliği
+     */
+    public static int nodeIdOf(String approvalCode) {
+        return (int) ((UUID.fromString(approvalCode).getLeastSignificantBits() >>> 48) & MAX_NODE_ID);
+    }
+
+    /**
+     * Koddaki üretim zamanını döner
+     * @param approvalCode Bu üretici ile oluşturulmuş onay kodu
+     * @return Unix zamanı (ms)
+     */
+    public static long timestampOf(String approvalCode) {
+        return UUID.fromString(approvalCode).getMostSignificantBits() >>> 16;
+    }
+}
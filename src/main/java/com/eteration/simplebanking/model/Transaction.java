@@ -5,33 +5,44 @@ import java.util.Date;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_transaction_account_date_id", columnList = "account_id, date, id"),
+    // Tablo date üzerinde aylık bölümlendiğinden (V11) benzersiz indeks bölüm anahtarını da içermek zorundadır;
+    // tablo genelindeki benzersizliği V15'teki transaction_approval_code tablosu ve insert trigger'ı sağlar
+    @Index(name = "uk_transaction_approval_code", columnList = "approval_code, date", unique = true)
+})
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "type")
 public abstract class Transaction {
+    // Pooled sequence: id'ler 50'lik bloklar halinde ayrılır, böylece Hibernate eklemeleri JDBC batch olarak gönderebilir
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transaction_seq", allocationSize = 50)
     private Long id;
 
     @Temporal(TemporalType.TIMESTAMP)
     private Date date;
 
-    @Column(columnDefinition = "DOUBLE PRECISION")
-    private double amount;
-    
-    private String approvalCode;
+    // Tutar Money.SCALE ondalık basamaklı minor unit olarak tutulur
+    @Column(columnDefinition = "BIGINT")
+    private long amount;
+
+    // Onay kodu 16 baytlık yerel uuid kolonunda tutulur (36 karakterlik varchar yerine); dışarıya metin olarak verilir
+    @Column(name = "approval_code", columnDefinition = "uuid")
+    private UUID approvalCode;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "account_id")
     private Account account;
 
+    // JPA için; alanlar veritabanından doldurulur, onay kodu üretilmez
     protected Transaction() {
-        this.date = new Date();
-        this.approvalCode = UUID.randomUUID().toString();
     }
 
-    protected Transaction(double amount) {
-        this();
-        this.amount = amount;
+    protected Transaction(Money amount) {
+        this.date = new Date();
+        this.approvalCode = ApprovalCodes.next();
+        this.amount = amount.getMinorUnits();
     }
 
     public abstract void execute(Account account) throws InsufficientBalanceException;
@@ -49,20 +60,24 @@ public abstract class Transaction {
         this.date = date;
     }
 
-    public double getAmount() {
-        return amount;
+    public Money getAmount() {
+        return Money.ofMinor(amount);
     }
 
-    public void setAmount(double amount) {
-        this.amount = amount;
+    public void setAmount(Money amount) {
+        this.amount = amount.getMinorUnits();
     }
 
     public String getApprovalCode() {
-        return approvalCode;
+        return approvalCode != null ? approvalCode.toString() : null;
     }
 
+    /**
+     * @param approvalCode UUID biçiminde onay kodu
+     * @throws IllegalArgumentException Kod UUID biçiminde değilse
+     */
     public void setApprovalCode(String approvalCode) {
-        this.approvalCode = approvalCode;
+        this.approvalCode = approvalCode != null ? UUID.fromString(approvalCode) : null;
     }
 
     public Account getAccount() {
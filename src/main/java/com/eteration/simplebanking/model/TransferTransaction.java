@@ -0,0 +1,50 @@
+package com.eteration.simplebanking.model;
+
+import javax.persistence.Entity;
+
+/**
+ * Hesaplar arası havalenin bir bacağı. Havale iki kayıt olarak yazılır: gönderen hesapta
+ * giden bacak (incoming=false, bakiyeden düşer) ve alıcı hesapta gelen bacak (incoming=true, bakiyeye eklenir).
+ * counterpartyAccountNumber her bacakta diğer hesabı gösterir.
+ */
+@Entity
+public class TransferTransaction extends Transaction {
+
+    private String counterpartyAccountNumber;
+    private boolean incoming;
+
+    protected TransferTransaction() {
+        super();
+    }
+
+    public TransferTransaction(Money amount, String counterpartyAccountNumber, boolean incoming) {
+        super(amount);
+        this.counterpartyAccountNumber = counterpartyAccountNumber;
+        this.incoming = incoming;
+    }
+
+    @Override
+    public void execute(Account account) throws InsufficientBalanceException {
+        if (incoming) {
+            account.credit(getAmount()); // Gelen havale bakiyeye eklenir
+        } else {
+            account.debit(getAmount()); // Giden havale bakiyeden düşülür
+        }
+    }
+
+    public String getCounterpartyAccountNumber() {
+        return counterpartyAccountNumber;
+    }
+
+    public void setCounterpartyAccountNumber(String counterpartyAccountNumber) {
+        this.counterpartyAccountNumber = counterpartyAccountNumber;
+    }
+
+    public boolean isIncoming() {
+        return incoming;
+    }
+
+    public void setIncoming(boolean incoming) {
+        this.incoming = incoming;
+    }
+}
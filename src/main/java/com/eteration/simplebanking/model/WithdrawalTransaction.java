@@ -9,10 +9,14 @@ public class WithdrawalTransaction extends Transaction {
         super();
     }
 
-    public WithdrawalTransaction(double amount) {
+    public WithdrawalTransaction(Money amount) {
         super(amount);
     }
 
+    public WithdrawalTransaction(double amount) {
+        this(Money.of(amount));
+    }
+
     @Override
     public void execute(Account account) throws InsufficientBalanceException {
         account.debit(getAmount()); // Para çekme işlemi burada gerçekleştiriliyor
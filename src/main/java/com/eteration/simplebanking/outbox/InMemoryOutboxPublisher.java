@@ -0,0 +1,53 @@
+package com.eteration.simplebanking.outbox;
+
+import com.eteration.simplebanking.model.OutboxEvent;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+
+import java.net.ConnectException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * RabbitMQ kapalıyken (ve testlerde) kullanılan bellek içi AMQP karşılığı. Olaylar RabbitMQ yolundaki
+ * mesajların aynısına dönüştürülür ve son gönderilenler sınırlı sayıda tutulur. Broker erişilemez
+ * yapıldığında parça gönderilmez ve bağlantı hatası fırlatılır; parça hiç onaylanmamış sayılır.
+ */
+public class InMemoryOutboxPublisher implements OutboxPublisher {
+    private final int retention;
+    private final Deque<Message> messages = new ArrayDeque<>();
+    private volatile boolean available = true;
+
+    public InMemoryOutboxPublisher(int retention) {
+        this.retention = retention;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> batch) {
+        if (!available) {
+            throw new AmqpConnectException(new ConnectException("In-memory broker unavailable"));
+        }
+        for (OutboxEvent event : batch) {
+            if (messages.size() == retention) {
+                messages.removeFirst();
+            }
+            messages.addLast(OutboxMessages.toMessage(event));
+        }
+    }
+
+    /**
+     * @param available false ise sonraki gönderimler broker kesintisi gibi başarısız olur
+     */
+    public void setAvailable(boolean available) {
+        this.available = available;
+    }
+
+    /**
+     * @return En eskiden en yeniye son gönderilen mesajlar
+     */
+    public synchronized List<Message> getRecentMessages() {
+        return new ArrayList<>(messages);
+    }
+}
@@ -0,0 +1,50 @@
+package com.eteration.simplebanking.outbox;
+
+import com.eteration.simplebanking.model.OutboxEvent;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Outbox olayını AMQP mesajına dönüştürür. Mesaj kimliği outbox id'sidir; tüketiciler
+ * tekrar gelen (en az bir kez teslim) mesajları bu kimlikle ayıklayabilir. accountSequence başlığı
+ * hesap bazındaki sırayı taşır; tüketici aynı hesabın eski bir olayının tekrarını bununla tanır.
+ */
+public final class OutboxMessages {
+    public static final String HEADER_ACCOUNT_NUMBER = "accountNumber";
+    public static final String HEADER_APPROVAL_CODE = "approvalCode";
+    public static final String HEADER_ACCOUNT_SEQUENCE = "accountSequence";
+
+    private OutboxMessages() {
+    }
+
+    /**
+     * @param event Outbox olayı
+     * @return Kalıcı teslim modunda JSON mesaj
+     */
+    public static Message toMessage(OutboxEvent event) {
+        return MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+            .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+            .setContentEncoding(StandardCharsets.UTF_8.name())
+            .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+            .setMessageId(String.valueOf(event.getId()))
+            .setType(event.getEventType())
+            .setTimestamp(event.getCreateDate())
+            .setHeader(HEADER_ACCOUNT_NUMBER, event.getAccountNumber())
+            .setHeader(HEADER_APPROVAL_CODE, event.getApprovalCode())
+            .setHeader(HEADER_ACCOUNT_SEQUENCE, event.getAccountSequence())
+            .build();
+    }
+
+    /**
+     * Routing key olay türüdür, ör. "AccountCredited"
+     * @param event Outbox olayı
+     * @return Routing key
+     */
+    public static String routingKey(OutboxEvent event) {
+        return event.getEventType();
+    }
+}
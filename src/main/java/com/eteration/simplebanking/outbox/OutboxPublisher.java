@@ -0,0 +1,19 @@
+package com.eteration.simplebanking.outbox;
+
+import com.eteration.simplebanking.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Outbox olaylarını sıralı bir parça halinde broker'a (RabbitMQ veya bellekteki karşılığı) gönderir.
+ * Yalnızca aktarıcı thread'inden, olayları kilitleyen veritabanı işlemi içinde çağrılır.
+ */
+public interface OutboxPublisher {
+
+    /**
+     * Parçadaki olayları verilen sırayla gönderir ve broker tümünü onaylayana kadar bekler
+     * @param batch Gönderilecek olaylar, id sırasıyla
+     * @throws Exception Gönderim başarısızsa veya onay zamanında gelmezse; parça yeniden denenir
+     */
+    void publish(List<OutboxEvent> batch) throws Exception;
+}
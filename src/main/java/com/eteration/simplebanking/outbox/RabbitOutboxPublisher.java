@@ -0,0 +1,34 @@
+package com.eteration.simplebanking.outbox;
+
+import com.eteration.simplebanking.config.RabbitMQConfig;
+import com.eteration.simplebanking.model.OutboxEvent;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.List;
+
+/**
+ * Outbox olaylarını tek bir kanal üzerinden sırayla gönderir ve parçanın tamamı için publisher
+ * confirm bekler (spring.rabbitmq.publisher-confirm-type=simple). Onaylanmayan (nack) veya zamanında
+ * onaylanmayan parça hata fırlatır; olaylar yayınlanmamış kalır ve sonraki turda yeniden gönderilir.
+ */
+public class RabbitOutboxPublisher implements OutboxPublisher {
+    private final RabbitTemplate rabbitTemplate;
+    private final long confirmTimeoutMillis;
+
+    public RabbitOutboxPublisher(RabbitTemplate rabbitTemplate, long confirmTimeoutMillis) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.confirmTimeoutMillis = confirmTimeoutMillis;
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> batch) {
+        rabbitTemplate.invoke(operations -> {
+            for (OutboxEvent event : batch) {
+                operations.send(RabbitMQConfig.EVENTS_EXCHANGE_NAME, OutboxMessages.routingKey(event), OutboxMessages.toMessage(event));
+            }
+            // Tek bekleme tüm parçayı kapsar; olay başına gidiş-dönüş yapılmaz
+            operations.waitForConfirmsOrDie(confirmTimeoutMillis);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package com.eteration.simplebanking.repository;
+
+import com.eteration.simplebanking.model.Account;
+
+/**
+ * Hesabın doğal anahtarı (hesap numarası) ile yüklenmesi. AccountRepository'ye eklenen parçadır.
+ */
+public interface AccountNaturalIdRepository {
+
+    /**
+     * Hesabı hesap numarasıyla yükler. Çözümleme önce persistence context'e, sonra ikinci seviye
+     * önbelleğe bakar; aynı istek içinde veya önbellekte bulunan hesap için sorgu çalıştırılmaz.
+     * @param accountNumber Hesap numarası
+     * @return Account veya bulunamazsa null
+     */
+    Account findByAccountNumber(String accountNumber);
+}
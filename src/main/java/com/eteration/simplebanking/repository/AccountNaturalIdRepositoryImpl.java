@@ -0,0 +1,24 @@
+package com.eteration.simplebanking.repository;
+
+import com.eteration.simplebanking.model.Account;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+// Türetilmiş sorgu metotlarıyla aynı işlem davranışı: açık bir işleme katılır, yoksa salt okunur işlem açar
+@Transactional(readOnly = true)
+public class AccountNaturalIdRepositoryImpl implements AccountNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Account findByAccountNumber(String accountNumber) {
+        // Önbellekte yoksa hesap tek bir "where account_number = ?" sorgusuyla yüklenir
+        return entityManager.unwrap(Session.class)
+            .bySimpleNaturalId(Account.class)
+            .load(accountNumber);
+    }
+}
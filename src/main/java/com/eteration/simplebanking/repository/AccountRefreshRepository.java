@@ -0,0 +1,17 @@
+package com.eteration.simplebanking.repository;
+
+import com.eteration.simplebanking.model.Account;
+
+/**
+ * Yönetilen hesabın satırını kilitleyerek yeniden okuma. AccountRepository'ye eklenen parçadır.
+ */
+public interface AccountRefreshRepository {
+
+    /**
+     * Bekleyen değişiklikleri yazar, ardından hesabın satırını SELECT ... FOR UPDATE ile kilitleyip
+     * hesabı veritabanındaki son haliyle yeniler. Hesap eskiyse yazma sürüm çakışmasıyla
+     * (ObjectOptimisticLockingFailureException) başarısız olur.
+     * @param account Çağıranın işleminde yönetilen (managed) hesap
+     */
+    void refreshForUpdate(Account account);
+}
@@ -0,0 +1,25 @@
+package com.eteration.simplebanking.repository;
+
+import com.eteration.simplebanking.model.Account;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+import java.util.Map;
+
+// Kilit yalnızca çağıranın işleminde anlamlıdır; açık bir işlem yoksa çağrı reddedilir
+@Transactional(propagation = Propagation.MANDATORY)
+public class AccountRefreshRepositoryImpl implements AccountRefreshRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void refreshForUpdate(Account account) {
+        entityManager.flush();
+        entityManager.refresh(account, LockModeType.PESSIMISTIC_WRITE,
+            Map.of("javax.persistence.lock.timeout", 3000));
+    }
+}
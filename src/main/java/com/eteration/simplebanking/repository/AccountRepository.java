@@ -2,9 +2,42 @@ package com.eteration.simplebanking.repository;
 
 import com.eteration.simplebanking.model.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface AccountRepository extends JpaRepository<Account, Long> {
-    Account findByAccountNumber(String accountNumber);
-} 
\ No newline at end of file
+public interface AccountRepository extends JpaRepository<Account, Long>, AccountNaturalIdRepository,
+        AccountRefreshRepository {
+
+    /**
+     * Hesabı SELECT ... FOR UPDATE ile kilitleyerek yükler; kilit işlem sonuna kadar tutulur
+     * @param accountNumber Hesap numarası
+     * @return Account veya bulunamazsa null
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "3000"))
+    @Query("select a from Account a where a.accountNumber = :accountNumber")
+    Account findByAccountNumberForUpdate(@Param("accountNumber") String accountNumber);
+
+    List<Account> findByAccountNumberIn(Collection<String> accountNumbers);
+
+    /**
+     * Hesapları id sırasıyla kilitleyerek yükler. Birden fazla hesap satırını kilitleyen tüm yollar
+     * (toplu işlem, havale) aynı sırayı kullandığından birbirlerini kilitlenmeye (deadlock) sokamaz;
+     * hibernate.order_updates de güncellemeleri aynı sırada yazar.
+     * @param accountNumbers Hesap numaraları
+     * @return Bulunan hesaplar
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "3000"))
+    @Query("select a from Account a where a.accountNumber in :accountNumbers order by a.id")
+    List<Account> findByAccountNumberInForUpdate(@Param("accountNumbers") Collection<String> accountNumbers);
+}
@@ -0,0 +1,49 @@
+package com.eteration.simplebanking.repository;
+
+import com.eteration.simplebanking.model.BalanceSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.List;
+
+@Repository
+public interface BalanceSlotRepository extends JpaRepository<BalanceSlot, Long> {
+
+    /**
+     * Tutarı dilimin bakiyesine tek bir UPDATE ile ekler; yalnızca o dilimin satırı kilitlenir
+     * @param accountId Hesap id'si
+     * @param slot Dilim sırası
+     * @param amount Minor unit cinsinden tutar
+     * @return Güncellenen satır sayısı; dilim yoksa 0
+     */
+    @Modifying
+    @Query("update BalanceSlot s set s.balance = s.balance + :amount where s.accountId = :accountId and s.slot = :slot")
+    int addToSlot(@Param("accountId") Long accountId, @Param("slot") int slot, @Param("amount") long amount);
+
+    /**
+     * Hesabın dilimlerindeki toplam bakiyeyi döner
+     * @param accountId Hesap id'si
+     * @return Minor unit cinsinden toplam
+     */
+    @Query("select coalesce(sum(s.balance), 0) from BalanceSlot s where s.accountId = :accountId")
+    long sumBalance(@Param("accountId") Long accountId);
+
+    List<BalanceSlot> findByAccountId(Long accountId);
+
+    /**
+     * Hesabın dilimlerini dilim sırasıyla kilitleyerek yükler
+     * @param accountId Hesap id'si
+     * @return Dilimler
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "3000"))
+    @Query("select s from BalanceSlot s where s.accountId = :accountId order by s.slot")
+    List<BalanceSlot> findByAccountIdForUpdate(@Param("accountId") Long accountId);
+}
@@ -0,0 +1,46 @@
+package com.eteration.simplebanking.repository;
+
+import com.eteration.simplebanking.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Talep edilmiş anahtara isteğin sonucunu yazar
+     * @return Güncellenen satır sayısı
+     */
+    @Transactional
+    @Modifying
+    @Query("update IdempotencyRecord r set r.completed = true, r.httpStatus = :httpStatus, r.status = :status, " +
+        "r.approvalCode = :approvalCode, r.errorMessage = :errorMessage where r.key = :key")
+    int complete(@Param("key") String key, @Param("httpStatus") int httpStatus, @Param("status") String status,
+                 @Param("approvalCode") String approvalCode, @Param("errorMessage") String errorMessage);
+
+    /**
+     * Sonucu yazılmamış talebi siler; isteği çalıştıran işlem sonuç üretemeden başarısız olduğunda
+     * anahtar süre dolmadan yeniden kullanılabilsin diye çağrılır
+     * @return Silinen satır sayısı
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.key = :key and r.completed = false")
+    int deleteIncomplete(@Param("key") String key);
+
+    /**
+     * Verilen tarihten önce oluşturulmuş kayıtları siler
+     * @param before Saklama süresinin başlangıcı
+     * @return Silinen satır sayısı
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.key = :key and r.createDate < :before")
+    int deleteExpired(@Param("key") String key, @Param("before") Date before);
+}
@@ -0,0 +1,24 @@
+package com.eteration.simplebanking.repository;
+
+import com.eteration.simplebanking.model.JournalDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface JournalDeadLetterRepository extends JpaRepository<JournalDeadLetter, UUID> {
+
+    /**
+     * Verilen onay kodlarından daha önce dead letter olarak yazılmış olanları döner; yeniden oynatılan
+     * kayıtların ikinci kez yazılmaması için kullanılır
+     * @param approvalCodes Onay kodları
+     * @return Dead letter tablosunda bulunan onay kodları
+     */
+    @Query("select d.approvalCode from JournalDeadLetter d where d.approvalCode in :approvalCodes")
+    List<UUID> findExistingApprovalCodes(@Param("approvalCodes") Collection<UUID> approvalCodes);
+}
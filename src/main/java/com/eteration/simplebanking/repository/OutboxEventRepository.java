@@ -0,0 +1,54 @@
+package com.eteration.simplebanking.repository;
+
+import com.eteration.simplebanking.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * En eski yayınlanmamış olayları id sırasıyla kilitleyerek okur. Satırlar atlanmadan beklendiği için
+     * (SKIP LOCKED yok) aynı anda tek bir aktarıcı yayın yapar. id sırası commit sırası değildir;
+     * hesap bazındaki sırayı aktarıcı accountSequence ile kurar. Açık bir işlem içinde çağrılmalıdır.
+     * @param pageable En fazla olay sayısı (ilk sayfa)
+     * @return Yayınlanacak olaylar, id sırasıyla
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from OutboxEvent e where e.publishedDate is null order by e.id")
+    List<OutboxEvent> findUnpublishedForUpdate(Pageable pageable);
+
+    /**
+     * Verilen hesapların parça dışında kalan, sıralı yayınlanmamış olaylarını kilitleyerek okur; aktarıcı
+     * bunlarla parçadaki olayların önceki sıra numaralarını tamamlar. Açık bir işlem içinde çağrılmalıdır.
+     * @param accountNumbers Parçadaki sıralı olayların hesapları
+     * @param excludedIds Parçadaki olayların id'leri
+     * @return Olaylar, hesap ve sıra numarasına göre
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from OutboxEvent e where e.publishedDate is null and e.accountSequence is not null " +
+        "and e.accountNumber in :accountNumbers and e.id not in :excludedIds order by e.accountNumber, e.accountSequence")
+    List<OutboxEvent> findUnpublishedSequencedForUpdate(@Param("accountNumbers") Collection<String> accountNumbers,
+                                                        @Param("excludedIds") Collection<Long> excludedIds);
+
+    /**
+     * Verilen tarihten önce yayınlanmış olayları siler
+     * @param before Saklama süresinin başlangıcı
+     * @return Silinen satır sayısı
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from OutboxEvent e where e.publishedDate < :before")
+    int deletePublishedBefore(@Param("before") Date before);
+}
@@ -0,0 +1,47 @@
+package com.eteration.simplebanking.repository;
+
+import com.eteration.simplebanking.model.PendingTransaction;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PendingTransactionRepository extends JpaRepository<PendingTransaction, UUID> {
+
+    /**
+     * En eski bekleyen kayıtları kilitleyerek talep eder. Başka bir işçinin (bu veya başka bir örnekte)
+     * kilitlediği satırlar beklenmeden atlanır (SKIP LOCKED); kilit, çağıran işlem bitene kadar tutulur.
+     * Açık bir işlem içinde çağrılmalıdır. Kilit zaman aşımı -2 Hibernate'in SKIP_LOCKED değeridir;
+     * SKIP LOCKED desteklemeyen lehçelerde (H2) sorgu düz FOR UPDATE olarak çalışır ve beklenir.
+     * @param pageable En fazla kayıt sayısı (ilk sayfa)
+     * @return Talep edilen kayıtlar, kabul sırasıyla
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query("select p from PendingTransaction p where p.status = 'PENDING' order by p.createDate")
+    List<PendingTransaction> claimPending(Pageable pageable);
+
+    /**
+     * Verilen tarihten önce işlenmiş (POSTED/FAILED) kayıtları siler
+     * @param before Saklama süresinin başlangıcı
+     * @return Silinen satır sayısı
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from PendingTransaction p where p.status <> 'PENDING' and p.processedDate < :before")
+    int deleteProcessedBefore(@Param("before") Date before);
+
+    long countByStatus(String status);
+}
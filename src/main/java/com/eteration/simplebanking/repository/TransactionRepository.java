@@ -1,9 +1,78 @@
 package com.eteration.simplebanking.repository;
 
 import com.eteration.simplebanking.model.Transaction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+
+    /**
+     * Hesabın en yeni işlemlerini (date, id) sırasına göre azalan şekilde getirir
+     * @param accountId Hesap id'si
+     * @param pageable Sayfa boyutu (offset kullanılmaz)
+     * @return İşlem listesi
+     */
+    @Query("select t from Transaction t where t.account.id = :accountId order by t.date desc, t.id desc")
+    List<Transaction> findLatest(@Param("accountId") Long accountId, Pageable pageable);
+
+    /**
+     * Verilen imlecin (date, id) gerisinde kalan işlemleri keyset yöntemiyle getirir
+     * @param accountId Hesap id'si
+     * @param date İmlecin işlem tarihi
+     * @param id İmlecin işlem id'si
+     * @param pageable Sayfa boyutu (offset kullanılmaz)
+     * @return İşlem listesi
+     */
+    @Query("select t from Transaction t where t.account.id = :accountId " +
+           "and (t.date < :date or (t.date = :date and t.id < :id)) " +
+           "order by t.date desc, t.id desc")
+    List<Transaction> findPageBefore(@Param("accountId") Long accountId, @Param("date") Date date,
+                                     @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Verilen onay kodlarından veritabanında zaten kayıtlı olanları döner
+     * @param approvalCodes Onay kodları
+     * @return Kayıtlı onay kodları
+     */
+    @Query("select t.approvalCode from Transaction t where t.approvalCode in :approvalCodes")
+    List<UUID> findExistingApprovalCodes(@Param("approvalCodes") Collection<UUID> approvalCodes);
+
+    /**
+     * Onay koduna göre işlemi hesabıyla birlikte getirir (uk_transaction_approval_code indeksi kullanılır)
+     * @param approvalCode Onay kodu
+     * @return İşlem
+     */
+    @Query("select t from Transaction t join fetch t.account where t.approvalCode = :approvalCode")
+    Optional<Transaction> findByApprovalCode(@Param("approvalCode") UUID approvalCode);
+
+    /**
+     * Hesabın [from, to) aralığındaki işlemlerini (date, id) sırasıyla ileri yönlü bir imleçten okur.
+     * Sürücü satırları fetch size kadar parça parça getirir; akış açık bir işlem içinde tüketilmeli
+     * ve okunan işlemler persistence context'ten ayrılmalıdır (detach), aksi halde bellek büyür.
+     * @param accountId Hesap id'si
+     * @param from Başlangıç tarihi (dahil)
+     * @param to Bitiş tarihi (hariç)
+     * @return İşlem akışı; kullanım sonunda kapatılmalıdır
+     */
+    @QueryHints({
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true"),
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select t from Transaction t where t.account.id = :accountId and t.date >= :from and t.date < :to " +
+           "order by t.date, t.id")
+    Stream<Transaction> streamStatement(@Param("accountId") Long accountId, @Param("from") Date from, @Param("to") Date to);
 }
@@ -1,87 +1,269 @@
 package com.eteration.simplebanking.services;
 
+import com.eteration.simplebanking.cache.AccountSnapshot;
+import com.eteration.simplebanking.cache.AccountSnapshotCache;
+import com.eteration.simplebanking.concurrency.AccountLockPolicy;
+import com.eteration.simplebanking.concurrency.LockMode;
+import com.eteration.simplebanking.concurrency.RetryExecutor;
+import com.eteration.simplebanking.datasource.ReadYourWrites;
 import com.eteration.simplebanking.dto.ApiResponse;
 import com.eteration.simplebanking.dto.AccountDTO;
+import com.eteration.simplebanking.dto.AccountSummaryDTO;
+import com.eteration.simplebanking.dto.BatchItemDTO;
+import com.eteration.simplebanking.dto.BatchItemResultDTO;
+import com.eteration.simplebanking.dto.BatchOperationType;
+import com.eteration.simplebanking.dto.TransactionCursor;
+import com.eteration.simplebanking.dto.TransactionDTO;
+import com.eteration.simplebanking.dto.TransactionDetailDTO;
+import com.eteration.simplebanking.dto.TransactionPageDTO;
 import com.eteration.simplebanking.mapper.AccountMapper;
+import com.eteration.simplebanking.metrics.BankingMetrics;
+import com.eteration.simplebanking.metrics.BankingMetrics.Outcome;
 import com.eteration.simplebanking.model.*;
 import com.eteration.simplebanking.repository.AccountRepository;
 import com.eteration.simplebanking.repository.TransactionRepository;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @Service
 public class AccountService {
 
+    static final int MAX_PAGE_SIZE = 100;
+    // Tam geçmiş bu boyutta keyset sayfalarıyla okunur; her sayfa DTO'ya çevrildikten sonra persistence context'ten ayrılır
+    static final int HISTORY_PAGE_SIZE = 500;
+
     @Autowired
     private AccountRepository accountRepository;
 
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private OutboxService outbox;
+
     @Autowired
     private LogService logService;
 
+    @Autowired
+    private AccountSnapshotCache accountCache;
+
+    @Autowired
+    private BankingMetrics metrics;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @Autowired
+    private RetryExecutor retryExecutor;
+
+    @Autowired
+    private AccountLockPolicy lockPolicy;
+
+    @Autowired
+    private GroupCommitService groupCommit;
+
+    @Autowired
+    private JournaledPostingService journal;
+
+    @Autowired
+    private LedgerPostingService ledger;
+
+    @Autowired
+    private BalanceStripingService striping;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     /**
-     * Hesap bilgilerini sorgular
+     * Hesap bilgilerini tüm işlem geçmişiyle sorgular. Hesap alanları önbellekten gelir, ancak geçmiş
+     * her çağrıda veritabanından okunur ve maliyeti geçmişin boyuyla büyür; sık sorgulayan istemciler
+     * findAccountSummary veya findTransactions kullanmalıdır.
      * @param accountNumber Hesap numarası
      * @return ApiResponse<AccountDTO> Hesap bilgileri ve işlem durumu
      */
     public ApiResponse<AccountDTO> findAccount(String accountNumber) {
+        Timer.Sample sample = metrics.start();
+        Outcome outcome = Outcome.ERROR;
         try {
-            Account account = accountRepository.findByAccountNumber(accountNumber);
-            if (account == null) {
+            AccountSnapshot snapshot = accountCache.get(accountNumber, this::loadSnapshot);
+            if (snapshot == null) {
                 logService.logError("Account not found: " + accountNumber, this.getClass().getSimpleName(), "findAccount", new RuntimeException("Account not found"));
+                outcome = Outcome.NOT_FOUND;
                 return new ApiResponse<>(false, "Account not found", null);
             }
-            AccountDTO accountDTO = AccountMapper.toDTO(account);
+            AccountDTO accountDTO = AccountMapper.toDTO(snapshot, loadHistory(snapshot.getId()));
             logService.logInfo("Account found: " + accountNumber, this.getClass().getSimpleName(), "findAccount");
+            outcome = Outcome.OK;
             return new ApiResponse<>(true, "Account found successfully", accountDTO);
         } catch (Exception e) {
             logService.logError("Error finding account: " + accountNumber, this.getClass().getSimpleName(), "findAccount", e);
             return new ApiResponse<>(false, e.getMessage(), null);
+        } finally {
+            metrics.recordOperation(sample, "findAccount", outcome);
         }
     }
 
     /**
-     * Hesaba para yatırma işlemini gerçekleştirir
+     * Hesabın bakiyesini ve son N işlemini içeren özet bilgiyi sorgular
      * @param accountNumber Hesap numarası
-     * @param amount Yatırılacak miktar
-     * @return ApiResponse<String> İşlem durumu ve onay kodu
+     * @param last Özete eklenecek son işlem sayısı
+     * @return ApiResponse<AccountSummaryDTO> Hesap özeti ve işlem durumu
+     */
+    public ApiResponse<AccountSummaryDTO> findAccountSummary(String accountNumber, int last) {
+        Timer.Sample sample = metrics.start();
+        Outcome outcome = Outcome.ERROR;
+        try {
+            AccountSnapshot snapshot = accountCache.get(accountNumber, this::loadSnapshot);
+            if (snapshot == null) {
+                logService.logError("Account not found: " + accountNumber, this.getClass().getSimpleName(), "findAccountSummary", new RuntimeException("Account not found"));
+                outcome = Outcome.NOT_FOUND;
+                return new ApiResponse<>(false, "Account not found", null);
+            }
+            List<Transaction> lastTransactions = transactionRepository.findLatest(snapshot.getId(), PageRequest.of(0, clampPageSize(last)));
+            AccountSummaryDTO summaryDTO = AccountMapper.toSummaryDTO(snapshot, lastTransactions);
+            logService.logInfo("Account summary found: " + accountNumber, this.getClass().getSimpleName(), "findAccountSummary");
+            outcome = Outcome.OK;
+            return new ApiResponse<>(true, "Account found successfully", summaryDTO);
+        } catch (Exception e) {
+            logService.logError("Error finding account summary: " + accountNumber, this.getClass().getSimpleName(), "findAccountSummary", e);
+            return new ApiResponse<>(false, e.getMessage(), null);
+        } finally {
+            metrics.recordOperation(sample, "findAccountSummary", outcome);
+        }
+    }
+
+    /**
+     * Hesabın işlem geçmişini (date, id) imleci ile sayfa sayfa getirir
+     * @param accountNumber Hesap numarası
+     * @param cursor Önceki sayfadan dönen imleç, ilk sayfa için null
+     * @param size Sayfa boyutu
+     * @return ApiResponse<TransactionPageDTO> İşlem sayfası ve sonraki sayfanın imleci
      */
-    @Transactional
-    public ApiResponse<String> credit(String accountNumber, double amount) {
+    public ApiResponse<TransactionPageDTO> findTransactions(String accountNumber, String cursor, int size) {
+        Timer.Sample sample = metrics.start();
+        Outcome outcome = Outcome.ERROR;
         try {
             Account account = accountRepository.findByAccountNumber(accountNumber);
             if (account == null) {
-                logService.logError("Account not found for credit: " + accountNumber, this.getClass().getSimpleName(),
-                        "credit", new RuntimeException("Account not found"));
+                logService.logError("Account not found: " + accountNumber, this.getClass().getSimpleName(), "findTransactions", new RuntimeException("Account not found"));
+                outcome = Outcome.NOT_FOUND;
                 return new ApiResponse<>(false, "Account not found", null);
             }
 
-            double roundedAmount = Math.round(amount * 10000.0) / 10000.0;
-            if (roundedAmount <= 0) {
+            int pageSize = clampPageSize(size);
+            // Bir fazlası okunarak sonraki sayfanın varlığı count sorgusu olmadan anlaşılır
+            PageRequest page = PageRequest.of(0, pageSize + 1);
+            List<Transaction> transactions;
+            if (cursor == null || cursor.isEmpty()) {
+                transactions = transactionRepository.findLatest(account.getId(), page);
+            } else {
+                TransactionCursor position = TransactionCursor.decode(cursor);
+                transactions = transactionRepository.findPageBefore(account.getId(), position.getDate(), position.getId(), page);
+            }
+
+            String nextCursor = null;
+            if (transactions.size() > pageSize) {
+                transactions = transactions.subList(0, pageSize);
+                Transaction last = transactions.get(pageSize - 1);
+                nextCursor = new TransactionCursor(last.getDate(), last.getId()).encode();
+            }
+            outcome = Outcome.OK;
+            return new ApiResponse<>(true, "Transactions found successfully",
+                new TransactionPageDTO(AccountMapper.toTransactionDTOs(transactions), nextCursor));
+        } catch (IllegalArgumentException e) {
+            logService.logError("Invalid cursor for account: " + accountNumber, this.getClass().getSimpleName(), "findTransactions", e);
+            return new ApiResponse<>(false, e.getMessage(), null);
+        } catch (Exception e) {
+            logService.logError("Error finding transactions: " + accountNumber, this.getClass().getSimpleName(), "findTransactions", e);
+            return new ApiResponse<>(false, e.getMessage(), null);
+        } finally {
+            metrics.recordOperation(sample, "findTransactions", outcome);
+        }
+    }
+
+    /**
+     * İşlemi onay kodu ile getirir; sorgu approval_code üzerindeki tekil indeksle tek satıra iner
+     * @param approvalCode UUID biçiminde onay kodu
+     * @return ApiResponse<TransactionDetailDTO> İşlem detayı, bulunamazsa veya kod geçersizse hata
+     */
+    public ApiResponse<TransactionDetailDTO> findTransaction(String approvalCode) {
+        Timer.Sample sample = metrics.start();
+        Outcome outcome = Outcome.ERROR;
+        try {
+            UUID code;
+            try {
+                code = UUID.fromString(approvalCode);
+            } catch (IllegalArgumentException e) {
+                logService.logError("Invalid approval code: " + approvalCode, this.getClass().getSimpleName(), "findTransaction", e);
+                return new ApiResponse<>(false, "Invalid approval code", null);
+            }
+            Optional<Transaction> transaction = transactionRepository.findByApprovalCode(code);
+            if (!transaction.isPresent()) {
+                logService.logError("Transaction not found: " + approvalCode, this.getClass().getSimpleName(), "findTransaction", new RuntimeException("Transaction not found"));
+                outcome = Outcome.NOT_FOUND;
+                return new ApiResponse<>(false, "Transaction not found", null);
+            }
+            outcome = Outcome.OK;
+            return new ApiResponse<>(true, "Transaction found successfully", AccountMapper.toTransactionDetailDTO(transaction.get()));
+        } catch (Exception e) {
+            logService.logError("Error finding transaction: " + approvalCode, this.getClass().getSimpleName(), "findTransaction", e);
+            return new ApiResponse<>(false, e.getMessage(), null);
+        } finally {
+            metrics.recordOperation(sample, "findTransaction", outcome);
+        }
+    }
+
+    /**
+     * Hesaba para yatırma işlemini gerçekleştirir
+     * @param accountNumber Hesap numarası
+     * @param amount Yatırılacak miktar
+     * @return ApiResponse<String> İşlem durumu ve onay kodu
+     */
+    public ApiResponse<String> credit(String accountNumber, Money amount) {
+        Timer.Sample sample = metrics.start();
+        Outcome outcome = Outcome.ERROR;
+        try {
+            if (amount == null || !amount.isPositive()) {
                 logService.logError("Invalid amount for credit: " + amount, this.getClass().getSimpleName(),
                         "credit", new RuntimeException("Invalid amount"));
                 return new ApiResponse<>(false, "Amount must be greater than zero", null);
             }
 
-            DepositTransaction transaction = new DepositTransaction(roundedAmount);
-            transaction.setApprovalCode(UUID.randomUUID().toString());
-            account.post(transaction);
-            accountRepository.save(account);
-            transactionRepository.save(transaction);
+            String approvalCode = post("credit", new BatchItemDTO(BatchOperationType.CREDIT, accountNumber, amount),
+                () -> new DepositTransaction(amount));
+            if (approvalCode == null) {
+                logService.logError("Account not found for credit: " + accountNumber, this.getClass().getSimpleName(),
+                        "credit", new RuntimeException("Account not found"));
+                outcome = Outcome.NOT_FOUND;
+                return new ApiResponse<>(false, "Account not found", null);
+            }
 
+            Timer.Sample logStep = metrics.start();
             logService.logInfo(
-                String.format("Credit successful: account=%s, amount=%.4f", accountNumber, roundedAmount),
+                String.format("Credit successful: account=%s, amount=%s", accountNumber, amount),
                 this.getClass().getSimpleName(),
                 "credit"
             );
-            return new ApiResponse<>(true, "Credit successful", transaction.getApprovalCode());
+            metrics.recordStep(logStep, "credit", BankingMetrics.STEP_LOG);
+            outcome = Outcome.OK;
+            return new ApiResponse<>(true, "Credit successful", approvalCode);
         } catch (Exception e) {
             logService.logError("Error processing credit: " + accountNumber, this.getClass().getSimpleName(), "credit", e);
             return new ApiResponse<>(false, e.getMessage(), null);
+        } finally {
+            metrics.recordOperation(sample, "credit", outcome);
         }
     }
 
@@ -92,36 +274,36 @@ public class AccountService {
      * @return ApiResponse<String> İşlem durumu ve onay kodu
      * @throws InsufficientBalanceException Yetersiz bakiye durumunda
      */
-    @Transactional
-    public ApiResponse<String> debit(String accountNumber, double amount) throws InsufficientBalanceException {
+    public ApiResponse<String> debit(String accountNumber, Money amount) throws InsufficientBalanceException {
+        Timer.Sample sample = metrics.start();
+        Outcome outcome = Outcome.ERROR;
         try {
-            Account account = accountRepository.findByAccountNumber(accountNumber);
-            if (account == null) {
-                logService.logError("Account not found for debit: " + accountNumber,
-                    this.getClass().getSimpleName(), "debit", new RuntimeException("Account not found"));
-                return new ApiResponse<>(false, "Account not found", null);
-            }
-
-            double roundedAmount = Math.round(amount * 10000.0) / 10000.0;
-            if (roundedAmount <= 0) {
+            if (amount == null || !amount.isPositive()) {
                 logService.logError("Invalid amount for debit: " + amount,
                     this.getClass().getSimpleName(), "debit", new RuntimeException("Invalid amount"));
                 return new ApiResponse<>(false, "Amount must be greater than zero", null);
             }
 
-            WithdrawalTransaction transaction = new WithdrawalTransaction(roundedAmount);
-            transaction.setApprovalCode(UUID.randomUUID().toString());
-            account.post(transaction);
-            accountRepository.save(account);
-            transactionRepository.save(transaction);
+            String approvalCode = post("debit", new BatchItemDTO(BatchOperationType.DEBIT, accountNumber, amount),
+                () -> new WithdrawalTransaction(amount));
+            if (approvalCode == null) {
+                logService.logError("Account not found for debit: " + accountNumber,
+                    this.getClass().getSimpleName(), "debit", new RuntimeException("Account not found"));
+                outcome = Outcome.NOT_FOUND;
+                return new ApiResponse<>(false, "Account not found", null);
+            }
 
+            Timer.Sample logStep = metrics.start();
             logService.logInfo(
-                String.format("Debit successful: account=%s, amount=%.4f", accountNumber, roundedAmount),
+                String.format("Debit successful: account=%s, amount=%s", accountNumber, amount),
                 this.getClass().getSimpleName(),
                 "debit"
             );
-            return new ApiResponse<>(true, "Debit successful", transaction.getApprovalCode());
+            metrics.recordStep(logStep, "debit", BankingMetrics.STEP_LOG);
+            outcome = Outcome.OK;
+            return new ApiResponse<>(true, "Debit successful", approvalCode);
         } catch (InsufficientBalanceException e) {
+            outcome = Outcome.INSUFFICIENT_BALANCE;
             logService.logError(
                 "Insufficient balance for debit: " + accountNumber,
                 this.getClass().getSimpleName(),
@@ -137,6 +319,8 @@ public class AccountService {
                 e
             );
             return new ApiResponse<>(false, e.getMessage(), null);
+        } finally {
+            metrics.recordOperation(sample, "debit", outcome);
         }
     }
 
@@ -149,41 +333,42 @@ public class AccountService {
      * @return ApiResponse<String> İşlem durumu ve onay kodu
      * @throws InsufficientBalanceException Yetersiz bakiye durumunda
      */
-    @Transactional
-    public ApiResponse<String> payPhoneBill(String accountNumber, String payee, String phoneNumber, double amount) throws InsufficientBalanceException {
+    public ApiResponse<String> payPhoneBill(String accountNumber, String payee, String phoneNumber, Money amount) throws InsufficientBalanceException {
+        Timer.Sample sample = metrics.start();
+        Outcome outcome = Outcome.ERROR;
         try {
-            Account account = accountRepository.findByAccountNumber(accountNumber);
-            if (account == null) {
+            if (amount == null || !amount.isPositive()) {
+                logService.logError("Invalid amount for bill payment: " + amount, this.getClass().getSimpleName(),
+                    "payPhoneBill", new RuntimeException("Invalid amount"));
+                return new ApiResponse<>(false, "Amount must be greater than zero", null);
+            }
+
+            String approvalCode = post("payPhoneBill",
+                new BatchItemDTO(BatchOperationType.BILL_PAYMENT, accountNumber, amount, payee, phoneNumber),
+                () -> new PhoneBillPaymentTransaction(payee, phoneNumber, amount));
+            if (approvalCode == null) {
                 logService.logError(
                     "Account not found for bill payment: " + accountNumber,
                     this.getClass().getSimpleName(),
                     "payPhoneBill",
                     new RuntimeException("Account not found")
                 );
+                outcome = Outcome.NOT_FOUND;
                 return new ApiResponse<>(false, "Account not found", null);
             }
 
-            double roundedAmount = Math.round(amount * 10000.0) / 10000.0;
-            if (roundedAmount <= 0) {
-                logService.logError("Invalid amount for bill payment: " + amount, this.getClass().getSimpleName(),
-                    "payPhoneBill", new RuntimeException("Invalid amount"));
-                return new ApiResponse<>(false, "Amount must be greater than zero", null);
-            }
-
-            PhoneBillPaymentTransaction transaction = new PhoneBillPaymentTransaction(payee, phoneNumber, roundedAmount);
-            transaction.setApprovalCode(UUID.randomUUID().toString());
-            account.post(transaction);
-            accountRepository.save(account);
-            transactionRepository.save(transaction);
-
+            Timer.Sample logStep = metrics.start();
             logService.logInfo(
-                String.format("Bill payment successful: account=%s, payee=%s, amount=%.4f", 
-                    accountNumber, payee, roundedAmount),
+                String.format("Bill payment successful: account=%s, payee=%s, amount=%s", 
+                    accountNumber, payee, amount),
                 this.getClass().getSimpleName(),
                 "payPhoneBill"
             );
-            return new ApiResponse<>(true, "Bill payment successful", transaction.getApprovalCode());
+            metrics.recordStep(logStep, "payPhoneBill", BankingMetrics.STEP_LOG);
+            outcome = Outcome.OK;
+            return new ApiResponse<>(true, "Bill payment successful", approvalCode);
         } catch (InsufficientBalanceException e) {
+            outcome = Outcome.INSUFFICIENT_BALANCE;
             logService.logError("Insufficient balance for bill payment: " + accountNumber, this.getClass().getSimpleName(),
                 "payPhoneBill", e);
             throw e;
@@ -191,6 +376,189 @@ public class AccountService {
             logService.logError("Error processing bill payment: " + accountNumber, this.getClass().getSimpleName(),
                     "payPhoneBill", e);
             return new ApiResponse<>(false, e.getMessage(), null);
+        } finally {
+            metrics.recordOperation(sample, "payPhoneBill", outcome);
+        }
+    }
+
+    /**
+     * Hesabı yükleyip DTO'ya dönüştürür; şeritli hesaplarda bakiye dilimlerin toplamını içerir.
+     * Sonuç tüm istemcilerin paylaştığı önbelleğe yazıldığı için replikadan değil birincilden okunur.
+     * @param accountNumber Hesap numarası
+     * @return AccountDTO veya hesap yoksa null
+     */
+    private AccountSnapshot loadSnapshot(String accountNumber) {
+        return ReadYourWrites.onPrimary(() -> {
+            Account account = accountRepository.findByAccountNumber(accountNumber);
+            if (account == null) {
+                return null;
+            }
+            Money balance = striping.isStriped(accountNumber) ? striping.totalBalance(account) : account.getBalance();
+            return AccountSnapshot.of(account, balance);
+        });
+    }
+
+    /**
+     * Hesabın tüm işlemlerini en yeniden eskiye, HISTORY_PAGE_SIZE boyutlu keyset sayfalarıyla okur.
+     * Account.transactions koleksiyonu yüklenmez; okunan işlemler DTO'ya çevrildikten sonra
+     * persistence context'ten ayrılır.
+     * @param accountId Hesap id'si
+     * @return İşlem DTO'ları
+     */
+    private List<TransactionDTO> loadHistory(Long accountId) {
+        List<TransactionDTO> history = new ArrayList<>();
+        PageRequest page = PageRequest.of(0, HISTORY_PAGE_SIZE);
+        List<Transaction> transactions = transactionRepository.findLatest(accountId, page);
+        while (!transactions.isEmpty()) {
+            history.addAll(AccountMapper.toTransactionDTOs(transactions));
+            transactions.forEach(entityManager::detach);
+            if (transactions.size() < HISTORY_PAGE_SIZE) {
+                break;
+            }
+            Transaction last = transactions.get(transactions.size() - 1);
+            transactions = transactionRepository.findPageBefore(accountId, last.getDate(), last.getId(), page);
+        }
+        return history;
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * İşlemi hesaba uygular, kaydeder ve hesabın önbellekteki görüntüsünü geçersiz kılar.
+     * Account.transactions koleksiyonuna dokunulmadığı için yazma maliyeti
+     * hesabın işlem geçmişinin büyüklüğünden bağımsızdır. Şeritli hesaplarda işlem
+     * BalanceStripingService ile uygulanır.
+     * @param operation Ölçümlerin etiketleneceği işlem adı
+     * @param account İşlemin uygulanacağı hesap
+     * @param transaction Uygulanacak işlem
+     * @throws InsufficientBalanceException Yetersiz bakiye durumunda
+     */
+    private void postTransaction(String operation, Account account, Transaction transaction) throws InsufficientBalanceException {
+        Timer.Sample step = metrics.start();
+        if (striping.isStriped(account.getAccountNumber())) {
+            striping.apply(account, transaction);
+        } else {
+            account.apply(transaction);
+        }
+        step = metrics.recordStep(step, operation, BankingMetrics.STEP_POST);
+        accountRepository.save(account);
+        step = metrics.recordStep(step, operation, BankingMetrics.STEP_SAVE_ACCOUNT);
+        transactionRepository.save(transaction);
+        outbox.record(Collections.singletonList(transaction));
+        metrics.recordStep(step, operation, BankingMetrics.STEP_SAVE_TRANSACTION);
+        accountCache.invalidate(account.getAccountNumber());
+        metrics.recordAmount(transaction.getClass().getSimpleName(), transaction.getAmount());
+    }
+
+    /**
+     * İşlemi uygular. Defter motoru açıksa işlem hesabın shard'ında bellekte uygulanır ve veritabanına
+     * arka planda yazılır; journal modu açıksa işlem yerel journal'a yazılır ve veritabanına arka planda
+     * uygulanır; grup commit açıksa istek eşzamanlı isteklerle birlikte tek bir veritabanı
+     * işleminde uygulanır; ikisi de kapalıysa kendi işleminde postWithRetry ile uygulanır.
+     * @param operation Ölçümlerin etiketleneceği işlem adı
+     * @param item Defter, journal ve grup commit için işlem kalemi
+     * @param transactionFactory Tekil yolda her denemede yeni bir işlem nesnesi üretir
+     * @return Onay kodu veya hesap bulunamazsa null
+     * @throws InsufficientBalanceException Yetersiz bakiye durumunda
+     */
+    private String post(String operation, BatchItemDTO item,
+                        Supplier<? extends Transaction> transactionFactory) throws InsufficientBalanceException {
+        if (ledger.isEnabled()) {
+            return approvalCodeOf(ledger.post(item));
+        }
+        if (journal.isEnabled()) {
+            return approvalCodeOf(journal.post(item));
+        }
+        if (groupCommit.isEnabled()) {
+            return approvalCodeOf(groupCommit.post(item));
+        }
+        Transaction transaction = postWithRetry(operation, item.getAccountNumber(), transactionFactory);
+        return transaction != null ? transaction.getApprovalCode() : null;
+    }
+
+    /**
+     * Kalem sonucunu tekil yolun sözleşmesine çevirir
+     * @param result Kalem sonucu
+     * @return Onay kodu veya hesap bulunamazsa null
+     * @throws InsufficientBalanceException Yetersiz bakiye durumunda
+     */
+    private static String approvalCodeOf(BatchItemResultDTO result) throws InsufficientBalanceException {
+        if (BatchItemResultDTO.STATUS_OK.equals(result.getStatus())) {
+            return result.getApprovalCode();
+        }
+        if (BatchItemResultDTO.ERROR_ACCOUNT_NOT_FOUND.equals(result.getErrorCode())) {
+            return null;
+        }
+        if (BatchItemResultDTO.ERROR_INSUFFICIENT_BALANCE.equals(result.getErrorCode())) {
+            throw new InsufficientBalanceException(result.getMessage());
+        }
+        throw new IllegalStateException(result.getMessage());
+    }
+
+    /**
+     * İşlemi kendi veritabanı işlemi içinde hesaba uygular. Optimistic lock çakışmasında
+     * RetryExecutor hesabı yeniden okuyup yeni bir işlem nesnesiyle baştan dener.
+     * @param operation Ölçümlerin etiketleneceği işlem adı
+     * @param accountNumber Hesap numarası
+     * @param transactionFactory Her denemede yeni bir işlem nesnesi üretir
+     * @return Uygulanan işlem veya hesap bulunamazsa null
+     * @throws InsufficientBalanceException Yetersiz bakiye durumunda
+     */
+    private <T extends Transaction> T postWithRetry(String operation, String accountNumber,
+                                                    Supplier<T> transactionFactory) throws InsufficientBalanceException {
+        try {
+            return retryExecutor.execute(() -> transactionOperations.execute(status -> {
+                Account account = lookup(accountNumber, operation);
+                if (account == null) {
+                    return null;
+                }
+                T transaction = transactionFactory.get();
+                try {
+                    postTransaction(operation, account, transaction);
+                } catch (InsufficientBalanceException e) {
+                    throw new InsufficientBalanceSignal(e);
+                }
+                return transaction;
+            }));
+        } catch (InsufficientBalanceSignal signal) {
+            throw signal.getCause();
+        }
+    }
+
+    /**
+     * Hesabı hesap numarasıyla yükler ve süresini lookup adımı olarak kaydeder.
+     * Yoğun hesaplar (AccountLockPolicy) SELECT ... FOR UPDATE ile kilitlenerek okunur; şeritli hesaplara
+     * yatırma hesabın satırını değiştirmediği için bu durumda kilit alınmaz.
+     * @param accountNumber Hesap numarası
+     * @param operation Ölçümün etiketleneceği işlem adı
+     * @return Account veya bulunamazsa null
+     */
+    private Account lookup(String accountNumber, String operation) {
+        Timer.Sample step = metrics.start();
+        boolean stripedCredit = "credit".equals(operation) && striping.isStriped(accountNumber);
+        Account account = !stripedCredit && lockPolicy.modeFor(accountNumber) == LockMode.PESSIMISTIC
+            ? accountRepository.findByAccountNumberForUpdate(accountNumber)
+            : accountRepository.findByAccountNumber(accountNumber);
+        metrics.recordStep(step, operation, BankingMetrics.STEP_LOOKUP);
+        return account;
+    }
+
+    /**
+     * Kontrollü InsufficientBalanceException'ı TransactionCallback dışına taşır;
+     * RuntimeException olduğu için işlem geri alınır.
+     */
+    private static final class InsufficientBalanceSignal extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        InsufficientBalanceSignal(InsufficientBalanceException cause) {
+            super(cause.getMessage(), cause, false, false);
+        }
+
+        @Override
+        public synchronized InsufficientBalanceException getCause() {
+            return (InsufficientBalanceException) super.getCause();
         }
     }
 }
@@ -0,0 +1,198 @@
+package com.eteration.simplebanking.services;
+
+import com.eteration.simplebanking.model.Account;
+import com.eteration.simplebanking.model.BalanceSlot;
+import com.eteration.simplebanking.model.DepositTransaction;
+import com.eteration.simplebanking.model.InsufficientBalanceException;
+import com.eteration.simplebanking.model.Money;
+import com.eteration.simplebanking.model.Transaction;
+import com.eteration.simplebanking.repository.AccountRepository;
+import com.eteration.simplebanking.repository.BalanceSlotRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Yoğun yatırma alan hesaplar için şeritli (striped) bakiye modu (app.striping.accounts).
+ *
+ * İşaretli hesaplara yapılan yatırmalar hesabın satırı yerine N alt bakiye diliminden birine
+ * tek bir UPDATE ile eklenir; dilim çağıran thread'e göre seçildiği için eşzamanlı yatırmalar
+ * farklı satırları kilitler. Çekimler önce hesabın satırındaki bakiyeden ayrılır; bakiye yetmezse
+ * dilimler kilitlenip hesabın satırına toplanır (consolidation) ve çekim yeniden denenir.
+ * Okumalar hesabın bakiyesine dilimlerin toplamını ekler.
+ */
+@Service
+public class BalanceStripingService {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BalanceSlotRepository slotRepository;
+
+    @Autowired
+    private LogService logService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.striping.accounts:}")
+    private String[] stripedAccounts;
+
+    @Value("${app.striping.slots:8}")
+    private int slotCount;
+
+    private final AtomicLong consolidations = new AtomicLong();
+
+    private Set<String> striped;
+    private TransactionTemplate slotCreation;
+
+    /**
+     * İşaretli hesapların eksik dilimlerini oluşturur
+     */
+    @PostConstruct
+    public void start() {
+        striped = Arrays.stream(stripedAccounts != null ? stripedAccounts : new String[0])
+            .map(String::trim)
+            .filter(s -> !s.isEmpty())
+            .collect(Collectors.toUnmodifiableSet());
+        slotCreation = new TransactionTemplate(transactionManager);
+        slotCreation.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (String accountNumber : striped) {
+            try {
+                Account account = accountRepository.findByAccountNumber(accountNumber);
+                if (account != null) {
+                    ensureSlots(account);
+                }
+            } catch (RuntimeException e) {
+                logService.logError("Balance slots could not be created: " + accountNumber,
+                    this.getClass().getSimpleName(), "start", e);
+            }
+        }
+    }
+
+    public boolean isStriped(String accountNumber) {
+        return striped.contains(accountNumber);
+    }
+
+    /**
+     * İşlemi şeritli hesaba uygular: yatırmalar bir dilime eklenir, diğer işlemler applyToAccount ile uygulanır.
+     * Yatırma hesabın satırını değiştirmediği için hesabın satırı kilitlenmez ve sürümü artmaz.
+     * @param account İşlemin uygulanacağı hesap
+     * @param transaction Uygulanacak işlem
+     * @throws InsufficientBalanceException Dilimler toplandıktan sonra da bakiye yetmezse
+     */
+    public void apply(Account account, Transaction transaction) throws InsufficientBalanceException {
+        if (!(transaction instanceof DepositTransaction)) {
+            applyToAccount(account, transaction);
+            return;
+        }
+        int slot = slotForCurrentThread();
+        long amount = transaction.getAmount().getMinorUnits();
+        if (slotRepository.addToSlot(account.getId(), slot, amount) == 0) {
+            // Dilimler henüz yok (hesap açılıştan sonra oluşturulmuş); ayrı bir işlemde oluşturulur
+            ensureSlots(account);
+            if (slotRepository.addToSlot(account.getId(), slot, amount) == 0) {
+                applyToAccount(account, transaction);
+                return;
+            }
+        }
+        transaction.setAccount(account);
+    }
+
+    /**
+     * İşlemi hesabın satırındaki bakiyeye uygular. Şeritli hesapta bakiye yetmezse dilimler
+     * hesaba toplanır ve işlem, hesabın güncel satırı üzerinde bir kez daha denenir.
+     * @param account İşlemin uygulanacağı hesap
+     * @param transaction Uygulanacak işlem
+     * @throws InsufficientBalanceException Yetersiz bakiye durumunda
+     */
+    public void applyToAccount(Account account, Transaction transaction) throws InsufficientBalanceException {
+        try {
+            account.apply(transaction);
+        } catch (InsufficientBalanceException e) {
+            if (!isStriped(account.getAccountNumber())) {
+                throw e;
+            }
+            // Dilimler boş çıksa da yeniden denenir: başka bir işlem onları hesaba toplamış olabilir
+            consolidate(account);
+            account.apply(transaction);
+        }
+    }
+
+    /**
+     * Dilimleri kilitler, hesabın satırını kilitleyerek yeniden okur, dilimlerin bakiyelerini
+     * hesabın satırına taşır ve dilimleri sıfırlar. İyimser kilit modunda çağıranın hesabı, dilimleri
+     * az önce toplayıp commit etmiş bir işlemin gerisinde kalmış olabilir; yeniden okuma bunu giderir.
+     * @param account Hesap; çağıranın işleminde yönetilen (managed) olmalıdır
+     * @return Hesaba taşınan bir tutar varsa true
+     */
+    public boolean consolidate(Account account) {
+        List<BalanceSlot> slots = slotRepository.findByAccountIdForUpdate(account.getId());
+        accountRepository.refreshForUpdate(account);
+        long total = 0L;
+        for (BalanceSlot slot : slots) {
+            total = Math.addExact(total, slot.getBalance().getMinorUnits());
+            slot.setBalance(Money.ZERO);
+        }
+        if (total == 0L) {
+            return false;
+        }
+        account.credit(Money.ofMinor(total));
+        consolidations.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * @param account Hesap
+     * @return Hesabın satırındaki bakiye ile dilimlerin toplamı
+     */
+    public Money totalBalance(Account account) {
+        if (!isStriped(account.getAccountNumber())) {
+            return account.getBalance();
+        }
+        return account.getBalance().plus(Money.ofMinor(slotRepository.sumBalance(account.getId())));
+    }
+
+    /**
+     * Hesabın eksik dilimlerini kendi işleminde oluşturur; eşzamanlı bir oluşturma kazanırsa hata yutulur
+     * @param account Hesap
+     */
+    void ensureSlots(Account account) {
+        try {
+            slotCreation.executeWithoutResult(status -> {
+                List<BalanceSlot> existing = slotRepository.findByAccountId(account.getId());
+                Set<Integer> present = new HashSet<>();
+                existing.forEach(s -> present.add(s.getSlot()));
+                for (int slot = 0; slot < slotCount; slot++) {
+                    if (!present.contains(slot)) {
+                        slotRepository.save(new BalanceSlot(account.getId(), slot));
+                    }
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            logService.logInfo("Balance slots created concurrently: " + account.getAccountNumber(),
+                this.getClass().getSimpleName(), "ensureSlots");
+        }
+    }
+
+    private int slotForCurrentThread() {
+        return (int) Math.floorMod(Thread.currentThread().getId(), (long) slotCount);
+    }
+
+    public long getConsolidationCount() {
+        return consolidations.get();
+    }
+}
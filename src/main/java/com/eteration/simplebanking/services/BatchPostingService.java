@@ -0,0 +1,281 @@
+package com.eteration.simplebanking.services;
+
+import com.eteration.simplebanking.cache.AccountSnapshotCache;
+import com.eteration.simplebanking.concurrency.AccountLockPolicy;
+import com.eteration.simplebanking.concurrency.LockMode;
+import com.eteration.simplebanking.concurrency.RetryExecutor;
+import com.eteration.simplebanking.dto.ApiResponse;
+import com.eteration.simplebanking.dto.BatchItemDTO;
+import com.eteration.simplebanking.dto.BatchItemResultDTO;
+import com.eteration.simplebanking.dto.BatchOperationType;
+import com.eteration.simplebanking.dto.BatchPostingResultDTO;
+import com.eteration.simplebanking.metrics.BankingMetrics;
+import com.eteration.simplebanking.metrics.BankingMetrics.Outcome;
+import com.eteration.simplebanking.model.*;
+import com.eteration.simplebanking.repository.AccountRepository;
+import com.eteration.simplebanking.repository.TransactionRepository;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Çok sayıda karışık işlemi (para yatırma, çekme, fatura ödeme) parçalar halinde uygular.
+ * Her parça tek bir veritabanı işleminde yürütülür: hesaplar tek sorguda yüklenir, işlemler
+ * saveAll ile JDBC batch olarak eklenir ve her hesap parça başına bir kez güncellenir.
+ * Kalem bazındaki hatalar (hesap yok, yetersiz bakiye) yalnızca o kalemi başarısız sayar.
+ */
+@Service
+public class BatchPostingService {
+    static final String OPERATION = "batch";
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private OutboxService outbox;
+
+    @Autowired
+    private LogService logService;
+
+    @Autowired
+    private AccountSnapshotCache accountCache;
+
+    @Autowired
+    private BankingMetrics metrics;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @Autowired
+    private RetryExecutor retryExecutor;
+
+    @Autowired
+    private AccountLockPolicy lockPolicy;
+
+    @Autowired
+    private BalanceStripingService striping;
+
+    @Autowired
+    private JournaledPostingService journal;
+
+    @Autowired
+    private LedgerPostingService ledger;
+
+    @Value("${app.batch.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Value("${app.batch.max-items:10000}")
+    private int maxItems = 10000;
+
+    /**
+     * Toplu işlemleri chunk-size boyutunda parçalar halinde uygular
+     * @param items İşlem kalemleri
+     * @return ApiResponse<BatchPostingResultDTO> Kalem bazında sonuçlar; istek geçersizse success=false
+     */
+    public ApiResponse<BatchPostingResultDTO> post(List<BatchItemDTO> items) {
+        Timer.Sample sample = metrics.start();
+        Outcome outcome = Outcome.ERROR;
+        try {
+            if (items == null || items.isEmpty()) {
+                logService.logError("Empty batch", this.getClass().getSimpleName(), "post",
+                    new RuntimeException("Invalid batch"));
+                return new ApiResponse<>(false, "Batch must contain at least one item", null);
+            }
+            if (items.size() > maxItems) {
+                logService.logError("Batch too large: " + items.size(), this.getClass().getSimpleName(), "post",
+                    new RuntimeException("Invalid batch"));
+                return new ApiResponse<>(false, "Batch must not contain more than " + maxItems + " items", null);
+            }
+            String unavailable = unavailableReason();
+            if (unavailable != null) {
+                logService.logError("Batch rejected: " + unavailable, this.getClass().getSimpleName(), "post",
+                    new RuntimeException("Batch unavailable"));
+                return new ApiResponse<>(false, unavailable, null);
+            }
+
+            List<BatchItemResultDTO> results = new ArrayList<>(items.size());
+            for (int from = 0; from < items.size(); from += chunkSize) {
+                results.addAll(postChunk(items.subList(from, Math.min(from + chunkSize, items.size())), from));
+            }
+
+            BatchPostingResultDTO result = new BatchPostingResultDTO(results);
+            logService.logInfo(
+                String.format("Batch posted: total=%d, succeeded=%d, failed=%d",
+                    result.getTotal(), result.getSucceeded(), result.getFailed()),
+                this.getClass().getSimpleName(),
+                "post"
+            );
+            outcome = Outcome.OK;
+            return new ApiResponse<>(true, "Batch processed", result);
+        } catch (Exception e) {
+            logService.logError("Error processing batch", this.getClass().getSimpleName(), "post", e);
+            return new ApiResponse<>(false, e.getMessage(), null);
+        } finally {
+            metrics.recordOperation(sample, OPERATION, outcome);
+        }
+    }
+
+    /**
+     * Defter motoru ve journal modu bakiyeleri bellekte tuttuğu için toplu işlem bu modlarda kapalıdır; veritabanına
+     * doğrudan yazılan kalemler bellekteki bakiyeyi eskitir ve onaylanmış journal kayıtları uygulanamaz
+     * @return Kapalıysa nedeni, değilse null
+     */
+    private String unavailableReason() {
+        if (ledger.isEnabled() || journal.isEnabled()) {
+            return "Batch postings are not available in ledger or journal mode";
+        }
+        return null;
+    }
+
+    /**
+     * Bir parçayı tek bir veritabanı işleminde uygular. İşlem çakışma nedeniyle commit edilemezse
+     * RetryExecutor parçayı baştan dener; yine de başarısız olursa parçadaki geçerli tüm kalemler hata döner.
+     * @param items Parçadaki kalemler
+     * @param firstIndex İlk kalemin istekteki sırası
+     * @return Kalemlerle aynı sırada sonuçlar
+     */
+    public List<BatchItemResultDTO> postChunk(List<BatchItemDTO> items, int firstIndex) {
+        BatchItemResultDTO[] results = new BatchItemResultDTO[items.size()];
+        List<Integer> valid = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            BatchItemDTO item = items.get(i);
+            String error = validate(item);
+            if (error != null) {
+                results[i] = BatchItemResultDTO.error(firstIndex + i, item != null ? item.getReference() : null,
+                    BatchItemResultDTO.ERROR_INVALID, error);
+            } else {
+                valid.add(i);
+            }
+        }
+        if (valid.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        try {
+            ChunkResult applied = retryExecutor.execute(() ->
+                transactionOperations.execute(status -> applyChunk(items, valid, firstIndex)));
+            for (Map.Entry<Integer, BatchItemResultDTO> entry : applied.results.entrySet()) {
+                results[entry.getKey()] = entry.getValue();
+            }
+            for (Transaction transaction : applied.posted) {
+                metrics.recordAmount(transaction.getClass().getSimpleName(), transaction.getAmount());
+            }
+        } catch (RuntimeException e) {
+            logService.logError("Error posting batch chunk at index " + firstIndex, this.getClass().getSimpleName(),
+                "postChunk", e);
+            for (int i : valid) {
+                results[i] = BatchItemResultDTO.error(firstIndex + i, items.get(i).getReference(),
+                    BatchItemResultDTO.ERROR_FAILED, e.getMessage());
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private ChunkResult applyChunk(List<BatchItemDTO> items, List<Integer> valid, int firstIndex) {
+        Map<String, Account> accounts = loadAccounts(items, valid);
+        ChunkResult chunk = new ChunkResult(valid.size());
+        for (int i : valid) {
+            BatchItemDTO item = items.get(i);
+            Account account = accounts.get(item.getAccountNumber());
+            if (account == null) {
+                chunk.results.put(i, BatchItemResultDTO.error(firstIndex + i, item.getReference(),
+                    BatchItemResultDTO.ERROR_ACCOUNT_NOT_FOUND, "Account not found"));
+                continue;
+            }
+            Transaction transaction = newTransaction(item);
+            try {
+                striping.applyToAccount(account, transaction);
+                chunk.posted.add(transaction);
+                chunk.results.put(i, BatchItemResultDTO.ok(firstIndex + i, item.getReference(), transaction.getApprovalCode()));
+            } catch (InsufficientBalanceException e) {
+                // Account.apply bakiyeyi değiştirmeden önce hata verir; şeritli hesapta dilimler önce hesaba toplanır; kalem atlanır, parça devam eder
+                chunk.results.put(i, BatchItemResultDTO.error(firstIndex + i, item.getReference(),
+                    BatchItemResultDTO.ERROR_INSUFFICIENT_BALANCE, e.getMessage()));
+            } catch (ArithmeticException e) {
+                chunk.results.put(i, BatchItemResultDTO.error(firstIndex + i, item.getReference(),
+                    BatchItemResultDTO.ERROR_INVALID, e.getMessage()));
+            }
+        }
+        transactionRepository.saveAll(chunk.posted);
+        outbox.record(chunk.posted);
+        for (Account account : accounts.values()) {
+            accountCache.invalidate(account.getAccountNumber());
+        }
+        return chunk;
+    }
+
+    /**
+     * Parçadaki hesapları tek sorguda yükler; yoğun hesaplar id sırasıyla kilitlenir
+     * @param items Parçadaki kalemler
+     * @param valid Geçerli kalemlerin sıraları
+     * @return Hesap numarasına göre hesaplar
+     */
+    private Map<String, Account> loadAccounts(List<BatchItemDTO> items, List<Integer> valid) {
+        TreeSet<String> normal = new TreeSet<>();
+        TreeSet<String> hot = new TreeSet<>();
+        for (int i : valid) {
+            String accountNumber = items.get(i).getAccountNumber();
+            (lockPolicy.modeFor(accountNumber) == LockMode.PESSIMISTIC ? hot : normal).add(accountNumber);
+        }
+        Map<String, Account> accounts = new HashMap<>();
+        if (!hot.isEmpty()) {
+            accountRepository.findByAccountNumberInForUpdate(hot).forEach(a -> accounts.put(a.getAccountNumber(), a));
+        }
+        if (!normal.isEmpty()) {
+            accountRepository.findByAccountNumberIn(normal).forEach(a -> accounts.put(a.getAccountNumber(), a));
+        }
+        return accounts;
+    }
+
+    static Transaction newTransaction(BatchItemDTO item) {
+        switch (item.getType()) {
+            case CREDIT:
+                return new DepositTransaction(item.getAmount());
+            case DEBIT:
+                return new WithdrawalTransaction(item.getAmount());
+            case BILL_PAYMENT:
+                return new PhoneBillPaymentTransaction(item.getPayee(), item.getPhoneNumber(), item.getAmount());
+            default:
+                throw new IllegalArgumentException("Unsupported operation type: " + item.getType());
+        }
+    }
+
+    private static String validate(BatchItemDTO item) {
+        if (item == null || item.getType() == null) {
+            return "Operation type is required";
+        }
+        if (item.getAccountNumber() == null || item.getAccountNumber().isEmpty()) {
+            return "Account number is required";
+        }
+        if (item.getAmount() == null || !item.getAmount().isPositive()) {
+            return "Amount must be greater than zero";
+        }
+        if (item.getType() == BatchOperationType.BILL_PAYMENT
+                && (item.getPayee() == null || item.getPayee().isEmpty())) {
+            return "Payee is required for bill payment";
+        }
+        return null;
+    }
+
+    private static final class ChunkResult {
+        private final Map<Integer, BatchItemResultDTO> results;
+        private final List<Transaction> posted;
+
+        private ChunkResult(int size) {
+            this.results = new HashMap<>(size * 2);
+            this.posted = new ArrayList<>(size);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.eteration.simplebanking.services;
+
+import com.eteration.simplebanking.concurrency.GroupCommitter;
+import com.eteration.simplebanking.dto.BatchItemDTO;
+import com.eteration.simplebanking.dto.BatchItemResultDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Tekil para yatırma, çekme ve fatura ödeme isteklerini grup commit ile işler (isteğe bağlı).
+ * Eşzamanlı istekler max-wait süresi veya max-batch sayısı dolana kadar toplanır ve
+ * BatchPostingService.postChunk ile tek bir veritabanı işleminde uygulanır; böylece her
+ * hesap grup başına bir kez güncellenir ve commit maliyeti gruptaki isteklere paylaştırılır.
+ */
+@Service
+public class GroupCommitService {
+
+    @Autowired
+    private BatchPostingService batchPostingService;
+
+    @Value("${app.group-commit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.group-commit.max-wait:500us}")
+    private Duration maxWait;
+
+    @Value("${app.group-commit.max-batch:256}")
+    private int maxBatch;
+
+    @Value("${app.group-commit.queue-capacity:65536}")
+    private int queueCapacity;
+
+    @Value("${app.group-commit.timeout:10s}")
+    private Duration timeout;
+
+    private GroupCommitter<BatchItemDTO, BatchItemResultDTO> committer;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        committer = new GroupCommitter<>(items -> batchPostingService.postChunk(items, 0),
+            maxWait, maxBatch, queueCapacity, "group-commit");
+        committer.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (committer != null) {
+            committer.stop(timeout.toMillis());
+        }
+    }
+
+    public boolean isEnabled() {
+        return committer != null;
+    }
+
+    /**
+     * İsteği bir sonraki gruba ekler ve grup commit edilene kadar bekler
+     * @param item İşlem kalemi
+     * @return Kalemin sonucu
+     * @throws IllegalStateException Grup commit kapalıysa, kuyruk doluysa veya istek zaman aşımında gruba
+     * alınmadan geri çekildiyse (istek uygulanmamıştır)
+     */
+    public BatchItemResultDTO post(BatchItemDTO item) {
+        if (committer == null) {
+            throw new IllegalStateException("Group commit is disabled");
+        }
+        CompletableFuture<BatchItemResultDTO> future = committer.submit(item);
+        try {
+            try {
+                return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (future.cancel(false)) {
+                    // İstek gruba alınmadan geri çekildi; hiç uygulanmadığı için tekrar denenebilir
+                    throw new IllegalStateException("Group commit timed out", e);
+                }
+                // İstek flush'ta; sonucu (commit veya rollback) gelene kadar beklenir
+                return future.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for group commit", e);
+        }
+    }
+
+    public long getCommitCount() {
+        return committer != null ? committer.getCommitCount() : 0L;
+    }
+
+    public long getItemCount() {
+        return committer != null ? committer.getItemCount() : 0L;
+    }
+}
@@ -0,0 +1,181 @@
+package com.eteration.simplebanking.services;
+
+import com.eteration.simplebanking.idempotency.IdempotencyStore;
+import com.eteration.simplebanking.idempotency.IdempotentResult;
+import com.eteration.simplebanking.model.IdempotencyRecord;
+import com.eteration.simplebanking.model.InsufficientBalanceException;
+import com.eteration.simplebanking.repository.IdempotencyRecordRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Idempotency-Key başlığıyla gelen yazma isteklerinin yalnızca bir kez çalıştırılmasını sağlar.
+ *
+ * Anahtar önce bellekteki depoda talep edilir; aynı örnekteki tekrarlar veritabanına gitmeden
+ * ilk isteğin sonucunu alır. Anahtarın sahibi isteği çalıştırmadan önce anahtarı veritabanına da
+ * ekler; birincil anahtar çakışması anahtarın başka bir örnekte (veya bellekten çıkarıldıktan sonra)
+ * zaten kullanıldığını gösterir ve saklanan sonuç döner. Yetersiz bakiye hatası da sonuç olarak
+ * saklanır ve tekrarda aynı hata fırlatılır.
+ *
+ * Yalnızca belirli (deterministik) sonuçlar saklanır. İstek istisna fırlatırsa anahtar hem bellekten
+ * hem veritabanından bırakılır; istemci aynı anahtarla hemen yeniden deneyebilir.
+ */
+@Service
+public class IdempotencyService {
+    public static final int MAX_KEY_LENGTH = 128;
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    @Autowired
+    private LogService logService;
+
+    private final IdempotencyStore store;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+
+    public IdempotencyService(@Value("${app.idempotency.max-size:100000}") int maxSize,
+                              @Value("${app.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${app.idempotency.wait-timeout:10s}") Duration waitTimeout) {
+        this.store = new IdempotencyStore(maxSize, ttl);
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+    }
+
+    /**
+     * İsteği anahtar başına bir kez çalıştırır; tekrarlarda ilk sonucu döner
+     * @param key Idempotency anahtarı
+     * @param fingerprint İşlem tipi, hesap ve tutardan oluşan parmak izi
+     * @param action İsteği çalıştıran ve sonucunu dönen fonksiyon
+     * @return İlk çalıştırmanın sonucu
+     * @throws InsufficientBalanceException İlk çalıştırma yetersiz bakiye ile sonuçlandıysa
+     * @throws IllegalArgumentException Anahtar boş veya çok uzunsa
+     * @throws RuntimeException İstek istisna fırlattıysa; anahtar bırakılır ve sonuç saklanmaz
+     */
+    public IdempotentResult execute(String key, String fingerprint, IdempotentAction action)
+            throws InsufficientBalanceException {
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        IdempotencyStore.Claim claim = store.claim(key, fingerprint);
+        IdempotencyStore.Entry entry = claim.getEntry();
+        if (!claim.isOwner()) {
+            if (!entry.getFingerprint().equals(fingerprint)) {
+                return IdempotentResult.keyReused();
+            }
+            return replay(await(entry));
+        }
+
+        IdempotentResult result;
+        try {
+            result = claimInDatabase(key, fingerprint);
+            if (result == null) {
+                result = runOwned(key, action);
+                recordRepository.complete(key, result.getHttpStatus(), result.getStatus(),
+                    result.getApprovalCode(), result.getErrorMessage());
+            }
+        } catch (RuntimeException e) {
+            logService.logError("Idempotent request failed: " + key, this.getClass().getSimpleName(), "execute", e);
+            store.release(entry, e);
+            throw e;
+        }
+        if (result.isTransient()) {
+            store.release(entry, new IllegalStateException("Idempotency key not owned by this request"));
+        } else {
+            store.complete(entry, result);
+        }
+        return replay(result);
+    }
+
+    /**
+     * Anahtarı veritabanında talep eder
+     * @return Anahtar ilk kez talep edildiyse null; aksi halde saklanan sonuç
+     */
+    private IdempotentResult claimInDatabase(String key, String fingerprint) {
+        try {
+            recordRepository.saveAndFlush(new IdempotencyRecord(key, fingerprint));
+            return null;
+        } catch (DataIntegrityViolationException e) {
+            // Anahtar zaten kullanılmış; süresi dolmuşsa silinip yeniden talep edilir
+            Date expiredBefore = new Date(System.currentTimeMillis() - ttl.toMillis());
+            if (recordRepository.deleteExpired(key, expiredBefore) > 0) {
+                return claimInDatabase(key, fingerprint);
+            }
+        }
+        IdempotencyRecord record = recordRepository.findById(key).orElse(null);
+        if (record == null || !record.isCompleted()) {
+            return IdempotentResult.inProgress();
+        }
+        if (!record.getFingerprint().equals(fingerprint)) {
+            return IdempotentResult.keyReused();
+        }
+        return new IdempotentResult(record.getHttpStatus(), record.getStatus(), record.getApprovalCode(),
+            record.getErrorMessage());
+    }
+
+    /**
+     * Veritabanında talep edilmiş anahtarın isteğini çalıştırır. İstek istisna fırlatırsa sonucu belirsizdir;
+     * talep silinir, aksi halde anahtar süre dolana kadar IN_PROGRESS (409) dönerdi. Sonuç yazılırken
+     * oluşan hatada talep silinmez: istek uygulanmış olabilir ve yeniden çalıştırılmamalıdır.
+     */
+    private IdempotentResult runOwned(String key, IdempotentAction action) {
+        try {
+            return action.run();
+        } catch (InsufficientBalanceException e) {
+            return new IdempotentResult(0, null, null, e.getMessage());
+        } catch (RuntimeException e) {
+            try {
+                recordRepository.deleteIncomplete(key);
+            } catch (RuntimeException deleteError) {
+                e.addSuppressed(deleteError);
+            }
+            throw e;
+        }
+    }
+
+    private IdempotentResult await(IdempotencyStore.Entry entry) {
+        try {
+            return entry.getResult().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return IdempotentResult.inProgress();
+        } catch (ExecutionException | TimeoutException e) {
+            return IdempotentResult.inProgress();
+        }
+    }
+
+    private static IdempotentResult replay(IdempotentResult result) throws InsufficientBalanceException {
+        if (result.getErrorMessage() != null) {
+            throw new InsufficientBalanceException(result.getErrorMessage());
+        }
+        return result;
+    }
+
+    IdempotencyStore getStore() {
+        return store;
+    }
+
+    public long getReplayCount() {
+        return store.getReplayCount();
+    }
+
+    public int getStoreSize() {
+        return store.size();
+    }
+
+    /**
+     * Idempotency anahtarıyla korunan yazma isteği
+     */
+    @FunctionalInterface
+    public interface IdempotentAction {
+        IdempotentResult run() throws InsufficientBalanceException;
+    }
+}
@@ -0,0 +1,385 @@
+package com.eteration.simplebanking.services;
+
+import com.eteration.simplebanking.cache.AccountSnapshotCache;
+import com.eteration.simplebanking.concurrency.RetryExecutor;
+import com.eteration.simplebanking.dto.BatchItemDTO;
+import com.eteration.simplebanking.dto.BatchItemResultDTO;
+import com.eteration.simplebanking.journal.JournalEntry;
+import com.eteration.simplebanking.journal.TransactionJournal;
+import com.eteration.simplebanking.model.Account;
+import com.eteration.simplebanking.model.InsufficientBalanceException;
+import com.eteration.simplebanking.model.JournalDeadLetter;
+import com.eteration.simplebanking.model.Money;
+import com.eteration.simplebanking.model.Transaction;
+import com.eteration.simplebanking.repository.AccountRepository;
+import com.eteration.simplebanking.repository.JournalDeadLetterRepository;
+import com.eteration.simplebanking.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Journal dayanıklılık modu (app.durability.mode=journal).
+ *
+ * İşlem, hesabın bellekteki bakiyesine uygulanır ve yerel journal'a yazılır; çağırana journal
+ * fsync'i tamamlandığında onay kodu döner. PostgreSQL'e yazma arka plandaki uygulayıcı thread'i
+ * tarafından sıra numarası sırasıyla, parçalar halinde yapılır. Açılışta checkpoint'ten sonraki
+ * kayıtlar, istek kabul edilmeden önce veritabanına yeniden oynatılır; transaction tablosunda
+ * onay kodu zaten bulunan kayıtlar atlanır. Veritabanına uygulanamayan onaylı kayıtlar aynı işlemde
+ * journal_dead_letter tablosuna yazılır; checkpoint hiçbir kaydı kalıcı bir iz bırakmadan geçmez.
+ * Sıra numarası journal kilidi altında verilir, kayıt ise uygulama kuyruğuna sonradan girer; bu yüzden
+ * uygulayıcı yalnızca son uygulanan kayıttan itibaren boşluksuz ilerler ve checkpoint henüz kuyruğa
+ * girmemiş bir kaydın ötesine geçmez.
+ *
+ * Bellekteki bakiye bu örneği hesapların tek yazıcısı kabul eder; bu mod aynı hesaplara başka
+ * örneklerin veya JPA yolunun yazdığı dağıtık kurulumlarda kullanılmamalıdır. Okuma uçları
+ * veritabanını okuduğu için bakiye, uygulayıcının gecikmesi kadar geriden gelebilir.
+ */
+@Service
+public class JournaledPostingService {
+    public static final String MODE_JOURNAL = "journal";
+
+    private static final long FAILURE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JournalDeadLetterRepository deadLetterRepository;
+
+    @Autowired
+    private OutboxService outbox;
+
+    @Autowired
+    private LogService logService;
+
+    @Autowired
+    private AccountSnapshotCache accountCache;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @Autowired
+    private RetryExecutor retryExecutor;
+
+    @Autowired
+    private BalanceStripingService striping;
+
+    @Value("${app.durability.mode:database}")
+    private String mode;
+
+    @Value("${app.journal.directory:./data/journal}")
+    private String directory;
+
+    @Value("${app.journal.segment-size:67108864}")
+    private int segmentSize;
+
+    @Value("${app.journal.apply-batch-size:500}")
+    private int applyBatchSize;
+
+    @Value("${app.journal.fsync-timeout:5s}")
+    private Duration fsyncTimeout;
+
+    private final ConcurrentSkipListMap<Long, JournalEntry> pending = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, Account> balances = new ConcurrentHashMap<>();
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+
+    private TransactionJournal journal;
+    private volatile long appliedSequence;
+    private volatile boolean running;
+    private volatile boolean applierIdle;
+    private volatile Thread applier;
+
+    /**
+     * Journal'ı açar, kurtarılan kayıtları veritabanına uygular ve uygulayıcı thread'ini başlatır
+     * @throws IOException Journal açılamazsa
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        if (!MODE_JOURNAL.equalsIgnoreCase(mode)) {
+            return;
+        }
+        journal = new TransactionJournal(Paths.get(directory), segmentSize);
+        appliedSequence = journal.getCheckpoint();
+        List<JournalEntry> recovered = journal.getRecoveredEntries();
+        for (JournalEntry entry : recovered) {
+            pending.put(entry.getSequence(), entry);
+        }
+        while (applyOnce() > 0) {
+            // Kurtarılan kayıtlar istek kabul edilmeden önce uygulanır
+        }
+        if (!pending.isEmpty()) {
+            journal.close();
+            throw new IllegalStateException("Journal has a gap after sequence " + appliedSequence);
+        }
+        logService.logInfo("Journal opened, replayed entries: " + recovered.size(), this.getClass().getSimpleName(), "start");
+
+        running = true;
+        applier = new Thread(this::runApplier, "journal-applier");
+        applier.setDaemon(true);
+        applier.start();
+    }
+
+    /**
+     * Uygulayıcıyı durdurur, bekleyen kayıtları veritabanına yazmayı dener ve journal'ı kapatır.
+     * Yazılamayan kayıtlar bir sonraki açılışta yeniden oynatılır.
+     */
+    @PreDestroy
+    public void stop() throws IOException {
+        if (journal == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(applier);
+        try {
+            applier.join(fsyncTimeout.toMillis());
+            while (!pending.isEmpty() && applyOnce() > 0) {
+                // Kapanışta kalan kayıtlar uygulanır
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logService.logError("Journal entries left for replay: " + pending.size(), this.getClass().getSimpleName(), "stop", e);
+        } finally {
+            journal.close();
+        }
+    }
+
+    public boolean isEnabled() {
+        return journal != null;
+    }
+
+    /**
+     * İşlemi hesabın bellekteki bakiyesine uygular ve journal'a yazar; fsync tamamlanınca döner
+     * @param item İşlem kalemi
+     * @return Kalemin sonucu
+     */
+    public BatchItemResultDTO post(BatchItemDTO item) {
+        Account account = balanceOf(item.getAccountNumber());
+        if (account == null) {
+            return BatchItemResultDTO.error(0, item.getReference(), BatchItemResultDTO.ERROR_ACCOUNT_NOT_FOUND,
+                "Account not found");
+        }
+        Transaction transaction = BatchPostingService.newTransaction(item);
+        JournalEntry entry;
+        synchronized (account) {
+            Money before = account.getBalance();
+            try {
+                account.apply(transaction);
+            } catch (InsufficientBalanceException e) {
+                return BatchItemResultDTO.error(0, item.getReference(), BatchItemResultDTO.ERROR_INSUFFICIENT_BALANCE,
+                    e.getMessage());
+            } catch (ArithmeticException e) {
+                return BatchItemResultDTO.error(0, item.getReference(), BatchItemResultDTO.ERROR_INVALID, e.getMessage());
+            }
+            try {
+                entry = journal.append(new JournalEntry(0L, transaction.getDate().getTime(), item.getType(),
+                    item.getAccountNumber(), item.getAmount().getMinorUnits(), transaction.getApprovalCode(),
+                    item.getPayee(), item.getPhoneNumber()));
+            } catch (IOException e) {
+                account.setBalance(before);
+                throw new UncheckedIOException(e);
+            }
+            pending.put(entry.getSequence(), entry);
+        }
+        try {
+            journal.awaitDurable(entry.getSequence(), fsyncTimeout.toMillis());
+        } catch (IOException e) {
+            // Kayıt yine de diske yazılmış olabilir; sonuç belirsizdir ve çağırana onay verilmez
+            throw new UncheckedIOException(e);
+        } finally {
+            // Kayıt diske yazıldığında uygulanabilir hale gelir; boşta bekleyen uygulayıcı uyandırılır
+            if (applierIdle) {
+                LockSupport.unpark(applier);
+            }
+        }
+        return BatchItemResultDTO.ok(0, item.getReference(), transaction.getApprovalCode());
+    }
+
+    /**
+     * Hesabın bellekteki görüntüsünü döner; ilk erişimde veritabanından yüklenir
+     * @param accountNumber Hesap numarası
+     * @return Bellekteki hesap veya bulunamazsa null
+     */
+    private Account balanceOf(String accountNumber) {
+        Account account = balances.get(accountNumber);
+        if (account != null) {
+            return account;
+        }
+        Account stored = accountRepository.findByAccountNumber(accountNumber);
+        if (stored == null) {
+            return null;
+        }
+        Account detached = new Account(stored.getOwner(), stored.getAccountNumber());
+        detached.setBalance(striping.totalBalance(stored));
+        Account existing = balances.putIfAbsent(accountNumber, detached);
+        return existing != null ? existing : detached;
+    }
+
+    /**
+     * Uygulanacak kayıt yokken süresiz park eder; post, kaydı diske yazıldıktan sonra uygulayıcıyı uyandırır
+     */
+    private void runApplier() {
+        while (running) {
+            try {
+                if (applyOnce() == 0) {
+                    // applierIdle yazıldıktan sonra yeniden bakılır; arada diske yazılan kaydın sahibi uyandırır
+                    applierIdle = true;
+                    if (!hasDurablePending() && running) {
+                        LockSupport.park(this);
+                    }
+                    applierIdle = false;
+                }
+            } catch (RuntimeException e) {
+                logService.logError("Error applying journal entries, pending: " + pending.size(),
+                    this.getClass().getSimpleName(), "runApplier", e);
+                LockSupport.parkNanos(FAILURE_PARK_NANOS);
+            }
+        }
+    }
+
+    private boolean hasDurablePending() {
+        Map.Entry<Long, JournalEntry> first = pending.firstEntry();
+        return first != null && first.getKey() == appliedSequence + 1 && first.getKey() <= journal.getSyncedSequence();
+    }
+
+    /**
+     * Diske yazılmış ve son uygulanan kayıttan itibaren boşluksuz kayıtlardan bir parçayı veritabanına
+     * uygular ve checkpoint'i ilerletir
+     * @return Uygulanan kayıt sayısı
+     */
+    int applyOnce() {
+        long synced = journal.getSyncedSequence();
+        long next = appliedSequence + 1;
+        List<JournalEntry> batch = new ArrayList<>(applyBatchSize);
+        for (JournalEntry entry : pending.headMap(synced, true).values()) {
+            // Sıra numarasını almış ama kuyruğa henüz girmemiş kayıtta durulur; checkpoint onu geçmemelidir
+            if (entry.getSequence() != next) {
+                break;
+            }
+            next++;
+            batch.add(entry);
+            if (batch.size() == applyBatchSize) {
+                break;
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        replay(batch);
+        long last = batch.get(batch.size() - 1).getSequence();
+        try {
+            journal.checkpoint(last);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        appliedSequence = last;
+        for (JournalEntry entry : batch) {
+            pending.remove(entry.getSequence());
+        }
+        return batch.size();
+    }
+
+    /**
+     * Kayıtları tek bir veritabanı işleminde sırayla uygular. Onay kodu transaction veya dead letter
+     * tablosunda zaten bulunan kayıtlar atlandığı için aynı kayıtlar tekrar oynatılabilir. Defter
+     * motorunun kalıcılık thread'i de işlemleri bu yolla yazar.
+     * @param entries Sıra numarasına göre sıralı kayıtlar
+     */
+    void replay(List<JournalEntry> entries) {
+        retryExecutor.execute(() -> transactionOperations.execute(status -> {
+            applyToDatabase(entries);
+            return null;
+        }));
+    }
+
+    private void applyToDatabase(List<JournalEntry> entries) {
+        Set<UUID> approvalCodes = new HashSet<>();
+        Set<String> accountNumbers = new HashSet<>();
+        for (JournalEntry entry : entries) {
+            approvalCodes.add(UUID.fromString(entry.getApprovalCode()));
+            accountNumbers.add(entry.getAccountNumber());
+        }
+        Set<String> existing = new HashSet<>();
+        transactionRepository.findExistingApprovalCodes(approvalCodes).forEach(code -> existing.add(code.toString()));
+        deadLetterRepository.findExistingApprovalCodes(approvalCodes).forEach(code -> existing.add(code.toString()));
+        Map<String, Account> accounts = new HashMap<>();
+        accountRepository.findByAccountNumberIn(accountNumbers).forEach(a -> accounts.put(a.getAccountNumber(), a));
+
+        List<Transaction> transactions = new ArrayList<>(entries.size());
+        List<JournalDeadLetter> deadLetters = new ArrayList<>();
+        for (JournalEntry entry : entries) {
+            if (existing.contains(entry.getApprovalCode())) {
+                continue;
+            }
+            Account account = accounts.get(entry.getAccountNumber());
+            Transaction transaction = BatchPostingService.newTransaction(new BatchItemDTO(entry.getType(),
+                entry.getAccountNumber(), Money.ofMinor(entry.getAmountMinor()), entry.getPayee(), entry.getPhoneNumber()));
+            transaction.setApprovalCode(entry.getApprovalCode());
+            transaction.setDate(new Date(entry.getTimestamp()));
+            try {
+                if (account == null) {
+                    throw new IllegalStateException("Account not found: " + entry.getAccountNumber());
+                }
+                striping.applyToAccount(account, transaction);
+                transactions.add(transaction);
+            } catch (InsufficientBalanceException | IllegalStateException | ArithmeticException e) {
+                // Onaylanmış kayıt veritabanına uygulanamıyor; başka bir yazıcı hesabı değiştirmiş olmalı.
+                // Kayıt checkpoint ilerlemeden önce aynı işlemde kalıcı olarak saklanır.
+                deadLetters.add(new JournalDeadLetter(entry, e.getMessage()));
+            }
+        }
+        transactionRepository.saveAll(transactions);
+        deadLetterRepository.saveAll(deadLetters);
+        outbox.record(transactions);
+        applied.addAndGet(transactions.size());
+        if (!deadLetters.isEmpty()) {
+            // Sayaç ve log, işlem commit edilmeden artar; geri alınırsa kayıtlar yeniden denenir
+            deadLettered.addAndGet(deadLetters.size());
+            for (JournalDeadLetter deadLetter : deadLetters) {
+                logService.logError("Acknowledged entry moved to dead letter table: " + deadLetter.getApprovalCode(),
+                    this.getClass().getSimpleName(), "applyToDatabase", new IllegalStateException(deadLetter.getReason()));
+            }
+        }
+        for (String accountNumber : accounts.keySet()) {
+            accountCache.invalidate(accountNumber);
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getAppliedCount() {
+        return applied.get();
+    }
+
+    public long getDeadLetterCount() {
+        return deadLettered.get();
+    }
+}
@@ -0,0 +1,216 @@
+package com.eteration.simplebanking.services;
+
+import com.eteration.simplebanking.dto.BatchItemDTO;
+import com.eteration.simplebanking.dto.BatchItemResultDTO;
+import com.eteration.simplebanking.journal.JournalEntry;
+import com.eteration.simplebanking.ledger.ShardedLedger;
+import com.eteration.simplebanking.model.Account;
+import com.eteration.simplebanking.model.Money;
+import com.eteration.simplebanking.repository.AccountRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bellek içi defter motoru (app.ledger.enabled=true).
+ *
+ * Tekil işlemler hesabın shard'ında bellekteki bakiyeye uygulanır ve çağırana hemen onay kodu döner.
+ * Uygulanan işlemler arka plandaki kalıcılık thread'i tarafından uygulama sırasıyla, parçalar halinde
+ * veritabanına yazılır; yazma onay koduna göre idempotenttir. Onaylanan ancak henüz yazılmamış
+ * işlemler süreç çökerse kaybolur.
+ *
+ * Bakiyelerin sahibi defter olduğu için bu örnek hesapların tek yazıcısı kabul edilir; toplu işlem,
+ * asenkron fatura ödeme, havale ve süpürme yolları motor açıkken reddedilir, başka örnekler de aynı
+ * hesaplara yazmamalıdır. Okuma uçları veritabanını okur.
+ */
+@Service
+public class LedgerPostingService {
+    private static final long FAILURE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JournaledPostingService journaledPostingService;
+
+    @Autowired
+    private LogService logService;
+
+    @Autowired
+    private BalanceStripingService striping;
+
+    @Value("${app.ledger.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.ledger.shards:4}")
+    private int shardCount;
+
+    @Value("${app.ledger.persist-batch-size:500}")
+    private int persistBatchSize;
+
+    @Value("${app.ledger.timeout:10s}")
+    private Duration timeout;
+
+    private final ConcurrentLinkedQueue<JournalEntry> unpersisted = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger unpersistedCount = new AtomicInteger();
+
+    private ShardedLedger ledger;
+    private volatile boolean running;
+    private volatile boolean persisterIdle;
+    private volatile Thread persister;
+
+    /**
+     * Shard thread'lerini ve kalıcılık thread'ini başlatır
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        ledger = new ShardedLedger(shardCount, this::loadBalance, this::enqueue);
+        ledger.start();
+        running = true;
+        persister = new Thread(this::runPersister, "ledger-persister");
+        persister.setDaemon(true);
+        persister.start();
+    }
+
+    /**
+     * Shard'ları durdurur ve henüz yazılmamış işlemleri veritabanına yazmayı dener
+     */
+    @PreDestroy
+    public void stop() {
+        if (ledger == null) {
+            return;
+        }
+        ledger.stop(timeout.toMillis());
+        running = false;
+        LockSupport.unpark(persister);
+        try {
+            persister.join(timeout.toMillis());
+            while (persistOnce() > 0) {
+                // Kapanışta kalan işlemler yazılır
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logService.logError("Ledger postings not persisted: " + unpersistedCount.get(),
+                this.getClass().getSimpleName(), "stop", e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return ledger != null;
+    }
+
+    /**
+     * İşlemi hesabın shard'ına gönderir ve shard uygulayana kadar bekler
+     * @param item İşlem kalemi
+     * @return Kalemin sonucu
+     * @throws IllegalStateException İşlem zaman aşımında shard'a ulaşmadan geri çekildiyse (uygulanmamıştır)
+     */
+    public BatchItemResultDTO post(BatchItemDTO item) {
+        CompletableFuture<BatchItemResultDTO> future = ledger.submit(item);
+        try {
+            try {
+                return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (future.cancel(false)) {
+                    // İşlem shard'a ulaşmadan geri çekildi; bakiyeye uygulanmadı
+                    throw new IllegalStateException("Ledger shard timed out", e);
+                }
+                // Shard işlemi sahiplendi; onay kodu kaybolmasın diye sonucu beklenir
+                return future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for ledger shard", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ledger shard failed", e.getCause());
+        }
+    }
+
+    private Money loadBalance(String accountNumber) {
+        Account account = accountRepository.findByAccountNumber(accountNumber);
+        return account != null ? striping.totalBalance(account) : null;
+    }
+
+    private void enqueue(JournalEntry entry) {
+        unpersisted.offer(entry);
+        unpersistedCount.incrementAndGet();
+        if (persisterIdle) {
+            LockSupport.unpark(persister);
+        }
+    }
+
+    /**
+     * Yazılacak işlem yokken süresiz park eder; shard'lar işlem ekleyince uyandırır
+     */
+    private void runPersister() {
+        while (running) {
+            try {
+                if (persistOnce() == 0) {
+                    // persisterIdle yazıldıktan sonra kuyruk yeniden okunur; arada eklenen işlemi enqueue uyandırır
+                    persisterIdle = true;
+                    if (unpersisted.isEmpty() && running) {
+                        LockSupport.park(this);
+                    }
+                    persisterIdle = false;
+                }
+            } catch (RuntimeException e) {
+                logService.logError("Error persisting ledger postings, pending: " + unpersistedCount.get(),
+                    this.getClass().getSimpleName(), "runPersister", e);
+                LockSupport.parkNanos(FAILURE_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Kuyruğun başındaki işlemleri tek bir veritabanı işleminde yazar; hata durumunda işlemler
+     * kuyrukta kalır ve bir sonraki denemede yeniden yazılır
+     * @return Yazılan işlem sayısı
+     */
+    int persistOnce() {
+        List<JournalEntry> batch = new ArrayList<>(persistBatchSize);
+        for (JournalEntry entry : unpersisted) {
+            batch.add(entry);
+            if (batch.size() == persistBatchSize) {
+                break;
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        journaledPostingService.replay(batch);
+        for (int i = 0; i < batch.size(); i++) {
+            unpersisted.poll();
+        }
+        unpersistedCount.addAndGet(-batch.size());
+        return batch.size();
+    }
+
+    public int getUnpersistedCount() {
+        return unpersistedCount.get();
+    }
+
+    public long getQueuedCount() {
+        return ledger != null ? ledger.getQueuedCount() : 0L;
+    }
+
+    public long getPostedCount() {
+        return ledger != null ? ledger.getPostedCount() : 0L;
+    }
+}
@@ -1,7 +1,11 @@
 package com.eteration.simplebanking.services;
 
-import com.eteration.simplebanking.config.RabbitMQConfig;
-import com.eteration.simplebanking.dto.LogMessage;
+import com.eteration.simplebanking.logging.AsyncLogDispatcher;
+import com.eteration.simplebanking.logging.InMemoryLogPublisher;
+import com.eteration.simplebanking.logging.LogFormatter;
+import com.eteration.simplebanking.logging.LogOverflowPolicy;
+import com.eteration.simplebanking.logging.LogPublisher;
+import com.eteration.simplebanking.logging.RabbitLogPublisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -9,8 +13,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 @Service
 public class LogService {
@@ -19,86 +23,88 @@ public class LogService {
     @Value("${app.rabbitmq.logging.enabled:false}")
     private boolean rabbitmqEnabled;
 
+    @Value("${app.logging.async.buffer-size:8192}")
+    private int bufferSize;
+
+    @Value("${app.logging.async.batch-size:256}")
+    private int batchSize;
+
+    @Value("${app.logging.async.overflow-policy:DROP_NEWEST}")
+    private LogOverflowPolicy overflowPolicy;
+
+    @Value("${app.logging.async.local-retention:1000}")
+    private int localRetention;
+
     @Autowired(required = false)
     private RabbitTemplate rabbitTemplate;
 
+    private LogPublisher publisher;
+
+    private AsyncLogDispatcher dispatcher;
+
+    /**
+     * Log tamponunu ve arka plan yayıncı thread'ini başlatır.
+     * RabbitMQ kapalıysa mesajlar bellekteki yerel yayıncıya gönderilir.
+     */
+    @PostConstruct
+    public void start() {
+        if (rabbitmqEnabled && rabbitTemplate != null) {
+            publisher = new RabbitLogPublisher(rabbitTemplate);
+        } else {
+            publisher = new InMemoryLogPublisher(localRetention);
+        }
+        dispatcher = new AsyncLogDispatcher(logger, bufferSize, batchSize, overflowPolicy, publisher);
+        dispatcher.start();
+    }
+
+    /**
+     * Yayıncı thread'ini durdurur ve tamponda kalan logları gönderir
+     */
+    @PreDestroy
+    public void stop() {
+        dispatcher.stop(5000);
+    }
+
     /**
-     * Hata loglarını kaydeder ve RabbitMQ'ya gönderir
+     * Hata loglarını kaydeder ve RabbitMQ'ya gönderir.
+     * Çağıran thread yalnızca olayı tampona ekler; biçimlendirme ve gönderim arka planda yapılır.
      * @param message Log mesajı
      * @param className Sınıf adı
      * @param methodName Metod adı
      * @param exception Oluşan hata
      */
     public void logError(String message, String className, String methodName, Exception exception) {
-        StringWriter sw = new StringWriter();
-        PrintWriter pw = new PrintWriter(sw);
-        exception.printStackTrace(pw);
-        
-        String logMessage = String.format("[%s] [%s] Error in %s.%s: %s. Exception: %s", 
-            Thread.currentThread().getName(), 
-            className,
-            methodName,
-            message,
-            exception.getMessage(),
-            sw.toString());
-        
-        // Always log to console/file
-        logger.error(logMessage);
-
-        // Only send to RabbitMQ if enabled
-        if (rabbitmqEnabled && rabbitTemplate != null) {
-            try {
-                LogMessage mqMessage = new LogMessage();
-                mqMessage.setLevel("ERROR");
-                mqMessage.setMessage(message);
-                mqMessage.setClassName(className);
-                mqMessage.setMethodName(methodName);
-
-                rabbitTemplate.convertAndSend(
-                    RabbitMQConfig.EXCHANGE_NAME,
-                    "error." + className,
-                    mqMessage
-                );
-            } catch (Exception e) {
-                logger.warn("Failed to send log to RabbitMQ: {}", e.getMessage());
-            }
-        }
+        dispatcher.submit(LogFormatter.LEVEL_ERROR, message, className, methodName, exception);
     }
 
     /**
-     * Bilgi loglarını kaydeder ve RabbitMQ'ya gönderir
+     * Bilgi loglarını kaydeder ve RabbitMQ'ya gönderir.
+     * Çağıran thread yalnızca olayı tampona ekler; biçimlendirme ve gönderim arka planda yapılır.
      * @param message Log mesajı
      * @param className Sınıf adı
      * @param methodName Metod adı
      */
     public void logInfo(String message, String className, String methodName) {
-        String logMessage = String.format("[%s] [%s] Info in %s.%s: %s", 
-            Thread.currentThread().getName(), 
-            className,
-            className,
-            methodName,
-            message);
+        dispatcher.submit(LogFormatter.LEVEL_INFO, message, className, methodName, null);
+    }
 
-        // Always log to console/file
-        logger.info(logMessage);
+    public LogPublisher getPublisher() {
+        return publisher;
+    }
 
-        // Only send to RabbitMQ if enabled
-        if (rabbitmqEnabled && rabbitTemplate != null) {
-            try {
-                LogMessage mqMessage = new LogMessage();
-                mqMessage.setLevel("INFO");
-                mqMessage.setMessage(message);
-                mqMessage.setClassName(className);
-                mqMessage.setMethodName(methodName);
-
-                rabbitTemplate.convertAndSend(
-                    RabbitMQConfig.EXCHANGE_NAME,
-                    "info." + className,
-                    mqMessage
-                );
-            } catch (Exception e) {
-                logger.warn("Failed to send log to RabbitMQ: {}", e.getMessage());
-            }
-        }
+    public long getPublishedCount() {
+        return dispatcher.getPublishedCount();
+    }
+
+    public long getDroppedCount() {
+        return dispatcher.getDroppedCount();
+    }
+
+    public long getFailedCount() {
+        return dispatcher.getFailedCount();
+    }
+
+    public long getQueuedCount() {
+        return dispatcher.getQueuedCount();
     }
-} 
+}
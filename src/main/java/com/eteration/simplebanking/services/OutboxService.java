@@ -0,0 +1,320 @@
+package com.eteration.simplebanking.services;
+
+import com.eteration.simplebanking.mapper.AccountMapper;
+import com.eteration.simplebanking.model.Account;
+import com.eteration.simplebanking.model.DepositTransaction;
+import com.eteration.simplebanking.model.OutboxEvent;
+import com.eteration.simplebanking.model.Transaction;
+import com.eteration.simplebanking.outbox.InMemoryOutboxPublisher;
+import com.eteration.simplebanking.outbox.OutboxPublisher;
+import com.eteration.simplebanking.outbox.RabbitOutboxPublisher;
+import com.eteration.simplebanking.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transactional outbox (app.outbox.enabled=true).
+ *
+ * Hesaba uygulanan her hareket için bir alan olayı (AccountCredited, AccountDebited, BillPaid),
+ * hareketin transaction satırıyla aynı veritabanı işleminde outbox_event tablosuna yazılır; ödeme yolu
+ * broker'a hiç dokunmaz. Aktarıcı thread'i yayınlanmamış olayları parçalar halinde kilitler,
+ * tek kanal üzerinden gönderir, publisher confirm bekler ve olayları aynı işlemde yayınlanmış olarak
+ * işaretler. Gönderim veya onay başarısızsa işlem geri alınır ve parça sonraki turda yeniden gönderilir
+ * (en az bir kez teslim; mesaj kimliği outbox id'sidir).
+ *
+ * Sıra yalnızca hesap bazında garanti edilir. Havuzlanmış sekanstan gelen id'ler commit sırasını vermez;
+ * bu yüzden her olay, hesabın satırını güncelleyen işlem içinde hesabın bir sonraki olay sıra numarasını
+ * (accountSequence) alır. Satır kilidi (veya iyimser kilitte sürüm kontrolü) sayesinde bu numara hesap başına
+ * commit sırasındadır ve boşluksuzdur: k numaralı olay commit edilmişse 1..k-1 de edilmiştir. Aktarıcı parçadaki
+ * her hesabın daha küçük numaralı yayınlanmamış olaylarını parçaya ekler ve hesabın olaylarını numara sırasıyla
+ * gönderir. Şeritli hesaplara yatırmalar hesabın satırına dokunmadığı için numara almaz ve sırasızdır.
+ */
+@Service
+public class OutboxService {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+
+    @Autowired
+    private LogService logService;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @Autowired
+    private BalanceStripingService striping;
+
+    @Autowired(required = false)
+    private RabbitTemplate rabbitTemplate;
+
+    @Value("${app.outbox.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.outbox.rabbitmq.enabled:false}")
+    private boolean rabbitmqEnabled;
+
+    @Value("${app.outbox.relay.enabled:true}")
+    private boolean relayEnabled;
+
+    @Value("${app.outbox.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${app.outbox.poll-interval:100ms}")
+    private Duration pollInterval;
+
+    @Value("${app.outbox.confirm-timeout:5s}")
+    private Duration confirmTimeout;
+
+    @Value("${app.outbox.retention:1d}")
+    private Duration retention;
+
+    @Value("${app.outbox.purge-interval:1h}")
+    private Duration purgeInterval;
+
+    @Value("${app.outbox.local-retention:1000}")
+    private int localRetention;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicBoolean failing = new AtomicBoolean();
+
+    private OutboxPublisher publisher;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Yayıncıyı seçer ve aktarıcıyı zamanlar. RabbitMQ kapalıysa olaylar bellekteki AMQP karşılığına
+     * gönderilir. relay.enabled=false ise bu örnek yalnızca olay yazar; olayları başka bir örnek yayınlar.
+     */
+    @PostConstruct
+    public void start() {
+        if (rabbitmqEnabled && rabbitTemplate != null) {
+            publisher = new RabbitOutboxPublisher(rabbitTemplate, confirmTimeout.toMillis());
+        } else {
+            publisher = new InMemoryOutboxPublisher(localRetention);
+        }
+        if (!enabled || !relayEnabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::drain, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::purge, purgeInterval.toMillis(), purgeInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                // Süren parça kendi işleminde tamamlanır; tamamlanamazsa olaylar yayınlanmamış kalır
+                scheduler.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Hesaba uygulanmış hareketlerin olaylarını outbox'a yazar. Hareketleri kaydeden veritabanı işlemi
+     * içinde çağrılmalıdır; olaylar o işlemle birlikte commit veya geri alınır. Mod kapalıyken bir şey yapmaz.
+     * Her olay hesabın bir sonraki olay sıra numarasını alır; hesap bu yüzden çağıranın işleminde yönetilen
+     * (managed) olmalı ve satırı kilitli ya da sürümü kontrol ediliyor olmalıdır.
+     * @param transactions Hesabı atanmış ve kaydedilmiş hareketler
+     * @throws IllegalStateException Etkin bir veritabanı işlemi yoksa
+     */
+    public void record(Collection<? extends Transaction> transactions) {
+        if (!enabled || transactions.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Outbox events must be written in the transaction of their postings");
+        }
+        List<OutboxEvent> events = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            Account account = transaction.getAccount();
+            // Şeritli hesaba yatırma dilime yazılır ve hesabın satırını kilitlemez; numarası commit sırasında olmazdı
+            Long sequence = transaction instanceof DepositTransaction && striping.isStriped(account.getAccountNumber())
+                ? null : account.nextEventSequence();
+            events.add(new OutboxEvent(OutboxEvent.typeOf(transaction), account.getAccountNumber(),
+                transaction.getApprovalCode(), payloadOf(transaction), sequence));
+        }
+        outboxRepository.saveAll(events);
+    }
+
+    private static String payloadOf(Transaction transaction) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(AccountMapper.toDomainEventDTO(transaction));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Event payload could not be serialized", e);
+        }
+    }
+
+    /**
+     * Tam parça döndükçe aktarmaya devam eder; kuyruk boşalınca veya hata olunca bir sonraki turu bekler
+     */
+    void drain() {
+        // Parça, hesapların önceki olaylarıyla tamamlandığında batchSize'dan büyük olabilir
+        while (relayOnce() >= batchSize) {
+            // Birikmiş olaylar bekleme aralığı olmadan aktarılır
+        }
+    }
+
+    /**
+     * En eski yayınlanmamış olaylardan bir parçayı, hesaplarının önceki yayınlanmamış olaylarıyla
+     * tamamlayıp hesap bazında sıraya koyarak gönderir ve yayınlanmış olarak işaretler
+     * @return Yayınlanan olay sayısı; gönderim başarısızsa 0
+     */
+    public int relayOnce() {
+        Integer relayed;
+        try {
+            relayed = transactionOperations.execute(status -> {
+                List<OutboxEvent> batch = outboxRepository.findUnpublishedForUpdate(PageRequest.of(0, batchSize));
+                lagMillis.set(batch.isEmpty() ? 0 : System.currentTimeMillis() - batch.get(0).getCreateDate().getTime());
+                if (batch.isEmpty()) {
+                    return 0;
+                }
+                batch = inAccountOrder(withPredecessors(batch));
+                try {
+                    publisher.publish(batch);
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                Date publishedDate = new Date();
+                batch.forEach(event -> event.markPublished(publishedDate));
+                return batch.size();
+            });
+        } catch (RuntimeException e) {
+            failedBatches.incrementAndGet();
+            // Kesinti boyunca her turda değil, yalnızca ilk hatada loglanır
+            if (failing.compareAndSet(false, true)) {
+                logService.logError("Outbox batch not published", this.getClass().getSimpleName(), "relayOnce", e);
+            }
+            return 0;
+        }
+        if (failing.compareAndSet(true, false)) {
+            logService.logInfo("Outbox relay recovered", this.getClass().getSimpleName(), "relayOnce");
+        }
+        published.addAndGet(relayed);
+        return relayed;
+    }
+
+    /**
+     * Parçaya, parçadaki hesapların parçada bulunan en büyük numaradan küçük numaralı yayınlanmamış
+     * olaylarını ekler. Bu olaylar parçadakilerden önce commit edilmiştir ama id'leri daha büyük olabilir.
+     */
+    private List<OutboxEvent> withPredecessors(List<OutboxEvent> batch) {
+        Map<String, Long> maxSequence = new HashMap<>();
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            ids.add(event.getId());
+            if (event.getAccountSequence() != null) {
+                maxSequence.merge(event.getAccountNumber(), event.getAccountSequence(), Math::max);
+            }
+        }
+        if (maxSequence.isEmpty()) {
+            return batch;
+        }
+        List<OutboxEvent> predecessors = outboxRepository.findUnpublishedSequencedForUpdate(maxSequence.keySet(), ids);
+        if (predecessors.isEmpty()) {
+            return batch;
+        }
+        List<OutboxEvent> completed = new ArrayList<>(batch);
+        for (OutboxEvent event : predecessors) {
+            if (event.getAccountSequence() < maxSequence.get(event.getAccountNumber())) {
+                completed.add(event);
+            }
+        }
+        return completed;
+    }
+
+    /**
+     * Her hesabın numaralı olaylarını, o hesabın parçadaki yerlerine numara sırasıyla yerleştirir;
+     * numarasız olaylar yerinde kalır. Farklı hesapların olayları arasındaki sıra korunmaz.
+     */
+    private static List<OutboxEvent> inAccountOrder(List<OutboxEvent> batch) {
+        Map<String, List<OutboxEvent>> byAccount = new HashMap<>();
+        for (OutboxEvent event : batch) {
+            if (event.getAccountSequence() != null) {
+                byAccount.computeIfAbsent(event.getAccountNumber(), key -> new ArrayList<>()).add(event);
+            }
+        }
+        Map<String, Iterator<OutboxEvent>> ordered = new HashMap<>();
+        byAccount.forEach((accountNumber, events) -> {
+            events.sort(Comparator.comparing(OutboxEvent::getAccountSequence));
+            ordered.put(accountNumber, events.iterator());
+        });
+        List<OutboxEvent> result = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            result.add(event.getAccountSequence() == null ? event : ordered.get(event.getAccountNumber()).next());
+        }
+        return result;
+    }
+
+    /**
+     * Saklama süresi dolan yayınlanmış olayları siler
+     * @return Silinen olay sayısı, hata durumunda -1
+     */
+    int purge() {
+        try {
+            return outboxRepository.deletePublishedBefore(new Date(System.currentTimeMillis() - retention.toMillis()));
+        } catch (RuntimeException e) {
+            logService.logError("Published outbox events not purged", this.getClass().getSimpleName(), "purge", e);
+            return -1;
+        }
+    }
+
+    public OutboxPublisher getPublisher() {
+        return publisher;
+    }
+
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    public long getFailedBatchCount() {
+        return failedBatches.get();
+    }
+
+    /**
+     * @return Son turda en eski yayınlanmamış olayın yaşı (saniye); kuyruk boşsa 0
+     */
+    public double getLagSeconds() {
+        return lagMillis.get() / 1000.0;
+    }
+}
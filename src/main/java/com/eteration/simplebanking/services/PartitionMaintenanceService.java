@@ -0,0 +1,140 @@
+package com.eteration.simplebanking.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * transaction tablosunun aylık bölümlerini (V11) önceden oluşturur (app.partitions.enabled, varsayılan açık).
+ *
+ * Açılışta ve ardından app.partitions.interval aralığıyla create_transaction_partitions fonksiyonu
+ * çağrılır; içinde bulunulan aydan app.partitions.months-ahead ay sonrasına kadar eksik bölümler eklenir.
+ * Varsayılan bölüm bulunmadığından bölümü olmayan bir aya yazılan işlem reddedilir; iş bu yüzden
+ * birkaç ay önden gider ve tek bir çalıştırmanın başarısız olması yazmaları hemen etkilemez.
+ * Açılışta bu ayın ve gelecek ayın bölümü yoksa uygulama başlamaz. Tablo bölümlenmemişse (V11
+ * uygulanmamış veya veritabanı PostgreSQL değil) iş çalışmaz.
+ */
+@Service
+public class PartitionMaintenanceService {
+    static final String OPERATION = "createPartitions";
+
+    static final String CREATE_PARTITIONS_SQL = "select create_transaction_partitions(current_date, ?)";
+
+    static final String IS_PARTITIONED_SQL =
+        "select count(*) from pg_partitioned_table where partrelid = to_regclass('transaction')";
+
+    static final String PARTITION_EXISTS_SQL = "select to_regclass(?) is not null";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LogService logService;
+
+    @Value("${app.partitions.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${app.partitions.interval:6h}")
+    private Duration interval;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Eksik bölümleri açılışta oluşturur ve işi sabit aralıklarla çalışacak şekilde zamanlar
+     * @throws IllegalStateException Bu ayın veya gelecek ayın bölümü oluşturulamadıysa
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (!isPartitioned()) {
+            logService.logInfo("Transaction table is not partitioned, partition maintenance not started",
+                this.getClass().getSimpleName(), "start");
+            return;
+        }
+        createPartitions();
+        List<String> missing = missingPartitions(YearMonth.now());
+        if (!missing.isEmpty()) {
+            // Bu aya yazılan her işlem reddedilirdi; hata açılışta görünür olsun
+            throw new IllegalStateException("Missing transaction partitions: " + missing);
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "partition-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::createPartitions, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * @return transaction tablosu bölümlenmişse true; PostgreSQL katalogu yoksa (H2) false
+     */
+    boolean isPartitioned() {
+        try {
+            Long count = jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Long.class);
+            return count != null && count > 0;
+        } catch (BadSqlGrammarException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @param month İçinde bulunulan ay
+     * @return Bu ay ve gelecek ay için bulunmayan bölümlerin adları
+     */
+    List<String> missingPartitions(YearMonth month) {
+        List<String> missing = new ArrayList<>();
+        for (YearMonth m : List.of(month, month.plusMonths(1))) {
+            String name = "transaction_" + m.format(PARTITION_SUFFIX);
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(PARTITION_EXISTS_SQL, Boolean.class, name))) {
+                missing.add(name);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Eksik aylık bölümleri oluşturur. Hata fırlatmaz; hata loglanır ve bir sonraki çalıştırmada yeniden denenir.
+     * @return Oluşturulan bölüm sayısı, hata durumunda -1
+     */
+    public int createPartitions() {
+        try {
+            Integer created = jdbcTemplate.queryForObject(CREATE_PARTITIONS_SQL, Integer.class, monthsAhead);
+            if (created != null && created > 0) {
+                logService.logInfo(String.format("Transaction partitions created: %d (months ahead: %d)", created, monthsAhead),
+                    this.getClass().getSimpleName(), OPERATION);
+            }
+            return created != null ? created : 0;
+        } catch (RuntimeException e) {
+            // Zamanlanmış görevden kaçan bir hata sonraki çalıştırmaları iptal ederdi
+            logService.logError("Transaction partitions not created", this.getClass().getSimpleName(), OPERATION, e);
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.eteration.simplebanking.services;
+
+import com.eteration.simplebanking.cache.AccountSnapshotCache;
+import com.eteration.simplebanking.concurrency.RetryExecutor;
+import com.eteration.simplebanking.dto.ApiResponse;
+import com.eteration.simplebanking.dto.BatchItemResultDTO;
+import com.eteration.simplebanking.dto.PendingTransactionDTO;
+import com.eteration.simplebanking.mapper.AccountMapper;
+import com.eteration.simplebanking.metrics.BankingMetrics;
+import com.eteration.simplebanking.metrics.BankingMetrics.Outcome;
+import com.eteration.simplebanking.model.*;
+import com.eteration.simplebanking.repository.AccountRepository;
+import com.eteration.simplebanking.repository.PendingTransactionRepository;
+import com.eteration.simplebanking.repository.TransactionRepository;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fatura ödemeleri için asenkron kabul modu (app.pending.enabled=true).
+ *
+ * İstek doğrulanır, pending_transaction tablosuna onay koduyla birlikte PENDING olarak yazılır ve
+ * çağırana hemen döner (202). İşçi thread'leri bekleyen kayıtları parçalar halinde
+ * FOR UPDATE SKIP LOCKED ile talep eder; talep, hesaplara uygulama ve kaydın POSTED/FAILED olarak
+ * işaretlenmesi tek bir veritabanı işleminde yapılır. Kilitli satırlar diğer işçilerce atlandığından
+ * ve durum aynı işlemde değiştiğinden, işçiler birden fazla örneğe yayıldığında da bir kayıt iki kez
+ * uygulanmaz; işlem geri alınırsa kayıtlar yeniden PENDING olarak talep edilebilir.
+ */
+@Service
+public class PendingPostingService {
+    static final String OPERATION = "acceptPhoneBill";
+
+    @Autowired
+    private PendingTransactionRepository pendingRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private OutboxService outbox;
+
+    @Autowired
+    private LogService logService;
+
+    @Autowired
+    private AccountSnapshotCache accountCache;
+
+    @Autowired
+    private BankingMetrics metrics;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @Autowired
+    private RetryExecutor retryExecutor;
+
+    @Autowired
+    private BalanceStripingService striping;
+
+    @Autowired
+    private JournaledPostingService journal;
+
+    @Autowired
+    private LedgerPostingService ledger;
+
+    @Value("${app.pending.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.pending.workers:2}")
+    private int workers;
+
+    @Value("${app.pending.batch-size:100}")
+    private int batchSize = 100;
+
+    @Value("${app.pending.poll-interval:200ms}")
+    private Duration pollInterval;
+
+    @Value("${app.pending.retention:7d}")
+    private Duration retention;
+
+    @Value("${app.pending.purge-interval:1h}")
+    private Duration purgeInterval;
+
+    private final AtomicLong posted = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * İşçileri ve saklama süresi dolan kayıtların temizliğini zamanlar. workers=0 ise bu örnek
+     * yalnızca kabul eder; kayıtları başka örneklerin işçileri uygular.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled || workers <= 0) {
+            return;
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        scheduler = Executors.newScheduledThreadPool(workers + 1, runnable -> {
+            Thread thread = new Thread(runnable, "pending-worker-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workers; i++) {
+            scheduler.scheduleWithFixedDelay(this::drain, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        scheduler.scheduleWithFixedDelay(this::purge, purgeInterval.toMillis(), purgeInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                // Süren parça kendi işleminde tamamlanır; tamamlanamazsa kayıtlar PENDING kalır
+                scheduler.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Fatura ödemesini doğrular ve bekleyen kayıt olarak yazar; hesaba uygulama işçilere kalır
+     * @param accountNumber Hesap numarası
+     * @param payee Fatura sahibi
+     * @param phoneNumber Telefon numarası
+     * @param amount Ödenecek miktar
+     * @return ApiResponse<String> Kabul durumu ve onay kodu
+     */
+    public ApiResponse<String> acceptPhoneBill(String accountNumber, String payee, String phoneNumber, Money amount) {
+        Timer.Sample sample = metrics.start();
+        Outcome outcome = Outcome.ERROR;
+        try {
+            String unavailable = unavailableReason();
+            if (unavailable != null) {
+                logService.logError("Bill payment rejected: " + unavailable, this.getClass().getSimpleName(),
+                    OPERATION, new RuntimeException("Async bill payment unavailable"));
+                return new ApiResponse<>(false, unavailable, null);
+            }
+            if (amount == null || !amount.isPositive()) {
+                logService.logError("Invalid amount for bill payment: " + amount, this.getClass().getSimpleName(),
+                    OPERATION, new RuntimeException("Invalid amount"));
+                return new ApiResponse<>(false, "Amount must be greater than zero", null);
+            }
+            if (payee == null || payee.isEmpty()) {
+                logService.logError("Payee missing for bill payment: " + accountNumber, this.getClass().getSimpleName(),
+                    OPERATION, new RuntimeException("Invalid payee"));
+                return new ApiResponse<>(false, "Payee is required for bill payment", null);
+            }
+            // Hesap numarası çözümlemesi ikinci seviye önbellekten karşılanır
+            if (accountRepository.findByAccountNumber(accountNumber) == null) {
+                logService.logError("Account not found for bill payment: " + accountNumber, this.getClass().getSimpleName(),
+                    OPERATION, new RuntimeException("Account not found"));
+                outcome = Outcome.NOT_FOUND;
+                return new ApiResponse<>(false, "Account not found", null);
+            }
+
+            PendingTransaction pending = pendingRepository.save(new PendingTransaction(accountNumber, payee, phoneNumber, amount));
+            logService.logInfo(
+                String.format("Bill payment accepted: account=%s, payee=%s, amount=%s, approvalCode=%s",
+                    accountNumber, payee, amount, pending.getApprovalCode()),
+                this.getClass().getSimpleName(),
+                OPERATION
+            );
+            outcome = Outcome.OK;
+            return new ApiResponse<>(true, "Bill payment accepted", pending.getApprovalCode());
+        } catch (Exception e) {
+            logService.logError("Error accepting bill payment: " + accountNumber, this.getClass().getSimpleName(), OPERATION, e);
+            return new ApiResponse<>(false, e.getMessage(), null);
+        } finally {
+            metrics.recordOperation(sample, OPERATION, outcome);
+        }
+    }
+
+    /**
+     * Asenkron kabul edilmiş fatura ödemesinin durumunu onay kodu ile getirir
+     * @param approvalCode UUID biçiminde onay kodu
+     * @return ApiResponse<PendingTransactionDTO> Kaydın durumu, bulunamazsa veya kod geçersizse hata
+     */
+    public ApiResponse<PendingTransactionDTO> findStatus(String approvalCode) {
+        UUID code;
+        try {
+            code = UUID.fromString(approvalCode);
+        } catch (IllegalArgumentException e) {
+            logService.logError("Invalid approval code: " + approvalCode, this.getClass().getSimpleName(), "findStatus", e);
+            return new ApiResponse<>(false, "Invalid approval code", null);
+        }
+        try {
+            Optional<PendingTransaction> pending = pendingRepository.findById(code);
+            if (!pending.isPresent()) {
+                logService.logError("Pending transaction not found: " + approvalCode, this.getClass().getSimpleName(),
+                    "findStatus", new RuntimeException("Pending transaction not found"));
+                return new ApiResponse<>(false, "Pending transaction not found", null);
+            }
+            return new ApiResponse<>(true, "Pending transaction found successfully",
+                AccountMapper.toPendingTransactionDTO(pending.get()));
+        } catch (Exception e) {
+            logService.logError("Error finding pending transaction: " + approvalCode, this.getClass().getSimpleName(), "findStatus", e);
+            return new ApiResponse<>(false, e.getMessage(), null);
+        }
+    }
+
+    /**
+     * Bekleyen kayıtları tükenene kadar parça parça uygular. Zamanlanmış görevden hata kaçırmaz;
+     * hata loglanır ve kayıtlar bir sonraki çalıştırmada yeniden talep edilir.
+     */
+    void drain() {
+        if (unavailableReason() != null) {
+            // Kayıtlar PENDING kalır; bakiyeler bellekteyken veritabanına doğrudan uygulanmaz
+            return;
+        }
+        try {
+            while (!Thread.currentThread().isInterrupted() && processOnce() == batchSize) {
+                // Parça dolu döndükçe bekleme yapılmadan devam edilir
+            }
+        } catch (RuntimeException e) {
+            logService.logError("Error processing pending transactions", this.getClass().getSimpleName(), "drain", e);
+        }
+    }
+
+    /**
+     * En eski bekleyen kayıtlardan bir parçayı talep eder ve tek bir veritabanı işleminde uygular.
+     * İşlem çakışma nedeniyle commit edilemezse RetryExecutor parçayı baştan (yeniden talep ederek) dener.
+     * @return Talep edilen kayıt sayısı
+     */
+    public int processOnce() {
+        ClaimResult result = retryExecutor.execute(() -> transactionOperations.execute(status -> applyClaimed()));
+        for (Transaction transaction : result.posted) {
+            metrics.recordAmount(transaction.getClass().getSimpleName(), transaction.getAmount());
+        }
+        posted.addAndGet(result.posted.size());
+        failed.addAndGet(result.failed);
+        return result.claimed;
+    }
+
+    private ClaimResult applyClaimed() {
+        List<PendingTransaction> claimed = pendingRepository.claimPending(PageRequest.of(0, batchSize));
+        ClaimResult result = new ClaimResult(claimed.size());
+        if (claimed.isEmpty()) {
+            return result;
+        }
+        TreeSet<String> accountNumbers = new TreeSet<>();
+        for (PendingTransaction pending : claimed) {
+            accountNumbers.add(pending.getAccountNumber());
+        }
+        // Hesaplar id sırasıyla kilitlenir; eşzamanlı tekil istekler bu parça commit edilene kadar bekler
+        Map<String, Account> accounts = new HashMap<>();
+        accountRepository.findByAccountNumberInForUpdate(accountNumbers).forEach(a -> accounts.put(a.getAccountNumber(), a));
+
+        Date now = new Date();
+        for (PendingTransaction pending : claimed) {
+            Account account = accounts.get(pending.getAccountNumber());
+            if (account == null) {
+                pending.markFailed(BatchItemResultDTO.ERROR_ACCOUNT_NOT_FOUND, "Account not found", now);
+                result.failed++;
+                continue;
+            }
+            Transaction transaction = new PhoneBillPaymentTransaction(pending.getPayee(), pending.getPhoneNumber(), pending.getAmount());
+            transaction.setApprovalCode(pending.getApprovalCode());
+            transaction.setDate(pending.getCreateDate());
+            try {
+                striping.applyToAccount(account, transaction);
+                result.posted.add(transaction);
+                pending.markPosted(now);
+            } catch (InsufficientBalanceException e) {
+                pending.markFailed(BatchItemResultDTO.ERROR_INSUFFICIENT_BALANCE, e.getMessage(), now);
+                result.failed++;
+            } catch (ArithmeticException e) {
+                pending.markFailed(BatchItemResultDTO.ERROR_INVALID, e.getMessage(), now);
+                result.failed++;
+            }
+        }
+        transactionRepository.saveAll(result.posted);
+        outbox.record(result.posted);
+        for (String accountNumber : accounts.keySet()) {
+            accountCache.invalidate(accountNumber);
+        }
+        return result;
+    }
+
+    /**
+     * Defter motoru ve journal modu bakiyeleri bellekte tuttuğu için asenkron kabul ve işçiler bu modlarda kapalıdır
+     * @return Kapalıysa nedeni, değilse null
+     */
+    private String unavailableReason() {
+        if (ledger.isEnabled() || journal.isEnabled()) {
+            return "Async bill payments are not available in ledger or journal mode";
+        }
+        return null;
+    }
+
+    /**
+     * Saklama süresi dolan işlenmiş kayıtları siler
+     * @return Silinen kayıt sayısı, hata durumunda -1
+     */
+    int purge() {
+        try {
+            return pendingRepository.deleteProcessedBefore(new Date(System.currentTimeMillis() - retention.toMillis()));
+        } catch (RuntimeException e) {
+            logService.logError("Processed pending transactions not purged", this.getClass().getSimpleName(), "purge", e);
+            return -1;
+        }
+    }
+
+    /**
+     * @return Henüz uygulanmamış kayıt sayısı; mod kapalıyken veritabanı sorgulanmaz
+     */
+    public long getBacklog() {
+        return enabled ? pendingRepository.countByStatus(PendingTransaction.STATUS_PENDING) : 0;
+    }
+
+    public long getPostedCount() {
+        return posted.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    private static final class ClaimResult {
+        private final int claimed;
+        private final List<Transaction> posted;
+        private int failed;
+
+        private ClaimResult(int claimed) {
+            this.claimed = claimed;
+            this.posted = new ArrayList<>(claimed);
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.eteration.simplebanking.services;
+
+import com.eteration.simplebanking.dto.ApiResponse;
+import com.eteration.simplebanking.dto.ReconciliationReportDTO;
+import com.eteration.simplebanking.metrics.BankingMetrics;
+import com.eteration.simplebanking.metrics.BankingMetrics.Outcome;
+import com.eteration.simplebanking.model.Money;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gün sonu mutabakatı: her hesabın bakiyesinin (Account.balance ile bakiye dilimlerinin toplamı)
+ * işlem geçmişinden hesaplanan tutara eşit olduğunu doğrular ve farkları CSV raporuna yazar.
+ *
+ * Hesaplar id aralıklarına bölünür; aralıklar bir ForkJoinPool üzerinde app.reconciliation.chunk-size
+ * boyutuna inene kadar ikiye ayrılır ve her parça tek bir gruplu SQL sorgusuyla, kendi salt okunur
+ * işleminde (replika açıksa replikada) kontrol edilir. Karşılaştırma veritabanında yapılır; uygulamaya
+ * yalnızca farklı çıkan hesaplar döner ve hiçbir entity persistence context'e yüklenmez. Sorgu tek
+ * ifade olduğundan bir parçanın bakiyeleri ve işlemleri aynı anlık görüntüden okunur.
+ *
+ * app.reconciliation.enabled=true ise iş her gün app.reconciliation.time saatinde çalışır.
+ */
+@Service
+public class ReconciliationService {
+    static final String OPERATION = "reconcile";
+
+    static final String CSV_HEADER = "accountId,accountNumber,balance,slotBalance,ledgerBalance,difference,transactionCount";
+
+    static final String ID_RANGE_SQL = "select min(id), max(id) from account";
+
+    static final String COUNT_SQL = "select count(*) from account where id >= ? and id < ?";
+
+    // Yatırmalar ve gelen havaleler bakiyeye eklenir, diğer tüm işlemler bakiyeden düşer
+    static final String DISCREPANCY_SQL =
+        "select a.id, a.account_number, a.balance, coalesce(s.total, 0) as slot_balance,"
+            + " coalesce(t.total, 0) as ledger_balance, coalesce(t.cnt, 0) as transaction_count"
+            + " from account a"
+            + " left join (select account_id, sum(balance) as total from account_balance_slot"
+            + "   where account_id >= ? and account_id < ? group by account_id) s on s.account_id = a.id"
+            + " left join (select account_id, sum(case when type = 'DepositTransaction'"
+            + "     or (type = 'TransferTransaction' and incoming = true) then amount else -amount end) as total,"
+            + "     count(*) as cnt from transaction"
+            + "   where account_id >= ? and account_id < ? group by account_id) t on t.account_id = a.id"
+            + " where a.id >= ? and a.id < ? and a.balance + coalesce(s.total, 0) <> coalesce(t.total, 0)"
+            + " order by a.id";
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private LogService logService;
+
+    @Autowired
+    private BankingMetrics metrics;
+
+    @Value("${app.reconciliation.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.reconciliation.time:00:30}")
+    private String time;
+
+    @Value("${app.reconciliation.chunk-size:10000}")
+    private int chunkSize = 10000;
+
+    @Value("${app.reconciliation.parallelism:4}")
+    private int parallelism = 4;
+
+    @Value("${app.reconciliation.report-directory:./data/reconciliation}")
+    private String reportDirectory;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong checkedAccounts = new AtomicLong();
+    private final AtomicLong lastDiscrepancies = new AtomicLong();
+
+    private TransactionTemplate readOnly;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Mutabakatı her gün app.reconciliation.time saatinde (yerel saat) çalışacak şekilde zamanlar
+     */
+    @PostConstruct
+    public void start() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        if (!enabled) {
+            return;
+        }
+        LocalTime runAt = LocalTime.parse(time);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime next = now.toLocalDate().atTime(runAt);
+        if (!next.isAfter(now)) {
+            next = next.plusDays(1);
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reconciliation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::reconcile, Duration.between(now, next).toMillis(),
+            TimeUnit.DAYS.toMillis(1), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Tüm hesapları mutabakattan geçirir ve farkları app.reconciliation.report-directory altına
+     * reconciliation-&lt;zaman&gt;.csv olarak yazar. Rapor dosyası iş tamamlanınca görünür olur.
+     * Hata fırlatmaz; sorgusu başarısız olan parçalar loglanır ve failedChunks içinde sayılır.
+     * @return ApiResponse<ReconciliationReportDTO> Özet ve rapor yolu; başka bir çalıştırma sürüyorsa veya
+     * rapor yazılamazsa hata
+     */
+    public ApiResponse<ReconciliationReportDTO> reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            return new ApiResponse<>(false, "Reconciliation already running", null);
+        }
+        Timer.Sample sample = metrics.start();
+        Outcome outcome = Outcome.ERROR;
+        LocalDateTime startedAt = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+        Path report = Paths.get(reportDirectory).resolve("reconciliation-" + FILE_TIMESTAMP.format(startedAt) + ".csv");
+        Path partial = report.resolveSibling(report.getFileName() + ".tmp");
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            Files.createDirectories(report.getParent());
+            ChunkResult result;
+            try (Writer writer = new BufferedWriter(Files.newBufferedWriter(partial, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE)) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+                // Aralık başta bir kez okunur; çalıştırma sırasında açılan hesaplar bir sonraki çalıştırmaya kalır
+                long[] range = jdbcTemplate.query(ID_RANGE_SQL, rs -> rs.next() && rs.getObject(1) != null
+                    ? new long[] {rs.getLong(1), rs.getLong(2)} : null);
+                result = range != null
+                    ? pool.invoke(new ChunkTask(range[0], range[1] + 1, writer))
+                    : new ChunkResult(0, 0, 0, 0);
+            }
+            Files.move(partial, report, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            checkedAccounts.addAndGet(result.accounts);
+            lastDiscrepancies.set(result.discrepancies);
+            ReconciliationReportDTO summary = new ReconciliationReportDTO(
+                Date.from(startedAt.atZone(ZoneId.systemDefault()).toInstant()),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), result.chunks, result.failedChunks,
+                result.accounts, result.discrepancies, report.toAbsolutePath().toString());
+            String message = String.format("Reconciliation completed: accounts=%d, discrepancies=%d, chunks=%d, failedChunks=%d, report=%s",
+                result.accounts, result.discrepancies, result.chunks, result.failedChunks, summary.getReportFile());
+            if (result.discrepancies > 0 || result.failedChunks > 0) {
+                logService.logError(message, this.getClass().getSimpleName(), OPERATION,
+                    new IllegalStateException("Balance discrepancies found"));
+            } else {
+                logService.logInfo(message, this.getClass().getSimpleName(), OPERATION);
+            }
+            outcome = result.failedChunks == 0 ? Outcome.OK : Outcome.ERROR;
+            return new ApiResponse<>(true, "Reconciliation completed", summary);
+        } catch (IOException | RuntimeException e) {
+            // Zamanlanmış görevden kaçan bir hata sonraki günlerin çalıştırmalarını iptal ederdi
+            logService.logError("Reconciliation aborted: " + report, this.getClass().getSimpleName(), OPERATION, e);
+            deleteQuietly(partial);
+            return new ApiResponse<>(false, "Reconciliation aborted", null);
+        } finally {
+            pool.shutdown();
+            running.set(false);
+            metrics.recordOperation(sample, OPERATION, outcome);
+        }
+    }
+
+    /**
+     * Tek bir id aralığını kendi salt okunur işleminde kontrol eder ve farkları rapora ekler
+     */
+    private ChunkResult reconcileChunk(long fromId, long toId, Writer writer) {
+        try {
+            return readOnly.execute(status -> {
+                Long accounts = jdbcTemplate.queryForObject(COUNT_SQL, Long.class, fromId, toId);
+                StringBuilder rows = new StringBuilder();
+                long[] discrepancies = {0};
+                jdbcTemplate.query(DISCREPANCY_SQL, rs -> {
+                    long balance = rs.getLong("balance");
+                    long slotBalance = rs.getLong("slot_balance");
+                    long ledgerBalance = rs.getLong("ledger_balance");
+                    rows.append(rs.getLong("id")).append(',')
+                        .append(rs.getString("account_number")).append(',')
+                        .append(Money.ofMinor(balance)).append(',')
+                        .append(Money.ofMinor(slotBalance)).append(',')
+                        .append(Money.ofMinor(ledgerBalance)).append(',')
+                        .append(Money.ofMinor(balance + slotBalance - ledgerBalance)).append(',')
+                        .append(rs.getLong("transaction_count")).append('\n');
+                    discrepancies[0]++;
+                }, fromId, toId, fromId, toId, fromId, toId);
+                if (rows.length() > 0) {
+                    // Bir parçanın satırları rapora bölünmeden, parçalar tamamlanma sırasıyla eklenir
+                    synchronized (writer) {
+                        try {
+                            writer.append(rows);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                }
+                return new ChunkResult(1, 0, accounts != null ? accounts : 0, discrepancies[0]);
+            });
+        } catch (DataAccessException e) {
+            logService.logError(String.format("Reconciliation chunk failed: id=[%d, %d)", fromId, toId),
+                this.getClass().getSimpleName(), OPERATION, e);
+            return new ChunkResult(1, 1, 0, 0);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // Yarım rapor bir sonraki çalıştırmayı etkilemez
+        }
+    }
+
+    public long getCheckedAccountCount() {
+        return checkedAccounts.get();
+    }
+
+    /**
+     * @return Son çalıştırmada bulunan farklı hesap sayısı
+     */
+    public long getLastDiscrepancyCount() {
+        return lastDiscrepancies.get();
+    }
+
+    /**
+     * Aralığı chunk-size boyutuna inene kadar ikiye böler; yapraklar veritabanı sorgusunu çalıştırır
+     */
+    private class ChunkTask extends RecursiveTask<ChunkResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final long fromId;
+        private final long toId;
+        private final Writer writer;
+
+        ChunkTask(long fromId, long toId, Writer writer) {
+            this.fromId = fromId;
+            this.toId = toId;
+            this.writer = writer;
+        }
+
+        @Override
+        protected ChunkResult compute() {
+            if (toId - fromId <= chunkSize) {
+                return reconcileChunk(fromId, toId, writer);
+            }
+            long middle = fromId + (toId - fromId) / 2;
+            ChunkTask left = new ChunkTask(fromId, middle, writer);
+            ChunkTask right = new ChunkTask(middle, toId, writer);
+            invokeAll(left, right);
+            return left.join().plus(right.join());
+        }
+    }
+
+    private static final class ChunkResult {
+        private final int chunks;
+        private final int failedChunks;
+        private final long accounts;
+        private final long discrepancies;
+
+        ChunkResult(int chunks, int failedChunks, long accounts, long discrepancies) {
+            this.chunks = chunks;
+            this.failedChunks = failedChunks;
+            this.accounts = accounts;
+            this.discrepancies = discrepancies;
+        }
+
+        ChunkResult plus(ChunkResult other) {
+            return new ChunkResult(chunks + other.chunks, failedChunks + other.failedChunks,
+                accounts + other.accounts, discrepancies + other.discrepancies);
+        }
+    }
+}
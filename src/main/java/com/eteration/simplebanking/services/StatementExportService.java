@@ -0,0 +1,219 @@
+package com.eteration.simplebanking.services;
+
+import com.eteration.simplebanking.dto.ApiResponse;
+import com.eteration.simplebanking.dto.StatementFormat;
+import com.eteration.simplebanking.metrics.BankingMetrics;
+import com.eteration.simplebanking.metrics.BankingMetrics.Outcome;
+import com.eteration.simplebanking.model.Account;
+import com.eteration.simplebanking.model.Transaction;
+import com.eteration.simplebanking.repository.AccountRepository;
+import com.eteration.simplebanking.repository.TransactionRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.stream.Stream;
+
+/**
+ * Hesap ekstresini CSV veya NDJSON olarak akış halinde dışa aktarır. Satırlar transaction tablosu
+ * üzerinde fetch size ile sınırlı, ileri yönlü bir imleçten okunur ve okundukları anda yanıta yazılır;
+ * her işlem yazıldıktan sonra persistence context'ten ayrıldığı için bellek kullanımı geçmişin
+ * büyüklüğünden bağımsızdır.
+ */
+@Service
+public class StatementExportService {
+    static final String OPERATION = "exportStatement";
+
+    static final String CSV_HEADER = "date,type,amount,approvalCode";
+
+    // Açık uçlu aralıklar veritabanının tarih aralığında kalan sınırlarla kapatılır
+    private static final Date MIN_DATE = new Date(0L);
+    private static final Date MAX_DATE = Date.from(Instant.parse("9999-12-31T00:00:00Z"));
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final JsonFactory JSON = new JsonFactory();
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LogService logService;
+
+    @Autowired
+    private BankingMetrics metrics;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private TransactionTemplate readOnly;
+
+    @PostConstruct
+    public void start() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    /**
+     * Dışa aktarımı doğrular ve hesabı çözer; satırlar ancak dönen Export yazıldığında okunur
+     * @param accountNumber Hesap numarası
+     * @param format csv veya ndjson
+     * @param from Başlangıç tarihi (dahil), null ise sınırsız
+     * @param to Bitiş tarihi (hariç), null ise sınırsız
+     * @return ApiResponse<Export> Yazılmaya hazır dışa aktarım, hesap yoksa veya istek geçersizse hata
+     */
+    public ApiResponse<Export> prepareStatement(String accountNumber, String format, Date from, Date to) {
+        StatementFormat statementFormat;
+        try {
+            statementFormat = StatementFormat.parse(format);
+        } catch (IllegalArgumentException e) {
+            logService.logError("Unsupported statement format: " + format, this.getClass().getSimpleName(), "prepareStatement", e);
+            return new ApiResponse<>(false, e.getMessage(), null);
+        }
+        if (from != null && to != null && !from.before(to)) {
+            logService.logError("Invalid statement range: " + from + " - " + to, this.getClass().getSimpleName(),
+                "prepareStatement", new RuntimeException("Invalid date range"));
+            return new ApiResponse<>(false, "Invalid date range", null);
+        }
+        Account account = accountRepository.findByAccountNumber(accountNumber);
+        if (account == null) {
+            logService.logError("Account not found: " + accountNumber, this.getClass().getSimpleName(), "prepareStatement",
+                new RuntimeException("Account not found"));
+            return new ApiResponse<>(false, "Account not found", null);
+        }
+        return new ApiResponse<>(true, "Statement ready", new Export(this, account.getId(), accountNumber, statementFormat,
+            from != null ? from : MIN_DATE, to != null ? to : MAX_DATE));
+    }
+
+    /**
+     * İşlemleri imleçten okuyup verilen akışa yazar. Akış kapatılmaz, yalnızca flush edilir.
+     * @param export Dışa aktarım
+     * @param out Hedef akış
+     * @return Yazılan satır sayısı
+     * @throws IOException Yazma hatasında (ör. istemci bağlantıyı kapattığında)
+     */
+    long write(Export export, OutputStream out) throws IOException {
+        Timer.Sample sample = metrics.start();
+        Outcome outcome = Outcome.ERROR;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        try {
+            Long rows = readOnly.execute(status -> {
+                try (Stream<Transaction> transactions =
+                         transactionRepository.streamStatement(export.accountId, export.from, export.to)) {
+                    long count = 0;
+                    if (export.format == StatementFormat.CSV) {
+                        writer.write(CSV_HEADER);
+                        writer.write('\n');
+                    }
+                    for (Transaction transaction : (Iterable<Transaction>) transactions::iterator) {
+                        if (export.format == StatementFormat.CSV) {
+                            writeCsv(writer, transaction);
+                        } else {
+                            writeJson(writer, transaction);
+                        }
+                        entityManager.detach(transaction);
+                        count++;
+                    }
+                    return count;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            logService.logInfo(String.format("Statement exported: account=%s, format=%s, rows=%d",
+                export.accountNumber, export.format, rows), this.getClass().getSimpleName(), OPERATION);
+            outcome = Outcome.OK;
+            return rows;
+        } catch (UncheckedIOException e) {
+            logService.logError("Statement export aborted: " + export.accountNumber, this.getClass().getSimpleName(), OPERATION, e);
+            throw e.getCause();
+        } finally {
+            metrics.recordOperation(sample, OPERATION, outcome);
+        }
+    }
+
+    private static void writeCsv(Writer writer, Transaction transaction) throws IOException {
+        // Alanların hiçbiri virgül, tırnak veya satır sonu içermediğinden kaçış gerekmez
+        writer.write(transaction.getDate().toInstant().toString());
+        writer.write(',');
+        writer.write(transaction.getClass().getSimpleName());
+        writer.write(',');
+        writer.write(transaction.getAmount().toString());
+        writer.write(',');
+        writer.write(transaction.getApprovalCode());
+        writer.write('\n');
+    }
+
+    private static void writeJson(Writer writer, Transaction transaction) throws IOException {
+        JsonGenerator json = JSON.createGenerator(writer);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.writeStartObject();
+        json.writeStringField("date", transaction.getDate().toInstant().toString());
+        json.writeStringField("type", transaction.getClass().getSimpleName());
+        json.writeFieldName("amount");
+        json.writeNumber(transaction.getAmount().toBigDecimal());
+        json.writeStringField("approvalCode", transaction.getApprovalCode());
+        json.writeEndObject();
+        json.close();
+        writer.write('\n');
+    }
+
+    /**
+     * Doğrulanmış bir dışa aktarım isteği; write çağrılana kadar veritabanından satır okunmaz
+     */
+    public static class Export {
+        private final StatementExportService service;
+        private final Long accountId;
+        private final String accountNumber;
+        private final StatementFormat format;
+        private final Date from;
+        private final Date to;
+
+        Export(StatementExportService service, Long accountId, String accountNumber, StatementFormat format, Date from, Date to) {
+            this.service = service;
+            this.accountId = accountId;
+            this.accountNumber = accountNumber;
+            this.format = format;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Ekstreyi verilen akışa yazar
+         * @param out Hedef akış
+         * @return Yazılan satır sayısı
+         * @throws IOException Yazma hatasında
+         */
+        public long writeTo(OutputStream out) throws IOException {
+            return service.write(this, out);
+        }
+
+        public StatementFormat getFormat() {
+            return format;
+        }
+
+        public String getFileName() {
+            return "statement-" + accountNumber + "." + format.getExtension();
+        }
+    }
+}
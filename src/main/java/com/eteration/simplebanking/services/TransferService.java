@@ -0,0 +1,351 @@
+package com.eteration.simplebanking.services;
+
+import com.eteration.simplebanking.cache.AccountSnapshotCache;
+import com.eteration.simplebanking.concurrency.RetryExecutor;
+import com.eteration.simplebanking.dto.ApiResponse;
+import com.eteration.simplebanking.dto.BatchItemResultDTO;
+import com.eteration.simplebanking.dto.BatchPostingResultDTO;
+import com.eteration.simplebanking.dto.SweepItemDTO;
+import com.eteration.simplebanking.metrics.BankingMetrics;
+import com.eteration.simplebanking.metrics.BankingMetrics.Outcome;
+import com.eteration.simplebanking.model.Account;
+import com.eteration.simplebanking.model.InsufficientBalanceException;
+import com.eteration.simplebanking.model.Money;
+import com.eteration.simplebanking.model.Transaction;
+import com.eteration.simplebanking.model.TransferTransaction;
+import com.eteration.simplebanking.repository.AccountRepository;
+import com.eteration.simplebanking.repository.TransactionRepository;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Hesaplar arası havaleyi tek bir veritabanı işleminde uygular. Gönderen ve alıcı hesabın satırları
+ * tek sorguda id sırasıyla kilitlenir (SELECT ... ORDER BY id FOR UPDATE); karşılıklı yöndeki
+ * havaleler kilitleri aynı sırada istediği için birbirini kilitlenmeye (deadlock) sokamaz.
+ * Çoktan bire süpürme (sweep) aynı kuralı parça başına uygular: alıcı ve parçadaki tüm gönderen
+ * hesaplar tek sorguda id sırasıyla kilitlenir, kalem bazındaki hatalar yalnızca o kalemi başarısız sayar.
+ */
+@Service
+public class TransferService {
+    static final String OPERATION = "transfer";
+    static final String SWEEP_OPERATION = "sweep";
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private OutboxService outbox;
+
+    @Autowired
+    private LogService logService;
+
+    @Autowired
+    private AccountSnapshotCache accountCache;
+
+    @Autowired
+    private BankingMetrics metrics;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @Autowired
+    private RetryExecutor retryExecutor;
+
+    @Autowired
+    private BalanceStripingService striping;
+
+    @Autowired
+    private JournaledPostingService journal;
+
+    @Autowired
+    private LedgerPostingService ledger;
+
+    @Value("${app.transfer.sweep-chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Value("${app.transfer.sweep-max-items:10000}")
+    private int maxItems = 10000;
+
+    /**
+     * İki hesap arasında havale yapar; iki bacak da aynı işlemde yazılır ya da hiçbiri yazılmaz
+     * @param fromAccountNumber Gönderen hesap numarası
+     * @param toAccountNumber Alıcı hesap numarası
+     * @param amount Havale tutarı
+     * @return ApiResponse<String> İşlem durumu ve giden bacağın onay kodu
+     * @throws InsufficientBalanceException Gönderen hesabın bakiyesi yetersizse
+     */
+    public ApiResponse<String> transfer(String fromAccountNumber, String toAccountNumber, Money amount)
+            throws InsufficientBalanceException {
+        Timer.Sample sample = metrics.start();
+        Outcome outcome = Outcome.ERROR;
+        try {
+            String error = validate(fromAccountNumber, toAccountNumber, amount);
+            if (error == null) {
+                error = unavailableReason();
+            }
+            if (error != null) {
+                logService.logError("Invalid transfer: " + error, this.getClass().getSimpleName(), OPERATION,
+                    new RuntimeException("Invalid transfer"));
+                return new ApiResponse<>(false, error, null);
+            }
+
+            BatchItemResultDTO result = retryExecutor.execute(() -> transactionOperations.execute(status -> {
+                Map<String, Account> accounts = lockAccounts(Arrays.asList(fromAccountNumber, toAccountNumber));
+                Account source = accounts.get(fromAccountNumber);
+                Account target = accounts.get(toAccountNumber);
+                if (source == null || target == null) {
+                    return BatchItemResultDTO.error(0, null, BatchItemResultDTO.ERROR_ACCOUNT_NOT_FOUND, "Account not found");
+                }
+                List<Transaction> posted = new ArrayList<>(2);
+                BatchItemResultDTO moved = move(0, null, source, target, amount, posted);
+                if (posted.isEmpty()) {
+                    status.setRollbackOnly();
+                    return moved;
+                }
+                transactionRepository.saveAll(posted);
+                outbox.record(posted);
+                accountCache.invalidate(fromAccountNumber);
+                accountCache.invalidate(toAccountNumber);
+                return moved;
+            }));
+
+            if (BatchItemResultDTO.ERROR_ACCOUNT_NOT_FOUND.equals(result.getErrorCode())) {
+                logService.logError("Account not found for transfer: " + fromAccountNumber + " -> " + toAccountNumber,
+                    this.getClass().getSimpleName(), OPERATION, new RuntimeException("Account not found"));
+                outcome = Outcome.NOT_FOUND;
+                return new ApiResponse<>(false, "Account not found", null);
+            }
+            if (BatchItemResultDTO.ERROR_INSUFFICIENT_BALANCE.equals(result.getErrorCode())) {
+                throw new InsufficientBalanceException(result.getMessage());
+            }
+            if (!BatchItemResultDTO.STATUS_OK.equals(result.getStatus())) {
+                logService.logError("Transfer rejected: " + result.getMessage(), this.getClass().getSimpleName(), OPERATION,
+                    new RuntimeException(result.getMessage()));
+                return new ApiResponse<>(false, result.getMessage(), null);
+            }
+
+            metrics.recordAmount(TransferTransaction.class.getSimpleName(), amount);
+            logService.logInfo(
+                String.format("Transfer successful: from=%s, to=%s, amount=%s", fromAccountNumber, toAccountNumber, amount),
+                this.getClass().getSimpleName(),
+                OPERATION
+            );
+            outcome = Outcome.OK;
+            return new ApiResponse<>(true, "Transfer successful", result.getApprovalCode());
+        } catch (InsufficientBalanceException e) {
+            outcome = Outcome.INSUFFICIENT_BALANCE;
+            logService.logError("Insufficient balance for transfer: " + fromAccountNumber, this.getClass().getSimpleName(),
+                OPERATION, e);
+            throw e;
+        } catch (Exception e) {
+            logService.logError("Error processing transfer: " + fromAccountNumber + " -> " + toAccountNumber,
+                this.getClass().getSimpleName(), OPERATION, e);
+            return new ApiResponse<>(false, e.getMessage(), null);
+        } finally {
+            metrics.recordOperation(sample, OPERATION, outcome);
+        }
+    }
+
+    /**
+     * Birden fazla hesaptan tek bir hesaba havaleleri sweep-chunk-size boyutunda parçalar halinde uygular
+     * @param toAccountNumber Alıcı hesap numarası
+     * @param items Gönderen hesap ve tutar kalemleri
+     * @return ApiResponse<BatchPostingResultDTO> Kalem bazında sonuçlar; istek geçersizse success=false
+     */
+    public ApiResponse<BatchPostingResultDTO> sweep(String toAccountNumber, List<SweepItemDTO> items) {
+        Timer.Sample sample = metrics.start();
+        Outcome outcome = Outcome.ERROR;
+        try {
+            String error = null;
+            if (toAccountNumber == null || toAccountNumber.isEmpty()) {
+                error = "Target account number is required";
+            } else if (items == null || items.isEmpty()) {
+                error = "Sweep must contain at least one item";
+            } else if (items.size() > maxItems) {
+                error = "Sweep must not contain more than " + maxItems + " items";
+            } else {
+                error = unavailableReason();
+            }
+            if (error != null) {
+                logService.logError("Invalid sweep: " + error, this.getClass().getSimpleName(), SWEEP_OPERATION,
+                    new RuntimeException("Invalid sweep"));
+                return new ApiResponse<>(false, error, null);
+            }
+
+            List<BatchItemResultDTO> results = new ArrayList<>(items.size());
+            for (int from = 0; from < items.size(); from += chunkSize) {
+                results.addAll(sweepChunk(toAccountNumber, items.subList(from, Math.min(from + chunkSize, items.size())), from));
+            }
+
+            BatchPostingResultDTO result = new BatchPostingResultDTO(results);
+            logService.logInfo(
+                String.format("Sweep posted: to=%s, total=%d, succeeded=%d, failed=%d",
+                    toAccountNumber, result.getTotal(), result.getSucceeded(), result.getFailed()),
+                this.getClass().getSimpleName(),
+                SWEEP_OPERATION
+            );
+            outcome = Outcome.OK;
+            return new ApiResponse<>(true, "Sweep processed", result);
+        } catch (Exception e) {
+            logService.logError("Error processing sweep: " + toAccountNumber, this.getClass().getSimpleName(), SWEEP_OPERATION, e);
+            return new ApiResponse<>(false, e.getMessage(), null);
+        } finally {
+            metrics.recordOperation(sample, SWEEP_OPERATION, outcome);
+        }
+    }
+
+    /**
+     * Bir süpürme parçasını tek bir veritabanı işleminde uygular. İşlem commit edilemezse RetryExecutor
+     * parçayı baştan dener; yine de başarısız olursa parçadaki geçerli tüm kalemler hata döner.
+     * @param toAccountNumber Alıcı hesap numarası
+     * @param items Parçadaki kalemler
+     * @param firstIndex İlk kalemin istekteki sırası
+     * @return Kalemlerle aynı sırada sonuçlar
+     */
+    private List<BatchItemResultDTO> sweepChunk(String toAccountNumber, List<SweepItemDTO> items, int firstIndex) {
+        BatchItemResultDTO[] results = new BatchItemResultDTO[items.size()];
+        List<Integer> valid = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            SweepItemDTO item = items.get(i);
+            String error = item == null ? "Item is required"
+                : validate(item.getFromAccountNumber(), toAccountNumber, item.getAmount());
+            if (error != null) {
+                results[i] = BatchItemResultDTO.error(firstIndex + i, item != null ? item.getReference() : null,
+                    BatchItemResultDTO.ERROR_INVALID, error);
+            } else {
+                valid.add(i);
+            }
+        }
+        if (valid.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        try {
+            Map<Integer, BatchItemResultDTO> applied = retryExecutor.execute(() -> transactionOperations.execute(status -> {
+                List<String> accountNumbers = new ArrayList<>(valid.size() + 1);
+                accountNumbers.add(toAccountNumber);
+                valid.forEach(i -> accountNumbers.add(items.get(i).getFromAccountNumber()));
+                Map<String, Account> accounts = lockAccounts(accountNumbers);
+                Account target = accounts.get(toAccountNumber);
+
+                Map<Integer, BatchItemResultDTO> chunk = new HashMap<>(valid.size() * 2);
+                List<Transaction> posted = new ArrayList<>(valid.size() * 2);
+                for (int i : valid) {
+                    SweepItemDTO item = items.get(i);
+                    Account source = accounts.get(item.getFromAccountNumber());
+                    if (source == null || target == null) {
+                        chunk.put(i, BatchItemResultDTO.error(firstIndex + i, item.getReference(),
+                            BatchItemResultDTO.ERROR_ACCOUNT_NOT_FOUND, "Account not found"));
+                        continue;
+                    }
+                    chunk.put(i, move(firstIndex + i, item.getReference(), source, target, item.getAmount(), posted));
+                }
+                transactionRepository.saveAll(posted);
+                outbox.record(posted);
+                for (Account account : accounts.values()) {
+                    accountCache.invalidate(account.getAccountNumber());
+                }
+                return chunk;
+            }));
+            for (Map.Entry<Integer, BatchItemResultDTO> entry : applied.entrySet()) {
+                results[entry.getKey()] = entry.getValue();
+                if (BatchItemResultDTO.STATUS_OK.equals(entry.getValue().getStatus())) {
+                    metrics.recordAmount(TransferTransaction.class.getSimpleName(), items.get(entry.getKey()).getAmount());
+                }
+            }
+        } catch (RuntimeException e) {
+            logService.logError("Error posting sweep chunk at index " + firstIndex, this.getClass().getSimpleName(),
+                "sweepChunk", e);
+            for (int i : valid) {
+                results[i] = BatchItemResultDTO.error(firstIndex + i, items.get(i).getReference(),
+                    BatchItemResultDTO.ERROR_FAILED, e.getMessage());
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Havaleyi kilitli hesaplara uygular: önce giden bacak (bakiye yetmezse hiçbir şey değişmez),
+     * sonra gelen bacak. Başarılı bacaklar posted listesine eklenir.
+     * @param index Kalemin istekteki sırası
+     * @param reference Kalemin istemci referansı
+     * @param source Gönderen hesap; çağıranın işleminde kilitli olmalıdır
+     * @param target Alıcı hesap; çağıranın işleminde kilitli olmalıdır
+     * @param amount Havale tutarı
+     * @param posted Kaydedilecek işlemler
+     * @return Kalem sonucu; başarılıysa giden bacağın onay kodunu içerir
+     */
+    private BatchItemResultDTO move(int index, String reference, Account source, Account target, Money amount,
+                                    List<Transaction> posted) {
+        TransferTransaction outgoing = new TransferTransaction(amount, target.getAccountNumber(), false);
+        TransferTransaction incoming = new TransferTransaction(amount, source.getAccountNumber(), true);
+        String sourceApprovalCode = source.getLastTransactionApprovalCode();
+        try {
+            striping.applyToAccount(source, outgoing);
+        } catch (InsufficientBalanceException e) {
+            return BatchItemResultDTO.error(index, reference, BatchItemResultDTO.ERROR_INSUFFICIENT_BALANCE, e.getMessage());
+        }
+        try {
+            striping.applyToAccount(target, incoming);
+        } catch (InsufficientBalanceException | ArithmeticException e) {
+            // Gelen bacak yalnızca taşmada başarısız olur; giden bacak geri alınır ki kalem yarım kalmasın.
+            // Giden bacak kaydedilmeyeceği için hesabın son onay kodu da önceki değerine döner
+            source.credit(amount);
+            source.setLastTransactionApprovalCode(sourceApprovalCode);
+            return BatchItemResultDTO.error(index, reference, BatchItemResultDTO.ERROR_INVALID, e.getMessage());
+        }
+        posted.add(outgoing);
+        posted.add(incoming);
+        return BatchItemResultDTO.ok(index, reference, outgoing.getApprovalCode());
+    }
+
+    /**
+     * Hesapları tek sorguda id sırasıyla kilitler
+     * @param accountNumbers Hesap numaraları; tekrar edenler bir kez kilitlenir
+     * @return Hesap numarasına göre bulunan hesaplar
+     */
+    private Map<String, Account> lockAccounts(List<String> accountNumbers) {
+        Map<String, Account> accounts = new HashMap<>();
+        accountRepository.findByAccountNumberInForUpdate(new TreeSet<>(accountNumbers))
+            .forEach(a -> accounts.put(a.getAccountNumber(), a));
+        return accounts;
+    }
+
+    /**
+     * Defter motoru ve journal modu bakiyeleri bellekte tuttuğu için havale bu modlarda kapalıdır
+     * @return Kapalıysa nedeni, değilse null
+     */
+    private String unavailableReason() {
+        if (ledger.isEnabled() || journal.isEnabled()) {
+            return "Transfers are not available in ledger or journal mode";
+        }
+        return null;
+    }
+
+    private static String validate(String fromAccountNumber, String toAccountNumber, Money amount) {
+        if (fromAccountNumber == null || fromAccountNumber.isEmpty()
+                || toAccountNumber == null || toAccountNumber.isEmpty()) {
+            return "Source and target account numbers are required";
+        }
+        if (fromAccountNumber.equals(toAccountNumber)) {
+            return "Source and target accounts must be different";
+        }
+        if (amount == null || !amount.isPositive()) {
+            return "Amount must be greater than zero";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,3 @@
+-- Account-to-account transfers are stored as two TransferTransaction rows (outgoing and incoming leg)
+ALTER TABLE transaction ADD COLUMN IF NOT EXISTS counterparty_account_number VARCHAR(255);
+ALTER TABLE transaction ADD COLUMN IF NOT EXISTS incoming BOOLEAN;
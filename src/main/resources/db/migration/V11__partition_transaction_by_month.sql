@@ -0,0 +1,62 @@
+-- Account lookups by number (every credit/debit/transfer/history request) use a unique index instead of a sequential scan
+CREATE UNIQUE INDEX IF NOT EXISTS uk_account_account_number
+    ON account (account_number);
+
+-- Monthly range partitioning of transaction on date.
+-- History, statement and keyset-page queries always bound date, so the planner prunes the months outside the range
+-- and old months can be detached or dropped without a large DELETE.
+ALTER TABLE transaction RENAME TO transaction_unpartitioned;
+
+CREATE TABLE transaction (LIKE transaction_unpartitioned INCLUDING DEFAULTS)
+    PARTITION BY RANGE (date);
+
+-- Rows without a date would not route to any partition
+ALTER TABLE transaction ALTER COLUMN date SET NOT NULL;
+
+-- Creates the monthly partitions transaction_YYYY_MM from from_month up to months_ahead months past the current
+-- month; existing partitions are skipped. Called once below and periodically by PartitionMaintenanceService.
+CREATE OR REPLACE FUNCTION create_transaction_partitions(from_month DATE, months_ahead INT) RETURNS INT
+    LANGUAGE plpgsql AS $$
+DECLARE
+    month_start DATE := date_trunc('month', from_month)::DATE;
+    last_month DATE := (date_trunc('month', now()) + make_interval(months => months_ahead))::DATE;
+    partition_name TEXT;
+    created INT := 0;
+BEGIN
+    -- Serializes concurrent callers (several application instances) until the end of the transaction
+    PERFORM pg_advisory_xact_lock(hashtext('create_transaction_partitions'));
+    WHILE month_start <= last_month LOOP
+        partition_name := 'transaction_' || to_char(month_start, 'YYYY_MM');
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF transaction FOR VALUES FROM (%L) TO (%L)',
+                           partition_name, month_start, (month_start + INTERVAL '1 month')::DATE);
+            created := created + 1;
+        END IF;
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+    RETURN created;
+END;
+$$;
+
+-- There is no default partition: an insert outside the created months fails instead of landing in an unpruned table
+SELECT create_transaction_partitions(
+    COALESCE((SELECT MIN(date) FROM transaction_unpartitioned), now())::DATE, 3);
+
+INSERT INTO transaction SELECT * FROM transaction_unpartitioned;
+
+DROP TABLE transaction_unpartitioned;
+
+-- Indexes on the partitioned table are created on every partition, including those created later.
+-- A primary or unique key must contain the partition key, so both include date.
+ALTER TABLE transaction ADD CONSTRAINT pk_transaction PRIMARY KEY (id, date);
+
+-- Keyset pagination and statement index; its (account_id, date) prefix serves the date-bounded history queries
+CREATE INDEX idx_transaction_account_date_id
+    ON transaction (account_id, date, id);
+
+-- A replayed approval code is written with its original date, so duplicates are still rejected
+CREATE UNIQUE INDEX uk_transaction_approval_code
+    ON transaction (approval_code, date);
+
+ALTER TABLE transaction
+    ADD CONSTRAINT fk_transaction_account FOREIGN KEY (account_id) REFERENCES account (id);
@@ -0,0 +1,19 @@
+-- Bill payments accepted in async mode (202); workers claim PENDING rows with FOR UPDATE SKIP LOCKED
+CREATE TABLE IF NOT EXISTS pending_transaction (
+    approval_code UUID PRIMARY KEY,
+    account_number VARCHAR(255) NOT NULL,
+    amount BIGINT NOT NULL,
+    payee VARCHAR(255),
+    phone_number VARCHAR(255),
+    status VARCHAR(16) NOT NULL,
+    error_code VARCHAR(255),
+    error_message VARCHAR(255),
+    create_date TIMESTAMP NOT NULL,
+    processed_date TIMESTAMP
+);
+
+-- The claim query reads the oldest PENDING rows; the partial index stays as small as the backlog
+CREATE INDEX IF NOT EXISTS idx_pending_transaction_claim ON pending_transaction (create_date) WHERE status = 'PENDING';
+
+-- Retention purge of processed rows
+CREATE INDEX IF NOT EXISTS idx_pending_transaction_processed ON pending_transaction (processed_date) WHERE status <> 'PENDING';
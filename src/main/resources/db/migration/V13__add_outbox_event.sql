@@ -0,0 +1,18 @@
+-- Domain events written in the same transaction as the transaction row; a relay publishes them to RabbitMQ in id order
+CREATE SEQUENCE IF NOT EXISTS outbox_event_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS outbox_event (
+    id BIGINT PRIMARY KEY,
+    event_type VARCHAR(32) NOT NULL,
+    account_number VARCHAR(255) NOT NULL,
+    approval_code UUID NOT NULL,
+    payload VARCHAR(2000) NOT NULL,
+    create_date TIMESTAMP NOT NULL,
+    published_date TIMESTAMP
+);
+
+-- The relay reads unpublished events in id order; the partial index stays as small as the relay lag
+CREATE INDEX IF NOT EXISTS idx_outbox_event_unpublished ON outbox_event (id) WHERE published_date IS NULL;
+
+-- Retention purge of published events
+CREATE INDEX IF NOT EXISTS idx_outbox_event_published ON outbox_event (published_date) WHERE published_date IS NOT NULL;
@@ -0,0 +1,13 @@
+-- Acknowledged journal/ledger entries that could not be applied to the database; kept for manual repair
+CREATE TABLE IF NOT EXISTS journal_dead_letter (
+    approval_code UUID PRIMARY KEY,
+    sequence BIGINT NOT NULL,
+    type VARCHAR(32) NOT NULL,
+    account_number VARCHAR(255) NOT NULL,
+    amount BIGINT NOT NULL,
+    payee VARCHAR(255),
+    phone_number VARCHAR(255),
+    entry_date TIMESTAMP NOT NULL,
+    reason VARCHAR(255) NOT NULL,
+    create_date TIMESTAMP NOT NULL
+);
@@ -0,0 +1,30 @@
+-- Table-wide uniqueness of approval codes on the partitioned transaction table.
+-- Since V11 the unique index is (approval_code, date), because a unique index on a partitioned table must contain
+-- the partition key; on its own it would accept the same code on two different dates.
+-- Every inserted code is also registered in this unpartitioned table, whose primary key rejects a code already used
+-- on any date, so a duplicate insert fails with a unique violation as it did before V11.
+CREATE TABLE IF NOT EXISTS transaction_approval_code (
+    approval_code UUID PRIMARY KEY,
+    date TIMESTAMP NOT NULL
+);
+
+INSERT INTO transaction_approval_code (approval_code, date)
+SELECT approval_code, date FROM transaction WHERE approval_code IS NOT NULL
+ON CONFLICT (approval_code) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION register_transaction_approval_code() RETURNS TRIGGER
+    LANGUAGE plpgsql AS $$
+BEGIN
+    IF NEW.approval_code IS NOT NULL THEN
+        INSERT INTO transaction_approval_code (approval_code, date) VALUES (NEW.approval_code, NEW.date);
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+-- A row trigger on the partitioned table is cloned to every partition, including those created later.
+-- Codes stay registered when a partition is detached or dropped, so an archived code cannot be reused.
+DROP TRIGGER IF EXISTS trg_transaction_approval_code ON transaction;
+CREATE TRIGGER trg_transaction_approval_code
+    AFTER INSERT ON transaction
+    FOR EACH ROW EXECUTE FUNCTION register_transaction_approval_code();
@@ -0,0 +1,12 @@
+-- Per-account ordering key for outbox events.
+-- Outbox ids come from a pooled sequence, so id order is neither commit order nor per-account order when several
+-- instances write events. Each posting that updates the account row also takes the next value of
+-- account.event_sequence; the row lock makes that value commit-ordered and gap-free per account.
+ALTER TABLE account ADD COLUMN IF NOT EXISTS event_sequence BIGINT NOT NULL DEFAULT 0;
+
+-- NULL for events written before this migration and for deposits to striped accounts, which do not lock the row
+ALTER TABLE outbox_event ADD COLUMN IF NOT EXISTS account_sequence BIGINT;
+
+-- The relay looks up the unpublished predecessors of the accounts in each batch
+CREATE INDEX IF NOT EXISTS idx_outbox_event_unpublished_account
+    ON outbox_event (account_number, account_sequence) WHERE published_date IS NULL;
@@ -0,0 +1,3 @@
+-- Keyset pagination index for account transaction history
+CREATE INDEX IF NOT EXISTS idx_transaction_account_date_id
+    ON transaction (account_id, date, id);
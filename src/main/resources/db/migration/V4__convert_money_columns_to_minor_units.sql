@@ -0,0 +1,6 @@
+-- Money amounts are stored as BIGINT minor units with 4 decimal places (1.2345 -> 12345)
+ALTER TABLE account
+    ALTER COLUMN balance TYPE BIGINT USING ROUND(balance * 10000)::BIGINT;
+
+ALTER TABLE transaction
+    ALTER COLUMN amount TYPE BIGINT USING ROUND(amount * 10000)::BIGINT;
@@ -0,0 +1,2 @@
+-- Optimistic locking column for Account (@Version)
+ALTER TABLE account ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
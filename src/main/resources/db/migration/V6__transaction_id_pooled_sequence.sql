@@ -0,0 +1,7 @@
+-- Transaction ids come from a pooled sequence (allocationSize = 50) so Hibernate can batch inserts.
+-- The pooled optimizer hands out (nextval - 49 .. nextval); start past the current maximum id.
+CREATE SEQUENCE IF NOT EXISTS transaction_seq INCREMENT BY 50;
+
+SELECT setval('transaction_seq', COALESCE((SELECT MAX(id) FROM transaction), 0) + 50, false);
+
+ALTER TABLE transaction ALTER COLUMN id DROP DEFAULT;
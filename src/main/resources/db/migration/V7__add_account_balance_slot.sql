@@ -0,0 +1,8 @@
+-- Sub-balance slots for striped (hot credit) accounts; total balance = account.balance + sum(slot.balance)
+CREATE TABLE IF NOT EXISTS account_balance_slot (
+    id BIGSERIAL PRIMARY KEY,
+    account_id BIGINT NOT NULL REFERENCES account (id),
+    slot INT NOT NULL,
+    balance BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_account_balance_slot UNIQUE (account_id, slot)
+);
@@ -0,0 +1,11 @@
+-- Idempotency-Key claims and stored responses; the primary key rejects a second claim of the same key
+CREATE TABLE IF NOT EXISTS idempotency_key (
+    idempotency_key VARCHAR(128) PRIMARY KEY,
+    fingerprint VARCHAR(255) NOT NULL,
+    completed BOOLEAN NOT NULL DEFAULT FALSE,
+    http_status INT NOT NULL DEFAULT 0,
+    status VARCHAR(255),
+    approval_code VARCHAR(255),
+    error_message VARCHAR(255),
+    create_date TIMESTAMP
+);
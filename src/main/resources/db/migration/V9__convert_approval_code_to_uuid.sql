@@ -0,0 +1,7 @@
+-- Approval codes are stored in a native 16-byte uuid column instead of VARCHAR(255) (~37 bytes per value)
+ALTER TABLE transaction
+    ALTER COLUMN approval_code TYPE UUID USING approval_code::UUID;
+
+-- Point lookups by approval code (GET /account/v1/transactions/{approvalCode}); also rejects duplicate codes
+CREATE UNIQUE INDEX IF NOT EXISTS uk_transaction_approval_code
+    ON transaction (approval_code);
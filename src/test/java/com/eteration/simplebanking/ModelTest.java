@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.eteration.simplebanking.model.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 
 public class ModelTest {
@@ -15,7 +16,7 @@ public class ModelTest {
 		assertNotNull(account.getCreateDate());
 		assertEquals("Kerem Karaca", account.getOwner());
 		assertEquals("669-7788", account.getAccountNumber());
-		assertEquals(0.0, account.getBalance());
+		assertEquals(Money.of(0.0), account.getBalance());
 	}
 
 	@Test
@@ -23,7 +24,7 @@ public class ModelTest {
 		Account account = new Account("Kerem Karaca", "669-7788");
 		DepositTransaction deposit = new DepositTransaction(1000.0);
 		account.post(deposit);
-		assertEquals(1000.0, account.getBalance());
+		assertEquals(Money.of(1000.0), account.getBalance());
 		assertEquals(deposit.getApprovalCode(), account.getLastTransactionApprovalCode());
 	}
 
@@ -33,7 +34,7 @@ public class ModelTest {
 		account.post(new DepositTransaction(1000.0));
 		WithdrawalTransaction withdrawal = new WithdrawalTransaction(500.0);
 		account.post(withdrawal);
-		assertEquals(500.0, account.getBalance());
+		assertEquals(Money.of(500.0), account.getBalance());
 		assertEquals(withdrawal.getApprovalCode(), account.getLastTransactionApprovalCode());
 	}
 
@@ -50,12 +51,25 @@ public class ModelTest {
 		account.post(new DepositTransaction(1000.0));
 		PhoneBillPaymentTransaction payment = new PhoneBillPaymentTransaction("Vodafone", "5423345566", 96.50);
 		account.post(payment);
-		assertEquals(903.50, account.getBalance());
+		assertEquals(Money.of(903.50), account.getBalance());
 		assertEquals("Vodafone", payment.getPayee());
 		assertEquals("5423345566", payment.getPhoneNumber());
 		assertEquals(payment.getApprovalCode(), account.getLastTransactionApprovalCode());
 	}
 
+	@Test
+	public void testTransferTransactionLegs() throws InsufficientBalanceException {
+		Account source = new Account("Kerem Karaca", "669-7788");
+		Account target = new Account("Demet Demircan", "669-7789");
+		source.post(new DepositTransaction(100.0));
+		source.post(new TransferTransaction(Money.of(40.0), "669-7789", false));
+		target.post(new TransferTransaction(Money.of(40.0), "669-7788", true));
+		assertEquals(Money.of(60.0), source.getBalance());
+		assertEquals(Money.of(40.0), target.getBalance());
+		assertThrows(InsufficientBalanceException.class,
+			() -> target.post(new TransferTransaction(Money.of(50.0), "669-7788", false)));
+	}
+
 	@Test
 	public void testTransactionDate() {
 		DepositTransaction transaction = new DepositTransaction(1000.0);
@@ -65,7 +79,7 @@ public class ModelTest {
 	@Test
 	public void testTransactionAmount() {
 		DepositTransaction transaction = new DepositTransaction(1000.0);
-		assertEquals(1000.0, transaction.getAmount());
+		assertEquals(Money.of(1000.0), transaction.getAmount());
 	}
 
 	@Test
@@ -77,8 +91,8 @@ public class ModelTest {
 	@Test
 	public void testAccountBalance() {
 		Account account = new Account("Kerem Karaca", "669-7788");
-		account.setBalance(1000.0);
-		assertEquals(1000.0, account.getBalance());
+		account.setBalance(Money.of(1000.0));
+		assertEquals(Money.of(1000.0), account.getBalance());
 	}
 
 	@Test
@@ -96,21 +110,38 @@ public class ModelTest {
 		
 		// Deposit 2000
 		account.post(new DepositTransaction(2000.0));
-		assertEquals(2000.0, account.getBalance());
+		assertEquals(Money.of(2000.0), account.getBalance());
 		
 		// Withdraw 500
 		account.post(new WithdrawalTransaction(500.0));
-		assertEquals(1500.0, account.getBalance());
+		assertEquals(Money.of(1500.0), account.getBalance());
 		
 		// Pay bill 350
 		account.post(new PhoneBillPaymentTransaction("Vodafone", "5423345566", 350.0));
-		assertEquals(1150.0, account.getBalance());
+		assertEquals(Money.of(1150.0), account.getBalance());
 		
 		// Deposit 1000
 		account.post(new DepositTransaction(1000.0));
-		assertEquals(2150.0, account.getBalance());
+		assertEquals(Money.of(2150.0), account.getBalance());
 		
 		// Verify transaction count
 		assertEquals(4, account.getTransactions().size());
 	}
+
+	@Test
+	public void testMoneyArithmeticIsExact() {
+		Money sum = Money.parse("0.1").plus(Money.parse("0.2"));
+		assertEquals(Money.parse("0.3"), sum);
+		assertEquals(3000L, sum.getMinorUnits());
+		assertEquals(Money.parse("0.0001"), Money.of(0.00005));
+		assertEquals("96.5", Money.of(96.50).toString());
+	}
+
+	@Test
+	public void testMoneyJsonRoundTrip() throws Exception {
+		ObjectMapper mapper = new ObjectMapper();
+		assertEquals("1000.0", mapper.writeValueAsString(Money.of(1000.0)));
+		assertEquals(Money.parse("96.5"), mapper.readValue("96.50", Money.class));
+		assertEquals(Money.parse("0.1235"), mapper.readValue("0.12345", Money.class));
+	}
 }
@@ -0,0 +1,93 @@
+package com.eteration.simplebanking.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BoundedCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    public void testGet_LoadsOnceAndCountsHitsAndMisses() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofSeconds(30), clock::get);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v-a", cache.get("a", key -> { loads.incrementAndGet(); return "v-" + key; }));
+        assertEquals("v-a", cache.get("a", key -> { loads.incrementAndGet(); return "v-" + key; }));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getStats().getHitCount());
+        assertEquals(1, cache.getStats().getMissCount());
+    }
+
+    @Test
+    public void testGet_NullIsNotCached() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofSeconds(30), clock::get);
+
+        assertNull(cache.get("missing", key -> null));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testSizeBound_EvictsOldestEntries() {
+        BoundedCache<String, String> cache = new BoundedCache<>(3, Duration.ofSeconds(30), clock::get);
+        for (int i = 0; i < 5; i++) {
+            cache.put("k" + i, "v" + i);
+        }
+
+        assertEquals(3, cache.size());
+        assertNull(cache.getIfPresent("k0"));
+        assertNull(cache.getIfPresent("k1"));
+        assertEquals("v4", cache.getIfPresent("k4"));
+        assertEquals(2, cache.getStats().getEvictionCount());
+    }
+
+    @Test
+    public void testTtl_ExpiresEntries() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofSeconds(30), clock::get);
+        cache.put("a", "v");
+
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        assertNull(cache.getIfPresent("a"));
+        assertEquals(1, cache.getStats().getExpirationCount());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testInvalidateDuringLoad_LoadedValueIsNotInstalled() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofSeconds(30), clock::get);
+
+        String loaded = cache.get("a", key -> {
+            // Yükleme sürerken yazma yolu hesabı geçersiz kılar
+            cache.invalidate(key);
+            return "stale";
+        });
+
+        assertEquals("stale", loaded);
+        assertNull(cache.getIfPresent("a"));
+        assertEquals("fresh", cache.get("a", key -> "fresh"));
+        assertEquals("fresh", cache.getIfPresent("a"));
+    }
+
+    @Test
+    public void testRemove_OnlyRemovesGivenValue() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofSeconds(30), clock::get);
+        String first = new String("v");
+        String second = new String("v");
+        cache.put("a", second);
+
+        cache.remove("a", first);
+        String kept = cache.getIfPresent("a");
+        cache.remove("a", second);
+
+        assertSame(second, kept);
+        assertNull(cache.getIfPresent("a"));
+    }
+}
@@ -0,0 +1,144 @@
+package com.eteration.simplebanking.concurrency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class GroupCommitterTest {
+
+    private GroupCommitter<Integer, String> committer;
+
+    @AfterEach
+    public void tearDown() {
+        if (committer != null) {
+            committer.stop(1000);
+        }
+    }
+
+    @Test
+    public void testSubmit_CoalescesRequestsAndCompletesEachWithItsOwnResult() throws Exception {
+        // Arrange
+        List<Integer> groupSizes = new CopyOnWriteArrayList<>();
+        committer = new GroupCommitter<>(items -> {
+            groupSizes.add(items.size());
+            return items.stream().map(i -> "code-" + i).collect(Collectors.toList());
+        }, Duration.ofMillis(50), 10, 1000, "group-commit-test");
+        committer.start();
+
+        // Act
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            futures.add(committer.submit(i));
+        }
+
+        // Assert
+        for (int i = 0; i < 25; i++) {
+            assertEquals("code-" + i, futures.get(i).get(5, TimeUnit.SECONDS));
+        }
+        assertTrue(groupSizes.size() < 25);
+        assertTrue(groupSizes.stream().allMatch(size -> size <= 10));
+        assertEquals(25, committer.getItemCount());
+    }
+
+    @Test
+    public void testSubmit_FlushFailureFailsWholeGroup() {
+        // Arrange
+        committer = new GroupCommitter<>(items -> {
+            throw new IllegalStateException("Database error");
+        }, Duration.ofMillis(1), 10, 1000, "group-commit-test");
+        committer.start();
+
+        // Act
+        CompletableFuture<String> future = committer.submit(1);
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertEquals("Database error", exception.getCause().getMessage());
+    }
+
+    @Test
+    public void testSubmit_CancelledItemIsSkippedButClaimedItemCannotBeCancelled() throws Exception {
+        // Arrange
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> flushed = new CopyOnWriteArrayList<>();
+        committer = new GroupCommitter<>(items -> {
+            flushing.countDown();
+            await(release);
+            flushed.addAll(items);
+            return items.stream().map(i -> "code-" + i).collect(Collectors.toList());
+        }, Duration.ofMillis(1), 10, 1000, "group-commit-test");
+        committer.start();
+        CompletableFuture<String> claimed = committer.submit(1);
+        assertTrue(flushing.await(5, TimeUnit.SECONDS));
+
+        // Act
+        CompletableFuture<String> cancelled = committer.submit(2);
+        boolean cancelledQueued = cancelled.cancel(false);
+        boolean cancelledClaimed = claimed.cancel(false);
+        CompletableFuture<String> next = committer.submit(3);
+        release.countDown();
+
+        // Assert
+        assertTrue(cancelledQueued);
+        assertFalse(cancelledClaimed);
+        assertEquals("code-1", claimed.get(5, TimeUnit.SECONDS));
+        assertEquals("code-3", next.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1, 3), flushed);
+        assertEquals(2, committer.getItemCount());
+    }
+
+    @Test
+    public void testSubmit_ErrorFromFlushFailsGroupAndWorkerSurvives() throws Exception {
+        // Arrange
+        List<Integer> calls = new CopyOnWriteArrayList<>();
+        committer = new GroupCommitter<>(items -> {
+            calls.add(items.size());
+            if (calls.size() == 1) {
+                throw new AssertionError("Flush error");
+            }
+            return items.stream().map(i -> "code-" + i).collect(Collectors.toList());
+        }, Duration.ofMillis(1), 10, 1000, "group-commit-test");
+        committer.start();
+
+        // Act
+        CompletableFuture<String> failed = committer.submit(1);
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        CompletableFuture<String> next = committer.submit(2);
+
+        // Assert
+        assertTrue(exception.getCause() instanceof AssertionError);
+        assertEquals("code-2", next.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSubmit_RejectedWhenNotRunning() {
+        // Arrange
+        committer = new GroupCommitter<>(items -> new ArrayList<>(), Duration.ofMillis(1), 10, 1000, "group-commit-test");
+
+        // Act
+        CompletableFuture<String> future = committer.submit(1);
+
+        // Assert
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
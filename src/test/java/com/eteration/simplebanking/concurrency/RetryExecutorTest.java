@@ -0,0 +1,78 @@
+package com.eteration.simplebanking.concurrency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+public class RetryExecutorTest {
+
+    @Test
+    public void testExecute_RetriesUntilSuccess() {
+        // Arrange
+        RetryExecutor executor = new RetryExecutor(5, Duration.ofMillis(1), Duration.ofMillis(2), 0.2, 10);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act
+        String result = executor.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException("Account", 1L);
+            }
+            return "ok";
+        });
+
+        // Assert
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2, executor.getConflictCount());
+        assertEquals(2, executor.getRetryCount());
+    }
+
+    @Test
+    public void testExecute_GivesUpAfterMaxAttempts() {
+        // Arrange
+        RetryExecutor executor = new RetryExecutor(3, Duration.ZERO, Duration.ZERO, 0.2, 10);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(ConcurrencyFailureException.class, () -> executor.execute(() -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("Account", 1L);
+        }));
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void testExecute_StopsRetryingWhenBudgetExhausted() {
+        // Arrange
+        RetryExecutor executor = new RetryExecutor(10, Duration.ZERO, Duration.ZERO, 0.0, 2);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(ConcurrencyFailureException.class, () -> executor.execute(() -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("Account", 1L);
+        }));
+        assertEquals(3, attempts.get());
+        assertEquals(1, executor.getBudgetExhaustedCount());
+        assertEquals(0, executor.getAvailableRetries());
+    }
+
+    @Test
+    public void testExecute_DoesNotRetryOtherExceptions() {
+        // Arrange
+        RetryExecutor executor = new RetryExecutor(5, Duration.ZERO, Duration.ZERO, 0.2, 10);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> executor.execute(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("Database error");
+        }));
+        assertEquals(1, attempts.get());
+    }
+}
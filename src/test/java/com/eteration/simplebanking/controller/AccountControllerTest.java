@@ -1,30 +1,73 @@
 package com.eteration.simplebanking.controller;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import com.eteration.simplebanking.dto.AccountDTO;
 import com.eteration.simplebanking.dto.ApiResponse;
+import com.eteration.simplebanking.dto.BatchItemDTO;
+import com.eteration.simplebanking.dto.BatchItemResultDTO;
+import com.eteration.simplebanking.dto.BatchOperationType;
+import com.eteration.simplebanking.dto.BatchPostingRequest;
+import com.eteration.simplebanking.dto.BatchPostingResultDTO;
+import com.eteration.simplebanking.dto.StatementFormat;
 import com.eteration.simplebanking.dto.TransactionDTO;
+import com.eteration.simplebanking.dto.TransactionDetailDTO;
+import com.eteration.simplebanking.dto.TransferRequest;
+import com.eteration.simplebanking.idempotency.IdempotentResult;
 import com.eteration.simplebanking.model.InsufficientBalanceException;
+import com.eteration.simplebanking.model.Money;
 import com.eteration.simplebanking.services.AccountService;
+import com.eteration.simplebanking.services.BatchPostingService;
+import com.eteration.simplebanking.services.IdempotencyService;
+import com.eteration.simplebanking.services.PendingPostingService;
+import com.eteration.simplebanking.services.StatementExportService;
+import com.eteration.simplebanking.services.TransferService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 class AccountControllerTest {
 
     @Mock
     private AccountService accountService;
 
+    @Mock
+    private BatchPostingService batchPostingService;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private TransferService transferService;
+
+    @Mock
+    private StatementExportService statementExportService;
+
+    @Mock
+    private PendingPostingService pendingPostingService;
+
     @InjectMocks
     private AccountController accountController;
 
@@ -39,7 +82,7 @@ class AccountControllerTest {
         AccountDTO accountDTO = new AccountDTO();
         accountDTO.setAccountNumber("669-7788");
         accountDTO.setOwner("Kerem Karaca");
-        accountDTO.setBalance(1000.0);
+        accountDTO.setBalance(Money.of(1000.0));
         accountDTO.setCreateDate(new Date());
 
         ApiResponse<AccountDTO> apiResponse = new ApiResponse<>(true, "Account found successfully", accountDTO);
@@ -53,7 +96,7 @@ class AccountControllerTest {
         assertNotNull(response.getBody());
         assertEquals("669-7788", response.getBody().getAccountNumber());
         assertEquals("Kerem Karaca", response.getBody().getOwner());
-        assertEquals(1000.0, response.getBody().getBalance());
+        assertEquals(Money.of(1000.0), response.getBody().getBalance());
         assertNotNull(response.getBody().getCreateDate());
         verify(accountService).findAccount("669-7788");
     }
@@ -74,85 +117,344 @@ class AccountControllerTest {
     }
 
     @Test
-    void credit_WhenValidAmount_ShouldReturnSuccess() {
+    void credit_WhenValidAmount_ShouldReturnSuccess() throws InsufficientBalanceException {
         // Arrange
         TransactionDTO request = new TransactionDTO();
-        request.setAmount(1000.0);
+        request.setAmount(Money.of(1000.0));
 
         ApiResponse<String> apiResponse = new ApiResponse<>(true, "Credit successful", "approval-code");
-        when(accountService.credit("669-7788", 1000.0)).thenReturn(apiResponse);
+        when(accountService.credit("669-7788", Money.of(1000.0))).thenReturn(apiResponse);
 
         // Act
-        ResponseEntity<TransactionStatus> response = accountController.credit("669-7788", request);
+        ResponseEntity<TransactionStatus> response = accountController.credit("669-7788", request, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals("OK", response.getBody().getStatus());
         assertEquals("approval-code", response.getBody().getApprovalCode());
-        verify(accountService).credit("669-7788", 1000.0);
+        verify(accountService).credit("669-7788", Money.of(1000.0));
     }
 
     @Test
-    void credit_WhenNegativeAmount_ShouldReturnBadRequest() {
+    void credit_WhenNegativeAmount_ShouldReturnBadRequest() throws InsufficientBalanceException {
         // Arrange
         TransactionDTO request = new TransactionDTO();
-        request.setAmount(-100.0);
+        request.setAmount(Money.of(-100.0));
 
         ApiResponse<String> apiResponse = new ApiResponse<>(false, "Amount must be greater than zero", null);
-        when(accountService.credit("669-7788", -100.0)).thenReturn(apiResponse);
+        when(accountService.credit("669-7788", Money.of(-100.0))).thenReturn(apiResponse);
 
         // Act
-        ResponseEntity<TransactionStatus> response = accountController.credit("669-7788", request);
+        ResponseEntity<TransactionStatus> response = accountController.credit("669-7788", request, null);
 
         // Assert
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals("ERROR", response.getBody().getStatus());
         assertNull(response.getBody().getApprovalCode());
-        verify(accountService).credit("669-7788", -100.0);
+        verify(accountService).credit("669-7788", Money.of(-100.0));
     }
 
     @Test
     void debit_WhenValidAmount_ShouldReturnSuccess() throws InsufficientBalanceException {
         // Arrange
         TransactionDTO request = new TransactionDTO();
-        request.setAmount(500.0);
+        request.setAmount(Money.of(500.0));
 
         ApiResponse<String> apiResponse = new ApiResponse<>(true, "Debit successful", "approval-code");
-        when(accountService.debit("669-7788", 500.0)).thenReturn(apiResponse);
+        when(accountService.debit("669-7788", Money.of(500.0))).thenReturn(apiResponse);
 
         // Act
-        ResponseEntity<TransactionStatus> response = accountController.debit("669-7788", request);
+        ResponseEntity<TransactionStatus> response = accountController.debit("669-7788", request, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals("OK", response.getBody().getStatus());
         assertEquals("approval-code", response.getBody().getApprovalCode());
-        verify(accountService).debit("669-7788", 500.0);
+        verify(accountService).debit("669-7788", Money.of(500.0));
     }
 
     @Test
     void payPhoneBill_WhenValidRequest_ShouldReturnSuccess() throws InsufficientBalanceException {
         // Arrange
         TransactionDTO request = new TransactionDTO();
-        request.setAmount(96.50);
+        request.setAmount(Money.of(96.50));
         request.setType("Vodafone");
         request.setApprovalCode("5423345566");
 
         ApiResponse<String> apiResponse = new ApiResponse<>(true, "Bill payment successful", "approval-code");
-        when(accountService.payPhoneBill("669-7788", "Vodafone", "5423345566", 96.50))
+        when(accountService.payPhoneBill("669-7788", "Vodafone", "5423345566", Money.of(96.50)))
                 .thenReturn(apiResponse);
 
         // Act
-        ResponseEntity<TransactionStatus> response = accountController.payPhoneBill("669-7788", request);
+        ResponseEntity<TransactionStatus> response = accountController.payPhoneBill("669-7788", request, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("OK", response.getBody().getStatus());
+        assertEquals("approval-code", response.getBody().getApprovalCode());
+        verify(accountService).payPhoneBill("669-7788", "Vodafone", "5423345566", Money.of(96.50));
+    }
+
+    @Test
+    void acceptPhoneBill_WhenAsyncEnabled_ShouldReturnAcceptedWithStatusLocation() throws InsufficientBalanceException {
+        // Arrange
+        TransactionDTO request = new TransactionDTO();
+        request.setAmount(Money.of(96.50));
+        request.setType("Vodafone");
+        request.setApprovalCode("5423345566");
+        when(pendingPostingService.isEnabled()).thenReturn(true);
+        when(pendingPostingService.acceptPhoneBill("669-7788", "Vodafone", "5423345566", Money.of(96.50)))
+                .thenReturn(new ApiResponse<>(true, "Bill payment accepted", "approval-code"));
+
+        // Act
+        ResponseEntity<TransactionStatus> response = accountController.acceptPhoneBill("669-7788", request, null);
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("PENDING", response.getBody().getStatus());
+        assertEquals("approval-code", response.getBody().getApprovalCode());
+        assertEquals(AccountController.PENDING_PATH + "approval-code", response.getHeaders().getFirst(HttpHeaders.LOCATION));
+        verify(accountService, never()).payPhoneBill(anyString(), anyString(), anyString(), any());
+    }
+
+    @Test
+    void acceptPhoneBill_WhenAsyncDisabled_ShouldPostSynchronously() throws InsufficientBalanceException {
+        // Arrange
+        TransactionDTO request = new TransactionDTO();
+        request.setAmount(Money.of(96.50));
+        request.setType("Vodafone");
+        request.setApprovalCode("5423345566");
+        when(pendingPostingService.isEnabled()).thenReturn(false);
+        when(accountService.payPhoneBill("669-7788", "Vodafone", "5423345566", Money.of(96.50)))
+                .thenReturn(new ApiResponse<>(true, "Bill payment successful", "approval-code"));
+
+        // Act
+        ResponseEntity<TransactionStatus> response = accountController.acceptPhoneBill("669-7788", request, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("OK", response.getBody().getStatus());
+        verify(pendingPostingService, never()).acceptPhoneBill(anyString(), anyString(), anyString(), any());
+    }
+
+    @Test
+    void credit_WhenIdempotencyKeyReplayed_ShouldReturnOriginalStatusWithoutPosting() throws InsufficientBalanceException {
+        // Arrange
+        TransactionDTO request = new TransactionDTO();
+        request.setAmount(Money.of(1000.0));
+        when(idempotencyService.execute(eq("key-1"), eq("credit|669-7788|1000.0|null|null"), any()))
+                .thenReturn(new IdempotentResult(200, "OK", "approval-code", null));
+
+        // Act
+        ResponseEntity<TransactionStatus> response = accountController.credit("669-7788", request, "key-1");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("OK", response.getBody().getStatus());
+        assertEquals("approval-code", response.getBody().getApprovalCode());
+        verify(accountService, never()).credit(anyString(), any());
+    }
+
+    @Test
+    void debit_WhenIdempotencyKeyReusedWithDifferentAmount_ShouldReturnUnprocessable() throws InsufficientBalanceException {
+        // Arrange
+        TransactionDTO request = new TransactionDTO();
+        request.setAmount(Money.of(50.0));
+        when(idempotencyService.execute(eq("key-2"), anyString(), any())).thenReturn(IdempotentResult.keyReused());
+
+        // Act
+        ResponseEntity<TransactionStatus> response = accountController.debit("669-7788", request, "key-2");
+
+        // Assert
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(IdempotentResult.STATUS_KEY_REUSED, response.getBody().getStatus());
+    }
+
+    @Test
+    void credit_WhenIdempotentPostingFailsTransiently_ShouldNotStoreResult() throws InsufficientBalanceException {
+        // Arrange
+        TransactionDTO request = new TransactionDTO();
+        request.setAmount(Money.of(10.0));
+        ArgumentCaptor<IdempotencyService.IdempotentAction> action = ArgumentCaptor.forClass(IdempotencyService.IdempotentAction.class);
+        when(idempotencyService.execute(eq("key-3"), anyString(), action.capture()))
+                .thenReturn(new IdempotentResult(400, "ERROR", null, null));
+        accountController.credit("669-7788", request, "key-3");
+
+        // Act
+        when(accountService.credit("669-7788", Money.of(10.0)))
+                .thenReturn(new ApiResponse<>(false, "Ledger shard timed out", null));
+        IllegalStateException transientFailure = assertThrows(IllegalStateException.class, () -> action.getValue().run());
+        when(accountService.credit("669-7788", Money.of(10.0)))
+                .thenReturn(new ApiResponse<>(false, "Account not found", null));
+        IdempotentResult deterministicFailure = action.getValue().run();
+
+        // Assert
+        assertEquals("Ledger shard timed out", transientFailure.getMessage());
+        assertEquals(400, deterministicFailure.getHttpStatus());
+        assertEquals("ERROR", deterministicFailure.getStatus());
+    }
+
+    @Test
+    void credit_WhenIdempotentPostingFailsTransiently_ShouldReturnServiceUnavailable() throws InsufficientBalanceException {
+        // Arrange
+        TransactionDTO request = new TransactionDTO();
+        request.setAmount(Money.of(10.0));
+        when(idempotencyService.execute(eq("key-4"), anyString(), any()))
+                .thenThrow(new IllegalStateException("Ledger shard timed out"));
+
+        // Act
+        ResponseEntity<TransactionStatus> response = accountController.credit("669-7788", request, "key-4");
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("ERROR", response.getBody().getStatus());
+    }
+
+    @Test
+    void credit_WhenIdempotencyKeyInvalid_ShouldReturnBadRequest() throws InsufficientBalanceException {
+        // Arrange
+        TransactionDTO request = new TransactionDTO();
+        request.setAmount(Money.of(10.0));
+        when(idempotencyService.execute(eq(""), anyString(), any()))
+                .thenThrow(new IllegalArgumentException("Idempotency-Key must be 1 to 128 characters"));
+
+        // Act
+        ResponseEntity<TransactionStatus> response = accountController.credit("669-7788", request, "");
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void debit_WhenPostingFailsTransiently_ShouldReturnServiceUnavailable() throws InsufficientBalanceException {
+        // Arrange
+        TransactionDTO request = new TransactionDTO();
+        request.setAmount(Money.of(10.0));
+        when(accountService.debit("669-7788", Money.of(10.0)))
+                .thenReturn(new ApiResponse<>(false, "Ledger shard timed out", null));
+
+        // Act
+        ResponseEntity<TransactionStatus> response = accountController.debit("669-7788", request, null);
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("ERROR", response.getBody().getStatus());
+    }
+
+    @Test
+    void getTransaction_WhenApprovalCodeExists_ShouldReturnTransaction() {
+        // Arrange
+        TransactionDetailDTO detail = new TransactionDetailDTO();
+        detail.setAccountNumber("669-7788");
+        detail.setApprovalCode("6f1c2a4e-0001-4b1a-9c3d-000000000001");
+        when(accountService.findTransaction("6f1c2a4e-0001-4b1a-9c3d-000000000001"))
+            .thenReturn(new ApiResponse<>(true, "Transaction found successfully", detail));
+
+        // Act
+        ResponseEntity<TransactionDetailDTO> response = accountController.getTransaction("6f1c2a4e-0001-4b1a-9c3d-000000000001");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(detail, response.getBody());
+    }
+
+    @Test
+    void getTransaction_WhenApprovalCodeInvalidOrUnknown_ShouldReturnBadRequestOrNotFound() {
+        // Arrange
+        when(accountService.findTransaction("bad")).thenReturn(new ApiResponse<>(false, "Invalid approval code", null));
+        when(accountService.findTransaction("6f1c2a4e-0001-4b1a-9c3d-000000000009"))
+            .thenReturn(new ApiResponse<>(false, "Transaction not found", null));
+
+        // Act & Assert
+        assertEquals(HttpStatus.BAD_REQUEST, accountController.getTransaction("bad").getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND,
+            accountController.getTransaction("6f1c2a4e-0001-4b1a-9c3d-000000000009").getStatusCode());
+    }
+
+    @Test
+    void transfer_WhenSuccessful_ShouldReturnOutgoingApprovalCode() throws InsufficientBalanceException {
+        // Arrange
+        TransferRequest request = new TransferRequest("669-7788", "669-7789", Money.of(250.0));
+        when(transferService.transfer("669-7788", "669-7789", Money.of(250.0)))
+            .thenReturn(new ApiResponse<>(true, "Transfer successful", "approval-code"));
+
+        // Act
+        ResponseEntity<TransactionStatus> response = accountController.transfer(request, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals("OK", response.getBody().getStatus());
         assertEquals("approval-code", response.getBody().getApprovalCode());
-        verify(accountService).payPhoneBill("669-7788", "Vodafone", "5423345566", 96.50);
     }
-} 
+
+    @Test
+    void exportStatement_WhenGzipRequested_ShouldStreamCompressedBody() throws Exception {
+        // Arrange
+        StatementExportService.Export export = mock(StatementExportService.Export.class);
+        when(export.getFormat()).thenReturn(StatementFormat.CSV);
+        when(export.getFileName()).thenReturn("statement-669-7788.csv");
+        when(export.writeTo(any())).thenAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class).write("date,type,amount,approvalCode\n".getBytes(StandardCharsets.UTF_8));
+            return 0L;
+        });
+        when(statementExportService.prepareStatement("669-7788", "csv", null, null))
+            .thenReturn(new ApiResponse<>(true, "Statement ready", export));
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = accountController.exportStatement("669-7788", "csv", null, null, true);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        response.getBody().writeTo(body);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("text/csv", response.getHeaders().getContentType().toString());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body.toByteArray()))) {
+            assertEquals("date,type,amount,approvalCode\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void postBatch_WhenItemsFail_ShouldReturnPerItemResults() {
+        // Arrange
+        List<BatchItemDTO> items = Arrays.asList(
+            new BatchItemDTO(BatchOperationType.CREDIT, "669-7788", Money.of(100.0)),
+            new BatchItemDTO(BatchOperationType.DEBIT, "669-7788", Money.of(5000.0)));
+        BatchPostingResultDTO result = new BatchPostingResultDTO(Arrays.asList(
+            BatchItemResultDTO.ok(0, null, "approval-code"),
+            BatchItemResultDTO.error(1, null, BatchItemResultDTO.ERROR_INSUFFICIENT_BALANCE, "Insufficient balance for withdrawal!")));
+        when(batchPostingService.post(items)).thenReturn(new ApiResponse<>(true, "Batch processed", result));
+
+        // Act
+        ResponseEntity<BatchPostingResultDTO> response = accountController.postBatch(new BatchPostingRequest(items));
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(1, response.getBody().getSucceeded());
+        assertEquals(1, response.getBody().getFailed());
+        verify(batchPostingService).post(items);
+    }
+
+    @Test
+    void postBatch_WhenBatchInvalid_ShouldReturnBadRequest() {
+        // Arrange
+        when(batchPostingService.post(Collections.emptyList()))
+            .thenReturn(new ApiResponse<>(false, "Batch must contain at least one item", null));
+
+        // Act
+        ResponseEntity<BatchPostingResultDTO> response =
+            accountController.postBatch(new BatchPostingRequest(Collections.emptyList()));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+}
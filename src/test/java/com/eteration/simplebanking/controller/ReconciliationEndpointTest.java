@@ -0,0 +1,67 @@
+package com.eteration.simplebanking.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.eteration.simplebanking.dto.ApiResponse;
+import com.eteration.simplebanking.dto.ReconciliationReportDTO;
+import com.eteration.simplebanking.services.ReconciliationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.http.HttpStatus;
+
+import java.util.Arrays;
+import java.util.Date;
+
+public class ReconciliationEndpointTest {
+
+    @Mock
+    private ReconciliationService reconciliationService;
+
+    @InjectMocks
+    private ReconciliationEndpoint reconciliationEndpoint;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    public void testReconcile_ReturnsSummaryOrConflict() {
+        // Arrange
+        ReconciliationReportDTO report = new ReconciliationReportDTO(new Date(), 10L, 1, 0, 5L, 0L, "report.csv");
+        when(reconciliationService.reconcile())
+            .thenReturn(new ApiResponse<>(true, "Reconciliation completed", report))
+            .thenReturn(new ApiResponse<>(false, "Reconciliation already running", null))
+            .thenReturn(new ApiResponse<>(false, "Reconciliation aborted", null));
+
+        // Act
+        WebEndpointResponse<ReconciliationReportDTO> completed = reconciliationEndpoint.reconcile();
+        WebEndpointResponse<ReconciliationReportDTO> running = reconciliationEndpoint.reconcile();
+        WebEndpointResponse<ReconciliationReportDTO> failed = reconciliationEndpoint.reconcile();
+
+        // Assert
+        assertEquals(WebEndpointResponse.STATUS_OK, completed.getStatus());
+        assertSame(report, completed.getBody());
+        assertEquals(HttpStatus.CONFLICT.value(), running.getStatus());
+        assertEquals(WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR, failed.getStatus());
+    }
+
+    @Test
+    public void testEndpoint_IsDisabledByDefaultAndNotOnBankingApi() {
+        // Act
+        WebEndpoint endpoint = ReconciliationEndpoint.class.getAnnotation(WebEndpoint.class);
+        boolean onBankingApi = Arrays.stream(AccountController.class.getMethods())
+            .anyMatch(method -> method.getName().equals("reconcile"));
+
+        // Assert
+        assertEquals("reconciliation", endpoint.id());
+        assertFalse(endpoint.enableByDefault());
+        assertFalse(onBankingApi);
+    }
+}
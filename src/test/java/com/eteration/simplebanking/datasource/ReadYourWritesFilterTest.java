@@ -0,0 +1,101 @@
+package com.eteration.simplebanking.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ReadYourWritesFilterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5), 100, clock::get);
+
+    @Test
+    public void testReadAfterWrite_PinnedWithinWindow() throws ServletException, IOException {
+        // Arrange
+        request("POST", "client-1", 200);
+
+        // Act
+        boolean sameClient = request("GET", "client-1", 200);
+        boolean otherClient = request("GET", "client-2", 200);
+        clock.addAndGet(Duration.ofSeconds(6).toNanos());
+        boolean afterWindow = request("GET", "client-1", 200);
+
+        // Assert
+        assertTrue(sameClient);
+        assertFalse(otherClient);
+        assertFalse(afterWindow);
+        assertFalse(ReadYourWrites.isPinnedToPrimary());
+    }
+
+    @Test
+    public void testFailedWrite_DoesNotPin() throws ServletException, IOException {
+        // Arrange
+        request("POST", "client-1", 400);
+
+        // Act
+        boolean pinned = request("GET", "client-1", 200);
+
+        // Assert
+        assertFalse(pinned);
+    }
+
+    @Test
+    public void testWrite_IsRecordedBeforeResponseIsCommitted() throws ServletException, IOException {
+        // Arrange
+        MockHttpServletRequest write = new MockHttpServletRequest("POST", "/account/v1/credit/669-7788");
+        write.addHeader(ReadYourWritesFilter.CLIENT_ID_HEADER, "client-1");
+        AtomicBoolean pinnedDuringWrite = new AtomicBoolean();
+        // Yanıt istemciye gönderildikten sonra, zincir dönmeden aynı istemcinin okuması gelir
+        FilterChain chain = (req, res) -> {
+            res.flushBuffer();
+            pinnedDuringWrite.set(request("GET", "client-1", 200));
+        };
+
+        // Act
+        filter.doFilter(write, new MockHttpServletResponse(), chain);
+        boolean pinnedAfterWrite = request("GET", "client-1", 200);
+
+        // Assert
+        assertTrue(pinnedDuringWrite.get());
+        assertTrue(pinnedAfterWrite);
+    }
+
+    @Test
+    public void testFailedWrite_KeepsPinOfEarlierSuccessfulWrite() throws ServletException, IOException {
+        // Arrange
+        request("POST", "client-1", 200);
+
+        // Act
+        request("POST", "client-1", 400);
+        boolean pinned = request("GET", "client-1", 200);
+
+        // Assert
+        assertTrue(pinned);
+    }
+
+    /**
+     * İsteği filtreden geçirir
+     * @return Zincir çalışırken thread birincile sabitlenmiş miydi
+     */
+    private boolean request(String method, String clientId, int status) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/account/v1/669-7788");
+        request.addHeader(ReadYourWritesFilter.CLIENT_ID_HEADER, clientId);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean pinned = new AtomicBoolean();
+        FilterChain chain = (req, res) -> {
+            pinned.set(ReadYourWrites.isPinnedToPrimary());
+            ((MockHttpServletResponse) res).setStatus(status);
+        };
+        filter.doFilter(request, response, chain);
+        return pinned.get();
+    }
+}
@@ -0,0 +1,149 @@
+package com.eteration.simplebanking.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Yönlendirmeyi her biri kendi adını tutan ayrı gömülü H2 veritabanlarıyla doğrular: primary ve replikalar.
+ */
+public class ReplicaRoutingDataSourceTest {
+    private static final String LAG_QUERY = "SELECT seconds FROM replica_lag";
+
+    private final List<EmbeddedDatabase> databases = new ArrayList<>();
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @AfterEach
+    public void tearDown() {
+        ReadYourWrites.clear();
+        databases.forEach(EmbeddedDatabase::shutdown);
+    }
+
+    @Test
+    public void testReadOnlyTransaction_RoutesToReplica() {
+        // Arrange
+        setup("replica-a");
+
+        // Act & Assert
+        assertEquals("replica-a", readOnly.execute(status -> node()));
+        assertEquals("primary", readWrite.execute(status -> node()));
+        // İşlem dışı erişimler birincile gider
+        assertEquals("primary", node());
+    }
+
+    @Test
+    public void testReadOnlyTransactions_AlternateBetweenReplicas() {
+        // Arrange
+        setup("replica-a", "replica-b");
+
+        // Act
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            nodes.add(readOnly.execute(status -> node()));
+        }
+
+        // Assert
+        assertEquals(Arrays.asList("replica-a", "replica-b", "replica-a", "replica-b"), nodes);
+    }
+
+    @Test
+    public void testLaggingReplica_LeavesRotationUntilCaughtUp() {
+        // Arrange
+        setup("replica-a", "replica-b");
+        setLag(1, 30);
+
+        // Act
+        routing.checkHealth();
+        String first = readOnly.execute(status -> node());
+        String second = readOnly.execute(status -> node());
+        setLag(1, 0);
+        routing.checkHealth();
+
+        // Assert
+        assertEquals("replica-a", first);
+        assertEquals("replica-a", second);
+        assertEquals(2, routing.getHealthyReplicaCount());
+    }
+
+    @Test
+    public void testUnreachableReplicas_FallBackToPrimary() {
+        // Arrange
+        setup("replica-a");
+        databases.get(1).shutdown();
+
+        // Act
+        routing.checkHealth();
+
+        // Assert
+        assertEquals(0, routing.getHealthyReplicaCount());
+        assertEquals("primary", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    public void testPinnedThread_ReadsFromPrimary() {
+        // Arrange
+        setup("replica-a");
+        ReadYourWrites.pinToPrimary();
+
+        // Act
+        String pinned = readOnly.execute(status -> node());
+        ReadYourWrites.clear();
+        String unpinned = readOnly.execute(status -> node());
+
+        // Assert
+        assertEquals("primary", pinned);
+        assertEquals("replica-a", unpinned);
+    }
+
+    private void setup(String... replicaNames) {
+        DataSource primary = database("primary");
+        List<DataSource> replicas = new ArrayList<>();
+        for (String name : replicaNames) {
+            replicas.add(database(name));
+        }
+        routing = new ReplicaRoutingDataSource(primary, replicas, LAG_QUERY, Duration.ofSeconds(5));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true).build();
+        databases.add(database);
+        JdbcTemplate template = new JdbcTemplate(database);
+        template.execute("CREATE TABLE node (name VARCHAR(32))");
+        template.update("INSERT INTO node VALUES (?)", name);
+        template.execute("CREATE TABLE replica_lag (seconds DOUBLE)");
+        template.update("INSERT INTO replica_lag VALUES (0)");
+        return database;
+    }
+
+    private void setLag(int replicaIndex, double seconds) {
+        new JdbcTemplate(databases.get(replicaIndex + 1)).update("UPDATE replica_lag SET seconds = ?", seconds);
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+}
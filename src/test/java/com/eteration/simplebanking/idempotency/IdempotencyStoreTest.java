@@ -0,0 +1,98 @@
+package com.eteration.simplebanking.idempotency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class IdempotencyStoreTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    public void testClaim_SecondClaimReplaysOwnerResult() throws Exception {
+        // Arrange
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofMinutes(1), clock::get);
+        IdempotencyStore.Claim first = store.claim("key-1", "credit|100");
+
+        // Act
+        store.complete(first.getEntry(), new IdempotentResult(200, "OK", "code-1", null));
+        IdempotencyStore.Claim second = store.claim("key-1", "credit|100");
+
+        // Assert
+        assertTrue(first.isOwner());
+        assertFalse(second.isOwner());
+        assertSame(first.getEntry(), second.getEntry());
+        assertEquals("code-1", second.getEntry().getResult().get(1, TimeUnit.SECONDS).getApprovalCode());
+        assertEquals(1, store.getReplayCount());
+    }
+
+    @Test
+    public void testClaim_ConcurrentClaimsHaveSingleOwner() throws Exception {
+        // Arrange
+        IdempotencyStore store = new IdempotencyStore(100, Duration.ofMinutes(1));
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 64; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return store.claim("key-1", "debit|10").isOwner();
+            }));
+        }
+        start.countDown();
+        int owners = 0;
+        for (Future<Boolean> result : results) {
+            owners += result.get(5, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        pool.shutdown();
+
+        // Assert
+        assertEquals(1, owners);
+    }
+
+    @Test
+    public void testClaim_ExpiredAndReleasedKeysCanBeClaimedAgain() {
+        // Arrange
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofSeconds(30), clock::get);
+        IdempotencyStore.Claim expired = store.claim("key-1", "credit|100");
+        IdempotencyStore.Claim released = store.claim("key-2", "credit|100");
+
+        // Act
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+        store.release(released.getEntry(), new IllegalStateException("failed"));
+
+        // Assert
+        assertTrue(store.claim("key-1", "credit|100").isOwner());
+        assertNotSame(expired.getEntry(), store.claim("key-1", "credit|100").getEntry());
+        assertTrue(store.claim("key-2", "credit|100").isOwner());
+        assertTrue(released.getEntry().getResult().isCompletedExceptionally());
+    }
+
+    @Test
+    public void testSizeBound_EvictsOldestKeys() {
+        // Arrange
+        IdempotencyStore store = new IdempotencyStore(3, Duration.ofMinutes(1), clock::get);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            store.claim("key-" + i, "credit|" + i);
+        }
+
+        // Assert
+        assertEquals(3, store.size());
+        assertEquals(2, store.getEvictionCount());
+        assertTrue(store.claim("key-0", "credit|0").isOwner());
+        assertFalse(store.claim("key-4", "credit|4").isOwner());
+    }
+}
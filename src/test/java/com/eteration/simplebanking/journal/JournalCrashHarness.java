@@ -0,0 +1,42 @@
+package com.eteration.simplebanking.journal;
+
+import com.eteration.simplebanking.dto.BatchOperationType;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+
+/**
+ * JournalCrashRecoveryTest'in ayrı bir JVM'de çalıştırdığı yazıcı. Birden fazla thread sürekli
+ * kayıt ekler ve her kaydın onay kodunu ancak awaitDurable döndükten sonra standart çıktıya yazar;
+ * süreç test tarafından bir fsync grubunun ortasında öldürülür.
+ */
+public final class JournalCrashHarness {
+
+    private JournalCrashHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        TransactionJournal journal = new TransactionJournal(Paths.get(args[0]), Integer.parseInt(args[1]));
+        int writers = Integer.parseInt(args[2]);
+        PrintStream out = System.out;
+        for (int w = 0; w < writers; w++) {
+            String prefix = "w" + w + "-";
+            Thread writer = new Thread(() -> {
+                try {
+                    for (long i = 0; ; i++) {
+                        String code = prefix + i;
+                        JournalEntry entry = journal.append(new JournalEntry(0L, System.currentTimeMillis(),
+                            BatchOperationType.CREDIT, "600-0001", 10_000L, code, null, null));
+                        journal.awaitDurable(entry.getSequence(), 10_000);
+                        synchronized (out) {
+                            out.println(code);
+                            out.flush();
+                        }
+                    }
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            });
+            writer.start();
+        }
+    }
+}
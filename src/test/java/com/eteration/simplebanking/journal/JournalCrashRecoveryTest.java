@@ -0,0 +1,59 @@
+package com.eteration.simplebanking.journal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Yazıcı süreç fsync grupları sürerken öldürüldüğünde, onaylanan her kaydın yeniden açılışta
+ * kurtarıldığını doğrular.
+ */
+public class JournalCrashRecoveryTest {
+
+    private static final int ACKS_BEFORE_KILL = 2000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testKilledWriter_AllAcknowledgedEntriesAreRecovered() throws Exception {
+        // Arrange
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        ProcessBuilder builder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+            JournalCrashHarness.class.getName(), directory.toString(), "65536", "8");
+        builder.redirectError(new File(directory.toFile(), "harness.err"));
+        Process process = builder.start();
+
+        // Act
+        Set<String> acknowledged = new HashSet<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while (acknowledged.size() < ACKS_BEFORE_KILL && (line = reader.readLine()) != null) {
+                acknowledged.add(line);
+            }
+            process.destroyForcibly();
+            assertTrue(process.waitFor(30, TimeUnit.SECONDS));
+        }
+
+        // Assert
+        assertTrue(acknowledged.size() >= ACKS_BEFORE_KILL);
+        try (TransactionJournal reopened = new TransactionJournal(directory, 65536)) {
+            Set<String> recovered = reopened.getRecoveredEntries().stream()
+                .map(JournalEntry::getApprovalCode).collect(Collectors.toSet());
+            acknowledged.removeAll(recovered);
+            assertTrue(acknowledged.isEmpty(), "Lost acknowledged entries: " + acknowledged.size());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.eteration.simplebanking.journal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eteration.simplebanking.dto.BatchOperationType;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TransactionJournalTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testAppend_AssignsSequencesAndBecomesDurable() throws IOException {
+        // Arrange
+        try (TransactionJournal journal = new TransactionJournal(directory, SEGMENT_SIZE)) {
+            // Act
+            JournalEntry first = journal.append(draft("code-1"));
+            JournalEntry second = journal.append(draft("code-2"));
+            journal.awaitDurable(second.getSequence(), 5000);
+
+            // Assert
+            assertEquals(1L, first.getSequence());
+            assertEquals(2L, second.getSequence());
+            assertTrue(journal.getSyncedSequence() >= 2L);
+        }
+    }
+
+    @Test
+    public void testReopen_RecoversEntriesAfterCheckpoint() throws IOException {
+        // Arrange
+        try (TransactionJournal journal = new TransactionJournal(directory, SEGMENT_SIZE)) {
+            for (int i = 1; i <= 5; i++) {
+                journal.append(draft("code-" + i));
+            }
+            journal.awaitDurable(5L, 5000);
+            journal.checkpoint(2L);
+        }
+
+        // Act
+        try (TransactionJournal reopened = new TransactionJournal(directory, SEGMENT_SIZE)) {
+            List<JournalEntry> recovered = reopened.getRecoveredEntries();
+
+            // Assert
+            assertEquals(List.of("code-3", "code-4", "code-5"),
+                recovered.stream().map(JournalEntry::getApprovalCode).collect(Collectors.toList()));
+            JournalEntry entry = recovered.get(0);
+            assertEquals(BatchOperationType.DEBIT, entry.getType());
+            assertEquals("500-0001", entry.getAccountNumber());
+            assertEquals(125_000L, entry.getAmountMinor());
+            assertEquals("Vodafone", entry.getPayee());
+            assertNull(entry.getPhoneNumber());
+            assertEquals(2L, reopened.getCheckpoint());
+            assertEquals(6L, reopened.append(draft("code-6")).getSequence());
+        }
+    }
+
+    @Test
+    public void testReopen_StopsAtCorruptedTail() throws IOException {
+        // Arrange
+        try (TransactionJournal journal = new TransactionJournal(directory, SEGMENT_SIZE)) {
+            for (int i = 1; i <= 3; i++) {
+                journal.append(draft("code-" + i));
+            }
+            journal.awaitDurable(3L, 5000);
+        }
+        Path segment = segmentFiles().get(0);
+        int lastRecordOffset = recordOffset(segment, 2);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            // Son kaydın ilk veri baytı bozulur; CRC uyuşmaz
+            channel.write(ByteBuffer.wrap(new byte[] {(byte) 0x7F}), lastRecordOffset + 8);
+        }
+
+        // Act
+        try (TransactionJournal reopened = new TransactionJournal(directory, SEGMENT_SIZE)) {
+            // Assert
+            assertEquals(List.of("code-1", "code-2"), reopened.getRecoveredEntries().stream()
+                .map(JournalEntry::getApprovalCode).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testCheckpoint_DeletesFullyAppliedSegments() throws IOException {
+        // Arrange
+        try (TransactionJournal journal = new TransactionJournal(directory, SEGMENT_SIZE)) {
+            long last = 0L;
+            for (int i = 1; i <= 200; i++) {
+                last = journal.append(draft("code-" + i)).getSequence();
+            }
+            journal.awaitDurable(last, 5000);
+            int segmentsBefore = journal.getSegmentCount();
+
+            // Act
+            journal.checkpoint(last);
+
+            // Assert
+            assertTrue(segmentsBefore > 2);
+            assertEquals(1, journal.getSegmentCount());
+            assertEquals(1, segmentFiles().size());
+        }
+        try (TransactionJournal reopened = new TransactionJournal(directory, SEGMENT_SIZE)) {
+            assertTrue(reopened.getRecoveredEntries().isEmpty());
+            assertEquals(201L, reopened.append(draft("code-201")).getSequence());
+        }
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(JournalSegment::isSegmentFile).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static int recordOffset(Path segment, int index) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segment));
+        int offset = 0;
+        for (int i = 0; i < index; i++) {
+            offset += 8 + buffer.getInt(offset);
+        }
+        return offset;
+    }
+
+    private static JournalEntry draft(String approvalCode) {
+        return new JournalEntry(0L, System.currentTimeMillis(), BatchOperationType.DEBIT, "500-0001",
+            125_000L, approvalCode, "Vodafone", null);
+    }
+}
@@ -0,0 +1,136 @@
+package com.eteration.simplebanking.ledger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eteration.simplebanking.dto.BatchItemDTO;
+import com.eteration.simplebanking.dto.BatchItemResultDTO;
+import com.eteration.simplebanking.dto.BatchOperationType;
+import com.eteration.simplebanking.journal.JournalEntry;
+import com.eteration.simplebanking.model.Money;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class ShardedLedgerTest {
+
+    private final Map<String, Money> stored = new ConcurrentHashMap<>();
+    private final List<JournalEntry> postings = new CopyOnWriteArrayList<>();
+    private ShardedLedger ledger;
+
+    @AfterEach
+    public void tearDown() {
+        if (ledger != null) {
+            ledger.stop(1000);
+        }
+    }
+
+    @Test
+    public void testConcurrentSubmits_AreAppliedWithoutLostUpdates() throws Exception {
+        // Arrange
+        stored.put("800-0001", Money.ZERO);
+        stored.put("800-0002", Money.of(1000.0));
+        ledger = new ShardedLedger(4, stored::get, postings::add);
+        ledger.start();
+
+        // Act
+        List<CompletableFuture<BatchItemResultDTO>> results = new ArrayList<>();
+        List<Thread> clients = new ArrayList<>();
+        for (int c = 0; c < 8; c++) {
+            Thread client = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    CompletableFuture<BatchItemResultDTO> credit =
+                        ledger.submit(new BatchItemDTO(BatchOperationType.CREDIT, "800-0001", Money.of(1.0)));
+                    CompletableFuture<BatchItemResultDTO> debit =
+                        ledger.submit(new BatchItemDTO(BatchOperationType.DEBIT, "800-0002", Money.of(1.0)));
+                    synchronized (results) {
+                        results.add(credit);
+                        results.add(debit);
+                    }
+                }
+            });
+            clients.add(client);
+            client.start();
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+        for (CompletableFuture<BatchItemResultDTO> result : results) {
+            assertEquals(BatchItemResultDTO.STATUS_OK, result.get(5, TimeUnit.SECONDS).getStatus());
+        }
+
+        // Assert
+        assertEquals(1600, postings.size());
+        assertEquals(1600L, ledger.getPostedCount());
+        assertEquals(800L * 10_000L, sum(postings, BatchOperationType.CREDIT));
+        assertEquals(800L * 10_000L, sum(postings, BatchOperationType.DEBIT));
+        assertEquals(1600, postings.stream().map(JournalEntry::getApprovalCode).distinct().count());
+    }
+
+    @Test
+    public void testDebit_InsufficientBalanceAndMissingAccountAreRejected() throws Exception {
+        // Arrange
+        stored.put("800-0003", Money.of(10.0));
+        ledger = new ShardedLedger(2, stored::get, postings::add);
+        ledger.start();
+
+        // Act
+        BatchItemResultDTO overdraft = ledger.submit(
+            new BatchItemDTO(BatchOperationType.BILL_PAYMENT, "800-0003", Money.of(10.5), "Vodafone", "5423345566"))
+            .get(5, TimeUnit.SECONDS);
+        BatchItemResultDTO exact = ledger.submit(
+            new BatchItemDTO(BatchOperationType.DEBIT, "800-0003", Money.of(10.0))).get(5, TimeUnit.SECONDS);
+        BatchItemResultDTO missing = ledger.submit(
+            new BatchItemDTO(BatchOperationType.CREDIT, "800-9999", Money.of(1.0))).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(BatchItemResultDTO.ERROR_INSUFFICIENT_BALANCE, overdraft.getErrorCode());
+        assertEquals(BatchItemResultDTO.STATUS_OK, exact.getStatus());
+        assertEquals(BatchItemResultDTO.ERROR_ACCOUNT_NOT_FOUND, missing.getErrorCode());
+        assertEquals(List.of(exact.getApprovalCode()),
+            postings.stream().map(JournalEntry::getApprovalCode).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testSubmit_CancelledCommandIsNotApplied() throws Exception {
+        // Arrange
+        stored.put("800-0004", Money.of(10.0));
+        ledger = new ShardedLedger(1, stored::get, postings::add);
+        CompletableFuture<BatchItemResultDTO> timedOut =
+            ledger.submit(new BatchItemDTO(BatchOperationType.DEBIT, "800-0004", Money.of(10.0)));
+
+        // Act
+        boolean cancelled = timedOut.cancel(false);
+        ledger.start();
+        BatchItemResultDTO retry = ledger.submit(
+            new BatchItemDTO(BatchOperationType.DEBIT, "800-0004", Money.of(10.0))).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(cancelled);
+        assertEquals(BatchItemResultDTO.STATUS_OK, retry.getStatus());
+        assertEquals(List.of(retry.getApprovalCode()),
+            postings.stream().map(JournalEntry::getApprovalCode).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testShardOf_RoutesAccountToSameShard() {
+        // Arrange
+        ledger = new ShardedLedger(8, stored::get, postings::add);
+
+        // Act & Assert
+        int shard = ledger.shardOf("800-0001");
+        assertTrue(shard >= 0 && shard < 8);
+        assertEquals(shard, ledger.shardOf(new String("800-0001")));
+        assertEquals(8, ledger.getShardCount());
+    }
+
+    private static long sum(List<JournalEntry> entries, BatchOperationType type) {
+        return entries.stream().filter(e -> e.getType() == type).mapToLong(JournalEntry::getAmountMinor).sum();
+    }
+}
@@ -0,0 +1,146 @@
+package com.eteration.simplebanking.logging;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import com.eteration.simplebanking.dto.LogMessage;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncLogDispatcherTest {
+
+    private final Logger logger = mock(Logger.class);
+
+    @Test
+    public void testRingBuffer_RejectsWhenFullAndDrainsInOrder() {
+        LogRingBuffer buffer = new LogRingBuffer(3);
+        assertEquals(4, buffer.capacity());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer("INFO", "m" + i, "C", "m", "t", i, null));
+        }
+        assertFalse(buffer.offer("INFO", "overflow", "C", "m", "t", 4, null));
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(4, buffer.drain(event -> drained.add(event.getMessage()), 10));
+        assertEquals(List.of("m0", "m1", "m2", "m3"), drained);
+        assertTrue(buffer.offer("INFO", "again", "C", "m", "t", 5, null));
+        assertEquals(1, buffer.size());
+    }
+
+    @Test
+    public void testRingBuffer_ConcurrentProducersEachEventSeenOnce() throws Exception {
+        LogRingBuffer buffer = new LogRingBuffer(1024);
+        int producers = 4;
+        int perProducer = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            String prefix = "p" + p + "-";
+            executor.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer("INFO", prefix + i, "C", "m", "t", i, null)) {
+                        Thread.yield();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        Set<String> seen = new HashSet<>();
+        while (seen.size() < producers * perProducer) {
+            buffer.drain(event -> assertTrue(seen.add(event.getMessage())), 256);
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    public void testDispatcher_PublishesInBatchesAndCountsDrops() throws Exception {
+        List<Integer> batchSizes = new ArrayList<>();
+        List<LogMessage> received = new ArrayList<>();
+        LogPublisher publisher = batch -> {
+            batchSizes.add(batch.size());
+            received.addAll(batch);
+        };
+        AsyncLogDispatcher dispatcher = new AsyncLogDispatcher(logger, 8, 5, LogOverflowPolicy.DROP_NEWEST, publisher);
+
+        for (int i = 0; i < 10; i++) {
+            dispatcher.submit("INFO", "message " + i, "AccountService", "credit", null);
+        }
+        assertEquals(2, dispatcher.getDroppedCount());
+
+        while (dispatcher.drainOnce() > 0) {
+            // boşalt
+        }
+
+        assertEquals(List.of(5, 3), batchSizes);
+        assertEquals(8, dispatcher.getPublishedCount());
+        assertEquals("INFO", received.get(0).getLevel());
+        assertEquals("AccountService", received.get(0).getClassName());
+        assertEquals("message 0", received.get(0).getMessage());
+    }
+
+    @Test
+    public void testDispatcher_CountsFailedBatches() {
+        LogPublisher publisher = batch -> {
+            throw new IllegalStateException("broker down");
+        };
+        AsyncLogDispatcher dispatcher = new AsyncLogDispatcher(logger, 8, 8, LogOverflowPolicy.LOG_LOCALLY, publisher);
+
+        dispatcher.submit("ERROR", "failed", "AccountService", "debit", new RuntimeException("boom"));
+        dispatcher.drainOnce();
+
+        assertEquals(0, dispatcher.getPublishedCount());
+        assertEquals(1, dispatcher.getFailedCount());
+    }
+
+    @Test
+    public void testDispatcher_StopFlushesPendingEvents() {
+        InMemoryLogPublisher publisher = new InMemoryLogPublisher(100);
+        AsyncLogDispatcher dispatcher = new AsyncLogDispatcher(logger, 64, 16, LogOverflowPolicy.DROP_NEWEST, publisher);
+        dispatcher.start();
+        for (int i = 0; i < 50; i++) {
+            dispatcher.submit("INFO", "message " + i, "AccountService", "credit", null);
+        }
+        dispatcher.stop(5000);
+
+        assertEquals(50, publisher.getRecentMessages().size());
+        assertEquals(50, dispatcher.getPublishedCount());
+    }
+
+    @Test
+    public void testDispatcher_IdleWorkerParksUntilSubmitWakesIt() throws Exception {
+        InMemoryLogPublisher publisher = new InMemoryLogPublisher(100);
+        AsyncLogDispatcher dispatcher = new AsyncLogDispatcher(logger, 64, 16, LogOverflowPolicy.DROP_NEWEST, publisher);
+        dispatcher.start();
+        try {
+            Thread worker = (Thread) ReflectionTestUtils.getField(dispatcher, "worker");
+            long deadline = System.currentTimeMillis() + 5000;
+            while (worker.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(Thread.State.WAITING, worker.getState());
+
+            dispatcher.submit("INFO", "wake up", "AccountService", "credit", null);
+            while (dispatcher.getPublishedCount() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+
+            assertEquals(1, dispatcher.getPublishedCount());
+        } finally {
+            dispatcher.stop(5000);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.eteration.simplebanking.logging;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eteration.simplebanking.dto.LogMessage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LocalLogStoreTest {
+
+    private static final long HOUR = 60L * 60 * 1000;
+    private static final long BASE = 1_700_000_000_000L - Math.floorMod(1_700_000_000_000L, HOUR);
+
+    @TempDir
+    Path directory;
+
+    private final AtomicLong clock = new AtomicLong(BASE);
+
+    @Test
+    public void testQuery_FiltersByLevelClassAndTimeNewestFirst() throws IOException {
+        // Arrange
+        try (LocalLogStore store = store(Duration.ofDays(7))) {
+            store.append(List.of(
+                message("INFO", "AccountService", "credit ok", BASE + 1),
+                message("ERROR", "AccountService", "debit failed", BASE + 2),
+                message("ERROR", "TransferService", "transfer failed", BASE + 3)));
+            store.append(List.of(
+                message("INFO", "AccountService", "credit ok", BASE + 4),
+                message("ERROR", "AccountService", "bill failed", BASE + 5)));
+
+            // Act
+            List<LogMessage> errors = store.query("ERROR", null, null, null, 10);
+            List<LogMessage> accountErrors = store.query("ERROR", "AccountService", null, null, 1);
+            List<LogMessage> window = store.query(null, null, new Date(BASE + 2), new Date(BASE + 4), 10);
+
+            // Assert
+            assertEquals(List.of("bill failed", "transfer failed", "debit failed"), texts(errors));
+            assertEquals(List.of("bill failed"), texts(accountErrors));
+            assertEquals(List.of("transfer failed", "debit failed"), texts(window));
+            assertEquals(5, store.getStoredCount());
+        }
+    }
+
+    @Test
+    public void testAppend_RollsSegmentsAndDropsExpiredOnes() throws IOException {
+        // Arrange
+        try (LocalLogStore store = store(Duration.ofHours(2))) {
+            // Act: her saat bir segment açılır; iki saatlik saklama süresi en eskileri siler
+            for (int hour = 0; hour < 5; hour++) {
+                clock.set(BASE + hour * HOUR);
+                store.append(List.of(message("ERROR", "AccountService", "hour " + hour, BASE + hour * HOUR)));
+            }
+
+            // Assert
+            assertEquals(3, store.getSegmentCount());
+            assertEquals(List.of("hour 4", "hour 3", "hour 2"), texts(store.query("ERROR", null, null, null, 10)));
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals(6, files.count());
+            }
+        }
+    }
+
+    @Test
+    public void testReopen_RebuildsIndexAndIgnoresUnindexedTail() throws IOException {
+        // Arrange
+        try (LocalLogStore store = store(Duration.ofDays(7))) {
+            store.append(List.of(message("ERROR", "AccountService", "before restart", BASE + 1)));
+        }
+        // Çökme: veri dosyasının sonuna indekslenmemiş yarım bir blok yazılmış
+        Path data = directory.resolve(LogStoreSegment.fileName(BASE, LogStoreSegment.DATA_SUFFIX));
+        try (FileChannel channel = FileChannel.open(data, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0x1f, (byte) 0x8b, 8, 0}));
+        }
+
+        // Act
+        try (LocalLogStore reopened = store(Duration.ofDays(7))) {
+            reopened.append(List.of(message("ERROR", "AccountService", "after restart", BASE + 2)));
+            List<LogMessage> errors = reopened.query("ERROR", null, null, null, 10);
+
+            // Assert
+            assertEquals(List.of("after restart", "before restart"), texts(errors));
+            assertEquals(1, reopened.getSegmentCount());
+        }
+    }
+
+    @Test
+    public void testAppend_CompressesRepetitiveLogLines() throws IOException {
+        // Arrange
+        List<LogMessage> batch = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            batch.add(message("INFO", "AccountService", "Credit successful: account=669-7788, amount=" + i, BASE + i));
+        }
+
+        try (LocalLogStore store = store(Duration.ofDays(7))) {
+            // Act
+            store.append(batch);
+
+            // Assert: satır başına ~200 bayt JSON, sıkıştırılmış hali bunun çok altında
+            assertTrue(store.getSizeBytes() < 500 * 40, "size=" + store.getSizeBytes());
+            assertEquals(500, store.query("INFO", "AccountService", null, null, 1000).size());
+        }
+    }
+
+    private LocalLogStore store(Duration retention) throws IOException {
+        return new LocalLogStore(directory, Duration.ofHours(1), retention, clock::get);
+    }
+
+    private static LogMessage message(String level, String className, String text, long time) {
+        LogMessage message = new LogMessage(level, text, className, "method", null);
+        message.setTimestamp(LocalDateTime.ofInstant(new Date(time).toInstant(), ZoneId.systemDefault()));
+        return message;
+    }
+
+    private static List<String> texts(List<LogMessage> messages) {
+        return messages.stream().map(LogMessage::getMessage).collect(Collectors.toList());
+    }
+}
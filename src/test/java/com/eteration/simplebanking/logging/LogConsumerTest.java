@@ -0,0 +1,49 @@
+package com.eteration.simplebanking.logging;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eteration.simplebanking.config.RabbitMQConfig;
+import com.eteration.simplebanking.dto.LogMessage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+public class LogConsumerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testConsume_StoresPublishedMessagesAndSkipsMalformedOnes() throws IOException {
+        // Arrange: mesajlar RabbitLogPublisher'ın kullandığı dönüştürücüyle üretilir
+        MessageConverter converter = new RabbitMQConfig().messageConverter();
+        Message error = converter.toMessage(new LogMessage("ERROR", "debit failed", "AccountService", "debit", "trace"),
+            new MessageProperties());
+        Message info = converter.toMessage(new LogMessage("INFO", "credit ok", "AccountService", "credit", null),
+            new MessageProperties());
+        Message malformed = new Message("not json".getBytes(StandardCharsets.UTF_8), new MessageProperties());
+
+        try (LocalLogStore store = new LocalLogStore(directory, Duration.ofHours(1), Duration.ofDays(1))) {
+            LogConsumer consumer = new LogConsumer(store);
+
+            // Act
+            consumer.consume(List.of(error, malformed, info));
+
+            // Assert
+            assertEquals(2, consumer.getConsumedCount());
+            assertEquals(1, consumer.getMalformedCount());
+            List<LogMessage> errors = store.query("ERROR", "AccountService", null, null, 10);
+            assertEquals(1, errors.size());
+            assertEquals("debit failed", errors.get(0).getMessage());
+            assertEquals("trace", errors.get(0).getStackTrace());
+            assertNotNull(errors.get(0).getTimestamp());
+        }
+    }
+}
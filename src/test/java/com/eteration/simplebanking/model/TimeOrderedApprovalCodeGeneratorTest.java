@@ -0,0 +1,106 @@
+package com.eteration.simplebanking.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class TimeOrderedApprovalCodeGeneratorTest {
+
+    @Test
+    public void testNext_IsUuidVersion7WithNodeAndTimestamp() {
+        // Arrange
+        TimeOrderedApprovalCodeGenerator generator = new TimeOrderedApprovalCodeGenerator(1234, () -> 1_700_000_000_000L);
+
+        // Act
+        String code = generator.next().toString();
+
+        // Assert
+        UUID uuid = UUID.fromString(code);
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(1234, TimeOrderedApprovalCodeGenerator.nodeIdOf(code));
+        assertEquals(1_700_000_000_000L, TimeOrderedApprovalCodeGenerator.timestampOf(code));
+    }
+
+    @Test
+    public void testNext_StrictlyIncreasingWithinSameMillisecondAndWhenClockGoesBack() {
+        // Arrange
+        long[] now = {1_700_000_000_000L};
+        TimeOrderedApprovalCodeGenerator generator = new TimeOrderedApprovalCodeGenerator(1, () -> now[0]);
+        List<UUID> codes = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            codes.add(generator.next());
+        }
+        now[0] -= 5_000L;
+        codes.add(generator.next());
+
+        // Assert
+        for (int i = 1; i < codes.size(); i++) {
+            assertTrue(Long.compareUnsigned(codes.get(i - 1).getMostSignificantBits(),
+                codes.get(i).getMostSignificantBits()) < 0);
+        }
+    }
+
+    @Test
+    public void testNext_UniqueAcrossThreads() throws Exception {
+        // Arrange
+        TimeOrderedApprovalCodeGenerator generator = new TimeOrderedApprovalCodeGenerator(7);
+        Set<UUID> codes = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < 8; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    codes.add(generator.next());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // Assert
+        assertEquals(160_000, codes.size());
+    }
+
+    @Test
+    public void testTransaction_GetsCodeFromConfiguredGenerator() {
+        // Arrange
+        ApprovalCodeGenerator previous = ApprovalCodes.getGenerator();
+        Set<UUID> issued = new HashSet<>();
+        ApprovalCodes.setGenerator(() -> {
+            UUID code = new UUID(0L, issued.size());
+            issued.add(code);
+            return code;
+        });
+
+        try {
+            // Act
+            DepositTransaction transaction = new DepositTransaction(10.0);
+            DepositTransaction loaded = new DepositTransaction();
+
+            // Assert
+            assertEquals(new UUID(0L, 0L).toString(), transaction.getApprovalCode());
+            assertNull(loaded.getApprovalCode());
+            assertEquals(1, issued.size());
+        } finally {
+            ApprovalCodes.setGenerator(previous);
+        }
+    }
+}
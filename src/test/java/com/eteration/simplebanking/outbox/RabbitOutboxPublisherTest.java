@@ -0,0 +1,71 @@
+package com.eteration.simplebanking.outbox;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.eteration.simplebanking.config.RabbitMQConfig;
+import com.eteration.simplebanking.model.OutboxEvent;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+public class RabbitOutboxPublisherTest {
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final RabbitOperations channel = mock(RabbitOperations.class);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPublish_SendsBatchInOrderThenWaitsForConfirmsOnce() {
+        // Arrange
+        when(rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class)))
+            .thenAnswer(invocation -> ((RabbitOperations.OperationsCallback<Object>) invocation.getArgument(0)).doInRabbit(channel));
+        OutboxEvent credited = event(1L, OutboxEvent.TYPE_ACCOUNT_CREDITED);
+        OutboxEvent paid = event(2L, OutboxEvent.TYPE_BILL_PAID);
+
+        // Act
+        new RabbitOutboxPublisher(rabbitTemplate, 5000).publish(Arrays.asList(credited, paid));
+
+        // Assert
+        ArgumentCaptor<Message> messages = ArgumentCaptor.forClass(Message.class);
+        InOrder order = inOrder(channel);
+        order.verify(channel).send(eq(RabbitMQConfig.EVENTS_EXCHANGE_NAME), eq(OutboxEvent.TYPE_ACCOUNT_CREDITED), messages.capture());
+        order.verify(channel).send(eq(RabbitMQConfig.EVENTS_EXCHANGE_NAME), eq(OutboxEvent.TYPE_BILL_PAID), messages.capture());
+        order.verify(channel).waitForConfirmsOrDie(5000);
+        List<Message> sent = messages.getAllValues();
+        assertEquals("1", sent.get(0).getMessageProperties().getMessageId());
+        assertEquals("2", sent.get(1).getMessageProperties().getMessageId());
+        assertEquals("application/json", sent.get(0).getMessageProperties().getContentType());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPublish_WhenBrokerNacks_Throws() {
+        // Arrange
+        when(rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class)))
+            .thenAnswer(invocation -> ((RabbitOperations.OperationsCallback<Object>) invocation.getArgument(0)).doInRabbit(channel));
+        doThrow(new AmqpException("nack")).when(channel).waitForConfirmsOrDie(anyLong());
+
+        // Act & Assert
+        assertThrows(AmqpException.class,
+            () -> new RabbitOutboxPublisher(rabbitTemplate, 5000).publish(Arrays.asList(event(1L, OutboxEvent.TYPE_ACCOUNT_DEBITED))));
+    }
+
+    private static OutboxEvent event(long id, String type) {
+        OutboxEvent event = new OutboxEvent(type, "669-7788", UUID.randomUUID().toString(), "{}");
+        ReflectionTestUtils.setField(event, "id", id);
+        return event;
+    }
+}
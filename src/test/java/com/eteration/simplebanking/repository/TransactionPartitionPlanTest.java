@@ -0,0 +1,243 @@
+package com.eteration.simplebanking.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * V11 bölümlendirmesinden sonra geçmiş sorgularının yalnızca tarih aralığına düşen aylık bölümleri
+ * taradığını (partition pruning) gerçek bir PostgreSQL üzerinde EXPLAIN ile doğrular; V15 ile onay kodlarının
+ * tablo genelinde benzersiz kaldığını da kontrol eder. H2 bölümlendirmeyi
+ * desteklemediğinden test yalnızca PARTITION_TEST_DATABASE_URL tanımlıysa çalışır; veriler geçici bir şemada tutulur.
+ */
+@EnabledIfEnvironmentVariable(named = "PARTITION_TEST_DATABASE_URL", matches = ".+")
+public class TransactionPartitionPlanTest {
+    private static final String SCHEMA = "partition_plan_test";
+    private static final String MIGRATION = "/db/migration/V11__partition_transaction_by_month.sql";
+    private static final String APPROVAL_CODE_MIGRATION = "/db/migration/V15__add_transaction_approval_code_registry.sql";
+    private static final int MONTHS_OF_HISTORY = 12;
+    private static final Pattern PARTITION = Pattern.compile("transaction_\\d{4}_\\d{2}");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    // TransactionRepository sorgularından Hibernate'in ürettiği SQL'in biçimi
+    private static final String STATEMENT_SQL =
+        "select * from transaction t where t.account_id=? and t.date>=? and t.date<? order by t.date, t.id";
+    private static final String PAGE_BEFORE_SQL =
+        "select * from transaction t where t.account_id=? and (t.date<? or t.date=? and t.id<?) " +
+        "order by t.date desc, t.id desc limit ?";
+
+    private static Connection connection;
+    private static final LocalDate CURRENT_MONTH = LocalDate.now().withDayOfMonth(1);
+
+    @BeforeAll
+    public static void migrate() throws SQLException, IOException {
+        connection = DriverManager.getConnection(System.getenv("PARTITION_TEST_DATABASE_URL"),
+            env("PARTITION_TEST_DATABASE_USERNAME", "postgres"), env("PARTITION_TEST_DATABASE_PASSWORD", "postgres"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            statement.execute("CREATE SCHEMA " + SCHEMA);
+            statement.execute("SET search_path TO " + SCHEMA);
+            // V10 sonrasındaki şema: Hibernate'in oluşturduğu tablolar ve V3/V9 indeksleri
+            statement.execute("CREATE TABLE account (id BIGSERIAL PRIMARY KEY, owner VARCHAR(255), " +
+                "account_number VARCHAR(255), balance BIGINT, create_date TIMESTAMP, " +
+                "last_transaction_approval_code VARCHAR(255), version BIGINT NOT NULL)");
+            statement.execute("CREATE TABLE transaction (type VARCHAR(31) NOT NULL, id BIGINT PRIMARY KEY, " +
+                "date TIMESTAMP, amount BIGINT, approval_code UUID, payee VARCHAR(255), phone_number VARCHAR(255), " +
+                "counterparty_account_number VARCHAR(255), incoming BOOLEAN, account_id BIGINT REFERENCES account (id))");
+            statement.execute("CREATE INDEX idx_transaction_account_date_id ON transaction (account_id, date, id)");
+            statement.execute("CREATE UNIQUE INDEX uk_transaction_approval_code ON transaction (approval_code)");
+            statement.execute("INSERT INTO account (owner, account_number, balance, create_date, version) " +
+                "VALUES ('Kerem Karaca', '669-7788', 0, now(), 0)");
+        }
+        // Geçmiş 12 ayın her gününe birer işlem
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO transaction " +
+            "(type, id, date, amount, approval_code, account_id) VALUES ('DepositTransaction', ?, ?, 1000, ?, 1)")) {
+            long id = 1;
+            for (LocalDate day = CURRENT_MONTH.minusMonths(MONTHS_OF_HISTORY); day.isBefore(CURRENT_MONTH); day = day.plusDays(1)) {
+                insert.setLong(1, id++);
+                insert.setTimestamp(2, Timestamp.valueOf(day.atTime(12, 0)));
+                insert.setObject(3, UUID.randomUUID());
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(readMigration(MIGRATION));
+            statement.execute(readMigration(APPROVAL_CODE_MIGRATION));
+            statement.execute("ANALYZE transaction");
+        }
+    }
+
+    @AfterAll
+    public static void dropSchema() throws SQLException {
+        if (connection == null) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void testMigration_CopiesRowsIntoMonthlyPartitions() throws SQLException {
+        // Act
+        long rows = queryLong("SELECT count(*) FROM transaction");
+        long partitions = queryLong("SELECT count(*) FROM pg_inherits WHERE inhparent = 'transaction'::regclass");
+        long unrouted = queryLong("SELECT count(*) FROM ONLY transaction");
+
+        // Assert: geçmiş 12 ay + içinde bulunulan ay + 3 ay ilerisi
+        assertEquals(CURRENT_MONTH.toEpochDay() - CURRENT_MONTH.minusMonths(MONTHS_OF_HISTORY).toEpochDay(), rows);
+        assertEquals(MONTHS_OF_HISTORY + 1 + 3, partitions);
+        assertEquals(0, unrouted);
+    }
+
+    @Test
+    public void testStatementRange_ScansOnlyMonthsInRange() throws SQLException {
+        // Arrange
+        LocalDate from = CURRENT_MONTH.minusMonths(3);
+        LocalDate to = CURRENT_MONTH.minusMonths(1);
+
+        // Act
+        Set<String> scanned = explain(STATEMENT_SQL, 1L, Timestamp.valueOf(from.atStartOfDay()),
+            Timestamp.valueOf(to.atStartOfDay()));
+
+        // Assert
+        assertEquals(partitions(from, to), scanned);
+    }
+
+    @Test
+    public void testPageBefore_SkipsMonthsAfterCursor() throws SQLException {
+        // Arrange: imleç 6 ay önceki ayın ortasında
+        LocalDate cursorMonth = CURRENT_MONTH.minusMonths(6);
+        Timestamp cursor = Timestamp.valueOf(cursorMonth.plusDays(14).atTime(12, 0));
+
+        // Act
+        Set<String> scanned = explain(PAGE_BEFORE_SQL, 1L, cursor, cursor, Long.MAX_VALUE, 20);
+
+        // Assert: imleçten sonraki aylar (yeni aylar ve önden oluşturulan bölümler) taranmaz
+        assertEquals(partitions(CURRENT_MONTH.minusMonths(MONTHS_OF_HISTORY), cursorMonth.plusMonths(1)), scanned);
+    }
+
+    @Test
+    public void testCreateTransactionPartitions_AddsFutureMonthsOnce() throws SQLException {
+        // Act
+        long created = queryLong("SELECT create_transaction_partitions(current_date, 6)");
+        long createdAgain = queryLong("SELECT create_transaction_partitions(current_date, 6)");
+
+        // Assert
+        assertEquals(3, created);
+        assertEquals(0, createdAgain);
+        assertEquals(1, queryLong("SELECT count(*) FROM pg_class WHERE relname = 'transaction_" +
+            CURRENT_MONTH.plusMonths(6).format(PARTITION_SUFFIX) + "'"));
+        try (Statement statement = connection.createStatement()) {
+            for (String partition : partitions(CURRENT_MONTH.plusMonths(4), CURRENT_MONTH.plusMonths(7))) {
+                statement.execute("DROP TABLE " + partition);
+            }
+        }
+    }
+
+    @Test
+    public void testApprovalCode_IsUniqueAcrossPartitions() throws SQLException {
+        // Arrange: göç öncesi bir işlemin onay kodu, başka bir aydaki yeni işlemde yeniden kullanılır
+        UUID existing;
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT approval_code FROM transaction ORDER BY id LIMIT 1")) {
+            result.next();
+            existing = (UUID) result.getObject(1);
+        }
+        UUID fresh = UUID.randomUUID();
+
+        // Act
+        SQLException duplicate = assertThrows(SQLException.class,
+            () -> insert(1_000_000L, Timestamp.valueOf(CURRENT_MONTH.atTime(12, 0)), existing));
+        insert(1_000_001L, Timestamp.valueOf(CURRENT_MONTH.atTime(12, 0)), fresh);
+        SQLException repeated = assertThrows(SQLException.class,
+            () -> insert(1_000_002L, Timestamp.valueOf(CURRENT_MONTH.plusMonths(1).atTime(12, 0)), fresh));
+
+        // Assert
+        assertEquals("23505", duplicate.getSQLState());
+        assertEquals("23505", repeated.getSQLState());
+        assertEquals(queryLong("SELECT count(*) FROM transaction"),
+            queryLong("SELECT count(*) FROM transaction_approval_code"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM transaction WHERE id = 1000001");
+        }
+    }
+
+    private static void insert(long id, Timestamp date, UUID approvalCode) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO transaction " +
+            "(type, id, date, amount, approval_code, account_id) VALUES ('DepositTransaction', ?, ?, 1000, ?, 1)")) {
+            insert.setLong(1, id);
+            insert.setTimestamp(2, date);
+            insert.setObject(3, approvalCode);
+            insert.executeUpdate();
+        }
+    }
+
+    private static Set<String> explain(String sql, Object... parameters) throws SQLException {
+        Set<String> scanned = new TreeSet<>();
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                explain.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet plan = explain.executeQuery()) {
+                while (plan.next()) {
+                    Matcher matcher = PARTITION.matcher(plan.getString(1));
+                    while (matcher.find()) {
+                        scanned.add(matcher.group());
+                    }
+                }
+            }
+        }
+        return scanned;
+    }
+
+    private static Set<String> partitions(LocalDate fromMonth, LocalDate toMonthExclusive) {
+        Set<String> names = new TreeSet<>();
+        for (LocalDate month = fromMonth; month.isBefore(toMonthExclusive); month = month.plusMonths(1)) {
+            names.add("transaction_" + month.format(PARTITION_SUFFIX));
+        }
+        return names;
+    }
+
+    private static long queryLong(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    private static String readMigration(String migration) throws IOException {
+        try (InputStream in = TransactionPartitionPlanTest.class.getResourceAsStream(migration)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null ? value : defaultValue;
+    }
+}
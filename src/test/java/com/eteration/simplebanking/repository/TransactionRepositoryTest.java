@@ -0,0 +1,105 @@
+package com.eteration.simplebanking.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eteration.simplebanking.model.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import javax.persistence.PersistenceException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false"
+})
+public class TransactionRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    public void testKeysetPagination_VisitsEveryTransactionOnceInOrder() {
+        // Arrange: aynı tarihe sahip işlemler id ile ayrışmalı
+        Account account = new Account("Kerem Karaca", "669-7788");
+        Account other = new Account("Demet Demircan", "669-7789");
+        entityManager.persist(account);
+        entityManager.persist(other);
+        Date sameInstant = new Date();
+        for (int i = 0; i < 7; i++) {
+            persistDeposit(account, i < 4 ? sameInstant : new Date(sameInstant.getTime() - i * 1000L));
+            persistDeposit(other, sameInstant);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<Transaction> visited = new ArrayList<>();
+        List<Transaction> page = transactionRepository.findLatest(account.getId(), PageRequest.of(0, 3));
+        while (!page.isEmpty()) {
+            visited.addAll(page);
+            Transaction last = page.get(page.size() - 1);
+            page = transactionRepository.findPageBefore(account.getId(), last.getDate(), last.getId(), PageRequest.of(0, 3));
+        }
+
+        // Assert
+        assertEquals(7, visited.size());
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < visited.size(); i++) {
+            Transaction current = visited.get(i);
+            assertTrue(ids.add(current.getId()));
+            assertEquals(account.getId(), current.getAccount().getId());
+            if (i > 0) {
+                Transaction previous = visited.get(i - 1);
+                int byDate = previous.getDate().compareTo(current.getDate());
+                assertTrue(byDate > 0 || (byDate == 0 && previous.getId() > current.getId()));
+            }
+        }
+    }
+
+    @Test
+    public void testFindByApprovalCode_UsesUniqueUuidColumn() {
+        // Arrange
+        Account account = new Account("Kerem Karaca", "669-7788");
+        entityManager.persist(account);
+        persistDeposit(account, new Date());
+        DepositTransaction target = persistDeposit(account, new Date());
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        Transaction found = transactionRepository.findByApprovalCode(UUID.fromString(target.getApprovalCode())).orElse(null);
+
+        // Assert
+        assertNotNull(found);
+        assertEquals(target.getId(), found.getId());
+        assertEquals("669-7788", found.getAccount().getAccountNumber());
+        assertFalse(transactionRepository.findByApprovalCode(UUID.randomUUID()).isPresent());
+
+        DepositTransaction duplicate = new DepositTransaction(10.0);
+        duplicate.setAccount(entityManager.find(Account.class, account.getId()));
+        duplicate.setApprovalCode(target.getApprovalCode());
+        // Benzersiz anahtar bölüm anahtarını da içerir (approval_code, date); tekrar oynatılan kayıt tarihini korur
+        duplicate.setDate(target.getDate());
+        assertThrows(PersistenceException.class, () -> entityManager.persistAndFlush(duplicate));
+    }
+
+    private DepositTransaction persistDeposit(Account account, Date date) {
+        DepositTransaction transaction = new DepositTransaction(10.0);
+        transaction.setAccount(account);
+        transaction.setDate(date);
+        entityManager.persist(transaction);
+        return transaction;
+    }
+}
@@ -0,0 +1,111 @@
+package com.eteration.simplebanking.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eteration.simplebanking.concurrency.LockMode;
+import com.eteration.simplebanking.concurrency.RetryExecutor;
+import com.eteration.simplebanking.dto.ApiResponse;
+import com.eteration.simplebanking.model.Account;
+import com.eteration.simplebanking.model.Money;
+import com.eteration.simplebanking.repository.AccountRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Tek bir hesaba eşzamanlı yazmalarda güncelleme kaybolmadığını her kilit modu için doğrular
+ * ve mod başına throughput ile çakışma oranını raporlar.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false",
+    "app.concurrency.hot-accounts=300-PESSIMISTIC",
+    "app.concurrency.retry.max-attempts=50",
+    "app.concurrency.retry.max-backoff=20ms"
+})
+@Import(ServiceTestConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AccountConcurrencyStressTest {
+    private static final Logger logger = LoggerFactory.getLogger(AccountConcurrencyStressTest.class);
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 25;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private RetryExecutor retryExecutor;
+
+    @ParameterizedTest
+    @EnumSource(LockMode.class)
+    public void testConcurrentCredits_NoLostUpdates(LockMode mode) throws Exception {
+        // Arrange
+        String accountNumber = "300-" + mode.name();
+        accountRepository.save(new Account("Stress Owner", accountNumber));
+        long conflictsBefore = retryExecutor.getConflictCount();
+        long exhaustedBefore = retryExecutor.getBudgetExhaustedCount();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < THREADS; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                int succeeded = 0;
+                for (int j = 0; j < OPERATIONS_PER_THREAD; j++) {
+                    ApiResponse<String> response = accountService.credit(accountNumber, Money.of(1.0));
+                    if (response.getSuccess()) {
+                        succeeded++;
+                    }
+                }
+                return succeeded;
+            }));
+        }
+        long startNanos = System.nanoTime();
+        start.countDown();
+        int succeeded = 0;
+        for (Future<Integer> result : results) {
+            succeeded += result.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        pool.shutdown();
+
+        // Assert
+        int operations = THREADS * OPERATIONS_PER_THREAD;
+        long conflicts = retryExecutor.getConflictCount() - conflictsBefore;
+        long budgetExhausted = retryExecutor.getBudgetExhaustedCount() - exhaustedBefore;
+        logger.info(String.format("mode=%s operations=%d succeeded=%d conflicts=%d conflictRate=%.2f budgetExhausted=%d throughput=%.0f ops/s",
+            mode, operations, succeeded, conflicts, (double) conflicts / operations, budgetExhausted,
+            operations / (elapsedNanos / 1_000_000_000.0)));
+
+        Account account = accountRepository.findByAccountNumber(accountNumber);
+        assertEquals(Money.of(succeeded), account.getBalance());
+        assertEquals(succeeded, account.getVersion());
+        if (mode == LockMode.PESSIMISTIC) {
+            assertEquals(operations, succeeded);
+            assertEquals(0, conflicts);
+        } else {
+            // Tek hesapta yoğun çakışmada yeniden deneme bütçesi biter; başka bir hata beklenmez
+            assertTrue(succeeded > 0);
+            assertEquals(operations, succeeded + budgetExhausted);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.eteration.simplebanking.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eteration.simplebanking.config.HibernateCacheConfig;
+import com.eteration.simplebanking.model.*;
+import com.eteration.simplebanking.repository.AccountRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Hesap numarası ile yapılan yüklemelerin ikinci seviye önbellekten çözüldüğünü, yazmaların önbelleği
+ * güncel tuttuğunu doğrular ve tipik bir istek karışımında kazanılan veritabanı gidiş-dönüşlerini raporlar.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.show-sql=false"
+})
+@Import({HibernateCacheConfig.class, ServiceTestConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AccountNaturalIdCacheTest {
+    private static final Logger logger = LoggerFactory.getLogger(AccountNaturalIdCacheTest.class);
+
+    private static final String[] ACCOUNTS = {"300-0001", "300-0002", "300-0003", "300-0004"};
+    // Hesap başına: özet, yatırma, çekme, geçmiş sayfası
+    private static final int REQUESTS_PER_ACCOUNT = 4;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    public void testRequestMix_WarmCacheSkipsAccountLookups() {
+        // Arrange
+        for (String accountNumber : ACCOUNTS) {
+            accountRepository.save(new Account("Cache Owner", accountNumber));
+            accountService.credit(accountNumber, Money.of(100.0));
+        }
+
+        // Act
+        long cold = runMix(true);
+        // Önbelleksiz turda her istek bölgeleri boşalttığından önce bir ısınma turu çalıştırılır
+        runMix(false);
+        long warm = runMix(false);
+        long naturalIdHits = statistics.getNaturalIdCacheHitCount();
+
+        // Assert
+        int requests = ACCOUNTS.length * REQUESTS_PER_ACCOUNT;
+        logger.info(String.format("request mix (%d requests): statements cold=%d warm=%d saved=%.2f per request",
+            requests, cold, warm, (cold - warm) / (double) requests));
+        assertEquals(requests, naturalIdHits);
+        // Her istekte hesap numarasıyla yapılan tek yükleme sorgusu kalkar
+        assertEquals(requests, cold - warm);
+    }
+
+    @Test
+    public void testWrites_KeepCachedAccountCoherent() throws InsufficientBalanceException {
+        // Arrange
+        accountRepository.save(new Account("Cache Owner", "300-0010"));
+        accountService.credit("300-0010", Money.of(100.0));
+        assertEquals(Money.of(100.0), accountRepository.findByAccountNumber("300-0010").getBalance());
+
+        // Act
+        accountService.debit("300-0010", Money.of(30.0));
+        statistics.clear();
+        Account cached = accountRepository.findByAccountNumber("300-0010");
+
+        // Assert: yazma sonrası okuma önbellekten gelir ve güncel bakiyeyi görür
+        assertEquals(Money.of(70.0), cached.getBalance());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertNull(accountRepository.findByAccountNumber("300-9999"));
+    }
+
+    /**
+     * İstek karışımını çalıştırır ve çalıştırılan SQL ifadesi sayısını döner
+     * @param evict true ise her istekten önce ikinci seviye önbellek boşaltılır (önbelleksiz durum)
+     */
+    private long runMix(boolean evict) {
+        statistics.clear();
+        for (String accountNumber : ACCOUNTS) {
+            for (int request = 0; request < REQUESTS_PER_ACCOUNT; request++) {
+                if (evict) {
+                    sessionFactory.getCache().evictAllRegions();
+                }
+                switch (request) {
+                    case 0:
+                        assertTrue(accountService.findAccountSummary(accountNumber, 5).getSuccess());
+                        break;
+                    case 1:
+                        assertTrue(accountService.credit(accountNumber, Money.of(10.0)).getSuccess());
+                        break;
+                    case 2:
+                        assertTrue(assertDoesNotThrow(() -> accountService.debit(accountNumber, Money.of(5.0))).getSuccess());
+                        break;
+                    default:
+                        assertTrue(accountService.findTransactions(accountNumber, null, 10).getSuccess());
+                }
+            }
+        }
+        return statistics.getPrepareStatementCount();
+    }
+}
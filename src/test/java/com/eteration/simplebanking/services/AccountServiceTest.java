@@ -2,20 +2,48 @@ package com.eteration.simplebanking.services;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import com.eteration.simplebanking.cache.AccountSnapshotCache;
+import com.eteration.simplebanking.concurrency.AccountLockPolicy;
+import com.eteration.simplebanking.concurrency.LockMode;
+import com.eteration.simplebanking.concurrency.RetryExecutor;
+import com.eteration.simplebanking.datasource.ReadYourWrites;
 import com.eteration.simplebanking.dto.AccountDTO;
+import com.eteration.simplebanking.dto.AccountSummaryDTO;
+import com.eteration.simplebanking.dto.BatchItemDTO;
+import com.eteration.simplebanking.dto.BatchItemResultDTO;
 import com.eteration.simplebanking.dto.ApiResponse;
+import com.eteration.simplebanking.dto.TransactionCursor;
+import com.eteration.simplebanking.dto.TransactionDetailDTO;
+import com.eteration.simplebanking.dto.TransactionPageDTO;
+import com.eteration.simplebanking.metrics.BankingMetrics;
 import com.eteration.simplebanking.model.*;
 import com.eteration.simplebanking.repository.AccountRepository;
 import com.eteration.simplebanking.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import javax.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
 
 public class AccountServiceTest {
 
@@ -28,16 +56,67 @@ public class AccountServiceTest {
     @Mock
     private LogService logService;
 
+    @Spy
+    private AccountSnapshotCache accountCache = new AccountSnapshotCache(100, Duration.ofMinutes(1));
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private BankingMetrics metrics = new BankingMetrics(meterRegistry);
+
+    @Spy
+    private RetryExecutor retryExecutor = new RetryExecutor(3, Duration.ZERO, Duration.ZERO, 0.2, 10);
+
+    @Spy
+    private AccountLockPolicy lockPolicy = new AccountLockPolicy(LockMode.OPTIMISTIC, new String[] {"999-0001"});
+
+    @Mock
+    private GroupCommitService groupCommit;
+
+    @Mock
+    private JournaledPostingService journal;
+
+    @Mock
+    private LedgerPostingService ledger;
+
+    @Mock
+    private BalanceStripingService striping;
+
+    @Mock
+    private OutboxService outbox;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private AccountService accountService;
 
     @BeforeEach
     public void setup() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(accountService, "transactionOperations", TransactionOperations.withoutTransaction());
         doNothing().when(logService).logInfo(anyString(), anyString(), anyString());
         doNothing().when(logService).logError(anyString(), anyString(), anyString(), any(Exception.class));
     }
 
+    @Test
+    public void testFindAccountSummary_CachedSnapshotIsLoadedFromPrimary() {
+        // Arrange
+        List<Boolean> pinnedDuringLoad = new ArrayList<>();
+        when(accountRepository.findByAccountNumber("669-7788")).thenAnswer(invocation -> {
+            pinnedDuringLoad.add(ReadYourWrites.isPinnedToPrimary());
+            return new Account("Kerem Karaca", "669-7788");
+        });
+
+        // Act
+        ApiResponse<AccountSummaryDTO> response = accountService.findAccountSummary("669-7788", 5);
+
+        // Assert
+        assertTrue(response.getSuccess());
+        assertEquals(List.of(true), pinnedDuringLoad);
+        assertFalse(ReadYourWrites.isPinnedToPrimary());
+    }
+
     @Test
     public void testFindAccount_Success() throws InsufficientBalanceException {
         // Arrange
@@ -55,13 +134,60 @@ public class AccountServiceTest {
         assertNotNull(response.getObject());
         assertEquals("669-7788", response.getObject().getAccountNumber());
         assertEquals("Kerem Karaca", response.getObject().getOwner());
-        assertEquals(1000.0, response.getObject().getBalance());
+        assertEquals(Money.of(1000.0), response.getObject().getBalance());
         
         // Verify logging
         verify(logService).logInfo(contains("Account found: 669-7788"), 
             eq(accountService.getClass().getSimpleName()), eq("findAccount"));
     }
 
+    @Test
+    public void testFindAccount_ServedFromCacheUntilInvalidatedByWrite() {
+        // Arrange
+        Account account = new Account("Kerem Karaca", "669-7788");
+        when(accountRepository.findByAccountNumber("669-7788")).thenReturn(account);
+        when(accountRepository.save(any(Account.class))).thenReturn(account);
+
+        // Act
+        accountService.findAccount("669-7788");
+        accountService.findAccount("669-7788");
+        accountService.credit("669-7788", Money.of(250.0));
+        ApiResponse<AccountDTO> afterCredit = accountService.findAccount("669-7788");
+
+        // Assert
+        assertEquals(Money.of(250.0), afterCredit.getObject().getBalance());
+        // 2 okuma + 1 yazma öncesi yükleme + invalidate sonrası 1 okuma
+        verify(accountRepository, times(3)).findByAccountNumber("669-7788");
+        verify(accountCache).invalidate("669-7788");
+        assertEquals(1, accountCache.getStats().getHitCount());
+    }
+
+    @Test
+    public void testFindAccount_ReadsHistoryInKeysetPagesOutsideTheCache() {
+        // Arrange
+        Account account = new Account("Kerem Karaca", "669-7788");
+        List<Transaction> firstPage = new ArrayList<>();
+        for (long id = AccountService.HISTORY_PAGE_SIZE + 1; id > 1; id--) {
+            firstPage.add(transactionWithId(id));
+        }
+        when(accountRepository.findByAccountNumber("669-7788")).thenReturn(account);
+        when(transactionRepository.findLatest(any(), any(Pageable.class))).thenReturn(firstPage);
+        when(transactionRepository.findPageBefore(any(), any(Date.class), anyLong(), any(Pageable.class)))
+            .thenReturn(Arrays.asList(transactionWithId(1L)));
+
+        // Act
+        ApiResponse<AccountDTO> first = accountService.findAccount("669-7788");
+        ApiResponse<AccountDTO> second = accountService.findAccount("669-7788");
+
+        // Assert: hesap bir kez yüklenir, geçmiş her istekte sayfalarla okunur ve context'ten ayrılır
+        assertEquals(AccountService.HISTORY_PAGE_SIZE + 1, first.getObject().getTransactions().size());
+        assertEquals(AccountService.HISTORY_PAGE_SIZE + 1, second.getObject().getTransactions().size());
+        verify(accountRepository, times(1)).findByAccountNumber("669-7788");
+        verify(transactionRepository, times(2)).findPageBefore(any(), any(Date.class), eq(2L),
+            eq(PageRequest.of(0, AccountService.HISTORY_PAGE_SIZE)));
+        verify(entityManager, times(2 * (AccountService.HISTORY_PAGE_SIZE + 1))).detach(any(Transaction.class));
+    }
+
     @Test
     public void testFindAccount_NotFound() {
         // Arrange
@@ -99,12 +225,125 @@ public class AccountServiceTest {
             eq(accountService.getClass().getSimpleName()), eq("findAccount"), any(RuntimeException.class));
     }
 
+    @Test
+    public void testFindAccountSummary_Success() {
+        // Arrange
+        Account account = new Account("Kerem Karaca", "669-7788");
+        account.setBalance(Money.of(1000.0));
+        List<Transaction> latest = Arrays.asList(new DepositTransaction(600.0), new DepositTransaction(400.0));
+        when(accountRepository.findByAccountNumber("669-7788")).thenReturn(account);
+        when(transactionRepository.findLatest(any(), any(Pageable.class))).thenReturn(latest);
+
+        // Act
+        ApiResponse<AccountSummaryDTO> response = accountService.findAccountSummary("669-7788", 2);
+
+        // Assert
+        assertTrue(response.getSuccess());
+        assertEquals(Money.of(1000.0), response.getObject().getBalance());
+        assertEquals(2, response.getObject().getLastTransactions().size());
+        verify(transactionRepository).findLatest(any(), eq(PageRequest.of(0, 2)));
+    }
+
+    @Test
+    public void testFindTransactions_ReturnsNextCursorWhenMoreRowsExist() {
+        // Arrange
+        Account account = new Account("Kerem Karaca", "669-7788");
+        List<Transaction> rows = Arrays.asList(transactionWithId(3L), transactionWithId(2L), transactionWithId(1L));
+        when(accountRepository.findByAccountNumber("669-7788")).thenReturn(account);
+        when(transactionRepository.findLatest(any(), any(Pageable.class))).thenReturn(rows);
+
+        // Act
+        ApiResponse<TransactionPageDTO> response = accountService.findTransactions("669-7788", null, 2);
+
+        // Assert
+        assertTrue(response.getSuccess());
+        assertEquals(2, response.getObject().getTransactions().size());
+        assertNotNull(response.getObject().getNextCursor());
+        assertEquals(2L, TransactionCursor.decode(response.getObject().getNextCursor()).getId());
+    }
+
+    @Test
+    public void testFindTransactions_UsesCursorForNextPage() {
+        // Arrange
+        Account account = new Account("Kerem Karaca", "669-7788");
+        Date date = new Date();
+        String cursor = new TransactionCursor(date, 2L).encode();
+        when(accountRepository.findByAccountNumber("669-7788")).thenReturn(account);
+        when(transactionRepository.findPageBefore(any(), any(Date.class), anyLong(), any(Pageable.class)))
+            .thenReturn(Arrays.asList(transactionWithId(1L)));
+
+        // Act
+        ApiResponse<TransactionPageDTO> response = accountService.findTransactions("669-7788", cursor, 2);
+
+        // Assert
+        assertTrue(response.getSuccess());
+        assertEquals(1, response.getObject().getTransactions().size());
+        assertNull(response.getObject().getNextCursor());
+        verify(transactionRepository).findPageBefore(any(), eq(date), eq(2L), any(Pageable.class));
+    }
+
+    @Test
+    public void testFindTransactions_InvalidCursor() {
+        // Arrange
+        when(accountRepository.findByAccountNumber("669-7788")).thenReturn(new Account("Kerem Karaca", "669-7788"));
+
+        // Act
+        ApiResponse<TransactionPageDTO> response = accountService.findTransactions("669-7788", "not-a-cursor", 2);
+
+        // Assert
+        assertFalse(response.getSuccess());
+        assertEquals("Invalid cursor", response.getMessage());
+        verify(transactionRepository, never()).findPageBefore(any(), any(), any(), any());
+    }
+
+    @Test
+    public void testFindTransaction_ByApprovalCode() {
+        // Arrange
+        Account account = new Account("Kerem Karaca", "669-7788");
+        Transaction transaction = new DepositTransaction(10.0);
+        transaction.setAccount(account);
+        UUID code = UUID.fromString(transaction.getApprovalCode());
+        when(transactionRepository.findByApprovalCode(code)).thenReturn(Optional.of(transaction));
+
+        // Act
+        ApiResponse<TransactionDetailDTO> response = accountService.findTransaction(code.toString());
+
+        // Assert
+        assertTrue(response.getSuccess());
+        assertEquals("669-7788", response.getObject().getAccountNumber());
+        assertEquals(code.toString(), response.getObject().getApprovalCode());
+        assertEquals("DepositTransaction", response.getObject().getType());
+        assertEquals(Money.of(10.0), response.getObject().getAmount());
+    }
+
+    @Test
+    public void testFindTransaction_InvalidAndUnknownCodes() {
+        // Arrange
+        UUID unknown = UUID.randomUUID();
+        when(transactionRepository.findByApprovalCode(unknown)).thenReturn(Optional.empty());
+
+        // Act
+        ApiResponse<TransactionDetailDTO> invalid = accountService.findTransaction("not-a-uuid");
+        ApiResponse<TransactionDetailDTO> notFound = accountService.findTransaction(unknown.toString());
+
+        // Assert
+        assertEquals("Invalid approval code", invalid.getMessage());
+        assertEquals("Transaction not found", notFound.getMessage());
+        verify(transactionRepository).findByApprovalCode(any());
+    }
+
+    private static Transaction transactionWithId(Long id) {
+        Transaction transaction = new DepositTransaction(10.0);
+        ReflectionTestUtils.setField(transaction, "id", id);
+        return transaction;
+    }
+
     @Test
     public void testCredit_Success() {
         // Arrange
         String accountNumber = "17892";
         Account account = new Account("Test Owner", accountNumber);
-        double amount = 500.0;
+        Money amount = Money.of(500.0);
         
         when(accountRepository.findByAccountNumber(accountNumber)).thenReturn(account);
         when(accountRepository.save(any(Account.class))).thenReturn(account);
@@ -121,12 +360,13 @@ public class AccountServiceTest {
         assertTrue(response.getSuccess());
         assertEquals("Credit successful", response.getMessage());
         assertNotNull(response.getObject()); // approvalCode
-        assertEquals(500.0, account.getBalance(), 0.001);
+        assertEquals(Money.of(500.0), account.getBalance());
         
         // Verify
         verify(accountRepository).findByAccountNumber(accountNumber);
         verify(accountRepository).save(account);
         verify(transactionRepository).save(any(DepositTransaction.class));
+        verify(outbox).record(anyCollection());
         verify(logService).logInfo(anyString(), anyString(), anyString());
     }
 
@@ -136,7 +376,7 @@ public class AccountServiceTest {
         when(accountRepository.findByAccountNumber("non-existent")).thenReturn(null);
 
         // Act
-        ApiResponse<String> response = accountService.credit("non-existent", 1000.0);
+        ApiResponse<String> response = accountService.credit("non-existent", Money.of(1000.0));
 
         // Assert
         assertFalse(response.getSuccess());
@@ -155,7 +395,7 @@ public class AccountServiceTest {
         when(accountRepository.findByAccountNumber("669-7788")).thenReturn(account);
 
         // Act
-        ApiResponse<String> response = accountService.credit("669-7788", -100.0);
+        ApiResponse<String> response = accountService.credit("669-7788", Money.of(-100.0));
 
         // Assert
         assertFalse(response.getSuccess());
@@ -176,7 +416,7 @@ public class AccountServiceTest {
             .thenThrow(new RuntimeException("Database error"));
 
         // Act
-        ApiResponse<String> response = accountService.credit("669-7788", 1000.0);
+        ApiResponse<String> response = accountService.credit("669-7788", Money.of(1000.0));
 
         // Assert
         assertFalse(response.getSuccess());
@@ -193,8 +433,8 @@ public class AccountServiceTest {
         // Arrange
         String accountNumber = "17892";
         Account account = new Account("Test Owner", accountNumber);
-        account.credit(1000.0); // Initial balance
-        double amount = 500.0;
+        account.credit(Money.of(1000.0)); // Initial balance
+        Money amount = Money.of(500.0);
         
         when(accountRepository.findByAccountNumber(accountNumber)).thenReturn(account);
         when(accountRepository.save(any(Account.class))).thenReturn(account);
@@ -211,7 +451,7 @@ public class AccountServiceTest {
         assertTrue(response.getSuccess());
         assertEquals("Debit successful", response.getMessage());
         assertNotNull(response.getObject()); // approvalCode
-        assertEquals(500.0, account.getBalance(), 0.001);
+        assertEquals(Money.of(500.0), account.getBalance());
         
         // Verify
         verify(accountRepository).findByAccountNumber(accountNumber);
@@ -228,7 +468,7 @@ public class AccountServiceTest {
 
         // Act & Assert
         InsufficientBalanceException exception = assertThrows(InsufficientBalanceException.class, () -> {
-            accountService.debit("669-7788", 500.0);
+            accountService.debit("669-7788", Money.of(500.0));
         });
         
         // Verify error logging
@@ -236,13 +476,84 @@ public class AccountServiceTest {
             eq(accountService.getClass().getSimpleName()), eq("debit"), eq(exception));
     }
 
+    @Test
+    public void testCredit_RetriesOnOptimisticLockConflict() {
+        // Arrange
+        Account account = new Account("Test Owner", "17892");
+        when(accountRepository.findByAccountNumber("17892")).thenReturn(account);
+        when(accountRepository.save(any(Account.class)))
+            .thenThrow(new ObjectOptimisticLockingFailureException(Account.class, 1L))
+            .thenReturn(account);
+
+        // Act
+        ApiResponse<String> response = accountService.credit("17892", Money.of(50.0));
+
+        // Assert
+        assertTrue(response.getSuccess());
+        assertEquals(1, retryExecutor.getRetryCount());
+        verify(accountRepository, times(2)).findByAccountNumber("17892");
+        verify(transactionRepository, times(1)).save(any(DepositTransaction.class));
+    }
+
+    @Test
+    public void testCredit_HotAccountUsesPessimisticLock() {
+        // Arrange
+        Account account = new Account("Hot Owner", "999-0001");
+        when(accountRepository.findByAccountNumberForUpdate("999-0001")).thenReturn(account);
+
+        // Act
+        ApiResponse<String> response = accountService.credit("999-0001", Money.of(50.0));
+
+        // Assert
+        assertTrue(response.getSuccess());
+        verify(accountRepository).findByAccountNumberForUpdate("999-0001");
+        verify(accountRepository, never()).findByAccountNumber("999-0001");
+    }
+
+    @Test
+    public void testDebit_GroupCommitMapsItemResults() {
+        // Arrange
+        when(groupCommit.isEnabled()).thenReturn(true);
+        when(groupCommit.post(any(BatchItemDTO.class)))
+            .thenReturn(BatchItemResultDTO.ok(0, null, "grouped-code"))
+            .thenReturn(BatchItemResultDTO.error(0, null, BatchItemResultDTO.ERROR_ACCOUNT_NOT_FOUND, "Account not found"))
+            .thenReturn(BatchItemResultDTO.error(0, null, BatchItemResultDTO.ERROR_INSUFFICIENT_BALANCE,
+                "Insufficient balance for withdrawal!"));
+
+        // Act & Assert
+        assertEquals("grouped-code", assertDoesNotThrow(() -> accountService.debit("669-7788", Money.of(10.0))).getObject());
+        assertEquals("Account not found", assertDoesNotThrow(() -> accountService.debit("669-7788", Money.of(10.0))).getMessage());
+        assertThrows(InsufficientBalanceException.class, () -> accountService.debit("669-7788", Money.of(10.0)));
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+    }
+
+    @Test
+    public void testDebit_RecordsOperationOutcome() throws InsufficientBalanceException {
+        // Arrange
+        Account account = new Account("Kerem Karaca", "669-7788");
+        account.post(new DepositTransaction(1000.0));
+        when(accountRepository.findByAccountNumber("669-7788")).thenReturn(account);
+
+        // Act
+        accountService.debit("669-7788", Money.of(100.0));
+        assertThrows(InsufficientBalanceException.class, () -> accountService.debit("669-7788", Money.of(5000.0)));
+
+        // Assert
+        assertEquals(1, meterRegistry.get(BankingMetrics.OPERATION_TIMER)
+            .tags("operation", "debit", "outcome", "OK").timer().count());
+        assertEquals(1, meterRegistry.get(BankingMetrics.OPERATION_TIMER)
+            .tags("operation", "debit", "outcome", "INSUFFICIENT_BALANCE").timer().count());
+        assertEquals(100.0, meterRegistry.get(BankingMetrics.AMOUNT_COUNTER)
+            .tag("type", "WithdrawalTransaction").counter().count());
+    }
+
     @Test
     public void testDebit_AccountNotFound() throws InsufficientBalanceException {
         // Arrange
         when(accountRepository.findByAccountNumber("non-existent")).thenReturn(null);
 
         // Act
-        ApiResponse<String> response = accountService.debit("non-existent", 500.0);
+        ApiResponse<String> response = accountService.debit("non-existent", Money.of(500.0));
 
         // Assert
         assertFalse(response.getSuccess());
@@ -261,7 +572,7 @@ public class AccountServiceTest {
         when(accountRepository.findByAccountNumber("669-7788")).thenReturn(account);
 
         // Act
-        ApiResponse<String> response = accountService.debit("669-7788", -100.0);
+        ApiResponse<String> response = accountService.debit("669-7788", Money.of(-100.0));
 
         // Assert
         assertFalse(response.getSuccess());
@@ -283,7 +594,7 @@ public class AccountServiceTest {
             .thenThrow(new RuntimeException("Database error"));
 
         // Act
-        ApiResponse<String> response = accountService.debit("669-7788", 500.0);
+        ApiResponse<String> response = accountService.debit("669-7788", Money.of(500.0));
 
         // Assert
         assertFalse(response.getSuccess());
@@ -300,10 +611,10 @@ public class AccountServiceTest {
         // Arrange
         String accountNumber = "17892";
         Account account = new Account("Test Owner", accountNumber);
-        account.credit(1000.0); // Initial balance
+        account.credit(Money.of(1000.0)); // Initial balance
         String payee = "Vodafone";
         String phoneNumber = "5423345566";
-        double amount = 96.50;
+        Money amount = Money.of(96.50);
         
         when(accountRepository.findByAccountNumber(accountNumber)).thenReturn(account);
         when(accountRepository.save(any(Account.class))).thenReturn(account);
@@ -320,7 +631,7 @@ public class AccountServiceTest {
         assertTrue(response.getSuccess());
         assertEquals("Bill payment successful", response.getMessage());
         assertNotNull(response.getObject()); // approvalCode
-        assertEquals(903.50, account.getBalance(), 0.001);
+        assertEquals(Money.of(903.50), account.getBalance());
         
         // Verify
         verify(accountRepository).findByAccountNumber(accountNumber);
@@ -337,7 +648,7 @@ public class AccountServiceTest {
 
         // Act & Assert
         InsufficientBalanceException exception = assertThrows(InsufficientBalanceException.class, () -> {
-            accountService.payPhoneBill("669-7788", "Vodafone", "5423345566", 96.50);
+            accountService.payPhoneBill("669-7788", "Vodafone", "5423345566", Money.of(96.50));
         });
         
         // Verify error logging
@@ -351,7 +662,7 @@ public class AccountServiceTest {
         when(accountRepository.findByAccountNumber("non-existent")).thenReturn(null);
 
         // Act
-        ApiResponse<String> response = accountService.payPhoneBill("non-existent", "Vodafone", "5423345566", 96.50);
+        ApiResponse<String> response = accountService.payPhoneBill("non-existent", "Vodafone", "5423345566", Money.of(96.50));
 
         // Assert
         assertFalse(response.getSuccess());
@@ -370,7 +681,7 @@ public class AccountServiceTest {
         when(accountRepository.findByAccountNumber("669-7788")).thenReturn(account);
 
         // Act
-        ApiResponse<String> response = accountService.payPhoneBill("669-7788", "Vodafone", "5423345566", -100.0);
+        ApiResponse<String> response = accountService.payPhoneBill("669-7788", "Vodafone", "5423345566", Money.of(-100.0));
 
         // Assert
         assertFalse(response.getSuccess());
@@ -392,7 +703,7 @@ public class AccountServiceTest {
             .thenThrow(new RuntimeException("Database error"));
 
         // Act
-        ApiResponse<String> response = accountService.payPhoneBill("669-7788", "Vodafone", "5423345566", 96.50);
+        ApiResponse<String> response = accountService.payPhoneBill("669-7788", "Vodafone", "5423345566", Money.of(96.50));
 
         // Assert
         assertFalse(response.getSuccess());
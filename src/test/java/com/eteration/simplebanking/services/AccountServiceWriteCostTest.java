@@ -0,0 +1,89 @@
+package com.eteration.simplebanking.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eteration.simplebanking.dto.ApiResponse;
+import com.eteration.simplebanking.model.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Yazma yolunun hesap geçmişini yüklemediğini SQL ifadesi sayarak doğrular.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.show-sql=false"
+})
+@Import(ServiceTestConfiguration.class)
+public class AccountServiceWriteCostTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AccountService accountService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    public void testCredit_StatementCountIndependentOfHistorySize() {
+        long smallHistory = measureCredit("100-0001", 5);
+        long largeHistory = measureCredit("100-0002", 500);
+
+        assertEquals(smallHistory, largeHistory);
+    }
+
+    @Test
+    public void testDebitAndBillPayment_DoNotLoadTransactionCollection() throws InsufficientBalanceException {
+        createAccountWithHistory("100-0003", 200);
+
+        statistics.clear();
+        ApiResponse<String> debit = accountService.debit("100-0003", Money.of(10.0));
+        ApiResponse<String> bill = accountService.payPhoneBill("100-0003", "Vodafone", "5423345566", Money.of(20.0));
+        entityManager.flush();
+
+        assertTrue(debit.getSuccess());
+        assertTrue(bill.getSuccess());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+    }
+
+    private long measureCredit(String accountNumber, int historySize) {
+        createAccountWithHistory(accountNumber, historySize);
+
+        statistics.clear();
+        ApiResponse<String> response = accountService.credit(accountNumber, Money.of(100.0));
+        entityManager.flush();
+
+        assertTrue(response.getSuccess());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createAccountWithHistory(String accountNumber, int historySize) {
+        Account account = new Account("Test Owner", accountNumber);
+        entityManager.persist(account);
+        for (int i = 0; i < historySize; i++) {
+            DepositTransaction transaction = new DepositTransaction(10.0);
+            transaction.setAccount(account);
+            account.credit(transaction.getAmount());
+            entityManager.persist(transaction);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
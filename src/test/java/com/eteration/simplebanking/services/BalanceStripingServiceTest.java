@@ -0,0 +1,147 @@
+package com.eteration.simplebanking.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eteration.simplebanking.model.Account;
+import com.eteration.simplebanking.model.BalanceSlot;
+import com.eteration.simplebanking.model.InsufficientBalanceException;
+import com.eteration.simplebanking.model.Money;
+import com.eteration.simplebanking.model.WithdrawalTransaction;
+import com.eteration.simplebanking.repository.AccountRepository;
+import com.eteration.simplebanking.repository.BalanceSlotRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Şeritli hesaplarda yatırmaların hesabın satırına dokunmadan dilimlere eklendiğini,
+ * çekimlerin gerektiğinde dilimleri topladığını ve okumaların toplam bakiyeyi döndüğünü doğrular.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false",
+    "app.striping.accounts=950-0001,950-0002,950-0003",
+    "app.striping.slots=4"
+})
+@Import(ServiceTestConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class BalanceStripingServiceTest {
+
+    private static final int CLIENTS = 8;
+    private static final int OPERATIONS_PER_CLIENT = 25;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BalanceSlotRepository slotRepository;
+
+    @Autowired
+    private BalanceStripingService stripingService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void testConcurrentCredits_LandOnSlotsWithoutTouchingAccountRow() throws Exception {
+        // Arrange
+        Account account = accountRepository.save(new Account("Merchant", "950-0001"));
+        ExecutorService pool = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < CLIENTS; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                int succeeded = 0;
+                for (int j = 0; j < OPERATIONS_PER_CLIENT; j++) {
+                    if (accountService.credit("950-0001", Money.of(1.0)).getSuccess()) {
+                        succeeded++;
+                    }
+                }
+                return succeeded;
+            }));
+        }
+        start.countDown();
+        int succeeded = 0;
+        for (Future<Integer> result : results) {
+            succeeded += result.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // Assert
+        int operations = CLIENTS * OPERATIONS_PER_CLIENT;
+        Account stored = accountRepository.findByAccountNumber("950-0001");
+        assertEquals(operations, succeeded);
+        assertEquals(Money.ZERO, stored.getBalance());
+        assertEquals(account.getVersion(), stored.getVersion());
+        assertEquals(4, slotRepository.findByAccountId(stored.getId()).size());
+        assertEquals(Money.of(operations), stripingService.totalBalance(stored));
+        assertEquals(Money.of(operations), accountService.findAccountSummary("950-0001", 5).getObject().getBalance());
+    }
+
+    @Test
+    public void testDebit_ConsolidatesSlotsOnlyWhenAccountBalanceIsShort() throws Exception {
+        // Arrange
+        accountRepository.save(new Account("Collections", "950-0002"));
+        accountService.credit("950-0002", Money.of(100.0));
+        long consolidationsBefore = stripingService.getConsolidationCount();
+
+        // Act
+        assertTrue(accountService.debit("950-0002", Money.of(40.0)).getSuccess());
+        accountService.credit("950-0002", Money.of(10.0));
+        assertTrue(accountService.debit("950-0002", Money.of(60.0)).getSuccess());
+
+        // Assert
+        Account stored = accountRepository.findByAccountNumber("950-0002");
+        assertEquals(1, stripingService.getConsolidationCount() - consolidationsBefore);
+        assertEquals(Money.ZERO, stored.getBalance());
+        assertEquals(Money.of(10.0), Money.ofMinor(slotRepository.sumBalance(stored.getId())));
+        assertEquals(Money.of(10.0), accountService.findAccountSummary("950-0002", 5).getObject().getBalance());
+        assertThrows(InsufficientBalanceException.class, () -> accountService.debit("950-0002", Money.of(10.5)));
+        assertTrue(slotRepository.findByAccountId(stored.getId()).stream()
+            .map(BalanceSlot::getBalance).anyMatch(Money::isPositive));
+    }
+
+    @Test
+    public void testDebit_StaleAccountIsRefreshedAfterAnotherTransactionConsolidated() {
+        // Arrange
+        accountRepository.save(new Account("Collections", "950-0003"));
+        accountService.credit("950-0003", Money.of(50.0));
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // Act
+        outer.executeWithoutResult(status -> {
+            Account stale = accountRepository.findByAccountNumber("950-0003");
+            // Bu işlem hesabı okuduktan sonra başka bir işlem dilimleri hesaba toplayıp commit eder
+            concurrent.executeWithoutResult(inner ->
+                assertTrue(stripingService.consolidate(accountRepository.findByAccountNumber("950-0003"))));
+            assertEquals(Money.ZERO, stale.getBalance());
+            assertDoesNotThrow(() -> stripingService.applyToAccount(stale, new WithdrawalTransaction(Money.of(30.0))));
+        });
+
+        // Assert
+        Account stored = accountRepository.findByAccountNumber("950-0003");
+        assertEquals(Money.of(20.0), stored.getBalance());
+        assertEquals(0L, slotRepository.sumBalance(stored.getId()));
+    }
+}
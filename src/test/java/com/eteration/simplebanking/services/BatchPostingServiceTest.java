@@ -0,0 +1,122 @@
+package com.eteration.simplebanking.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eteration.simplebanking.dto.ApiResponse;
+import com.eteration.simplebanking.dto.BatchItemDTO;
+import com.eteration.simplebanking.dto.BatchItemResultDTO;
+import com.eteration.simplebanking.dto.BatchOperationType;
+import com.eteration.simplebanking.dto.BatchPostingResultDTO;
+import com.eteration.simplebanking.model.Account;
+import com.eteration.simplebanking.model.Money;
+import com.eteration.simplebanking.repository.AccountRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+    "spring.jpa.properties.hibernate.order_inserts=true",
+    "spring.jpa.show-sql=false",
+    "app.batch.chunk-size=200"
+})
+@Import(ServiceTestConfiguration.class)
+public class BatchPostingServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BatchPostingService batchPostingService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        entityManager.persist(new Account("Payroll", "500-0001"));
+        entityManager.persist(new Account("Employee", "500-0002"));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void testPost_PerItemFailuresDoNotAbortChunk() {
+        // Arrange
+        BatchItemDTO bill = new BatchItemDTO(BatchOperationType.BILL_PAYMENT, "500-0001", Money.of(30.0));
+        bill.setPayee("Vodafone");
+        bill.setPhoneNumber("5423345566");
+        List<BatchItemDTO> items = Arrays.asList(
+            new BatchItemDTO(BatchOperationType.CREDIT, "500-0001", Money.of(100.0)),
+            new BatchItemDTO(BatchOperationType.DEBIT, "500-0001", Money.of(500.0)),
+            new BatchItemDTO(BatchOperationType.CREDIT, "999-9999", Money.of(10.0)),
+            new BatchItemDTO(BatchOperationType.DEBIT, "500-0001", Money.of(-5.0)),
+            bill,
+            new BatchItemDTO(BatchOperationType.DEBIT, "500-0001", Money.of(20.0)));
+
+        // Act
+        ApiResponse<BatchPostingResultDTO> response = batchPostingService.post(items);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        assertTrue(response.getSuccess());
+        List<BatchItemResultDTO> results = response.getObject().getResults();
+        assertEquals(6, results.size());
+        assertEquals(3, response.getObject().getSucceeded());
+        assertEquals(BatchItemResultDTO.STATUS_OK, results.get(0).getStatus());
+        assertNotNull(results.get(0).getApprovalCode());
+        assertEquals("Insufficient balance for withdrawal!", results.get(1).getMessage());
+        assertEquals("Account not found", results.get(2).getMessage());
+        assertEquals("Amount must be greater than zero", results.get(3).getMessage());
+        assertEquals(BatchItemResultDTO.STATUS_OK, results.get(4).getStatus());
+        assertEquals(BatchItemResultDTO.STATUS_OK, results.get(5).getStatus());
+        assertEquals(5, results.get(5).getIndex());
+        assertEquals(Money.of(50.0), accountRepository.findByAccountNumber("500-0001").getBalance());
+    }
+
+    @Test
+    public void testPost_InsertsAreBatched() {
+        // Arrange
+        List<BatchItemDTO> items = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String accountNumber = i % 2 == 0 ? "500-0001" : "500-0002";
+            items.add(new BatchItemDTO(BatchOperationType.CREDIT, accountNumber, Money.of(1.0)));
+        }
+
+        // Act
+        statistics.clear();
+        ApiResponse<BatchPostingResultDTO> response = batchPostingService.post(items);
+        entityManager.flush();
+
+        // Assert
+        assertTrue(response.getSuccess());
+        assertEquals(1000, response.getObject().getSucceeded());
+        assertEquals(1000, statistics.getEntityInsertCount());
+        // 5 parça: hesap sorgusu + sequence çağrıları + 50'lik insert batch'leri; kalem başına bir ifade değil
+        assertTrue(statistics.getPrepareStatementCount() < 100,
+            "prepared statements: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testPost_RejectsEmptyBatch() {
+        // Act & Assert
+        assertFalse(batchPostingService.post(new ArrayList<>()).getSuccess());
+        assertFalse(batchPostingService.post(null).getSuccess());
+    }
+}
@@ -0,0 +1,97 @@
+package com.eteration.simplebanking.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eteration.simplebanking.dto.ApiResponse;
+import com.eteration.simplebanking.model.Account;
+import com.eteration.simplebanking.model.InsufficientBalanceException;
+import com.eteration.simplebanking.model.Money;
+import com.eteration.simplebanking.repository.AccountRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Grup commit açıkken eşzamanlı tekil isteklerin ortak veritabanı işlemlerinde uygulandığını doğrular.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false",
+    "app.group-commit.enabled=true",
+    "app.group-commit.max-wait=5ms",
+    "app.group-commit.max-batch=64"
+})
+@Import(ServiceTestConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class GroupCommitServiceTest {
+
+    private static final int CLIENTS = 16;
+    private static final int OPERATIONS_PER_CLIENT = 20;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private GroupCommitService groupCommitService;
+
+    @Test
+    public void testConcurrentCredits_AreCommittedInGroups() throws Exception {
+        // Arrange
+        accountRepository.save(new Account("Group Owner", "400-0001"));
+        long commitsBefore = groupCommitService.getCommitCount();
+        ExecutorService pool = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < CLIENTS; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                int succeeded = 0;
+                for (int j = 0; j < OPERATIONS_PER_CLIENT; j++) {
+                    ApiResponse<String> response = accountService.credit("400-0001", Money.of(1.0));
+                    if (response.getSuccess() && response.getObject() != null) {
+                        succeeded++;
+                    }
+                }
+                return succeeded;
+            }));
+        }
+        start.countDown();
+        int succeeded = 0;
+        for (Future<Integer> result : results) {
+            succeeded += result.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // Assert
+        int operations = CLIENTS * OPERATIONS_PER_CLIENT;
+        assertEquals(operations, succeeded);
+        assertEquals(Money.of(operations), accountRepository.findByAccountNumber("400-0001").getBalance());
+        assertTrue(groupCommitService.getCommitCount() - commitsBefore < operations);
+    }
+
+    @Test
+    public void testDebit_ItemErrorsAreReportedPerCaller() {
+        // Arrange
+        accountRepository.save(new Account("Group Owner", "400-0002"));
+
+        // Act & Assert
+        assertThrows(InsufficientBalanceException.class, () -> accountService.debit("400-0002", Money.of(10.0)));
+        assertEquals("Account not found",
+            assertDoesNotThrow(() -> accountService.debit("400-9999", Money.of(10.0))).getMessage());
+    }
+}
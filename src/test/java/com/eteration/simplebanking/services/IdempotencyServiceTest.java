@@ -0,0 +1,116 @@
+package com.eteration.simplebanking.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eteration.simplebanking.idempotency.IdempotentResult;
+import com.eteration.simplebanking.model.InsufficientBalanceException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Idempotency anahtarıyla tekrarlanan isteklerin yeniden çalıştırılmadığını; bellekteki depo
+ * boşaltıldığında sonucun veritabanından döndüğünü doğrular.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false"
+})
+@Import({IdempotencyService.class, LogService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class IdempotencyServiceTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Test
+    public void testExecute_RepeatedKeyReplaysResultWithoutRunningAgain() throws InsufficientBalanceException {
+        // Arrange
+        AtomicInteger runs = new AtomicInteger();
+        IdempotencyService.IdempotentAction action = () ->
+            new IdempotentResult(200, "OK", "code-" + runs.incrementAndGet(), null);
+
+        // Act
+        IdempotentResult first = idempotencyService.execute("svc-key-1", "credit|100", action);
+        IdempotentResult second = idempotencyService.execute("svc-key-1", "credit|100", action);
+        idempotencyService.getStore().clear();
+        IdempotentResult fromDatabase = idempotencyService.execute("svc-key-1", "credit|100", action);
+
+        // Assert
+        assertEquals(1, runs.get());
+        assertEquals("code-1", first.getApprovalCode());
+        assertEquals("code-1", second.getApprovalCode());
+        assertEquals("code-1", fromDatabase.getApprovalCode());
+        assertEquals(200, fromDatabase.getHttpStatus());
+    }
+
+    @Test
+    public void testExecute_InsufficientBalanceIsReplayed() {
+        // Arrange
+        AtomicInteger runs = new AtomicInteger();
+        IdempotencyService.IdempotentAction action = () -> {
+            runs.incrementAndGet();
+            throw new InsufficientBalanceException("Insufficient balance for withdrawal!");
+        };
+
+        // Act & Assert
+        assertThrows(InsufficientBalanceException.class, () -> idempotencyService.execute("svc-key-2", "debit|100", action));
+        idempotencyService.getStore().clear();
+        InsufficientBalanceException replayed = assertThrows(InsufficientBalanceException.class,
+            () -> idempotencyService.execute("svc-key-2", "debit|100", action));
+        assertEquals("Insufficient balance for withdrawal!", replayed.getMessage());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void testExecute_KeyReusedWithDifferentRequestIsRejected() throws InsufficientBalanceException {
+        // Arrange
+        idempotencyService.execute("svc-key-3", "credit|100", () -> new IdempotentResult(200, "OK", "code", null));
+
+        // Act
+        IdempotentResult inMemory = idempotencyService.execute("svc-key-3", "credit|200",
+            () -> fail("must not run"));
+        idempotencyService.getStore().clear();
+        IdempotentResult fromDatabase = idempotencyService.execute("svc-key-3", "credit|200",
+            () -> fail("must not run"));
+
+        IdempotentResult original = idempotencyService.execute("svc-key-3", "credit|100",
+            () -> fail("must not run"));
+
+        // Assert
+        assertEquals(422, inMemory.getHttpStatus());
+        assertEquals(IdempotentResult.STATUS_KEY_REUSED, fromDatabase.getStatus());
+        assertEquals("code", original.getApprovalCode());
+        assertThrows(IllegalArgumentException.class, () -> idempotencyService.execute("x".repeat(129), "credit|1",
+            () -> fail("must not run")));
+    }
+
+    @Test
+    public void testExecute_FailedRequestReleasesKeyForRetry() throws InsufficientBalanceException {
+        // Arrange
+        AtomicInteger runs = new AtomicInteger();
+        IdempotencyService.IdempotentAction failing = () -> {
+            runs.incrementAndGet();
+            throw new IllegalStateException("Ledger shard timed out");
+        };
+        IdempotencyService.IdempotentAction succeeding = () ->
+            new IdempotentResult(200, "OK", "code-" + runs.incrementAndGet(), null);
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> idempotencyService.execute("svc-key-4", "credit|100", failing));
+        // Başka bir örneğin tekrarı: bellekte kayıt yok, veritabanındaki talep silinmiş olmalı
+        idempotencyService.getStore().clear();
+        IdempotentResult retried = idempotencyService.execute("svc-key-4", "credit|100", succeeding);
+        IdempotentResult replayed = idempotencyService.execute("svc-key-4", "credit|100", succeeding);
+
+        // Assert
+        assertEquals(200, retried.getHttpStatus());
+        assertEquals("code-2", retried.getApprovalCode());
+        assertEquals("code-2", replayed.getApprovalCode());
+        assertEquals(2, runs.get());
+    }
+}
@@ -0,0 +1,200 @@
+package com.eteration.simplebanking.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eteration.simplebanking.dto.ApiResponse;
+import com.eteration.simplebanking.dto.BatchItemDTO;
+import com.eteration.simplebanking.dto.BatchOperationType;
+import com.eteration.simplebanking.dto.BatchPostingResultDTO;
+import com.eteration.simplebanking.journal.JournalEntry;
+import com.eteration.simplebanking.journal.TransactionJournal;
+import com.eteration.simplebanking.model.Account;
+import com.eteration.simplebanking.model.InsufficientBalanceException;
+import com.eteration.simplebanking.model.JournalDeadLetter;
+import com.eteration.simplebanking.model.Money;
+import com.eteration.simplebanking.repository.AccountRepository;
+import com.eteration.simplebanking.repository.JournalDeadLetterRepository;
+import com.eteration.simplebanking.repository.TransactionRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Journal modunda işlemlerin arka planda veritabanına uygulandığını ve yeniden oynatmanın
+ * aynı kaydı iki kez yazmadığını doğrular.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false",
+    "app.durability.mode=journal",
+    "app.journal.directory=${java.io.tmpdir}/simplebanking-journal-${random.uuid}",
+    "app.journal.segment-size=65536"
+})
+@Import(ServiceTestConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class JournaledPostingServiceTest {
+
+    private static final String REPLAY_CODE_1 = "6f1c2a4e-0001-4b1a-9c3d-000000000001";
+    private static final String REPLAY_CODE_2 = "6f1c2a4e-0002-4b1a-9c3d-000000000002";
+    private static final String DEAD_CODE_1 = "6f1c2a4e-0003-4b1a-9c3d-000000000003";
+    private static final String DEAD_CODE_2 = "6f1c2a4e-0004-4b1a-9c3d-000000000004";
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JournaledPostingService journaledPostingService;
+
+    @Autowired
+    private JournalDeadLetterRepository deadLetterRepository;
+
+    @Autowired
+    private BatchPostingService batchPostingService;
+
+    @Autowired
+    private PendingPostingService pendingPostingService;
+
+    @Test
+    public void testCreditAndDebit_AreAppliedToDatabaseInBackground() throws Exception {
+        // Arrange
+        accountRepository.save(new Account("Journal Owner", "700-0001"));
+
+        // Act
+        ApiResponse<String> credit = accountService.credit("700-0001", Money.of(100.0));
+        ApiResponse<String> debit = accountService.debit("700-0001", Money.of(30.0));
+        awaitApplied();
+
+        // Assert
+        assertTrue(journaledPostingService.isEnabled());
+        assertTrue(credit.getSuccess());
+        assertTrue(debit.getSuccess());
+        assertEquals(Money.of(70.0), accountRepository.findByAccountNumber("700-0001").getBalance());
+        assertEquals(2, transactionRepository.findExistingApprovalCodes(
+            List.of(UUID.fromString(credit.getObject()), UUID.fromString(debit.getObject()))).size());
+    }
+
+    @Test
+    public void testDebit_InsufficientBalanceIsRejectedBeforeJournaling() {
+        // Arrange
+        accountRepository.save(new Account("Journal Owner", "700-0002"));
+
+        // Act & Assert
+        assertThrows(InsufficientBalanceException.class, () -> accountService.debit("700-0002", Money.of(10.0)));
+        assertEquals("Account not found",
+            assertDoesNotThrow(() -> accountService.credit("700-9999", Money.of(10.0))).getMessage());
+        assertEquals(0, journaledPostingService.getPendingCount());
+    }
+
+    @Test
+    public void testBatchAndAsyncBillPayment_AreRejectedInJournalMode() {
+        // Arrange
+        accountRepository.save(new Account("Journal Owner", "700-0004"));
+
+        // Act
+        ApiResponse<BatchPostingResultDTO> batch = batchPostingService.post(
+            List.of(new BatchItemDTO(BatchOperationType.CREDIT, "700-0004", Money.of(10.0))));
+        ApiResponse<String> bill = pendingPostingService.acceptPhoneBill("700-0004", "Vodafone", "5423345566", Money.of(5.0));
+
+        // Assert
+        assertFalse(batch.getSuccess());
+        assertEquals("Batch postings are not available in ledger or journal mode", batch.getMessage());
+        assertFalse(bill.getSuccess());
+        assertEquals("Async bill payments are not available in ledger or journal mode", bill.getMessage());
+        assertEquals(Money.ZERO, accountRepository.findByAccountNumber("700-0004").getBalance());
+    }
+
+    @Test
+    public void testReplay_IsIdempotentByApprovalCode() {
+        // Arrange
+        accountRepository.save(new Account("Journal Owner", "700-0003"));
+        List<JournalEntry> entries = List.of(
+            new JournalEntry(1L, System.currentTimeMillis(), BatchOperationType.CREDIT, "700-0003", 500_000L,
+                REPLAY_CODE_1, null, null),
+            new JournalEntry(2L, System.currentTimeMillis(), BatchOperationType.BILL_PAYMENT, "700-0003", 200_000L,
+                REPLAY_CODE_2, "Vodafone", "5423345566"));
+
+        // Act
+        journaledPostingService.replay(entries);
+        journaledPostingService.replay(entries);
+
+        // Assert
+        assertEquals(Money.of(30.0), accountRepository.findByAccountNumber("700-0003").getBalance());
+        assertEquals(2, transactionRepository.findExistingApprovalCodes(
+            List.of(UUID.fromString(REPLAY_CODE_1), UUID.fromString(REPLAY_CODE_2))).size());
+    }
+
+    @Test
+    public void testReplay_UnappliableEntriesAreKeptAsDeadLetters() {
+        // Arrange
+        accountRepository.save(new Account("Journal Owner", "700-0005"));
+        List<JournalEntry> entries = List.of(
+            new JournalEntry(3L, System.currentTimeMillis(), BatchOperationType.DEBIT, "700-0005", 10_000L,
+                DEAD_CODE_1, null, null),
+            new JournalEntry(4L, System.currentTimeMillis(), BatchOperationType.CREDIT, "700-9998", 10_000L,
+                DEAD_CODE_2, null, null));
+        long before = journaledPostingService.getDeadLetterCount();
+
+        // Act
+        journaledPostingService.replay(entries);
+        journaledPostingService.replay(entries);
+
+        // Assert
+        JournalDeadLetter overdraft = deadLetterRepository.findById(UUID.fromString(DEAD_CODE_1)).orElseThrow();
+        assertEquals(3L, overdraft.getSequence());
+        assertEquals(BatchOperationType.DEBIT, overdraft.getType());
+        assertEquals(Money.of(1.0), overdraft.getAmount());
+        assertTrue(deadLetterRepository.findById(UUID.fromString(DEAD_CODE_2)).orElseThrow().getReason()
+            .contains("Account not found"));
+        assertEquals(2L, journaledPostingService.getDeadLetterCount() - before);
+        assertEquals(Money.ZERO, accountRepository.findByAccountNumber("700-0005").getBalance());
+    }
+
+    @Test
+    public void testApplier_DoesNotCheckpointPastSequenceNotYetQueued() throws Exception {
+        // Arrange
+        accountRepository.save(new Account("Journal Owner", "700-0006"));
+        TransactionJournal journal = (TransactionJournal) ReflectionTestUtils.getField(journaledPostingService, "journal");
+        // Sıra numarasını almış ama uygulama kuyruğuna henüz girmemiş bir post çağrısının durumu
+        JournalEntry late = journal.append(new JournalEntry(0L, System.currentTimeMillis(), BatchOperationType.CREDIT,
+            "700-0006", 100_000L, UUID.randomUUID().toString(), null, null));
+
+        // Act
+        ApiResponse<String> credit = accountService.credit("700-0006", Money.of(20.0));
+        int appliedWithGap = journaledPostingService.applyOnce();
+        long checkpointWithGap = journal.getCheckpoint();
+        @SuppressWarnings("unchecked")
+        Map<Long, JournalEntry> pending = (Map<Long, JournalEntry>) ReflectionTestUtils.getField(journaledPostingService, "pending");
+        pending.put(late.getSequence(), late);
+        LockSupport.unpark((Thread) ReflectionTestUtils.getField(journaledPostingService, "applier"));
+        awaitApplied();
+
+        // Assert
+        assertTrue(credit.getSuccess());
+        assertEquals(0, appliedWithGap);
+        assertTrue(checkpointWithGap < late.getSequence(), "checkpoint=" + checkpointWithGap);
+        assertEquals(late.getSequence() + 1, journal.getCheckpoint());
+        assertEquals(Money.of(30.0), accountRepository.findByAccountNumber("700-0006").getBalance());
+    }
+
+    private void awaitApplied() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (journaledPostingService.getPendingCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, journaledPostingService.getPendingCount());
+    }
+}
@@ -0,0 +1,142 @@
+package com.eteration.simplebanking.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eteration.simplebanking.dto.ApiResponse;
+import com.eteration.simplebanking.dto.BatchItemDTO;
+import com.eteration.simplebanking.dto.BatchOperationType;
+import com.eteration.simplebanking.dto.BatchPostingResultDTO;
+import com.eteration.simplebanking.dto.SweepItemDTO;
+import com.eteration.simplebanking.model.Account;
+import com.eteration.simplebanking.model.InsufficientBalanceException;
+import com.eteration.simplebanking.model.Money;
+import com.eteration.simplebanking.repository.AccountRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Defter motoru açıkken tekil işlemlerin shard'larda uygulandığını ve veritabanına
+ * arka planda yazıldığını doğrular.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false",
+    "app.ledger.enabled=true",
+    "app.ledger.shards=4"
+})
+@Import(ServiceTestConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class LedgerPostingServiceTest {
+
+    private static final int CLIENTS = 8;
+    private static final int OPERATIONS_PER_CLIENT = 50;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private LedgerPostingService ledgerPostingService;
+
+    @Autowired
+    private BatchPostingService batchPostingService;
+
+    @Autowired
+    private PendingPostingService pendingPostingService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Test
+    public void testConcurrentCredits_AreAppliedInMemoryAndPersisted() throws Exception {
+        // Arrange
+        accountRepository.save(new Account("Ledger Owner", "900-0001"));
+        ExecutorService pool = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < CLIENTS; i++) {
+            results.add(pool.submit(() -> {
+                int succeeded = 0;
+                for (int j = 0; j < OPERATIONS_PER_CLIENT; j++) {
+                    if (accountService.credit("900-0001", Money.of(1.0)).getSuccess()) {
+                        succeeded++;
+                    }
+                }
+                return succeeded;
+            }));
+        }
+        int succeeded = 0;
+        for (Future<Integer> result : results) {
+            succeeded += result.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        awaitPersisted();
+
+        // Assert
+        assertTrue(ledgerPostingService.isEnabled());
+        assertEquals(CLIENTS * OPERATIONS_PER_CLIENT, succeeded);
+        assertEquals(Money.of(CLIENTS * OPERATIONS_PER_CLIENT),
+            accountRepository.findByAccountNumber("900-0001").getBalance());
+    }
+
+    @Test
+    public void testDebit_UsesLedgerBalance() throws Exception {
+        // Arrange
+        accountRepository.save(new Account("Ledger Owner", "900-0002"));
+
+        // Act
+        ApiResponse<String> credit = accountService.credit("900-0002", Money.of(50.0));
+        ApiResponse<String> debit = accountService.debit("900-0002", Money.of(20.0));
+
+        // Assert
+        assertTrue(credit.getSuccess());
+        assertTrue(debit.getSuccess());
+        assertThrows(InsufficientBalanceException.class, () -> accountService.debit("900-0002", Money.of(30.5)));
+        assertEquals("Account not found",
+            assertDoesNotThrow(() -> accountService.credit("900-9999", Money.of(1.0))).getMessage());
+        awaitPersisted();
+        assertEquals(Money.of(30.0), accountRepository.findByAccountNumber("900-0002").getBalance());
+    }
+
+    @Test
+    public void testBatchPendingAndSweep_AreRejectedWhileLedgerIsEnabled() {
+        // Arrange
+        accountRepository.save(new Account("Ledger Owner", "900-0003"));
+        accountRepository.save(new Account("Ledger Owner", "900-0004"));
+
+        // Act
+        ApiResponse<BatchPostingResultDTO> batch = batchPostingService.post(
+            List.of(new BatchItemDTO(BatchOperationType.CREDIT, "900-0003", Money.of(10.0))));
+        ApiResponse<String> bill = pendingPostingService.acceptPhoneBill("900-0003", "Vodafone", "5423345566", Money.of(5.0));
+        ApiResponse<BatchPostingResultDTO> sweep = transferService.sweep("900-0004",
+            List.of(new SweepItemDTO("900-0003", Money.of(1.0))));
+
+        // Assert
+        assertEquals("Batch postings are not available in ledger or journal mode", batch.getMessage());
+        assertEquals("Async bill payments are not available in ledger or journal mode", bill.getMessage());
+        assertEquals("Transfers are not available in ledger or journal mode", sweep.getMessage());
+        assertFalse(batch.getSuccess() || bill.getSuccess() || sweep.getSuccess());
+        assertEquals(Money.ZERO, accountRepository.findByAccountNumber("900-0003").getBalance());
+    }
+
+    private void awaitPersisted() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (ledgerPostingService.getUnpersistedCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, ledgerPostingService.getUnpersistedCount());
+    }
+}
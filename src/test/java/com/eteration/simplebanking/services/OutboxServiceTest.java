@@ -0,0 +1,179 @@
+package com.eteration.simplebanking.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eteration.simplebanking.model.Account;
+import com.eteration.simplebanking.model.InsufficientBalanceException;
+import com.eteration.simplebanking.model.Money;
+import com.eteration.simplebanking.model.OutboxEvent;
+import com.eteration.simplebanking.outbox.InMemoryOutboxPublisher;
+import com.eteration.simplebanking.outbox.OutboxMessages;
+import com.eteration.simplebanking.repository.AccountRepository;
+import com.eteration.simplebanking.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Aktarıcı testte doğrudan relayOnce ile çalıştırılır (app.outbox.relay.enabled=false);
+ * RabbitMQ yerine bellek içi AMQP karşılığı kullanılır.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false",
+    "app.outbox.enabled=true",
+    "app.outbox.relay.enabled=false",
+    "app.outbox.batch-size=2"
+})
+@Import(ServiceTestConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class OutboxServiceTest {
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+
+    private InMemoryOutboxPublisher broker;
+
+    @BeforeEach
+    public void setup() {
+        // Önceki testlerin olayları yayınlanıp silinir; her test boş bir outbox ile başlar
+        broker = (InMemoryOutboxPublisher) outboxService.getPublisher();
+        broker.setAvailable(true);
+        while (outboxService.relayOnce() > 0) {
+            // boşalt
+        }
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    public void testPostings_WriteEventsAndRelayPublishesThemInOrder() throws InsufficientBalanceException {
+        // Arrange
+        accountRepository.save(new Account("Outbox Owner", "700-0001"));
+        String credit = accountService.credit("700-0001", Money.of(100.0)).getObject();
+        String debit = accountService.debit("700-0001", Money.of(30.0)).getObject();
+        String bill = accountService.payPhoneBill("700-0001", "Vodafone", "5423345566", Money.of(20.0)).getObject();
+        int sentBefore = broker.getRecentMessages().size();
+
+        // Act: parça boyutu 2 olduğundan üç olay iki parçada gönderilir
+        int first = outboxService.relayOnce();
+        int second = outboxService.relayOnce();
+        int third = outboxService.relayOnce();
+
+        // Assert
+        assertEquals(2, first);
+        assertEquals(1, second);
+        assertEquals(0, third);
+        List<Message> sent = broker.getRecentMessages();
+        sent = sent.subList(sentBefore, sent.size());
+        assertEquals(3, sent.size());
+        assertEquals(OutboxEvent.TYPE_ACCOUNT_CREDITED, sent.get(0).getMessageProperties().getType());
+        assertEquals(OutboxEvent.TYPE_ACCOUNT_DEBITED, sent.get(1).getMessageProperties().getType());
+        assertEquals(OutboxEvent.TYPE_BILL_PAID, sent.get(2).getMessageProperties().getType());
+        assertEquals(credit, sent.get(0).getMessageProperties().getHeaders().get(OutboxMessages.HEADER_APPROVAL_CODE));
+        assertEquals(debit, sent.get(1).getMessageProperties().getHeaders().get(OutboxMessages.HEADER_APPROVAL_CODE));
+        assertEquals(bill, sent.get(2).getMessageProperties().getHeaders().get(OutboxMessages.HEADER_APPROVAL_CODE));
+        String payload = new String(sent.get(2).getBody(), StandardCharsets.UTF_8);
+        assertTrue(payload.contains("\"payee\":\"Vodafone\""));
+        assertTrue(payload.contains("\"accountNumber\":\"700-0001\""));
+        outboxRepository.findAll().forEach(event -> assertNotNull(event.getPublishedDate()));
+        assertEquals(0.0, outboxService.getLagSeconds());
+    }
+
+    @Test
+    public void testRelay_PublishesAccountEventsInSequenceOrderNotIdOrder() {
+        // Arrange: havuzlanmış id'lerde sonra commit edilen olay daha küçük id alabilir
+        OutboxEvent second = outboxRepository.save(new OutboxEvent(OutboxEvent.TYPE_ACCOUNT_DEBITED, "700-0004", UUID.randomUUID().toString(), "{}", 2L));
+        OutboxEvent other = outboxRepository.save(new OutboxEvent(OutboxEvent.TYPE_ACCOUNT_CREDITED, "700-0005", UUID.randomUUID().toString(), "{}", 1L));
+        OutboxEvent first = outboxRepository.save(new OutboxEvent(OutboxEvent.TYPE_ACCOUNT_CREDITED, "700-0004", UUID.randomUUID().toString(), "{}", 1L));
+        assertTrue(second.getId() < first.getId());
+        int sentBefore = broker.getRecentMessages().size();
+
+        // Act: parça (2) ilk iki id'yi alır; hesabın 1 numaralı olayı parçaya eklenir
+        int relayed = outboxService.relayOnce();
+
+        // Assert
+        assertEquals(3, relayed);
+        List<Message> sent = broker.getRecentMessages();
+        sent = sent.subList(sentBefore, sent.size());
+        assertEquals(3, sent.size());
+        assertEquals(String.valueOf(first.getId()), sent.get(0).getMessageProperties().getMessageId());
+        assertEquals(String.valueOf(other.getId()), sent.get(1).getMessageProperties().getMessageId());
+        assertEquals(String.valueOf(second.getId()), sent.get(2).getMessageProperties().getMessageId());
+        assertEquals(1L, sent.get(0).getMessageProperties().getHeaders().get(OutboxMessages.HEADER_ACCOUNT_SEQUENCE));
+        assertEquals(2L, sent.get(2).getMessageProperties().getHeaders().get(OutboxMessages.HEADER_ACCOUNT_SEQUENCE));
+        outboxRepository.findAll().forEach(event -> assertNotNull(event.getPublishedDate()));
+    }
+
+    @Test
+    public void testPostings_TakeConsecutiveAccountSequences() throws InsufficientBalanceException {
+        // Arrange
+        accountRepository.save(new Account("Outbox Owner", "700-0006"));
+
+        // Act
+        accountService.credit("700-0006", Money.of(10.0));
+        accountService.debit("700-0006", Money.of(4.0));
+
+        // Assert
+        List<Long> sequences = new ArrayList<>();
+        outboxRepository.findAll().forEach(event -> sequences.add(event.getAccountSequence()));
+        sequences.sort(null);
+        assertEquals(List.of(1L, 2L), sequences);
+        assertEquals(2L, accountRepository.findByAccountNumber("700-0006").getEventSequence());
+    }
+
+    @Test
+    public void testRejectedPosting_WritesNoEvent() {
+        // Arrange
+        accountRepository.save(new Account("Outbox Owner", "700-0002"));
+
+        // Act
+        assertThrows(InsufficientBalanceException.class, () -> accountService.debit("700-0002", Money.of(10.0)));
+
+        // Assert
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    public void testBrokerOutage_KeepsEventsUntilRelayed() {
+        // Arrange
+        accountRepository.save(new Account("Outbox Owner", "700-0003"));
+        accountService.credit("700-0003", Money.of(5.0));
+        long failedBefore = outboxService.getFailedBatchCount();
+        long publishedBefore = outboxService.getPublishedCount();
+        broker.setAvailable(false);
+
+        // Act
+        int duringOutage = outboxService.relayOnce();
+        List<OutboxEvent> unpublished = new ArrayList<>(outboxRepository.findAll());
+        broker.setAvailable(true);
+        int afterOutage = outboxService.relayOnce();
+
+        // Assert
+        assertEquals(0, duringOutage);
+        assertEquals(failedBefore + 1, outboxService.getFailedBatchCount());
+        assertEquals(1, unpublished.size());
+        assertNull(unpublished.get(0).getPublishedDate());
+        assertEquals(1, afterOutage);
+        assertEquals(publishedBefore + 1, outboxService.getPublishedCount());
+        assertNotNull(outboxRepository.findAll().get(0).getPublishedDate());
+    }
+}
@@ -0,0 +1,118 @@
+package com.eteration.simplebanking.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class PartitionMaintenanceServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private LogService logService;
+
+    @InjectMocks
+    private PartitionMaintenanceService partitionMaintenanceService;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(partitionMaintenanceService, "monthsAhead", 3);
+        ReflectionTestUtils.setField(partitionMaintenanceService, "enabled", true);
+        ReflectionTestUtils.setField(partitionMaintenanceService, "interval", Duration.ofHours(6));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        partitionMaintenanceService.stop();
+    }
+
+    @Test
+    public void testCreatePartitions_CallsFunctionWithMonthsAhead() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(PartitionMaintenanceService.CREATE_PARTITIONS_SQL, Integer.class, 3)).thenReturn(2);
+
+        // Act
+        int created = partitionMaintenanceService.createPartitions();
+
+        // Assert
+        assertEquals(2, created);
+        verify(logService).logInfo(contains("created: 2"), anyString(), eq(PartitionMaintenanceService.OPERATION));
+    }
+
+    @Test
+    public void testCreatePartitions_FailureIsLoggedNotThrown() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(PartitionMaintenanceService.CREATE_PARTITIONS_SQL, Integer.class, 3))
+            .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        // Act
+        int created = partitionMaintenanceService.createPartitions();
+
+        // Assert
+        assertEquals(-1, created);
+        verify(logService).logError(eq("Transaction partitions not created"), anyString(),
+            eq(PartitionMaintenanceService.OPERATION), any(DataAccessResourceFailureException.class));
+    }
+
+    @Test
+    public void testStart_SkippedWhenTableIsNotPartitioned() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(PartitionMaintenanceService.IS_PARTITIONED_SQL, Long.class))
+            .thenThrow(new BadSqlGrammarException("isPartitioned", PartitionMaintenanceService.IS_PARTITIONED_SQL,
+                new SQLException("Table PG_PARTITIONED_TABLE not found")));
+
+        // Act
+        partitionMaintenanceService.start();
+
+        // Assert
+        verify(jdbcTemplate, never()).queryForObject(eq(PartitionMaintenanceService.CREATE_PARTITIONS_SQL), eq(Integer.class), any());
+    }
+
+    @Test
+    public void testStart_FailsWhenCurrentMonthPartitionIsMissing() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(PartitionMaintenanceService.IS_PARTITIONED_SQL, Long.class)).thenReturn(1L);
+        when(jdbcTemplate.queryForObject(PartitionMaintenanceService.CREATE_PARTITIONS_SQL, Integer.class, 3))
+            .thenThrow(new DataAccessResourceFailureException("permission denied"));
+        when(jdbcTemplate.queryForObject(eq(PartitionMaintenanceService.PARTITION_EXISTS_SQL), eq(Boolean.class), anyString()))
+            .thenReturn(false);
+
+        // Act
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> partitionMaintenanceService.start());
+
+        // Assert
+        assertTrue(exception.getMessage().contains("transaction_"));
+    }
+
+    @Test
+    public void testMissingPartitions_ChecksCurrentAndNextMonth() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(PartitionMaintenanceService.PARTITION_EXISTS_SQL, Boolean.class, "transaction_2026_12"))
+            .thenReturn(true);
+        when(jdbcTemplate.queryForObject(PartitionMaintenanceService.PARTITION_EXISTS_SQL, Boolean.class, "transaction_2027_01"))
+            .thenReturn(false);
+
+        // Act
+        List<String> missing = partitionMaintenanceService.missingPartitions(YearMonth.of(2026, 12));
+
+        // Assert
+        assertEquals(List.of("transaction_2027_01"), missing);
+    }
+}
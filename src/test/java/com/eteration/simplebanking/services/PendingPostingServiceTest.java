@@ -0,0 +1,169 @@
+package com.eteration.simplebanking.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eteration.simplebanking.dto.ApiResponse;
+import com.eteration.simplebanking.dto.BatchItemResultDTO;
+import com.eteration.simplebanking.dto.PendingTransactionDTO;
+import com.eteration.simplebanking.model.Account;
+import com.eteration.simplebanking.model.Money;
+import com.eteration.simplebanking.model.PendingTransaction;
+import com.eteration.simplebanking.model.PhoneBillPaymentTransaction;
+import com.eteration.simplebanking.repository.AccountRepository;
+import com.eteration.simplebanking.repository.PendingTransactionRepository;
+import com.eteration.simplebanking.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * İşçiler testte doğrudan processOnce ile çalıştırılır (app.pending.workers=0)
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false",
+    "app.pending.enabled=true",
+    "app.pending.workers=0",
+    "app.pending.batch-size=25"
+})
+@Import(ServiceTestConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PendingPostingServiceTest {
+
+    @Autowired
+    private PendingPostingService pendingPostingService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PendingTransactionRepository pendingRepository;
+
+    @Test
+    public void testAcceptPhoneBill_StoresPendingRowAndLeavesBalance() {
+        // Arrange
+        accountRepository.save(account("600-0001", 100.0));
+
+        // Act
+        ApiResponse<String> response = pendingPostingService.acceptPhoneBill("600-0001", "Vodafone", "5423345566", Money.of(30.0));
+        ApiResponse<PendingTransactionDTO> status = pendingPostingService.findStatus(response.getObject());
+
+        // Assert
+        assertTrue(response.getSuccess());
+        assertEquals(PendingTransaction.STATUS_PENDING, status.getObject().getStatus());
+        assertEquals(Money.of(30.0), status.getObject().getAmount());
+        assertEquals(Money.of(100.0), accountRepository.findByAccountNumber("600-0001").getBalance());
+        assertFalse(transactionRepository.findByApprovalCode(UUID.fromString(response.getObject())).isPresent());
+    }
+
+    @Test
+    public void testAcceptPhoneBill_RejectsUnknownAccountAndInvalidInput() {
+        // Act & Assert
+        assertEquals("Account not found",
+            pendingPostingService.acceptPhoneBill("600-9999", "Vodafone", "5423345566", Money.of(30.0)).getMessage());
+        assertFalse(pendingPostingService.acceptPhoneBill("600-9999", "Vodafone", "5423345566", Money.of(-1.0)).getSuccess());
+        assertFalse(pendingPostingService.acceptPhoneBill("600-9999", "", "5423345566", Money.of(1.0)).getSuccess());
+        assertEquals("Invalid approval code", pendingPostingService.findStatus("not-a-uuid").getMessage());
+        assertEquals("Pending transaction not found", pendingPostingService.findStatus(UUID.randomUUID().toString()).getMessage());
+    }
+
+    @Test
+    public void testProcessOnce_PostsWithAcceptedApprovalCodeAndFailsUncoveredPayment() {
+        // Arrange
+        pendingRepository.deleteAll();
+        accountRepository.save(account("600-0002", 100.0));
+        String first = pendingPostingService.acceptPhoneBill("600-0002", "Vodafone", "5423345566", Money.of(60.0)).getObject();
+        String second = pendingPostingService.acceptPhoneBill("600-0002", "Turkcell", "5321112233", Money.of(60.0)).getObject();
+
+        // Act
+        int claimed = pendingPostingService.processOnce();
+        int claimedAgain = pendingPostingService.processOnce();
+
+        // Assert
+        assertEquals(2, claimed);
+        assertEquals(0, claimedAgain);
+        assertEquals(Money.of(40.0), accountRepository.findByAccountNumber("600-0002").getBalance());
+        PendingTransactionDTO posted = pendingPostingService.findStatus(first).getObject();
+        assertEquals(PendingTransaction.STATUS_POSTED, posted.getStatus());
+        assertNotNull(posted.getProcessedDate());
+        assertTrue(transactionRepository.findByApprovalCode(UUID.fromString(first)).get() instanceof PhoneBillPaymentTransaction);
+        PendingTransactionDTO failed = pendingPostingService.findStatus(second).getObject();
+        assertEquals(PendingTransaction.STATUS_FAILED, failed.getStatus());
+        assertEquals(BatchItemResultDTO.ERROR_INSUFFICIENT_BALANCE, failed.getErrorCode());
+        assertFalse(transactionRepository.findByApprovalCode(UUID.fromString(second)).isPresent());
+    }
+
+    @Test
+    public void testConcurrentWorkers_ApplyEachPendingRowOnce() throws Exception {
+        // Arrange
+        int accounts = 4;
+        int paymentsPerAccount = 50;
+        for (int a = 0; a < accounts; a++) {
+            accountRepository.save(account("600-010" + a, 1000.0));
+        }
+        Set<String> accepted = new HashSet<>();
+        for (int i = 0; i < paymentsPerAccount; i++) {
+            for (int a = 0; a < accounts; a++) {
+                accepted.add(pendingPostingService.acceptPhoneBill("600-010" + a, "Vodafone", "5423345566", Money.of(1.0)).getObject());
+            }
+        }
+
+        // Diğer testlerin bıraktığı bekleyen kayıtlar da talep edilir
+        long backlog = pendingRepository.countByStatus(PendingTransaction.STATUS_PENDING);
+        long postedBefore = pendingPostingService.getPostedCount();
+
+        // Act: dört işçi aynı tablodan, kuyruk boşalana kadar talep eder
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Integer>> workers = new ArrayList<>();
+        Callable<Integer> worker = () -> {
+            int total = 0;
+            int claimed;
+            while ((claimed = pendingPostingService.processOnce()) > 0) {
+                total += claimed;
+            }
+            return total;
+        };
+        for (int i = 0; i < 4; i++) {
+            workers.add(executor.submit(worker));
+        }
+        int claimedTotal = 0;
+        for (Future<Integer> future : workers) {
+            claimedTotal += future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(backlog, claimedTotal);
+        assertEquals(backlog, pendingPostingService.getPostedCount() - postedBefore);
+        assertEquals(0, pendingRepository.countByStatus(PendingTransaction.STATUS_PENDING));
+        List<UUID> codes = new ArrayList<>();
+        accepted.forEach(code -> codes.add(UUID.fromString(code)));
+        assertEquals(accepted.size(), transactionRepository.findExistingApprovalCodes(codes).size());
+        for (int a = 0; a < accounts; a++) {
+            assertEquals(Money.of(1000.0 - paymentsPerAccount), accountRepository.findByAccountNumber("600-010" + a).getBalance());
+        }
+    }
+
+    private static Account account(String accountNumber, double balance) {
+        Account account = new Account("Pending Owner", accountNumber);
+        account.setBalance(Money.of(balance));
+        return account;
+    }
+}
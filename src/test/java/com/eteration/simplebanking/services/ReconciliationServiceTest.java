@@ -0,0 +1,148 @@
+package com.eteration.simplebanking.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eteration.simplebanking.dto.ApiResponse;
+import com.eteration.simplebanking.dto.ReconciliationReportDTO;
+import com.eteration.simplebanking.metrics.BankingMetrics;
+import com.eteration.simplebanking.model.Account;
+import com.eteration.simplebanking.model.BalanceSlot;
+import com.eteration.simplebanking.model.DepositTransaction;
+import com.eteration.simplebanking.model.InsufficientBalanceException;
+import com.eteration.simplebanking.model.Money;
+import com.eteration.simplebanking.model.PhoneBillPaymentTransaction;
+import com.eteration.simplebanking.model.Transaction;
+import com.eteration.simplebanking.model.TransferTransaction;
+import com.eteration.simplebanking.model.WithdrawalTransaction;
+import com.eteration.simplebanking.repository.AccountRepository;
+import com.eteration.simplebanking.repository.BalanceSlotRepository;
+import com.eteration.simplebanking.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Parça boyutu küçük tutulur; böylece hesaplar birden fazla fork-join parçasına dağılır
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false",
+    "app.reconciliation.chunk-size=2",
+    "app.reconciliation.parallelism=3"
+})
+@Import({ReconciliationService.class, LogService.class, BankingMetrics.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ReconciliationServiceTest {
+
+    @TempDir
+    Path reportDirectory;
+
+    @Autowired
+    private ReconciliationService reconciliationService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BalanceSlotRepository slotRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testReconcile_ReportsOnlyAccountsWhoseBalanceDriftedFromTheirHistory() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(reconciliationService, "reportDirectory", reportDirectory.toString());
+        post("700-0001", new DepositTransaction(Money.of(100.0)), new WithdrawalTransaction(Money.of(30.0)));
+        post("700-0002", new TransferTransaction(Money.of(50.0), "700-0001", true),
+            new PhoneBillPaymentTransaction("Vodafone", "5423345566", Money.of(20.0)),
+            new TransferTransaction(Money.of(5.0), "700-0001", false));
+        Account striped = post("700-0003", new DepositTransaction(Money.of(40.0)));
+        // Şeritli hesap: yatırılan tutar hesabın satırı yerine bir dilimde durur
+        jdbcTemplate.update("update account set balance = 0 where id = ?", striped.getId());
+        BalanceSlot slot = new BalanceSlot(striped.getId(), 0);
+        slot.setBalance(Money.of(40.0));
+        slotRepository.save(slot);
+        Account drifted = post("700-0004", new DepositTransaction(Money.of(10.0)));
+        // İşlemi kaydedilmeden bakiyesi değişmiş hesap
+        jdbcTemplate.update("update account set balance = balance + ? where id = ?", Money.of(2.5).getMinorUnits(), drifted.getId());
+
+        // Act
+        ApiResponse<ReconciliationReportDTO> response = reconciliationService.reconcile();
+
+        // Assert
+        assertTrue(response.getSuccess());
+        ReconciliationReportDTO summary = response.getObject();
+        assertEquals(0, summary.getFailedChunks());
+        assertTrue(summary.getChunks() > 1, "chunks=" + summary.getChunks());
+        assertTrue(summary.getAccountsChecked() >= 4);
+        Map<String, String> rows = readReport(Paths.get(summary.getReportFile()));
+        assertEquals(summary.getDiscrepancies(), rows.size());
+        assertEquals(String.join(",", drifted.getId().toString(), "700-0004", Money.of(12.5).toString(), Money.ZERO.toString(),
+            Money.of(10.0).toString(), Money.of(2.5).toString(), "1"), rows.get("700-0004"));
+        assertFalse(rows.containsKey("700-0001"));
+        assertFalse(rows.containsKey("700-0002"));
+        assertFalse(rows.containsKey("700-0003"));
+        try (Stream<Path> files = Files.list(reportDirectory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void testReconcile_RejectsConcurrentRun() {
+        // Arrange
+        AtomicBoolean running = (AtomicBoolean) ReflectionTestUtils.getField(reconciliationService, "running");
+        running.set(true);
+
+        try {
+            // Act
+            ApiResponse<ReconciliationReportDTO> response = reconciliationService.reconcile();
+
+            // Assert
+            assertFalse(response.getSuccess());
+            assertEquals("Reconciliation already running", response.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Account post(String accountNumber, Transaction... transactions) throws InsufficientBalanceException {
+        Account account = new Account("Reconciliation Owner", accountNumber);
+        for (Transaction transaction : transactions) {
+            account.apply(transaction);
+        }
+        Account saved = accountRepository.save(account);
+        transactionRepository.saveAll(List.of(transactions));
+        return saved;
+    }
+
+    private static Map<String, String> readReport(Path report) throws IOException {
+        List<String> lines = Files.readAllLines(report);
+        assertEquals(ReconciliationService.CSV_HEADER, lines.get(0));
+        Map<String, String> rows = new HashMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            rows.put(line.split(",")[1], line);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,21 @@
+package com.eteration.simplebanking.services;
+
+import com.eteration.simplebanking.cache.AccountSnapshotCache;
+import com.eteration.simplebanking.concurrency.AccountLockPolicy;
+import com.eteration.simplebanking.concurrency.RetryExecutor;
+import com.eteration.simplebanking.metrics.BankingMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Servis testlerinin ortak bean listesi. Birbirine bağlı servisler tek yerden eklenir; arka plan
+ * işçileri özellikleriyle kapalı geldiği için test yalnızca açtığı modun özelliklerini verir.
+ */
+@TestConfiguration
+@Import({AccountService.class, TransferService.class, LogService.class, AccountSnapshotCache.class, BankingMetrics.class,
+    SimpleMeterRegistry.class, RetryExecutor.class, AccountLockPolicy.class, GroupCommitService.class,
+    BatchPostingService.class, PendingPostingService.class, JournaledPostingService.class, LedgerPostingService.class,
+    BalanceStripingService.class, OutboxService.class})
+public class ServiceTestConfiguration {
+}
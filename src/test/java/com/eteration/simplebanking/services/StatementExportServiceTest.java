@@ -0,0 +1,110 @@
+package com.eteration.simplebanking.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eteration.simplebanking.dto.ApiResponse;
+import com.eteration.simplebanking.dto.StatementFormat;
+import com.eteration.simplebanking.metrics.BankingMetrics;
+import com.eteration.simplebanking.model.*;
+import com.eteration.simplebanking.repository.AccountRepository;
+import com.eteration.simplebanking.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Ekstrenin imleçten (date, id) sırasıyla, tarih aralığına göre süzülerek CSV ve NDJSON olarak yazıldığını doğrular.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false"
+})
+@Import({StatementExportService.class, LogService.class, BankingMetrics.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class StatementExportServiceTest {
+    private static final long DAY = 24L * 60 * 60 * 1000;
+
+    @Autowired
+    private StatementExportService statementExportService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    public void testCsvExport_StreamsRowsInRangeOldestFirst() throws Exception {
+        // Arrange
+        Account account = accountRepository.save(new Account("Statement Owner", "900-0001"));
+        Date start = new Date(1_700_000_000_000L);
+        for (int day = 0; day < 10; day++) {
+            save(account, new DepositTransaction(day + 1.0), new Date(start.getTime() + day * DAY));
+        }
+
+        // Act
+        ApiResponse<StatementExportService.Export> response = statementExportService.prepareStatement("900-0001", "CSV",
+            new Date(start.getTime() + 2 * DAY), new Date(start.getTime() + 5 * DAY));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = response.getObject().writeTo(out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, rows);
+        assertEquals(StatementExportService.CSV_HEADER, lines[0]);
+        assertEquals(4, lines.length);
+        assertTrue(lines[1].startsWith(new Date(start.getTime() + 2 * DAY).toInstant() + ",DepositTransaction,3.0,"));
+        assertTrue(lines[3].contains(",DepositTransaction,5.0,"));
+        assertEquals("statement-900-0001.csv", response.getObject().getFileName());
+    }
+
+    @Test
+    public void testNdjsonExport_WritesOneObjectPerLine() throws Exception {
+        // Arrange
+        Account account = accountRepository.save(new Account("Statement Owner", "900-0002"));
+        PhoneBillPaymentTransaction payment = new PhoneBillPaymentTransaction("Vodafone", "5423345566", 96.50);
+        save(account, new DepositTransaction(1000.0), new Date(1_700_000_000_000L));
+        save(account, payment, new Date(1_700_000_001_000L));
+
+        // Act
+        ApiResponse<StatementExportService.Export> response = statementExportService.prepareStatement("900-0002", "ndjson", null, null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getObject().writeTo(out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(StatementFormat.NDJSON, response.getObject().getFormat());
+        assertEquals(2, lines.length);
+        JsonNode last = new ObjectMapper().readTree(lines[1]);
+        assertEquals("PhoneBillPaymentTransaction", last.get("type").asText());
+        assertEquals(96.5, last.get("amount").asDouble());
+        assertEquals(payment.getApprovalCode(), last.get("approvalCode").asText());
+    }
+
+    @Test
+    public void testPrepareStatement_RejectsInvalidRequests() {
+        // Arrange
+        accountRepository.save(new Account("Statement Owner", "900-0003"));
+        Date now = new Date();
+
+        // Act & Assert
+        assertEquals("Account not found", statementExportService.prepareStatement("900-9999", "csv", null, null).getMessage());
+        assertEquals("Unsupported format", statementExportService.prepareStatement("900-0003", "xml", null, null).getMessage());
+        assertEquals("Invalid date range", statementExportService.prepareStatement("900-0003", "csv", now, now).getMessage());
+    }
+
+    private void save(Account account, Transaction transaction, Date date) {
+        transaction.setAccount(account);
+        transaction.setDate(date);
+        transactionRepository.save(transaction);
+    }
+}
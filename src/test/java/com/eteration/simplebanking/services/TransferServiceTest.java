@@ -0,0 +1,208 @@
+package com.eteration.simplebanking.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eteration.simplebanking.concurrency.RetryExecutor;
+import com.eteration.simplebanking.dto.ApiResponse;
+import com.eteration.simplebanking.dto.BatchItemResultDTO;
+import com.eteration.simplebanking.dto.BatchPostingResultDTO;
+import com.eteration.simplebanking.dto.SweepItemDTO;
+import com.eteration.simplebanking.model.*;
+import com.eteration.simplebanking.repository.AccountRepository;
+import com.eteration.simplebanking.repository.TransactionRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Havalenin iki bacağının aynı işlemde yazıldığını, süpürmenin kalem bazında sonuç döndüğünü ve
+ * karşılıklı yöndeki eşzamanlı havalelerin kilitlenmeden (deadlock) tamamlandığını doğrular.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false",
+    "app.concurrency.retry.max-attempts=50",
+    "app.concurrency.retry.max-backoff=20ms"
+})
+@Import(ServiceTestConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TransferServiceTest {
+    private static final Logger logger = LoggerFactory.getLogger(TransferServiceTest.class);
+
+    private static final int THREADS = 8;
+    private static final int TRANSFERS_PER_THREAD = 25;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private RetryExecutor retryExecutor;
+
+    @Test
+    public void testTransfer_MovesMoneyAndWritesBothLegs() throws InsufficientBalanceException {
+        // Arrange
+        Account source = accountRepository.save(new Account("Transfer Owner", "800-0001"));
+        Account target = accountRepository.save(new Account("Transfer Owner", "800-0002"));
+        accountService.credit("800-0001", Money.of(100.0));
+
+        // Act
+        ApiResponse<String> response = transferService.transfer("800-0001", "800-0002", Money.of(40.0));
+
+        // Assert
+        assertTrue(response.getSuccess());
+        assertEquals(Money.of(60.0), accountRepository.findByAccountNumber("800-0001").getBalance());
+        assertEquals(Money.of(40.0), accountRepository.findByAccountNumber("800-0002").getBalance());
+        Transaction outgoing = transactionRepository.findLatest(source.getId(), PageRequest.of(0, 1)).get(0);
+        Transaction incoming = transactionRepository.findLatest(target.getId(), PageRequest.of(0, 1)).get(0);
+        assertEquals(response.getObject(), outgoing.getApprovalCode());
+        assertFalse(((TransferTransaction) outgoing).isIncoming());
+        assertEquals("800-0002", ((TransferTransaction) outgoing).getCounterpartyAccountNumber());
+        assertTrue(((TransferTransaction) incoming).isIncoming());
+        assertEquals("800-0001", ((TransferTransaction) incoming).getCounterpartyAccountNumber());
+    }
+
+    @Test
+    public void testTransfer_RejectedTransfersLeaveBothAccountsUnchanged() {
+        // Arrange
+        Account source = accountRepository.save(new Account("Transfer Owner", "800-0003"));
+        Account target = accountRepository.save(new Account("Transfer Owner", "800-0004"));
+
+        // Act & Assert
+        assertThrows(InsufficientBalanceException.class,
+            () -> transferService.transfer("800-0003", "800-0004", Money.of(10.0)));
+        assertEquals("Account not found",
+            assertDoesNotThrow(() -> transferService.transfer("800-0003", "800-9999", Money.of(10.0))).getMessage());
+        assertEquals("Source and target accounts must be different",
+            assertDoesNotThrow(() -> transferService.transfer("800-0003", "800-0003", Money.of(10.0))).getMessage());
+        assertEquals(Money.ZERO, accountRepository.findByAccountNumber("800-0004").getBalance());
+        assertTrue(transactionRepository.findLatest(source.getId(), PageRequest.of(0, 1)).isEmpty());
+        assertTrue(transactionRepository.findLatest(target.getId(), PageRequest.of(0, 1)).isEmpty());
+    }
+
+    @Test
+    public void testSweep_AppliesEachSourceAndReportsPerItemFailures() {
+        // Arrange
+        accountRepository.save(new Account("Sweep Target", "810-0000"));
+        accountRepository.save(new Account("Sweep Source", "810-0001"));
+        accountRepository.save(new Account("Sweep Source", "810-0002"));
+        accountService.credit("810-0001", Money.of(50.0));
+        accountService.credit("810-0002", Money.of(5.0));
+        List<SweepItemDTO> items = Arrays.asList(
+            new SweepItemDTO("810-0001", Money.of(50.0)),
+            new SweepItemDTO("810-0002", Money.of(20.0)),
+            new SweepItemDTO("810-9999", Money.of(1.0)),
+            new SweepItemDTO("810-0000", Money.of(1.0)));
+
+        // Act
+        ApiResponse<BatchPostingResultDTO> response = transferService.sweep("810-0000", items);
+
+        // Assert
+        assertTrue(response.getSuccess());
+        List<BatchItemResultDTO> results = response.getObject().getResults();
+        assertEquals(BatchItemResultDTO.STATUS_OK, results.get(0).getStatus());
+        assertEquals(BatchItemResultDTO.ERROR_INSUFFICIENT_BALANCE, results.get(1).getErrorCode());
+        assertEquals(BatchItemResultDTO.ERROR_ACCOUNT_NOT_FOUND, results.get(2).getErrorCode());
+        assertEquals(BatchItemResultDTO.ERROR_INVALID, results.get(3).getErrorCode());
+        assertEquals(Money.of(50.0), accountRepository.findByAccountNumber("810-0000").getBalance());
+        assertEquals(Money.ZERO, accountRepository.findByAccountNumber("810-0001").getBalance());
+        assertEquals(Money.of(5.0), accountRepository.findByAccountNumber("810-0002").getBalance());
+    }
+
+    @Test
+    public void testSweep_OverflowingItemRestoresSourceApprovalCode() {
+        // Arrange
+        Account target = new Account("Sweep Target", "811-0000");
+        target.setBalance(Money.ofMinor(Long.MAX_VALUE - 100));
+        accountRepository.save(target);
+        accountRepository.save(new Account("Sweep Source", "811-0001"));
+        String creditCode = accountService.credit("811-0001", Money.of(5.0)).getObject();
+
+        // Act
+        ApiResponse<BatchPostingResultDTO> response =
+            transferService.sweep("811-0000", List.of(new SweepItemDTO("811-0001", Money.of(2.0))));
+
+        // Assert
+        assertEquals(BatchItemResultDTO.ERROR_INVALID, response.getObject().getResults().get(0).getErrorCode());
+        Account source = accountRepository.findByAccountNumber("811-0001");
+        assertEquals(Money.of(5.0), source.getBalance());
+        assertEquals(creditCode, source.getLastTransactionApprovalCode());
+        assertEquals(Money.ofMinor(Long.MAX_VALUE - 100), accountRepository.findByAccountNumber("811-0000").getBalance());
+    }
+
+    @Test
+    public void testOpposingTransfers_CompleteWithoutDeadlockAndConserveBalance() throws Exception {
+        // Arrange: iki sıcak hesap çifti, her çiftte thread'lerin yarısı bir yöne yarısı diğer yöne havale yapar
+        String[][] pairs = {{"820-0001", "820-0002"}, {"820-0003", "820-0004"}};
+        for (String[] pair : pairs) {
+            for (String accountNumber : pair) {
+                accountRepository.save(new Account("Contention Owner", accountNumber));
+                accountService.credit(accountNumber, Money.of(1000.0));
+            }
+        }
+        long exhaustedBefore = retryExecutor.getBudgetExhaustedCount();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < THREADS; i++) {
+            String[] pair = pairs[i % pairs.length];
+            boolean forward = (i / pairs.length) % 2 == 0;
+            String from = forward ? pair[0] : pair[1];
+            String to = forward ? pair[1] : pair[0];
+            results.add(pool.submit(() -> {
+                start.await();
+                int succeeded = 0;
+                for (int j = 0; j < TRANSFERS_PER_THREAD; j++) {
+                    if (transferService.transfer(from, to, Money.of(1.0)).getSuccess()) {
+                        succeeded++;
+                    }
+                }
+                return succeeded;
+            }));
+        }
+        long startNanos = System.nanoTime();
+        start.countDown();
+        int succeeded = 0;
+        for (Future<Integer> result : results) {
+            succeeded += result.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        pool.shutdown();
+
+        // Assert
+        int transfers = THREADS * TRANSFERS_PER_THREAD;
+        logger.info(String.format("opposing transfers=%d succeeded=%d budgetExhausted=%d throughput=%.0f transfers/s",
+            transfers, succeeded, retryExecutor.getBudgetExhaustedCount() - exhaustedBefore,
+            transfers / (elapsedNanos / 1_000_000_000.0)));
+        assertEquals(transfers, succeeded);
+        for (String[] pair : pairs) {
+            // Her yöne eşit sayıda havale yapıldığından bakiyeler başlangıç değerine döner
+            assertEquals(Money.of(1000.0), accountRepository.findByAccountNumber(pair[0]).getBalance());
+            assertEquals(Money.of(1000.0), accountRepository.findByAccountNumber(pair[1]).getBalance());
+        }
+    }
+}